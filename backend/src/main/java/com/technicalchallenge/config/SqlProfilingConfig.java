@@ -0,0 +1,70 @@
+package com.technicalchallenge.config;
+
+import com.technicalchallenge.monitoring.SqlProfilingSessionListener;
+import com.technicalchallenge.monitoring.SqlRowCountingDataSource;
+import com.technicalchallenge.monitoring.SqlProfilingStatementInspector;
+import com.technicalchallenge.monitoring.SqlStatementStatistics;
+import com.technicalchallenge.monitoring.SqlStatsEndpoint;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Low-overhead SQL profiling, enabled with {@code sql.profiling.enabled=true} (on in the
+ * {@code prod} profile). Replaces statement and bind parameter logging with in-memory
+ * aggregates served on {@code /actuator/sqlstats}. The data source is wrapped in a
+ * {@link SqlRowCountingDataSource} for per-shape row counts. Hibernate's own statistics are
+ * only collected with {@code sql.profiling.hibernate-statistics=true}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sql.profiling.enabled", havingValue = "true")
+public class SqlProfilingConfig {
+
+    @Bean
+    public SqlStatementStatistics sqlStatementStatistics(
+            @Value("${sql.profiling.slow-threshold-ms:100}") long slowThresholdMillis,
+            @Value("${sql.profiling.slow-sample-size:50}") int slowSampleSize,
+            @Value("${sql.profiling.max-shapes:500}") int maxShapes) {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(slowThresholdMillis, slowSampleSize, maxShapes);
+        SqlProfilingSessionListener.bind(statistics);
+        return statistics;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlProfilingHibernatePropertiesCustomizer(
+            SqlStatementStatistics statistics,
+            @Value("${sql.profiling.hibernate-statistics:false}") boolean hibernateStatistics) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlProfilingStatementInspector(statistics));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlProfilingSessionListener.class.getName());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, String.valueOf(hibernateStatistics));
+        };
+    }
+
+    // Static so wrapping the data source does not initialize this configuration early
+    @Bean
+    public static BeanPostProcessor sqlRowCountingDataSourcePostProcessor(ObjectProvider<SqlStatementStatistics> statistics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlRowCountingDataSource)
+                        ? new SqlRowCountingDataSource(dataSource, statistics.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public SqlStatsEndpoint sqlStatsEndpoint(SqlStatementStatistics statistics, EntityManagerFactory entityManagerFactory) {
+        return new SqlStatsEndpoint(statistics, entityManagerFactory.unwrap(SessionFactory.class));
+    }
+}
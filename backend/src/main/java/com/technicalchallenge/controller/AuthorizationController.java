@@ -7,6 +7,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/login")
 @Validated
@@ -17,10 +19,12 @@ public class AuthorizationController {
 
 
     @PostMapping("/{userName}")
-    public ResponseEntity<?> login(@PathVariable(name = "userName") String userName, @RequestParam(name = "Authorization") String authorization) {
+    public CompletableFuture<ResponseEntity<String>> login(@PathVariable(name = "userName") String userName, @RequestParam(name = "Authorization") String authorization) {
 
-        return authorizationService.authenticateUser(userName, authorization) ?
-                ResponseEntity.ok("Login successful") :
-                ResponseEntity.status(HttpStatus.FORBIDDEN).body("Login failed");
+        // Completes on the password verifier pool; the request thread is released meanwhile
+        return authorizationService.authenticateUser(userName, authorization)
+                .thenApply(valid -> valid ?
+                        ResponseEntity.ok("Login successful") :
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).body("Login failed"));
     }
 }
\ No newline at end of file
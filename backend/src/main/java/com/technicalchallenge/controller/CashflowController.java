@@ -4,8 +4,12 @@ import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.dto.CashflowGenerationRequest;
 import com.technicalchallenge.mapper.CashflowMapper;
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.service.CashflowScheduleEngine;
+import com.technicalchallenge.service.CashflowScheduleEngine.LegTerms;
+import com.technicalchallenge.service.CashflowScheduleEngine.Schedules;
 import com.technicalchallenge.service.CashflowService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -25,8 +29,6 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
-import java.math.BigDecimal;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,6 +43,8 @@ public class CashflowController {
     private CashflowService cashflowService;
     @Autowired
     private CashflowMapper cashflowMapper;
+    @Autowired
+    private CashflowScheduleEngine cashflowScheduleEngine;
 
     @GetMapping
     @Operation(summary = "Get all cashflows",
@@ -78,6 +82,28 @@ public class CashflowController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @GetMapping("/leg/{legId}")
+    @Operation(summary = "Get cashflows of a trade leg",
+               description = "Retrieves the cashflows of a leg with a value date in an optional date window, in value date order. "
+                       + "Legs booked with on-demand cashflows have them generated from the leg's schedule")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cashflows returned successfully",
+                    content = @Content(mediaType = "application/json",
+                                     schema = @Schema(implementation = CashflowDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Trade leg not found")
+    })
+    public ResponseEntity<List<CashflowDTO>> getCashflowsForLeg(
+            @Parameter(description = "Unique identifier of the trade leg", required = true)
+            @PathVariable(name = "legId") Long legId,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.debug("Fetching cashflows of leg {} between {} and {}", legId, from, to);
+        return cashflowService.getCashflowsForLeg(legId, from, to)
+                .map(cashflows -> cashflows.stream().map(cashflowMapper::toDto).toList())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PostMapping
     @Operation(summary = "Create new cashflow",
                description = "Adds a new cashflow to the system with the specified payment details")
@@ -129,56 +155,38 @@ public class CashflowController {
     })
     public ResponseEntity<List<CashflowDTO>> generateCashflows(@RequestBody CashflowGenerationRequest request) {
         List<CashflowDTO> allCashflows = new ArrayList<>();
-        if (request.getLegs() == null || request.getLegs().isEmpty()) {
+        if (request.getLegs() == null || request.getLegs().isEmpty()
+                || request.getTradeStartDate() == null || request.getTradeMaturityDate() == null) {
             return ResponseEntity.badRequest().body(allCashflows);
         }
+        List<LegTerms> terms = new ArrayList<>(request.getLegs().size());
         for (CashflowGenerationRequest.TradeLegDTO leg : request.getLegs()) {
-            LocalDate startDate = request.getTradeStartDate();
-            LocalDate maturityDate = request.getTradeMaturityDate();
-            String schedule = leg.getCalculationPeriodSchedule();
-            int months = scheduleToMonths(schedule);
-            if (months <= 0) {
-                continue;
+            int months;
+            try {
+                months = CashflowScheduleEngine.parseSchedule(leg.getCalculationPeriodSchedule());
+            } catch (IllegalArgumentException e) {
+                logger.debug("Rejected cashflow preview: {}", e.getMessage());
+                return ResponseEntity.badRequest().body(allCashflows);
             }
-            LocalDate valueDate = startDate;
-            while (valueDate.isBefore(maturityDate)) {
-                LocalDate nextValueDate = valueDate.plusMonths(months);
-                if (nextValueDate.isAfter(maturityDate)) {
-                    nextValueDate = maturityDate;
-                }
-                BigDecimal paymentValue = BigDecimal.ZERO;
-                if ("Fixed".equalsIgnoreCase(leg.getLegType())) {
-                    long days = java.time.temporal.ChronoUnit.DAYS.between(valueDate, nextValueDate);
-                    double rate = leg.getRate() != null ? leg.getRate() : 0.0;
-                    paymentValue = leg.getNotional().multiply(BigDecimal.valueOf(rate)).multiply(BigDecimal.valueOf(days)).divide(BigDecimal.valueOf(360), 2, BigDecimal.ROUND_HALF_UP);
-                }
-                // For floating, paymentValue remains 0
+            terms.add(new LegTerms(leg.getNotional(), leg.getRate(), "Fixed".equalsIgnoreCase(leg.getLegType()),
+                    months, request.getTradeStartDate(), request.getTradeMaturityDate()));
+        }
+
+        Schedules schedules = cashflowScheduleEngine.generate(terms);
+        for (int i = 0; i < terms.size(); i++) {
+            CashflowGenerationRequest.TradeLegDTO leg = request.getLegs().get(i);
+            for (int period = schedules.start(i); period < schedules.end(i); period++) {
                 CashflowDTO cf = new CashflowDTO();
-                cf.setValueDate(nextValueDate);
-                cf.setPaymentValue(paymentValue);
+                cf.setValueDate(schedules.valueDate(period));
+                cf.setPaymentValue(schedules.amount(period));
                 cf.setPayRec(leg.getPayReceiveFlag());
                 cf.setPaymentType(leg.getLegType());
                 cf.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
                 cf.setRate(leg.getRate());
                 allCashflows.add(cf);
-                valueDate = nextValueDate;
             }
         }
         return ResponseEntity.ok(allCashflows);
     }
 
-    private int scheduleToMonths(String schedule) {
-        if (schedule == null) return 0;
-        schedule = schedule.toLowerCase();
-        if (schedule.contains("month")) {
-            if (schedule.contains("3")) return 3;
-            if (schedule.contains("6")) return 6;
-            if (schedule.contains("12")) return 12;
-            return 1;
-        }
-        if (schedule.contains("quarter")) return 3;
-        if (schedule.contains("annual") || schedule.contains("year")) return 12;
-        return 0;
-    }
-
 }
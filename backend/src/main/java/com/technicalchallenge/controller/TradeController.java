@@ -1,10 +1,15 @@
 package com.technicalchallenge.controller;
 
 import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeBookingStatusDTO;
+import com.technicalchallenge.dto.TradeCursorPageDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeFilterRequestDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.service.TradeBlotterService;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,20 +19,27 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.security.core.Authentication;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/trades")
@@ -39,10 +51,19 @@ public class TradeController {
 
     private final TradeService tradeService;
     private final TradeMapper tradeMapper;
+    private final TradeExportService tradeExportService;
+    private final TradeBlotterService tradeBlotterService;
+    // Only the export gets a long async timeout; every other async endpoint keeps the container default
+    private final Duration exportTimeout;
 
-    public TradeController(TradeService tradeService, TradeMapper tradeMapper) {
+    public TradeController(TradeService tradeService, TradeMapper tradeMapper, TradeExportService tradeExportService,
+                           TradeBlotterService tradeBlotterService,
+                           @Value("${trade.export.timeout:30m}") Duration exportTimeout) {
         this.tradeService = tradeService;
         this.tradeMapper = tradeMapper;
+        this.tradeExportService = tradeExportService;
+        this.tradeBlotterService = tradeBlotterService;
+        this.exportTimeout = exportTimeout;
     }
 
     @GetMapping
@@ -61,6 +82,39 @@ public class TradeController {
                 .toList();
     }
 
+    @GetMapping("/export")
+    @Operation(summary = "Export all trades",
+            description = "Streams every trade (headers and reference data, without legs and cashflows) as "
+                    + "newline-delimited JSON or CSV. Output is written while trades are read, so the response "
+                    + "starts immediately and server memory use does not depend on the number of trades.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export stream",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Unsupported export format")
+    })
+    public WebAsyncTask<Void> exportTrades(
+            @Parameter(description = "Output format: ndjson or csv")
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response) {
+        TradeExportService.Format exportFormat;
+        try {
+            exportFormat = TradeExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected trade export: {}", e.getMessage());
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return null;
+        }
+
+        logger.info("Exporting trades as {}", exportFormat);
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=trades." + exportFormat.getFileExtension());
+        // Written straight to the response on an async thread, with a timeout sized for large exports
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            tradeExportService.export(exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get trade by ID",
             description = "Retrieves a specific trade by its unique identifier")
@@ -102,6 +156,7 @@ public class TradeController {
             @RequestParam(value = "status", required = false) String status,
             @RequestParam(value = "fromDate", required = false) LocalDate fromDate,
             @RequestParam(value = "toDate", required = false) LocalDate toDate,
+            @RequestParam(value = "uti", required = false) String utiCode,
             @ParameterObject Pageable pageable // Spring creates this automatically
     ) {
         // Build SearchParameters using Lombok builder
@@ -112,6 +167,7 @@ public class TradeController {
                 .status(status)
                 .fromDate(fromDate)
                 .toDate(toDate)
+                .utiCode(utiCode)
                 .build();
 
         Page<TradeDTO> results = tradeService.searchTradesPaginated(params, pageable);
@@ -171,15 +227,147 @@ public class TradeController {
         return ResponseEntity.ok(trades);
     }
 
+    // Cursor (keyset) paginated variants: results are ordered by trade date, newest first, and
+    // page N costs the same as page 1. The total count is only computed when asked for.
+
+    @GetMapping("/search/cursor")
+    @Operation(
+            summary = "Search trades (cursor paginated, multi-criteria)",
+            description = "Same criteria as /search. Pass the returned nextCursor as cursor to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trades retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeCursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or query parameters")
+    })
+    public ResponseEntity<TradeCursorPageDTO> searchTradesByCursor(
+            @RequestParam(value = "counterparty", required = false) String counterpartyName,
+            @RequestParam(value = "book", required = false) String bookName,
+            @RequestParam(value = "trader", required = false) String trader,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "fromDate", required = false) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) LocalDate toDate,
+            @RequestParam(value = "uti", required = false) String utiCode,
+            @Parameter(description = "Continuation token from the previous page; omit for the first page")
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @Parameter(description = "Also return the total number of matching trades (runs a count query)")
+            @RequestParam(value = "includeCount", defaultValue = "false") boolean includeCount
+    ) {
+        SearchParametersDTO params = SearchParametersDTO.builder()
+                .counterpartyName(counterpartyName)
+                .bookName(bookName)
+                .trader(trader)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .utiCode(utiCode)
+                .build();
+        return cursorPage(() -> tradeService.searchTradesPaginated(params, cursor, size, includeCount));
+    }
+
+    @GetMapping("/filter/cursor")
+    @Operation(
+            summary = "Advanced Trade Filtering (cursor paginated)",
+            description = "Same filters as /filter. Pass the returned nextCursor as cursor to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filtered trades retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeCursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or filter parameters")
+    })
+    public ResponseEntity<TradeCursorPageDTO> filterTradesByCursor(
+            @ParameterObject TradeFilterRequestDTO filters,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "includeCount", defaultValue = "false") boolean includeCount,
+            Authentication auth
+    ) {
+        String traderUsername = auth.getName(); // restrict to logged-in trader
+        return cursorPage(() -> tradeService.filterTrades(filters, traderUsername, cursor, size, includeCount));
+    }
+
+    @GetMapping("/rsql/cursor")
+    @Operation(
+            summary = "Advanced Trade Filtering using RSQL (cursor paginated)",
+            description = "Same RSQL syntax as /rsql. Pass the returned nextCursor as cursor to get the next page."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Trades retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeCursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or RSQL syntax")
+    })
+    public ResponseEntity<TradeCursorPageDTO> filterTradesRsqlByCursor(
+            @RequestParam("query") String query,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "includeCount", defaultValue = "false") boolean includeCount
+    ) {
+        return cursorPage(() -> tradeService.searchTradesWithRsql(query, cursor, size, includeCount));
+    }
+
+    @GetMapping("/blotter")
+    @Operation(
+            summary = "Trade blotter (live versions, cursor paginated)",
+            description = "Live version of each trade with reference data names, without legs or cashflows. "
+                    + "Same criteria as /search; reads only the current-version projection."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Blotter page retrieved successfully",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeCursorPageDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, page size or query parameters")
+    })
+    public ResponseEntity<TradeCursorPageDTO> blotter(
+            @RequestParam(value = "counterparty", required = false) String counterpartyName,
+            @RequestParam(value = "book", required = false) String bookName,
+            @RequestParam(value = "trader", required = false) String trader,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "fromDate", required = false) LocalDate fromDate,
+            @RequestParam(value = "toDate", required = false) LocalDate toDate,
+            @RequestParam(value = "uti", required = false) String utiCode,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size,
+            @RequestParam(value = "includeCount", defaultValue = "false") boolean includeCount
+    ) {
+        SearchParametersDTO params = SearchParametersDTO.builder()
+                .counterpartyName(counterpartyName)
+                .bookName(bookName)
+                .trader(trader)
+                .status(status)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .utiCode(utiCode)
+                .build();
+        return cursorPage(() -> tradeBlotterService.blotter(params, cursor, size, includeCount));
+    }
+
+    private ResponseEntity<TradeCursorPageDTO> cursorPage(Supplier<TradeCursorPageDTO> page) {
+        try {
+            return ResponseEntity.ok(page.get());
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected cursor page request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
 
 
     @PostMapping
     @Operation(summary = "Create new trade",
-            description = "Creates a new trade with the provided details. Automatically generates cashflows and validates business rules.")
+            description = "Creates a new trade with the provided details. Automatically generates cashflows and validates business rules. "
+                    + "In asynchronous booking mode the trade and its legs are committed and the trade ID returned straight away; "
+                    + "cashflows and additional fields follow, tracked by the booking status endpoint.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Trade created successfully",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TradeDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Trade accepted in asynchronous booking mode",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeBookingStatusDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid trade data or business rule violation"),
             @ApiResponse(responseCode = "500", description = "Internal server error during trade creation")
     })
@@ -190,7 +378,18 @@ public class TradeController {
         try {
             Trade trade = tradeMapper.toEntity(tradeDTO);
             tradeService.populateReferenceDataByName(trade, tradeDTO);
+            boolean newTrade = trade.getId() == null;
             Trade savedTrade = tradeService.saveTrade(trade, tradeDTO);
+            if (newTrade && tradeService.isAsyncBooking()) {
+                TradeBookingStatusDTO accepted = TradeBookingStatusDTO.builder()
+                        .tradeId(savedTrade.getTradeId())
+                        .status("PENDING")
+                        .acceptedDate(savedTrade.getCreatedDate())
+                        .build();
+                return ResponseEntity.accepted()
+                        .location(URI.create("/api/trades/" + savedTrade.getTradeId() + "/booking-status"))
+                        .body(accepted);
+            }
             TradeDTO responseDTO = tradeMapper.toDto(savedTrade);
             return ResponseEntity.status(HttpStatus.CREATED).body(responseDTO);
         } catch (Exception e) {
@@ -199,6 +398,49 @@ public class TradeController {
         }
     }
 
+    @GetMapping("/{id}/booking-status")
+    @Operation(summary = "Get booking status",
+            description = "Reports the progress of the cashflows, additional fields and notification of a trade booked asynchronously")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Booking status returned",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TradeBookingStatusDTO.class))),
+            @ApiResponse(responseCode = "404", description = "No asynchronous booking found for the trade")
+    })
+    public ResponseEntity<TradeBookingStatusDTO> getBookingStatus(
+            @Parameter(description = "Unique identifier of the trade", required = true)
+            @PathVariable(name = "id") Long id) {
+        return tradeService.getBookingStatus(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create trades in bulk",
+            description = "Books a list of trades in a single request. Reference data is resolved once per batch and inserts are JDBC-batched. Returns one result per submitted trade.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch processed, see per-trade results",
+                    content = @Content(mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = TradeBatchResultDTO.class)))),
+            @ApiResponse(responseCode = "400", description = "Empty batch or batch could not be persisted"),
+            @ApiResponse(responseCode = "500", description = "Internal server error during trade creation")
+    })
+    public ResponseEntity<?> createTrades(
+            @Parameter(description = "Trades to book", required = true)
+            @RequestBody List<TradeDTO> tradeDTOs) {
+        if (tradeDTOs == null || tradeDTOs.isEmpty()) {
+            return ResponseEntity.badRequest().body("At least one trade is required");
+        }
+        logger.info("Creating batch of {} trades", tradeDTOs.size());
+        try {
+            List<TradeBatchResultDTO> results = tradeService.createTrades(tradeDTOs);
+            return ResponseEntity.ok(results);
+        } catch (Exception e) {
+            logger.error("Error creating trade batch: {}", e.getMessage(), e);
+            return ResponseEntity.badRequest().body("Error creating trades: " + e.getMessage());
+        }
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update existing trade",
             description = "Updates an existing trade with new information. Subject to business rule validation and user privileges.")
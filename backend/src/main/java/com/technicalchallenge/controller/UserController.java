@@ -19,7 +19,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/users")
@@ -67,11 +66,8 @@ public class UserController {
             @Parameter(description = "Unique login identifier of the user", required = true)
             @PathVariable("loginId") String loginId) {
         logger.debug("Fetching user by loginId: {}", loginId);
-        Optional<ApplicationUser> user = applicationUserService.getAllUsers().stream()
-                .filter(u -> u.getLoginId().equals(loginId))
-                .findFirst();
-
-        return user.map(applicationUserMapper::toDto)
+        return applicationUserService.getUserByLoginId(loginId)
+                .map(applicationUserMapper::toDto)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
@@ -22,5 +22,6 @@ public class SearchParametersDTO {
    String status;
    LocalDate fromDate;
    LocalDate toDate;
+   String utiCode;
 
 }
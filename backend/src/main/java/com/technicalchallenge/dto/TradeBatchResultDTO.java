@@ -0,0 +1,29 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of booking a single trade submitted through the batch endpoint.
+ * One result is returned per submitted trade, in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeBatchResultDTO {
+
+    /** Position of the trade in the submitted list (zero based) */
+    private int index;
+
+    /** Business trade ID assigned to (or supplied with) the trade */
+    private Long tradeId;
+
+    /** Whether the trade was booked */
+    private boolean success;
+
+    /** Rejection reason when the trade was not booked */
+    private String message;
+}
@@ -0,0 +1,35 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the post-booking work (cashflows, additional info, notification) of an
+ * asynchronously booked trade.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeBookingStatusDTO {
+
+    /** Business trade ID */
+    private Long tradeId;
+
+    /** PENDING, PROCESSING, COMPLETED or FAILED */
+    private String status;
+
+    /** Number of times the work has been started */
+    private int attempts;
+
+    /** Reason the last attempt failed, if it did */
+    private String lastError;
+
+    private LocalDateTime acceptedDate;
+
+    private LocalDateTime completedDate;
+}
@@ -0,0 +1,34 @@
+package com.technicalchallenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a cursor (keyset) paginated trade query.
+ * Pass {@code nextCursor} back as {@code cursor} to get the following page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TradeCursorPageDTO {
+
+    /** Trades on this page, newest trade date first */
+    private List<TradeDTO> content;
+
+    /** Requested page size */
+    private int size;
+
+    /** Whether more trades follow this page */
+    private boolean hasNext;
+
+    /** Opaque token for the next page; null on the last page */
+    private String nextCursor;
+
+    /** Total number of matching trades; only set when requested with includeCount=true */
+    private Long totalElements;
+}
@@ -0,0 +1,7 @@
+package com.technicalchallenge.exception;
+
+public class LoginThrottledException extends RuntimeException {
+    public LoginThrottledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.model.AdditionalInfo;
+import org.mapstruct.Mapper;
+
+@Mapper(config = GeneratedMapperConfig.class)
+public interface AdditionalInfoMapper {
+
+    AdditionalInfoDTO toDto(AdditionalInfo entity);
+
+    AdditionalInfo toEntity(AdditionalInfoDTO dto);
+}
@@ -4,38 +4,23 @@ import com.technicalchallenge.dto.UserDTO;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.model.UserProfile;
 import com.technicalchallenge.repository.UserProfileRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
-import java.util.Optional;
+@Mapper(config = GeneratedMapperConfig.class)
+public abstract class ApplicationUserMapper {
 
-@Component
-public class ApplicationUserMapper {
+    @Autowired
+    protected UserProfileRepository userProfileRepository;
 
-    private final ModelMapper modelMapper;
+    @Mapping(target = "userProfile", source = "userProfile.userType")
+    public abstract UserDTO toDto(ApplicationUser entity);
 
-    private final UserProfileRepository userProfileRepository;
+    @Mapping(target = "userProfile", source = "userProfile")
+    public abstract ApplicationUser toEntity(UserDTO dto);
 
-    public ApplicationUserMapper(ModelMapper modelMapper, UserProfileRepository userProfileRepository) {
-        this.modelMapper = modelMapper;
-        this.userProfileRepository = userProfileRepository;
-    }
-
-    public UserDTO toDto(ApplicationUser entity) {
-        UserDTO dto = modelMapper.map(entity, UserDTO.class);
-        if (entity.getUserProfile() != null) {
-            dto.setUserProfile(entity.getUserProfile().getUserType());
-        }
-        return dto;
-    }
-
-    public ApplicationUser toEntity(UserDTO dto) {
-        ApplicationUser entity = modelMapper.map(dto, ApplicationUser.class);
-        if (dto.getUserProfile() != null) {
-            Optional<UserProfile> userProfileOpt = userProfileRepository.findByUserType(dto.getUserProfile());
-            userProfileOpt.ifPresent(entity::setUserProfile);
-        }
-        return entity;
+    protected UserProfile userProfileByType(String userType) {
+        return userType == null ? null : userProfileRepository.findByUserType(userType).orElse(null);
     }
 }
-
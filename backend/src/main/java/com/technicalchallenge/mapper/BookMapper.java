@@ -3,31 +3,28 @@ package com.technicalchallenge.mapper;
 import com.technicalchallenge.dto.BookDTO;
 import com.technicalchallenge.model.Book;
 import com.technicalchallenge.model.CostCenter;
+import com.technicalchallenge.model.NormalizedNames;
 import com.technicalchallenge.repository.CostCenterRepository;
-import org.modelmapper.ModelMapper;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.beans.factory.annotation.Autowired;
 
-@Component
-public class BookMapper {
+@Mapper(config = GeneratedMapperConfig.class)
+public abstract class BookMapper {
 
-    private ModelMapper modelMapper;
+    @Autowired
+    protected CostCenterRepository costCenterRepository;
 
-    private CostCenterRepository costCenterRepository;
+    @Mapping(target = "costCenterName", source = "costCenter.costCenterName")
+    public abstract BookDTO toDto(Book entity);
 
-    public BookDTO toDto(Book entity) {
-        BookDTO dto = modelMapper.map(entity, BookDTO.class);
-        dto.setCostCenterName(entity.getCostCenter() != null ? entity.getCostCenter().getCostCenterName() : null);
-        return dto;
-    }
+    @Mapping(target = "costCenter", source = "costCenterName")
+    public abstract Book toEntity(BookDTO dto);
 
-    public Book toEntity(BookDTO dto) {
-        Book entity = modelMapper.map(dto, Book.class);
-        if (dto.getCostCenterName() != null) {
-            CostCenter costCenter = costCenterRepository.findAll().stream()
-                .filter(cc -> dto.getCostCenterName().equals(cc.getCostCenterName()))
-                .findFirst().orElse(null);
-            entity.setCostCenter(costCenter);
+    protected CostCenter costCenterByName(String costCenterName) {
+        if (costCenterName == null) {
+            return null;
         }
-        return entity;
+        return costCenterRepository.findFirstByNormalizedName(NormalizedNames.normalize(costCenterName)).orElse(null);
     }
 }
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.BusinessDayConventionDTO;
 import com.technicalchallenge.model.BusinessDayConvention;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class BusinessDayConventionMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface BusinessDayConventionMapper {
 
-    public BusinessDayConventionDTO toDto(BusinessDayConvention entity) {
-        return modelMapper.map(entity, BusinessDayConventionDTO.class);
-    }
+    BusinessDayConventionDTO toDto(BusinessDayConvention entity);
 
-    public BusinessDayConvention toEntity(BusinessDayConventionDTO dto) {
-        return modelMapper.map(dto, BusinessDayConvention.class);
-    }
+    BusinessDayConvention toEntity(BusinessDayConventionDTO dto);
 }
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.CounterpartyDTO;
 import com.technicalchallenge.model.Counterparty;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class CounterpartyMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface CounterpartyMapper {
 
-    public CounterpartyDTO toDto(Counterparty entity) {
-        return modelMapper.map(entity, CounterpartyDTO.class);
-    }
+    CounterpartyDTO toDto(Counterparty entity);
 
-    public Counterparty toEntity(CounterpartyDTO dto) {
-        return modelMapper.map(dto, Counterparty.class);
-    }
+    Counterparty toEntity(CounterpartyDTO dto);
 }
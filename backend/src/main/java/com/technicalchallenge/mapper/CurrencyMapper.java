@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.CurrencyDTO;
 import com.technicalchallenge.model.Currency;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class CurrencyMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface CurrencyMapper {
 
-    public CurrencyDTO toDto(Currency entity) {
-        return modelMapper.map(entity, CurrencyDTO.class);
-    }
+    CurrencyDTO toDto(Currency entity);
 
-    public Currency toEntity(CurrencyDTO dto) {
-        return modelMapper.map(dto, Currency.class);
-    }
+    Currency toEntity(CurrencyDTO dto);
 }
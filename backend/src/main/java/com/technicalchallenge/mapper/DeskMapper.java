@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.DeskDTO;
 import com.technicalchallenge.model.Desk;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class DeskMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface DeskMapper {
 
-    public DeskDTO toDto(Desk entity) {
-        return modelMapper.map(entity, DeskDTO.class);
-    }
+    DeskDTO toDto(Desk entity);
 
-    public Desk toEntity(DeskDTO dto) {
-        return modelMapper.map(dto, Desk.class);
-    }
+    Desk toEntity(DeskDTO dto);
 }
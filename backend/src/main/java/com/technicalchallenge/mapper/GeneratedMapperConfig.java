@@ -0,0 +1,14 @@
+package com.technicalchallenge.mapper;
+
+import org.mapstruct.MapperConfig;
+import org.mapstruct.MappingConstants;
+import org.mapstruct.ReportingPolicy;
+
+/**
+ * Settings shared by the mappers MapStruct generates at compile time. They are Spring beans,
+ * and target properties with no matching source (normalized name columns, relations resolved
+ * by the service) are left unset rather than reported, as ModelMapper did.
+ */
+@MapperConfig(componentModel = MappingConstants.ComponentModel.SPRING, unmappedTargetPolicy = ReportingPolicy.IGNORE)
+public interface GeneratedMapperConfig {
+}
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.HolidayCalendarDTO;
 import com.technicalchallenge.model.HolidayCalendar;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class HolidayCalendarMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface HolidayCalendarMapper {
 
-    public HolidayCalendarDTO toDto(HolidayCalendar entity) {
-        return modelMapper.map(entity, HolidayCalendarDTO.class);
-    }
+    HolidayCalendarDTO toDto(HolidayCalendar entity);
 
-    public HolidayCalendar toEntity(HolidayCalendarDTO dto) {
-        return modelMapper.map(dto, HolidayCalendar.class);
-    }
+    HolidayCalendar toEntity(HolidayCalendarDTO dto);
 }
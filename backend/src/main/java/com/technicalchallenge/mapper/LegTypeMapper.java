@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.LegTypeDTO;
 import com.technicalchallenge.model.LegType;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class LegTypeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface LegTypeMapper {
 
-    public LegTypeDTO toDto(LegType entity) {
-        return modelMapper.map(entity, LegTypeDTO.class);
-    }
+    LegTypeDTO toDto(LegType entity);
 
-    public LegType toEntity(LegTypeDTO dto) {
-        return modelMapper.map(dto, LegType.class);
-    }
+    LegType toEntity(LegTypeDTO dto);
 }
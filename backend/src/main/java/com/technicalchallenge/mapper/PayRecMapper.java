@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.PayRecDTO;
 import com.technicalchallenge.model.PayRec;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class PayRecMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface PayRecMapper {
 
-    public PayRecDTO toDto(PayRec entity) {
-        return modelMapper.map(entity, PayRecDTO.class);
-    }
+    PayRecDTO toDto(PayRec entity);
 
-    public PayRec toEntity(PayRecDTO dto) {
-        return modelMapper.map(dto, PayRec.class);
-    }
+    PayRec toEntity(PayRecDTO dto);
 }
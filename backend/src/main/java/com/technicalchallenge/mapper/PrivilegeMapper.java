@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.PrivilegeDTO;
 import com.technicalchallenge.model.Privilege;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class PrivilegeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface PrivilegeMapper {
 
-    public PrivilegeDTO toDto(Privilege entity) {
-        return modelMapper.map(entity, PrivilegeDTO.class);
-    }
+    PrivilegeDTO toDto(Privilege entity);
 
-    public Privilege toEntity(PrivilegeDTO dto) {
-        return modelMapper.map(dto, Privilege.class);
-    }
+    Privilege toEntity(PrivilegeDTO dto);
 }
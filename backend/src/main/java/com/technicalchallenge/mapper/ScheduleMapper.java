@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.ScheduleDTO;
 import com.technicalchallenge.model.Schedule;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class ScheduleMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface ScheduleMapper {
 
-    public ScheduleDTO toDto(Schedule entity) {
-        return modelMapper.map(entity, ScheduleDTO.class);
-    }
+    ScheduleDTO toDto(Schedule entity);
 
-    public Schedule toEntity(ScheduleDTO dto) {
-        return modelMapper.map(dto, Schedule.class);
-    }
+    Schedule toEntity(ScheduleDTO dto);
 }
@@ -1,35 +1,30 @@
 package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.SubDeskDTO;
+import com.technicalchallenge.model.Desk;
+import com.technicalchallenge.model.NormalizedNames;
 import com.technicalchallenge.model.SubDesk;
 import com.technicalchallenge.repository.DeskRepository;
-import com.technicalchallenge.model.Desk;
-import org.modelmapper.ModelMapper;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
 
-@Component
-public class SubDeskMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public abstract class SubDeskMapper {
 
     @Autowired
-    private DeskRepository deskRepository;
+    protected DeskRepository deskRepository;
 
-    public SubDeskDTO toDto(SubDesk entity) {
-        SubDeskDTO dto = modelMapper.map(entity, SubDeskDTO.class);
-        dto.setDeskName(entity.getDesk() != null ? entity.getDesk().getDeskName() : null);
-        return dto;
-    }
+    @Mapping(target = "deskName", source = "desk.deskName")
+    public abstract SubDeskDTO toDto(SubDesk entity);
+
+    @Mapping(target = "desk", source = "deskName")
+    public abstract SubDesk toEntity(SubDeskDTO dto);
 
-    public SubDesk toEntity(SubDeskDTO dto) {
-        SubDesk entity = modelMapper.map(dto, SubDesk.class);
-        if (dto.getDeskName() != null) {
-            Desk desk = deskRepository.findAll().stream()
-                .filter(d -> dto.getDeskName().equals(d.getDeskName()))
-                .findFirst().orElse(null);
-            entity.setDesk(desk);
+    protected Desk deskByName(String deskName) {
+        if (deskName == null) {
+            return null;
         }
-        return entity;
+        return deskRepository.findFirstByNormalizedName(NormalizedNames.normalize(deskName)).orElse(null);
     }
 }
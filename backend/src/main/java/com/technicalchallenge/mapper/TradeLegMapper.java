@@ -4,6 +4,7 @@ import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.model.Schedule;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.repository.*;
+import com.technicalchallenge.service.LegCashflowGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -27,6 +28,8 @@ public class TradeLegMapper {
     private PayRecRepository payRecRepository;
     @Autowired
     private CashflowMapper cashflowMapper;
+    @Autowired
+    private LegCashflowGenerator legCashflowGenerator;
 
     public TradeLegDTO toDto(TradeLeg entity) {
         TradeLegDTO dto = new TradeLegDTO();
@@ -41,7 +44,9 @@ public class TradeLegMapper {
         dto.setPaymentBusinessDayConvention(entity.getPaymentBusinessDayConvention() != null ? entity.getPaymentBusinessDayConvention().getBdc() : null);
         dto.setFixingBusinessDayConvention(entity.getFixingBusinessDayConvention() != null ? entity.getFixingBusinessDayConvention().getBdc() : null);
         dto.setPayReceiveFlag(entity.getPayReceiveFlag() != null ? entity.getPayReceiveFlag().getPayRec() : null);
-        if (entity.getCashflows() != null) {
+        if (Boolean.TRUE.equals(entity.getCashflowsOnDemand())) {
+            dto.setCashflows(legCashflowGenerator.generate(entity, null, null).stream().map(cashflowMapper::toDto).collect(Collectors.toList()));
+        } else if (entity.getCashflows() != null) {
             dto.setCashflows(entity.getCashflows().stream().map(cashflowMapper::toDto).collect(Collectors.toList()));
         }
         return dto;
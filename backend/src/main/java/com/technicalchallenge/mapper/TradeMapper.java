@@ -4,9 +4,10 @@ import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeCurrent;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.model.Cashflow;
-import org.modelmapper.ModelMapper;
+import com.technicalchallenge.service.LegCashflowGenerator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
@@ -17,13 +18,69 @@ import java.util.stream.Collectors;
 public class TradeMapper {
 
     @Autowired
-    private ModelMapper modelMapper;
+    private LegCashflowGenerator legCashflowGenerator;
 
     public TradeDTO toDto(Trade trade) {
         if (trade == null) {
             return null;
         }
 
+        TradeDTO dto = toHeaderDto(trade);
+
+        // Map trade legs
+        if (trade.getTradeLegs() != null) {
+            List<TradeLegDTO> legDTOs = trade.getTradeLegs().stream()
+                    .map(this::tradeLegToDto)
+                    .collect(Collectors.toList());
+            dto.setTradeLegs(legDTOs);
+        }
+
+        return dto;
+    }
+
+    /**
+     * Maps a blotter row of the current-version projection. Only header fields are set; the
+     * full trade is available from {@code GET /api/trades/{id}}.
+     */
+    public TradeDTO toBlotterDto(TradeCurrent current) {
+        if (current == null) {
+            return null;
+        }
+
+        TradeDTO dto = new TradeDTO();
+        dto.setId(current.getTradeRowId());
+        dto.setTradeId(current.getTradeId());
+        dto.setVersion(current.getVersion());
+        dto.setTradeDate(current.getTradeDate());
+        dto.setTradeStartDate(current.getTradeStartDate());
+        dto.setTradeMaturityDate(current.getTradeMaturityDate());
+        dto.setUtiCode(current.getUtiCode());
+        dto.setLastTouchTimestamp(current.getLastTouchTimestamp());
+        dto.setActive(true);
+        dto.setBookId(current.getBookId());
+        dto.setBookName(current.getBookName());
+        dto.setCounterpartyId(current.getCounterpartyId());
+        dto.setCounterpartyName(current.getCounterpartyName());
+        dto.setTraderUserId(current.getTraderUserId());
+        dto.setTraderUserName(current.getTraderUserName());
+        dto.setTradeTypeId(current.getTradeTypeId());
+        dto.setTradeType(current.getTradeType());
+        dto.setTradeSubTypeId(current.getTradeSubTypeId());
+        dto.setTradeSubType(current.getTradeSubType());
+        dto.setTradeStatusId(current.getTradeStatusId());
+        dto.setTradeStatus(current.getTradeStatus());
+        return dto;
+    }
+
+    /**
+     * Maps the trade and its reference data but not its legs, so the legs collection is never
+     * touched (used by exports, where loading legs per trade would be one query per row).
+     */
+    public TradeDTO toHeaderDto(Trade trade) {
+        if (trade == null) {
+            return null;
+        }
+
         TradeDTO dto = new TradeDTO();
         dto.setId(trade.getId());
         dto.setTradeId(trade.getTradeId());
@@ -75,14 +132,6 @@ public class TradeMapper {
             dto.setTradeStatus(trade.getTradeStatus().getTradeStatus());
         }
 
-        // Map trade legs
-        if (trade.getTradeLegs() != null) {
-            List<TradeLegDTO> legDTOs = trade.getTradeLegs().stream()
-                    .map(this::tradeLegToDto)
-                    .collect(Collectors.toList());
-            dto.setTradeLegs(legDTOs);
-        }
-
         return dto;
     }
 
@@ -159,8 +208,12 @@ public class TradeMapper {
             dto.setPayReceiveFlag(leg.getPayReceiveFlag().getPayRec());
         }
 
-        // Map cashflows
-        if (leg.getCashflows() != null) {
+        // Map cashflows; legs booked on-demand have none stored and generate them instead
+        if (Boolean.TRUE.equals(leg.getCashflowsOnDemand())) {
+            dto.setCashflows(legCashflowGenerator.generate(leg, null, null).stream()
+                    .map(this::cashflowToDto)
+                    .collect(Collectors.toList()));
+        } else if (leg.getCashflows() != null) {
             List<CashflowDTO> cashflowDTOs = leg.getCashflows().stream()
                     .map(this::cashflowToDto)
                     .collect(Collectors.toList());
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.TradeStatusDTO;
 import com.technicalchallenge.model.TradeStatus;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class TradeStatusMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface TradeStatusMapper {
 
-    public TradeStatusDTO toDto(TradeStatus entity) {
-        return modelMapper.map(entity, TradeStatusDTO.class);
-    }
+    TradeStatusDTO toDto(TradeStatus entity);
 
-    public TradeStatus toEntity(TradeStatusDTO dto) {
-        return modelMapper.map(dto, TradeStatus.class);
-    }
+    TradeStatus toEntity(TradeStatusDTO dto);
 }
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.TradeSubTypeDTO;
 import com.technicalchallenge.model.TradeSubType;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class TradeSubTypeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface TradeSubTypeMapper {
 
-    public TradeSubTypeDTO toDto(TradeSubType entity) {
-        return modelMapper.map(entity, TradeSubTypeDTO.class);
-    }
+    TradeSubTypeDTO toDto(TradeSubType entity);
 
-    public TradeSubType toEntity(TradeSubTypeDTO dto) {
-        return modelMapper.map(dto, TradeSubType.class);
-    }
+    TradeSubType toEntity(TradeSubTypeDTO dto);
 }
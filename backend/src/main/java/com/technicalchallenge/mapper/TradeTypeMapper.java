@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.TradeTypeDTO;
 import com.technicalchallenge.model.TradeType;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class TradeTypeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface TradeTypeMapper {
 
-    public TradeTypeDTO toDto(TradeType entity) {
-        return modelMapper.map(entity, TradeTypeDTO.class);
-    }
+    TradeTypeDTO toDto(TradeType entity);
 
-    public TradeType toEntity(TradeTypeDTO dto) {
-        return modelMapper.map(dto, TradeType.class);
-    }
+    TradeType toEntity(TradeTypeDTO dto);
 }
@@ -2,20 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.UserPrivilegeDTO;
 import com.technicalchallenge.model.UserPrivilege;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class UserPrivilegeMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface UserPrivilegeMapper {
 
-    public UserPrivilegeDTO toDto(UserPrivilege entity) {
-        return modelMapper.map(entity, UserPrivilegeDTO.class);
-    }
+    UserPrivilegeDTO toDto(UserPrivilege entity);
 
-    public UserPrivilege toEntity(UserPrivilegeDTO dto) {
-        return modelMapper.map(dto, UserPrivilege.class);
-    }
+    UserPrivilege toEntity(UserPrivilegeDTO dto);
 }
@@ -2,21 +2,12 @@ package com.technicalchallenge.mapper;
 
 import com.technicalchallenge.dto.UserProfileDTO;
 import com.technicalchallenge.model.UserProfile;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.stereotype.Component;
+import org.mapstruct.Mapper;
 
-@Component
-public class UserProfileMapper {
-    @Autowired
-    private ModelMapper modelMapper;
+@Mapper(config = GeneratedMapperConfig.class)
+public interface UserProfileMapper {
 
-    public UserProfileDTO toDto(UserProfile entity) {
-        return modelMapper.map(entity, UserProfileDTO.class);
-    }
+    UserProfileDTO toDto(UserProfile entity);
 
-    public UserProfile toEntity(UserProfileDTO dto) {
-        return modelMapper.map(dto, UserProfile.class);
-    }
+    UserProfile toEntity(UserProfileDTO dto);
 }
-
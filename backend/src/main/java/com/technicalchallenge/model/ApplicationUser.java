@@ -1,6 +1,10 @@
 package com.technicalchallenge.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.technicalchallenge.model.listener.TradeCurrentNameListener;
+import com.technicalchallenge.model.listener.TradeSearchIndexListener;
+import com.technicalchallenge.model.listener.UserDirectoryChangeListener;
+import com.technicalchallenge.model.listener.UserLoginCacheListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
@@ -10,7 +14,12 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "application_user")
+@Table(name = "application_user", indexes = {
+        @jakarta.persistence.Index(name = "idx_application_user_normalized_login_id", columnList = "normalized_login_id"),
+        @jakarta.persistence.Index(name = "idx_application_user_normalized_full_name", columnList = "normalized_full_name")
+})
+@EntityListeners({TradeSearchIndexListener.class, UserDirectoryChangeListener.class, UserLoginCacheListener.class,
+        TradeCurrentNameListener.class})
 public class ApplicationUser {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -19,6 +28,13 @@ public class ApplicationUser {
     private String lastName;
     @Column(unique = true, nullable = false)
     private String loginId;
+
+    @Column(name = "normalized_login_id")
+    private String normalizedLoginId;
+
+    // "first last", normalized, for trader name search
+    @Column(name = "normalized_full_name")
+    private String normalizedFullName;
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String password;
     private boolean active;
@@ -32,11 +48,19 @@ public class ApplicationUser {
     public void prePersist() {
         this.lastModifiedTimestamp = java.time.LocalDateTime.now();
         this.version = 1;
+        normalizeNames();
     }
 
     @PreUpdate
     public void preUpdate() {
         this.lastModifiedTimestamp = java.time.LocalDateTime.now();
         this.version = this.version + 1;
+        normalizeNames();
+    }
+
+    private void normalizeNames() {
+        normalizedLoginId = NormalizedNames.normalize(loginId);
+        normalizedFullName = NormalizedNames.normalize(
+                (firstName == null ? "" : firstName) + " " + (lastName == null ? "" : lastName));
     }
 }
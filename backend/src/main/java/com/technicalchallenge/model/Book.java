@@ -1,5 +1,8 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
+import com.technicalchallenge.model.listener.TradeCurrentNameListener;
+import com.technicalchallenge.model.listener.TradeSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,16 +11,26 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "book")
+@Table(name = "book", indexes = @jakarta.persistence.Index(name = "idx_book_normalized_name", columnList = "normalized_name"))
+@EntityListeners({ReferenceDataChangeListener.class, TradeSearchIndexListener.class, TradeCurrentNameListener.class})
 public class Book {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String bookName;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
     private boolean active;
     private int version;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cost_center_id", referencedColumnName = "id")
     private CostCenter costCenter;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(bookName);
+    }
 }
@@ -14,10 +14,12 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "cashflow")
+@Table(name = "cashflow", indexes = @jakarta.persistence.Index(name = "idx_cashflow_leg_id_value_date", columnList = "leg_id, value_date"))
 public class Cashflow {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Large allocation: a 30 year monthly swap books 720 cashflows, which then needs two sequence calls
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cashflow_seq")
+    @SequenceGenerator(name = "cashflow_seq", sequenceName = "cashflow_seq", initialValue = 10000, allocationSize = 500)
     private Long id; // Changed from 'id' to match DTO
 
     private BigDecimal paymentValue;
@@ -8,13 +8,16 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "cost_center")
+@Table(name = "cost_center", indexes = @jakarta.persistence.Index(name = "idx_cost_center_normalized_name", columnList = "normalized_name"))
 public class CostCenter {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String costCenterName;
 
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "subdesk_id", referencedColumnName = "id")
     private SubDesk subDesk;
@@ -42,4 +45,10 @@ public class CostCenter {
     public void setSubDesk(SubDesk subDesk) {
         this.subDesk = subDesk;
     }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(costCenterName);
+    }
 }
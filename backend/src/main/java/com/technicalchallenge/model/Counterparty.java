@@ -1,5 +1,8 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
+import com.technicalchallenge.model.listener.TradeCurrentNameListener;
+import com.technicalchallenge.model.listener.TradeSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -10,16 +13,26 @@ import java.time.LocalDate;
 @Getter
 @Setter
 @Entity
-@Table(name = "counterparty")
+@Table(name = "counterparty", indexes = @jakarta.persistence.Index(name = "idx_counterparty_normalized_name", columnList = "normalized_name"))
+@EntityListeners({ReferenceDataChangeListener.class, TradeSearchIndexListener.class, TradeCurrentNameListener.class})
 public class Counterparty {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String name;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
     private String address;
     private String phoneNumber;
     private Long internalCode;
     private LocalDate createdDate;
     private LocalDate lastModifiedDate;
     private boolean active;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(name);
+    }
 }
@@ -1,5 +1,6 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,10 +9,20 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "currency")
+@Table(name = "currency", indexes = @jakarta.persistence.Index(name = "idx_currency_normalized_name", columnList = "normalized_name"))
+@EntityListeners(ReferenceDataChangeListener.class)
 public class Currency {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String currency;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(currency);
+    }
 }
@@ -8,13 +8,16 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "desk")
+@Table(name = "desk", indexes = @jakarta.persistence.Index(name = "idx_desk_normalized_name", columnList = "normalized_name"))
 public class Desk {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String deskName;
 
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     public Long getId() {
         return id;
     }
@@ -30,4 +33,10 @@ public class Desk {
     public void setDeskName(String deskName) {
         this.deskName = deskName;
     }
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(deskName);
+    }
 }
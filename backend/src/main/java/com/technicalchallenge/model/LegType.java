@@ -1,5 +1,6 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,10 +9,20 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "leg_type")
+@Table(name = "leg_type", indexes = @jakarta.persistence.Index(name = "idx_leg_type_normalized_name", columnList = "normalized_name"))
+@EntityListeners(ReferenceDataChangeListener.class)
 public class LegType {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String type;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(type);
+    }
 }
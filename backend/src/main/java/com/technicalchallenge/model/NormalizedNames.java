@@ -0,0 +1,19 @@
+package com.technicalchallenge.model;
+
+import java.util.Locale;
+
+/**
+ * Canonical form used for case-insensitive lookups of name-keyed reference data.
+ *
+ * <p>Entities store this form in an indexed {@code normalized_name} column and the
+ * in-memory caches key on it, so "fixed", "Fixed" and " FIXED " all resolve to the same row.</p>
+ */
+public final class NormalizedNames {
+
+    private NormalizedNames() {
+    }
+
+    public static String normalize(String name) {
+        return name == null ? null : name.trim().toLowerCase(Locale.ROOT);
+    }
+}
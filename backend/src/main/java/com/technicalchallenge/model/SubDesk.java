@@ -8,14 +8,23 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "sub_desk")
+@Table(name = "sub_desk", indexes = @jakarta.persistence.Index(name = "idx_sub_desk_normalized_name", columnList = "normalized_name"))
 public class SubDesk {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String subdeskName;
 
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "desk_id", referencedColumnName = "id")
     private Desk desk;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(subdeskName);
+    }
 }
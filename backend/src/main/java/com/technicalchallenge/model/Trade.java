@@ -1,5 +1,6 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.TradeSearchIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -14,10 +15,52 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade")
+@Table(name = "trade", indexes = {
+        // Live version lookup (findByTradeIdAndActiveTrue)
+        @jakarta.persistence.Index(name = "idx_trade_trade_id_active", columnList = "trade_id, active"),
+        // Keyset pagination order, see TradeIdQueryRepository.findSortKeys; also serves trade date ranges
+        @jakarta.persistence.Index(name = "idx_trade_keyset", columnList = "trade_date DESC, trade_id DESC, id DESC"),
+        @jakarta.persistence.Index(name = "idx_trade_trade_status_id", columnList = "trade_status_id"),
+        @jakarta.persistence.Index(name = "idx_trade_book_id", columnList = "book_id"),
+        @jakarta.persistence.Index(name = "idx_trade_counterparty_id", columnList = "counterparty_id"),
+        @jakarta.persistence.Index(name = "idx_trade_trader_user_id", columnList = "trader_user_id")
+})
+@NamedEntityGraph(
+        name = Trade.WITH_LEGS_AND_REFERENCE_DATA,
+        attributeNodes = {
+                @NamedAttributeNode("book"),
+                @NamedAttributeNode("counterparty"),
+                @NamedAttributeNode("traderUser"),
+                @NamedAttributeNode("tradeInputterUser"),
+                @NamedAttributeNode("tradeType"),
+                @NamedAttributeNode("tradeSubType"),
+                @NamedAttributeNode("tradeStatus"),
+                @NamedAttributeNode(value = "tradeLegs", subgraph = "legReferenceData")
+        },
+        subgraphs = @NamedSubgraph(
+                name = "legReferenceData",
+                attributeNodes = {
+                        @NamedAttributeNode("currency"),
+                        @NamedAttributeNode("legRateType"),
+                        @NamedAttributeNode("index"),
+                        @NamedAttributeNode("holidayCalendar"),
+                        @NamedAttributeNode("calculationPeriodSchedule"),
+                        @NamedAttributeNode("paymentBusinessDayConvention"),
+                        @NamedAttributeNode("fixingBusinessDayConvention"),
+                        @NamedAttributeNode("payReceiveFlag")
+                }))
+@EntityListeners(TradeSearchIndexListener.class)
 public class Trade {
+    /**
+     * Trade with all its reference data and legs (with their reference data), i.e. everything
+     * {@code TradeMapper.toDto} reads except cashflows, which are a second bag and are fetched
+     * separately with {@link TradeLeg#WITH_CASHFLOWS}.
+     */
+    public static final String WITH_LEGS_AND_REFERENCE_DATA = "Trade.withLegsAndReferenceData";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_seq")
+    @SequenceGenerator(name = "trade_seq", sequenceName = "trade_seq", initialValue = 10000, allocationSize = 50)
     private Long id;
 
     private Long tradeId;
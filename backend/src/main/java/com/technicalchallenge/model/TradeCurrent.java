@@ -0,0 +1,83 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * Narrow read model of the live version of each trade: one row per business trade ID with
+ * the reference data names denormalized, so the blotter never joins or filters historical
+ * versions. Maintained by {@code TradeCurrentProjector} in the same transaction as every
+ * write to {@link Trade}; names are refreshed when the referenced entity is renamed.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "trade_current", indexes = {
+        @jakarta.persistence.Index(name = "idx_trade_current_keyset", columnList = "trade_date DESC, trade_id DESC"),
+        @jakarta.persistence.Index(name = "idx_trade_current_book_id", columnList = "book_id"),
+        @jakarta.persistence.Index(name = "idx_trade_current_counterparty_id", columnList = "counterparty_id"),
+        @jakarta.persistence.Index(name = "idx_trade_current_trader_user_id", columnList = "trader_user_id"),
+        @jakarta.persistence.Index(name = "idx_trade_current_trade_status", columnList = "trade_status")
+})
+public class TradeCurrent implements Persistable<Long> {
+    @Id
+    private Long tradeId;
+
+    // ID of the live row in the trade table
+    private Long tradeRowId;
+    private Integer version;
+
+    private LocalDate tradeDate;
+    private LocalDate tradeStartDate;
+    private LocalDate tradeMaturityDate;
+    private String utiCode;
+
+    private Long bookId;
+    private String bookName;
+    private Long counterpartyId;
+    private String counterpartyName;
+    private Long traderUserId;
+    private String traderUserName;
+    private Long tradeTypeId;
+    private String tradeType;
+    private Long tradeSubTypeId;
+    private String tradeSubType;
+    private Long tradeStatusId;
+    private String tradeStatus;
+
+    private LocalDateTime lastTouchTimestamp;
+
+    // Lets save() insert a new projection row without a merge (SELECT) first
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean isNew;
+
+    public TradeCurrent(Long tradeId) {
+        this.tradeId = tradeId;
+        this.isNew = true;
+    }
+
+    @Override
+    public Long getId() {
+        return tradeId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
+}
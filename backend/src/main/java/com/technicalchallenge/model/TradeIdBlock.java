@@ -0,0 +1,26 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Hi/lo allocation row for business trade IDs.
+ *
+ * <p>{@code nextValue} is the first ID not yet handed out to any application instance.
+ * Each instance reserves a block by advancing it under a row lock.</p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "trade_id_block")
+public class TradeIdBlock {
+    @Id
+    private String name;
+
+    private Long nextValue;
+}
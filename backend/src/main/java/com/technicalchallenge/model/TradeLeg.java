@@ -2,6 +2,7 @@ package com.technicalchallenge.model;
 
 import jakarta.persistence.*;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
@@ -14,10 +15,24 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "trade_leg")
+@Table(name = "trade_leg", indexes = @jakarta.persistence.Index(name = "idx_trade_leg_trade_id", columnList = "trade_id"))
+@NamedEntityGraph(
+        name = TradeLeg.WITH_CASHFLOWS,
+        attributeNodes = @NamedAttributeNode(value = "cashflows", subgraph = "cashflowReferenceData"),
+        subgraphs = @NamedSubgraph(
+                name = "cashflowReferenceData",
+                attributeNodes = {
+                        @NamedAttributeNode("payRec"),
+                        @NamedAttributeNode("paymentType"),
+                        @NamedAttributeNode("paymentBusinessDayConvention")
+                }))
 public class TradeLeg {
+    /** Leg with its cashflows and the cashflows' reference data. */
+    public static final String WITH_CASHFLOWS = "TradeLeg.withCashflows";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "trade_leg_seq")
+    @SequenceGenerator(name = "trade_leg_seq", sequenceName = "trade_leg_seq", initialValue = 10000, allocationSize = 50)
     private Long legId;
 
     private BigDecimal notional;
@@ -59,6 +74,13 @@ public class TradeLeg {
     @JoinColumn(name = "pay_rec_id", referencedColumnName = "id")
     private PayRec payReceiveFlag;
 
+    // Schedule terms the leg's cashflows are generated from
+    private LocalDate scheduleStartDate;
+    private LocalDate scheduleEndDate;
+
+    // When true no cashflow rows were written at booking; they are generated on read
+    private Boolean cashflowsOnDemand = false;
+
     // Audit fields
     private Boolean active = true;
     private LocalDateTime createdDate;
@@ -0,0 +1,73 @@
+package com.technicalchallenge.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Post-booking work of one asynchronously booked trade: cashflow generation, additional info
+ * enrichment and the booked notification. Written in the same transaction as the trade and its
+ * legs, so an entry exists exactly when the booking committed, and worked off by
+ * {@code TradeBookingWorker}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "trade_outbox", indexes = {
+        @jakarta.persistence.Index(name = "idx_trade_outbox_trade_id", columnList = "trade_id"),
+        @jakarta.persistence.Index(name = "idx_trade_outbox_status", columnList = "status, last_modified_date")
+})
+public class TradeOutboxEntry {
+
+    public enum Status {
+        PENDING, PROCESSING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Business trade ID
+    @Column(name = "trade_id", nullable = false)
+    private Long tradeId;
+
+    // ID of the booked row in the trade table
+    @Column(name = "trade_row_id", nullable = false)
+    private Long tradeRowId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private Status status = Status.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    // Bumped by every claim and release, so an attempt that lost its claim cannot overwrite the entry
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    // Additional fields submitted with the booking, as JSON
+    @Column(name = "additional_fields", columnDefinition = "TEXT")
+    private String additionalFields;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate = LocalDateTime.now();
+
+    @Column(name = "last_modified_date", nullable = false)
+    private LocalDateTime lastModifiedDate = LocalDateTime.now();
+
+    // When the current attempt claimed the entry
+    @Column(name = "claimed_date")
+    private LocalDateTime claimedDate;
+
+    @Column(name = "completed_date")
+    private LocalDateTime completedDate;
+}
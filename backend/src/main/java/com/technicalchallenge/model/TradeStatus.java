@@ -1,5 +1,7 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
+import com.technicalchallenge.model.listener.TradeCurrentNameListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,10 +10,20 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "trade_status")
+@Table(name = "trade_status", indexes = @jakarta.persistence.Index(name = "idx_trade_status_normalized_name", columnList = "normalized_name"))
+@EntityListeners({ReferenceDataChangeListener.class, TradeCurrentNameListener.class})
 public class TradeStatus {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String tradeStatus;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(tradeStatus);
+    }
 }
@@ -1,5 +1,7 @@
 package com.technicalchallenge.model;
 
+import com.technicalchallenge.model.listener.ReferenceDataChangeListener;
+import com.technicalchallenge.model.listener.TradeCurrentNameListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -8,10 +10,20 @@ import lombok.Setter;
 @Getter
 @Setter
 @Entity
-@Table(name = "trade_type")
+@Table(name = "trade_type", indexes = @jakarta.persistence.Index(name = "idx_trade_type_normalized_name", columnList = "normalized_name"))
+@EntityListeners({ReferenceDataChangeListener.class, TradeCurrentNameListener.class})
 public class TradeType {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String tradeType;
+
+    @Column(name = "normalized_name")
+    private String normalizedName;
+
+    @PrePersist
+    @PreUpdate
+    void normalizeName() {
+        normalizedName = NormalizedNames.normalize(tradeType);
+    }
 }
@@ -0,0 +1,28 @@
+package com.technicalchallenge.model.listener;
+
+import com.technicalchallenge.service.ReferenceDataCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener attached to every cached reference entity. Any insert, update or
+ * delete, whichever service or controller performs it, invalidates the {@link ReferenceDataCache}.
+ */
+@Component
+public class ReferenceDataChangeListener {
+
+    @Autowired
+    @Lazy
+    private ReferenceDataCache referenceDataCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onReferenceDataChange(Object entity) {
+        referenceDataCache.invalidate();
+    }
+}
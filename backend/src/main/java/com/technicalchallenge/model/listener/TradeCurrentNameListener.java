@@ -0,0 +1,25 @@
+package com.technicalchallenge.model.listener;
+
+import com.technicalchallenge.service.TradeCurrentProjector;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on every entity whose name the trade blotter projection denormalizes
+ * (books, counterparties, users, trade types, sub-types and statuses); has the
+ * {@link TradeCurrentProjector} refresh the name once an update commits.
+ */
+@Component
+public class TradeCurrentNameListener {
+
+    @Autowired
+    @Lazy
+    private TradeCurrentProjector tradeCurrentProjector;
+
+    @PostUpdate
+    public void onUpdated(Object entity) {
+        tradeCurrentProjector.refreshNamesAfterCommit(entity);
+    }
+}
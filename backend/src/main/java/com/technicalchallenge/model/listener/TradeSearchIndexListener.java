@@ -0,0 +1,32 @@
+package com.technicalchallenge.model.listener;
+
+import com.technicalchallenge.service.TradeSearchIndex;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on every entity with a searchable text field (trades, books,
+ * counterparties and users); forwards each write to the {@link TradeSearchIndex}.
+ */
+@Component
+public class TradeSearchIndexListener {
+
+    @Autowired
+    @Lazy
+    private TradeSearchIndex tradeSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        tradeSearchIndex.onSaved(entity);
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        tradeSearchIndex.onRemoved(entity);
+    }
+}
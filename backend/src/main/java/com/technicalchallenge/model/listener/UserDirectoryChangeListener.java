@@ -0,0 +1,28 @@
+package com.technicalchallenge.model.listener;
+
+import com.technicalchallenge.service.UserDirectory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@code ApplicationUser}. Any insert, update or delete of a user
+ * invalidates the {@link UserDirectory}.
+ */
+@Component
+public class UserDirectoryChangeListener {
+
+    @Autowired
+    @Lazy
+    private UserDirectory userDirectory;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChange(Object entity) {
+        userDirectory.invalidate();
+    }
+}
@@ -0,0 +1,29 @@
+package com.technicalchallenge.model.listener;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.service.UserLoginCache;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener on {@code ApplicationUser}. Any insert, update or delete of a user
+ * evicts that user from the {@link UserLoginCache}.
+ */
+@Component
+public class UserLoginCacheListener {
+
+    @Autowired
+    @Lazy
+    private UserLoginCache userLoginCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChange(ApplicationUser user) {
+        userLoginCache.evictUser(user.getId());
+    }
+}
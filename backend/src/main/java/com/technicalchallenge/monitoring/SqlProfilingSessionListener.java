@@ -0,0 +1,50 @@
+package com.technicalchallenge.monitoring;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC statement and batch executions and reports them to {@link SqlStatementStatistics}.
+ *
+ * <p>Hibernate instantiates one listener per session from its class name
+ * ({@code hibernate.session.events.auto}), so the statistics instance is handed over
+ * through {@link #bind(SqlStatementStatistics)} when the profiling configuration starts.
+ * A session is used by one thread at a time, so the start timestamp needs no synchronization.</p>
+ */
+public class SqlProfilingSessionListener implements SessionEventListener {
+
+    private static volatile SqlStatementStatistics statistics;
+
+    private long executionStart;
+
+    public static void bind(SqlStatementStatistics statistics) {
+        SqlProfilingSessionListener.statistics = statistics;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatementStatistics current = statistics;
+        if (current != null && executionStart != 0) {
+            current.statementExecuted(System.nanoTime() - executionStart);
+            executionStart = 0;
+        }
+    }
+}
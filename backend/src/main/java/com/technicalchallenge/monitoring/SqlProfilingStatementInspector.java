@@ -0,0 +1,22 @@
+package com.technicalchallenge.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records each statement Hibernate prepares in {@link SqlStatementStatistics}.
+ * The SQL is passed through unchanged.
+ */
+public class SqlProfilingStatementInspector implements StatementInspector {
+
+    private final transient SqlStatementStatistics statistics;
+
+    public SqlProfilingStatementInspector(SqlStatementStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statistics.statementPrepared(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,36 @@
+package com.technicalchallenge.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Reports the rows each statement reads or writes to {@link SqlStatementStatistics}.
+ *
+ * <p>Neither Hibernate's session events nor its {@code StatementInspector} see row counts, so
+ * connections handed out by this data source are wrapped in {@link RowCountingConnection}.
+ * The wrappers are plain delegating classes: rows are only counted in {@code next()},
+ * {@code executeUpdate()} and {@code executeBatch()}, every other call is a single forwarding
+ * call to the driver.</p>
+ */
+public class SqlRowCountingDataSource extends DelegatingDataSource {
+
+    private final SqlStatementStatistics statistics;
+
+    public SqlRowCountingDataSource(DataSource target, SqlStatementStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return new RowCountingConnection(super.getConnection(), statistics);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return new RowCountingConnection(super.getConnection(username, password), statistics);
+    }
+}
@@ -0,0 +1,232 @@
+package com.technicalchallenge.monitoring;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory aggregate of the SQL statements Hibernate executes, grouped by query shape.
+ *
+ * <p>A shape is the statement text with literals replaced by {@code ?} and {@code IN} lists
+ * collapsed, so {@code where id in (?,?,?)} and {@code where id in (?,?)} count as one query.
+ * For every shape we keep the number of times it was prepared, the number of JDBC executions
+ * (a batch counts once), the rows it read or wrote and a latency histogram. Executions slower
+ * than the configured threshold are additionally kept in a bounded list of recent slow
+ * statements.</p>
+ *
+ * <p>Recording is a handful of lock-free counter updates, cheap enough to leave on in
+ * production, unlike Hibernate's per-statement SQL and bind parameter logging.</p>
+ */
+public class SqlStatementStatistics {
+
+    /** Upper bounds of the latency histogram buckets, in microseconds; the last bucket is unbounded. */
+    static final long[] BUCKET_BOUNDS_MICROS = {100, 500, 1_000, 5_000, 10_000, 50_000, 100_000, 500_000, 1_000_000};
+
+    /** Shape used once {@code maxShapes} distinct shapes have been seen, to bound memory. */
+    static final String OTHER_SHAPE = "<other>";
+
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final long slowThresholdNanos;
+    private final int slowSampleSize;
+    private final int maxShapes;
+
+    private final Map<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<String, String> shapeCache = new ConcurrentHashMap<>();
+    private final Deque<SlowStatement> slowStatements = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger slowStatementCount = new AtomicInteger();
+    private final AtomicLong since = new AtomicLong(System.currentTimeMillis());
+
+    /** Shape of the statement most recently prepared on this thread; executions are attributed to it. */
+    private final ThreadLocal<String> currentShape = new ThreadLocal<>();
+
+    public SqlStatementStatistics(long slowThresholdMillis, int slowSampleSize, int maxShapes) {
+        if (slowSampleSize < 0 || maxShapes < 1) {
+            throw new IllegalArgumentException("slowSampleSize must be >= 0 and maxShapes >= 1");
+        }
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.slowSampleSize = slowSampleSize;
+        this.maxShapes = maxShapes;
+    }
+
+    /**
+     * Called when Hibernate prepares a statement.
+     */
+    public void statementPrepared(String sql) {
+        String shape = shapeOf(sql);
+        currentShape.set(shape);
+        stats(shape).prepared.increment();
+    }
+
+    /**
+     * Called when a JDBC execution (single statement or batch) of the most recently prepared
+     * statement on this thread has finished. The execution ends the attribution, so a later
+     * execution without a prepare (e.g. on a pooled thread) is not counted against this shape.
+     */
+    public void statementExecuted(long elapsedNanos) {
+        String shape = currentShape.get();
+        currentShape.remove();
+        if (shape == null) {
+            shape = OTHER_SHAPE;
+        }
+        stats(shape).record(elapsedNanos);
+
+        if (elapsedNanos >= slowThresholdNanos && slowSampleSize > 0) {
+            slowStatements.addFirst(new SlowStatement(shape, toMillis(elapsedNanos), Instant.now(),
+                    Thread.currentThread().getName()));
+            if (slowStatementCount.incrementAndGet() > slowSampleSize) {
+                slowStatements.pollLast();
+                slowStatementCount.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Called with the rows a statement wrote (update count, or the sum of a batch's counts) or
+     * read (rows fetched from its result set). Takes the SQL rather than the current shape
+     * because result sets are read after the execution has ended.
+     */
+    public void rowsProcessed(String sql, long rows) {
+        if (rows > 0) {
+            stats(shapeOf(sql)).rows.add(rows);
+        }
+    }
+
+    /**
+     * Current aggregates, most executed shapes first.
+     */
+    public List<ShapeReport> shapes() {
+        List<ShapeReport> reports = new ArrayList<>(shapes.size());
+        shapes.forEach((shape, stats) -> reports.add(stats.report(shape)));
+        reports.sort(Comparator.comparingLong(ShapeReport::executions).reversed()
+                .thenComparing(Comparator.comparingLong(ShapeReport::prepared).reversed()));
+        return reports;
+    }
+
+    /**
+     * Recent statements slower than the threshold, newest first.
+     */
+    public List<SlowStatement> slowStatements() {
+        return List.copyOf(slowStatements);
+    }
+
+    public long slowThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    public Instant since() {
+        return Instant.ofEpochMilli(since.get());
+    }
+
+    public void reset() {
+        shapes.clear();
+        slowStatements.clear();
+        slowStatementCount.set(0);
+        since.set(System.currentTimeMillis());
+    }
+
+    static String normalize(String sql) {
+        String shape = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private String shapeOf(String sql) {
+        // Hibernate reuses the same SQL strings, so most calls are a map hit
+        String shape = shapeCache.get(sql);
+        if (shape == null) {
+            shape = normalize(sql);
+            if (shapeCache.size() < maxShapes * 4) {
+                shapeCache.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private ShapeStats stats(String shape) {
+        ShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        if (shapes.size() >= maxShapes) {
+            return shapes.computeIfAbsent(OTHER_SHAPE, k -> new ShapeStats());
+        }
+        return shapes.computeIfAbsent(shape, k -> new ShapeStats());
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class ShapeStats {
+        private final LongAdder prepared = new LongAdder();
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MICROS.length + 1];
+
+        ShapeStats() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        void record(long elapsedNanos) {
+            executions.increment();
+            totalNanos.add(elapsedNanos);
+            maxNanos.accumulate(elapsedNanos);
+            long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MICROS.length && micros > BUCKET_BOUNDS_MICROS[bucket]) {
+                bucket++;
+            }
+            buckets[bucket].increment();
+        }
+
+        ShapeReport report(String shape) {
+            long count = executions.sum();
+            Map<String, Long> histogram = new LinkedHashMap<>();
+            for (int i = 0; i < buckets.length; i++) {
+                String label = i < BUCKET_BOUNDS_MICROS.length
+                        ? "<=" + bucketLabel(BUCKET_BOUNDS_MICROS[i])
+                        : ">" + bucketLabel(BUCKET_BOUNDS_MICROS[BUCKET_BOUNDS_MICROS.length - 1]);
+                histogram.put(label, buckets[i].sum());
+            }
+            return new ShapeReport(shape, prepared.sum(), count, rows.sum(),
+                    count == 0 ? 0 : toMillis(totalNanos.sum()) / count,
+                    toMillis(maxNanos.get()), histogram);
+        }
+
+        private static String bucketLabel(long micros) {
+            return micros < 1_000 ? micros + "us" : (micros / 1_000) + "ms";
+        }
+    }
+
+    /** Aggregates for one query shape. Rows are read plus written; latencies are in milliseconds. */
+    public record ShapeReport(String sql, long prepared, long executions, long rows, double meanMillis,
+                              double maxMillis, Map<String, Long> latencyHistogram) {
+    }
+
+    /** One execution that exceeded the slow statement threshold. */
+    public record SlowStatement(String sql, double millis, Instant executedAt, String thread) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.technicalchallenge.monitoring;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint ({@code /actuator/sqlstats}) exposing the SQL profile of the running application.
+ *
+ * <p>{@code statements} and {@code slowStatements} come from {@link SqlStatementStatistics}.
+ * {@code hibernate} summarises Hibernate's own {@link Statistics}, which adds row counts per
+ * HQL query and entity-level insert/update/load totals, when they are collected
+ * ({@code sql.profiling.hibernate-statistics=true}). {@code DELETE} resets both.</p>
+ */
+@Endpoint(id = "sqlstats")
+public class SqlStatsEndpoint {
+
+    private final SqlStatementStatistics statementStatistics;
+    private final Statistics hibernateStatistics;
+
+    public SqlStatsEndpoint(SqlStatementStatistics statementStatistics, SessionFactory sessionFactory) {
+        this.statementStatistics = statementStatistics;
+        this.hibernateStatistics = sessionFactory.getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> sqlStats() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("since", statementStatistics.since());
+        report.put("slowThresholdMillis", statementStatistics.slowThresholdMillis());
+        report.put("statements", statementStatistics.shapes());
+        report.put("slowStatements", statementStatistics.slowStatements());
+        report.put("hibernate", hibernateSummary());
+        return report;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statementStatistics.reset();
+        hibernateStatistics.clear();
+    }
+
+    private Map<String, Object> hibernateSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("enabled", hibernateStatistics.isStatisticsEnabled());
+        if (!hibernateStatistics.isStatisticsEnabled()) {
+            return summary;
+        }
+        summary.put("preparedStatements", hibernateStatistics.getPrepareStatementCount());
+        summary.put("entityInserts", hibernateStatistics.getEntityInsertCount());
+        summary.put("entityUpdates", hibernateStatistics.getEntityUpdateCount());
+        summary.put("entityLoads", hibernateStatistics.getEntityLoadCount());
+        summary.put("entityFetches", hibernateStatistics.getEntityFetchCount());
+        summary.put("collectionLoads", hibernateStatistics.getCollectionLoadCount());
+        summary.put("flushes", hibernateStatistics.getFlushCount());
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : hibernateStatistics.getQueries()) {
+            QueryStatistics stats = hibernateStatistics.getQueryStatistics(query);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("query", query);
+            entry.put("executions", stats.getExecutionCount());
+            entry.put("rows", stats.getExecutionRowCount());
+            entry.put("meanMillis", stats.getExecutionAvgTime());
+            entry.put("maxMillis", stats.getExecutionMaxTime());
+            queries.add(entry);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> entry) -> (Long) entry.get("executions")).reversed());
+        summary.put("queries", queries);
+        return summary;
+    }
+}
@@ -0,0 +1,10 @@
+package com.technicalchallenge.repository;
+
+/**
+ * Projection of an entity's ID and active flag, used for bulk existence/active checks
+ * without loading the full entity.
+ */
+public interface ActiveFlagView {
+    Long getId();
+    Boolean getActive();
+}
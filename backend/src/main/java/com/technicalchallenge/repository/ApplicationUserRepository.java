@@ -2,16 +2,34 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.ApplicationUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicationUserRepository extends JpaRepository<ApplicationUser, Long> {
     // Custom query methods if needed
     Optional<ApplicationUser> findByLoginId(String loginId);
-    Optional<ApplicationUser> findByFirstName(String firstName);
     boolean existsByLoginId(String loginId);
 
+    @Query("SELECT u.id AS id, u.active AS active FROM ApplicationUser u WHERE u.id IN :ids")
+    List<ActiveFlagView> findActiveFlagsByIdIn(@Param("ids") Collection<Long> ids);
 
+    @Query("SELECT u.loginId AS loginId, u.active AS active FROM ApplicationUser u WHERE u.loginId IN :loginIds")
+    List<UserLoginFlagView> findActiveFlagsByLoginIdIn(@Param("loginIds") Collection<String> loginIds);
+
+    /**
+     * Replaces a user's stored password hash, but only if it is still {@code previous}, so a
+     * rehash on login cannot overwrite a password changed in the meantime.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ApplicationUser u SET u.password = :password WHERE u.id = :id AND u.password = :previous")
+    int updatePassword(@Param("id") Long id, @Param("previous") String previous, @Param("password") String password);
 }
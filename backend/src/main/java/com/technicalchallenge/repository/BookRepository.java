@@ -2,11 +2,19 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Book;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
     Optional<Book> findByBookName(String bookName);
+    Optional<Book> findFirstByNormalizedName(String normalizedName);
+
+    @Query("SELECT b.id AS id, b.active AS active FROM Book b WHERE b.id IN :ids")
+    List<ActiveFlagView> findActiveFlagsByIdIn(@Param("ids") Collection<Long> ids);
 }
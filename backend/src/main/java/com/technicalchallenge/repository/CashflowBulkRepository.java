@@ -0,0 +1,20 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Cashflow;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk insert path for generated cashflows. A long-dated leg produces hundreds of rows, so
+ * they are written as one JDBC batch instead of one statement round-trip per row.
+ */
+public interface CashflowBulkRepository {
+
+    /**
+     * Inserts new cashflows in a single JDBC batch (up to {@code MAX_BATCH_SIZE} rows per
+     * batch) and flushes. Cashflows without a created date are stamped with {@code createdDate},
+     * so callers take one timestamp per batch rather than one per row.
+     */
+    void insertAll(List<Cashflow> cashflows, LocalDateTime createdDate);
+}
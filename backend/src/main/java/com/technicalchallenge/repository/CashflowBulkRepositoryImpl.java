@@ -0,0 +1,40 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Cashflow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+class CashflowBulkRepositoryImpl implements CashflowBulkRepository {
+
+    // Bounds the statement buffer held by the driver for very large batch bookings
+    static final int MAX_BATCH_SIZE = 5000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void insertAll(List<Cashflow> cashflows, LocalDateTime createdDate) {
+        if (cashflows.isEmpty()) {
+            return;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        // Raise the session's batch size for this flush only, so the rows go out in one batch
+        session.setJdbcBatchSize(Math.min(cashflows.size(), MAX_BATCH_SIZE));
+        try {
+            for (Cashflow cashflow : cashflows) {
+                if (cashflow.getCreatedDate() == null) {
+                    cashflow.setCreatedDate(createdDate);
+                }
+                entityManager.persist(cashflow);
+            }
+            entityManager.flush();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+}
@@ -1,10 +1,34 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.TradeLeg;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @Repository
-public interface CashflowRepository extends JpaRepository<Cashflow, Long> {
-    // Custom query methods if needed
+public interface CashflowRepository extends JpaRepository<Cashflow, Long>, CashflowBulkRepository {
+    // Served by idx_cashflow_leg_id_value_date; the derived query joined trade_leg and scanned cashflow
+    @Query("SELECT c FROM Cashflow c WHERE c.tradeLeg.legId = :legId AND c.valueDate BETWEEN :from AND :to "
+            + "ORDER BY c.valueDate")
+    List<Cashflow> findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(@Param("legId") Long legId,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Copies every cashflow of {@code from} onto {@code to} in one INSERT ... SELECT; used to carry
+     * an unchanged leg forward on amendment without touching the superseded version's rows.
+     * Flushes first so a newly persisted {@code to} exists.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO Cashflow (paymentValue, valueDate, rate, tradeLeg, payRec, paymentType, "
+            + "paymentBusinessDayConvention, active, createdDate, validityStartDate, validityEndDate) "
+            + "SELECT c.paymentValue, c.valueDate, c.rate, l, c.payRec, c.paymentType, "
+            + "c.paymentBusinessDayConvention, c.active, c.createdDate, c.validityStartDate, c.validityEndDate "
+            + "FROM Cashflow c, TradeLeg l WHERE c.tradeLeg = :from AND l = :to")
+    int copyCashflows(@Param("from") TradeLeg from, @Param("to") TradeLeg to);
 }
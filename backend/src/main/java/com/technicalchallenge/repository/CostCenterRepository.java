@@ -4,5 +4,9 @@ import com.technicalchallenge.model.CostCenter;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface CostCenterRepository extends JpaRepository<CostCenter, Long> {}
+public interface CostCenterRepository extends JpaRepository<CostCenter, Long> {
+    Optional<CostCenter> findFirstByNormalizedName(String normalizedName);
+}
@@ -2,11 +2,19 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Counterparty;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CounterpartyRepository extends JpaRepository<Counterparty, Long> {
     Optional<Counterparty> findByName(String name);
+    Optional<Counterparty> findFirstByNormalizedName(String normalizedName);
+
+    @Query("SELECT c.id AS id, c.active AS active FROM Counterparty c WHERE c.id IN :ids")
+    List<ActiveFlagView> findActiveFlagsByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -9,4 +9,5 @@ import java.util.Optional;
 @Repository
 public interface CurrencyRepository extends JpaRepository<Currency, Long> {
     Optional<Currency> findByCurrency(String currency);
+    Optional<Currency> findFirstByNormalizedName(String normalizedName);
 }
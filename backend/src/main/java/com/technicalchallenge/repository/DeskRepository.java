@@ -4,5 +4,9 @@ import com.technicalchallenge.model.Desk;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface DeskRepository extends JpaRepository<Desk, Long> {}
+public interface DeskRepository extends JpaRepository<Desk, Long> {
+    Optional<Desk> findFirstByNormalizedName(String normalizedName);
+}
@@ -9,4 +9,5 @@ import java.util.Optional;
 @Repository
 public interface HolidayCalendarRepository extends JpaRepository<HolidayCalendar, Long> {
     Optional<HolidayCalendar> findByHolidayCalendar(String holidayCalendar);
+    Optional<HolidayCalendar> findFirstByNormalizedName(String normalizedName);
 }
@@ -9,4 +9,5 @@ import java.util.Optional;
 @Repository
 public interface IndexRepository extends JpaRepository<Index, Long> {
     Optional<Index> findByIndex(String index);
+    Optional<Index> findFirstByNormalizedName(String normalizedName);
 }
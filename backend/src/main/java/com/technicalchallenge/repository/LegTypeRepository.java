@@ -9,4 +9,5 @@ import java.util.Optional;
 @Repository
 public interface LegTypeRepository extends JpaRepository<LegType, Long> {
     Optional<LegType> findByType(String type);
+    Optional<LegType> findFirstByNormalizedName(String normalizedName);
 }
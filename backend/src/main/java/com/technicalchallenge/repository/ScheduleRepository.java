@@ -9,4 +9,5 @@ import java.util.Optional;
 @Repository
 public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
     Optional<Schedule> findBySchedule(String schedule);
+    Optional<Schedule> findFirstByNormalizedName(String normalizedName);
 }
@@ -4,5 +4,9 @@ import com.technicalchallenge.model.SubDesk;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface SubDeskRepository extends JpaRepository<SubDesk, Long> {}
+public interface SubDeskRepository extends JpaRepository<SubDesk, Long> {
+    Optional<SubDesk> findFirstByNormalizedName(String normalizedName);
+}
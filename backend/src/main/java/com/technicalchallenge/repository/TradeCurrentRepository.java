@@ -0,0 +1,50 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeCurrent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * The {@code refresh*} updates re-read one reference entity's current name into the rows that
+ * denormalize it. They read the name from the reference table rather than taking it as a
+ * parameter, so refreshes of concurrent renames converge on the committed name whatever order
+ * they run in, and only rows whose name differs are written.
+ */
+@Repository
+public interface TradeCurrentRepository extends JpaRepository<TradeCurrent, Long>, JpaSpecificationExecutor<TradeCurrent> {
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.bookName = (SELECT b.bookName FROM Book b WHERE b.id = :id) "
+            + "WHERE c.bookId = :id AND c.bookName IS DISTINCT FROM (SELECT b.bookName FROM Book b WHERE b.id = :id)")
+    int refreshBookName(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.counterpartyName = (SELECT p.name FROM Counterparty p WHERE p.id = :id) "
+            + "WHERE c.counterpartyId = :id AND c.counterpartyName IS DISTINCT FROM (SELECT p.name FROM Counterparty p WHERE p.id = :id)")
+    int refreshCounterpartyName(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.traderUserName = (SELECT CONCAT(u.firstName, ' ', u.lastName) FROM ApplicationUser u WHERE u.id = :id) "
+            + "WHERE c.traderUserId = :id AND c.traderUserName IS DISTINCT FROM "
+            + "(SELECT CONCAT(u.firstName, ' ', u.lastName) FROM ApplicationUser u WHERE u.id = :id)")
+    int refreshTraderUserName(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.tradeType = (SELECT t.tradeType FROM TradeType t WHERE t.id = :id) "
+            + "WHERE c.tradeTypeId = :id AND c.tradeType IS DISTINCT FROM (SELECT t.tradeType FROM TradeType t WHERE t.id = :id)")
+    int refreshTradeType(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.tradeSubType = (SELECT t.tradeSubType FROM TradeSubType t WHERE t.id = :id) "
+            + "WHERE c.tradeSubTypeId = :id AND c.tradeSubType IS DISTINCT FROM (SELECT t.tradeSubType FROM TradeSubType t WHERE t.id = :id)")
+    int refreshTradeSubType(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TradeCurrent c SET c.tradeStatus = (SELECT s.tradeStatus FROM TradeStatus s WHERE s.id = :id) "
+            + "WHERE c.tradeStatusId = :id AND c.tradeStatus IS DISTINCT FROM (SELECT s.tradeStatus FROM TradeStatus s WHERE s.id = :id)")
+    int refreshTradeStatus(@Param("id") Long id);
+}
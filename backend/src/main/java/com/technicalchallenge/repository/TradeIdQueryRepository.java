@@ -0,0 +1,29 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * First phase of paginated trade reads: pages over trade IDs only, so the second phase can
+ * fetch the full trade graph (including collections) for just those IDs without Hibernate
+ * having to paginate a collection fetch in memory.
+ */
+public interface TradeIdQueryRepository {
+
+    /**
+     * Returns one page of IDs of the trades matching the specification, in the pageable's sort order.
+     */
+    Page<Long> findIds(Specification<Trade> specification, Pageable pageable);
+
+    /**
+     * Keyset variant: returns up to {@code limit} sort keys of matching trades that come after
+     * {@code after} (or from the start when {@code null}) in (tradeDate, tradeId, id) descending
+     * order. Runs no count query and costs the same however deep the page is. Trades without a
+     * trade date have no position in this order and are not returned.
+     */
+    List<TradeSortKey> findSortKeys(Specification<Trade> specification, TradeSortKey after, int limit);
+}
@@ -0,0 +1,114 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Trade;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+class TradeIdQueryRepositoryImpl implements TradeIdQueryRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIds(Specification<Trade> specification, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> root = query.from(Trade.class);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+
+        // Sort expressions are selected too: specifications may make the query DISTINCT,
+        // and DISTINCT requires ORDER BY expressions to appear in the select list
+        List<Order> orders = QueryUtils.toOrders(pageable.getSort(), root, cb);
+        List<Selection<?>> selections = new ArrayList<>(orders.size() + 1);
+        selections.add(root.get("id"));
+        for (Order order : orders) {
+            selections.add(order.getExpression());
+        }
+        query.multiselect(selections);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(orders);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Long> ids = typedQuery.getResultList().stream()
+                .map(tuple -> tuple.get(0, Long.class))
+                .toList();
+
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(specification));
+    }
+
+    @Override
+    public List<TradeSortKey> findSortKeys(Specification<Trade> specification, TradeSortKey after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Trade> root = query.from(Trade.class);
+        Path<LocalDate> tradeDate = root.get("tradeDate");
+        Path<Long> tradeId = root.get("tradeId");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        predicates.add(cb.isNotNull(tradeDate));
+        if (after != null) {
+            // (tradeDate, tradeId, id) < (after.tradeDate, after.tradeId, after.id), expanded for JPQL
+            predicates.add(cb.or(
+                    cb.lessThan(tradeDate, after.tradeDate()),
+                    cb.and(cb.equal(tradeDate, after.tradeDate()), cb.or(
+                            cb.lessThan(tradeId, after.tradeId()),
+                            cb.and(cb.equal(tradeId, after.tradeId()), cb.lessThan(id, after.id()))))));
+        }
+
+        query.multiselect(tradeDate, tradeId, id)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(tradeDate), cb.desc(tradeId), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList().stream()
+                .map(tuple -> new TradeSortKey(tuple.get(0, LocalDate.class), tuple.get(1, Long.class),
+                        tuple.get(2, Long.class)))
+                .toList();
+    }
+
+    private long count(Specification<Trade> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Trade> root = query.from(Trade.class);
+        Predicate predicate = specification == null ? null : specification.toPredicate(root, query, cb);
+        query.select(query.isDistinct() ? cb.countDistinct(root) : cb.count(root));
+        // COUNT(DISTINCT) already collapses duplicates; a DISTINCT on the single count row is meaningless
+        query.distinct(false);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -1,8 +1,27 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.TradeLeg;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {}
+public interface TradeLegRepository extends JpaRepository<TradeLeg, Long> {
+
+    /**
+     * Loads the cashflows of the given legs in one query. Legs already in the persistence
+     * context get their {@code cashflows} collection initialised in place.
+     */
+    @EntityGraph(TradeLeg.WITH_CASHFLOWS)
+    @Query("SELECT l FROM TradeLeg l WHERE l.legId IN :legIds")
+    List<TradeLeg> findWithCashflowsByLegIdIn(@Param("legIds") Collection<Long> legIds);
+
+    @EntityGraph(TradeLeg.WITH_CASHFLOWS)
+    @Query("SELECT l FROM TradeLeg l")
+    List<TradeLeg> findAllWithCashflows();
+}
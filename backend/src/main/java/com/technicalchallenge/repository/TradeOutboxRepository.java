@@ -0,0 +1,49 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeOutboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TradeOutboxRepository extends JpaRepository<TradeOutboxEntry, Long> {
+
+    Optional<TradeOutboxEntry> findFirstByTradeIdOrderByIdDesc(Long tradeId);
+
+    /**
+     * IDs of entries still pending since before {@code before}, oldest first.
+     */
+    @Query("SELECT e.id FROM TradeOutboxEntry e WHERE e.status = com.technicalchallenge.model.TradeOutboxEntry.Status.PENDING "
+            + "AND e.lastModifiedDate < :before ORDER BY e.id")
+    List<Long> findPendingIds(@Param("before") LocalDateTime before, Pageable pageable);
+
+    /**
+     * Moves a pending entry to processing and counts the attempt. Returns 0 if another worker
+     * claimed the entry first.
+     */
+    @Modifying
+    @Query("UPDATE TradeOutboxEntry e SET e.status = com.technicalchallenge.model.TradeOutboxEntry.Status.PROCESSING, "
+            + "e.attempts = e.attempts + 1, e.version = e.version + 1, e.claimedDate = :now, e.lastModifiedDate = :now "
+            + "WHERE e.id = :id AND e.status = com.technicalchallenge.model.TradeOutboxEntry.Status.PENDING")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Releases entries claimed before {@code before} whose attempt never finished, e.g. because
+     * the instance running it stopped. Entries with attempts left go back to pending, the rest
+     * are marked failed. Returns the number of entries released.
+     */
+    @Modifying
+    @Query("UPDATE TradeOutboxEntry e SET e.status = CASE WHEN e.attempts >= :maxAttempts "
+            + "THEN com.technicalchallenge.model.TradeOutboxEntry.Status.FAILED "
+            + "ELSE com.technicalchallenge.model.TradeOutboxEntry.Status.PENDING END, "
+            + "e.lastError = 'Attempt did not finish before its claim expired', e.version = e.version + 1 "
+            + "WHERE e.status = com.technicalchallenge.model.TradeOutboxEntry.Status.PROCESSING AND e.claimedDate < :before")
+    int releaseExpiredClaims(@Param("before") LocalDateTime before, @Param("maxAttempts") int maxAttempts);
+}
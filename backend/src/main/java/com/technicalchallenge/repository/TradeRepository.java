@@ -1,26 +1,36 @@
 package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.Trade;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade> {
+public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecificationExecutor<Trade>,
+        TradeIdQueryRepository {
     // Existing methods
     List<Trade> findByTradeId(Long tradeId);
 
     @Query("SELECT MAX(t.tradeId) FROM Trade t")
     Optional<Long> findMaxTradeId();
 
+    /**
+     * The given trade IDs that already have a booked version.
+     */
+    @Query("SELECT DISTINCT t.tradeId FROM Trade t WHERE t.tradeId IN :tradeIds")
+    List<Long> findBookedTradeIds(@Param("tradeIds") Collection<Long> tradeIds);
+
     @Query("SELECT MAX(t.version) FROM Trade t WHERE t.tradeId = :tradeId")
     Optional<Integer> findMaxVersionByTradeId(@Param("tradeId") Long tradeId);
 
@@ -29,24 +39,40 @@ public interface TradeRepository extends JpaRepository<Trade, Long>, JpaSpecific
 
     List<Trade> findByActiveTrueOrderByTradeIdDesc();
 
+    // Read paths: trade, legs and all their reference data in one query.
+    // Cashflows are loaded afterwards with TradeLegRepository.findWithCashflowsByLegIdIn.
+    @EntityGraph(Trade.WITH_LEGS_AND_REFERENCE_DATA)
+    Optional<Trade> findWithLegsByTradeIdAndActiveTrue(Long tradeId);
+
+    @EntityGraph(Trade.WITH_LEGS_AND_REFERENCE_DATA)
+    @Query("SELECT t FROM Trade t")
+    List<Trade> findAllWithLegs();
+
+    @EntityGraph(Trade.WITH_LEGS_AND_REFERENCE_DATA)
+    @Query("SELECT t FROM Trade t WHERE t.id IN :ids")
+    List<Trade> findWithLegsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Export: streams trades with their reference data (not legs), fetching rows from
+    // the database in chunks instead of materialising the whole result
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
     @Query("""
     SELECT t FROM Trade t
-    WHERE (:counterpartyName IS NULL OR LOWER(t.counterparty.name) LIKE LOWER(CONCAT('%', :counterpartyName, '%')))
-      AND (:bookName IS NULL OR LOWER(t.book.bookName) LIKE LOWER(CONCAT('%', :bookName, '%')))
-      AND (:trader IS NULL OR LOWER(CONCAT(t.traderUser.firstName, ' ', t.traderUser.lastName)) LIKE LOWER(CONCAT('%', :trader, '%'))
-           OR LOWER(t.traderUser.loginId) LIKE LOWER(CONCAT('%', :trader, '%')))
-      AND (:status IS NULL OR LOWER(t.tradeStatus.tradeStatus) = LOWER(:status))
-      AND (:fromDate IS NULL OR t.tradeDate >= :fromDate)
-      AND (:toDate IS NULL OR t.tradeDate <= :toDate)
+    LEFT JOIN FETCH t.book
+    LEFT JOIN FETCH t.counterparty
+    LEFT JOIN FETCH t.traderUser
+    LEFT JOIN FETCH t.tradeInputterUser
+    LEFT JOIN FETCH t.tradeType
+    LEFT JOIN FETCH t.tradeSubType
+    LEFT JOIN FETCH t.tradeStatus
+    ORDER BY t.id
 """)
-    Page<Trade> findBySearchCriteria(
-            @Param("counterpartyName") String counterpartyName,
-            @Param("bookName") String bookName,
-            @Param("trader") String trader,
-            @Param("status") String status,
-            @Param("fromDate") LocalDate fromDate,
-            @Param("toDate") LocalDate toDate,
-            Pageable pageable);
+    Stream<Trade> streamAllForExport();
+
+    @Query("SELECT t.id AS id, t.utiCode AS utiCode FROM Trade t WHERE t.utiCode IS NOT NULL")
+    List<TradeUtiView> findAllUtiCodes();
 
 }
 
@@ -0,0 +1,10 @@
+package com.technicalchallenge.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Position of a trade in the blotter's keyset order: trade date, then business trade ID,
+ * then row ID (versions of an amended trade share the trade ID), all descending.
+ */
+public record TradeSortKey(LocalDate tradeDate, Long tradeId, Long id) {
+}
@@ -2,11 +2,19 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.TradeStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TradeStatusRepository extends JpaRepository<TradeStatus, Long> {
     Optional<TradeStatus> findByTradeStatus(String tradeStatus);
+    Optional<TradeStatus> findFirstByNormalizedName(String normalizedName);
+
+    @Query("SELECT t.id FROM TradeStatus t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
@@ -2,12 +2,20 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.TradeSubType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TradeSubTypeRepository extends JpaRepository<TradeSubType, Long> {
     // Custom query methods
     Optional<TradeSubType> findByTradeSubType(String tradeSubType);
+    Optional<TradeSubType> findFirstByNormalizedName(String normalizedName);
+
+    @Query("SELECT t.id FROM TradeSubType t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
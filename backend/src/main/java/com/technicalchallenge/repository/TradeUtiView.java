@@ -0,0 +1,10 @@
+package com.technicalchallenge.repository;
+
+/**
+ * Projection of a trade row's ID and UTI code, used to build the UTI search index
+ * without loading trades.
+ */
+public interface TradeUtiView {
+    Long getId();
+    String getUtiCode();
+}
@@ -0,0 +1,9 @@
+package com.technicalchallenge.repository;
+
+/**
+ * Projection of a user's login ID and active flag, used to check logged-in users in bulk.
+ */
+public interface UserLoginFlagView {
+    String getLoginId();
+    Boolean getActive();
+}
@@ -2,8 +2,12 @@ package com.technicalchallenge.repository;
 
 import com.technicalchallenge.model.UserPrivilege;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 /**
  * Repository interface for performing CRUD and lookup operations on {@link UserPrivilege} entities.
  *
@@ -30,4 +34,11 @@ public interface UserPrivilegeRepository extends JpaRepository<UserPrivilege, Lo
      */
     boolean existsByUserIdAndPrivilege_Name(Long userId, String privilegeName);
 
+    /**
+     * Names of every privilege granted to the user, in one query. Used by the
+     * {@code EntitlementService} to build the user's cached entitlement bitset.
+     */
+    @Query("SELECT p.name FROM UserPrivilege up JOIN up.privilege p WHERE up.userId = :userId")
+    List<String> findPrivilegeNamesByUserId(@Param("userId") Long userId);
+
 }
@@ -1,9 +1,9 @@
 package com.technicalchallenge.service;
 
 import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.mapper.AdditionalInfoMapper;
 import com.technicalchallenge.model.AdditionalInfo;
 import com.technicalchallenge.repository.AdditionalInfoRepository;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,16 +16,18 @@ import java.util.stream.Collectors;
 @Transactional
 public class AdditionalInfoService {
 
+    static final String TRADE = "TRADE";
+
     @Autowired
     private AdditionalInfoRepository additionalInfoRepository;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private AdditionalInfoMapper additionalInfoMapper;
 
     public List<AdditionalInfoDTO> getAdditionalInfoForEntity(String entityType, Long entityId) {
         List<AdditionalInfo> additionalInfoList = additionalInfoRepository.findActiveByEntityTypeAndEntityId(entityType, entityId);
         return additionalInfoList.stream()
-                .map(info -> modelMapper.map(info, AdditionalInfoDTO.class))
+                .map(additionalInfoMapper::toDto)
                 .collect(Collectors.toList());
     }
 
@@ -41,7 +43,7 @@ public class AdditionalInfoService {
         }
 
         // Create new version
-        AdditionalInfo newInfo = modelMapper.map(dto, AdditionalInfo.class);
+        AdditionalInfo newInfo = additionalInfoMapper.toEntity(dto);
         newInfo.setId(null); // Ensure new record
         newInfo.setActive(true);
         newInfo.setCreatedDate(LocalDateTime.now());
@@ -49,7 +51,25 @@ public class AdditionalInfoService {
         newInfo.setVersion(existing != null ? existing.getVersion() + 1 : 1);
 
         AdditionalInfo saved = additionalInfoRepository.save(newInfo);
-        return modelMapper.map(saved, AdditionalInfoDTO.class);
+        return additionalInfoMapper.toDto(saved);
+    }
+
+    /**
+     * Stores the additional fields submitted with a trade booking against the business trade
+     * ID. Fields without a type are stored as strings.
+     */
+    public void addTradeFields(Long tradeId, List<AdditionalInfoDTO> fields) {
+        if (fields == null) {
+            return;
+        }
+        for (AdditionalInfoDTO field : fields) {
+            field.setEntityType(TRADE);
+            field.setEntityId(tradeId);
+            if (field.getFieldType() == null) {
+                field.setFieldType("STRING");
+            }
+            addAdditionalInfo(field);
+        }
     }
 
     public void removeAdditionalInfo(String entityType, Long entityId, String fieldName) {
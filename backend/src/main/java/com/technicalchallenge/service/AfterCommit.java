@@ -0,0 +1,38 @@
+package com.technicalchallenge.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers work on in-memory caches and indexes until the writing transaction commits, so a
+ * reload triggered by the work cannot read the database before the change is visible.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /** Runs the action after the current transaction commits, or right away outside one. */
+    static void run(Runnable action) {
+        if (!register(action)) {
+            action.run();
+        }
+    }
+
+    /**
+     * Registers the action to run after the current transaction commits. Returns {@code false},
+     * without running it, if there is no transaction.
+     */
+    static boolean register(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return false;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+        return true;
+    }
+}
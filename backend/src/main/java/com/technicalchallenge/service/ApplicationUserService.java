@@ -18,14 +18,8 @@ public class ApplicationUserService {
     private static final Logger logger = LoggerFactory.getLogger(ApplicationUserService.class);
     private final ApplicationUserRepository applicationUserRepository;
     private final PasswordEncoder passwordEncoder;
-
-
-
-    public boolean validateCredentials(String loginId, String password) {
-        logger.debug("Validating credentials for user: {}", loginId);
-        Optional<ApplicationUser> user = applicationUserRepository.findByLoginId(loginId);
-        return user.map(applicationUser -> applicationUser.getPassword().equals(password)).orElse(false);
-    }
+    private final EntitlementService entitlementService;
+    private final UserLoginCache userLoginCache;
 
     public List<ApplicationUser> getAllUsers() {
         logger.info("Retrieving all users");
@@ -39,22 +33,26 @@ public class ApplicationUserService {
 
     public Optional<ApplicationUser> getUserByLoginId(String loginId) {
         logger.debug("Retrieving user by login id: {}", loginId);
-        return applicationUserRepository.findByLoginId(loginId);
+        return userLoginCache.find(loginId);
     }
-//javadoc comment 'encoding password'
+
+    /**
+     * Saves the user, hashing the password unless it is already a BCrypt hash.
+     */
     public ApplicationUser saveUser(ApplicationUser user) {
         logger.info("Saving user with loginId: {}", user.getLoginId());
-        //check pass is not null, and password starts with "$2a"
-        if (user.getPassword() != null && user.getPassword().startsWith("$2a")) {
+        if (user.getPassword() != null && !PasswordHashes.isBcrypt(user.getPassword())) {
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-
         }
-        return applicationUserRepository.save(user);
+        ApplicationUser saved = applicationUserRepository.save(user);
+        entitlementService.evict(saved.getId());
+        return saved;
     }
 
     public void deleteUser(Long id) {
         logger.warn("Deleting user with id: {}", id);
         applicationUserRepository.deleteById(id);
+        entitlementService.evict(id);
     }
 
     public ApplicationUser updateUser(Long id, ApplicationUser user) {
@@ -68,9 +66,14 @@ public class ApplicationUserService {
         existingUser.setActive(user.isActive());
         existingUser.setUserProfile(user.getUserProfile());
         if (user.getPassword() != null && !user.getPassword().isEmpty()) {
-            existingUser.setPassword(user.getPassword());
+            existingUser.setPassword(PasswordHashes.isBcrypt(user.getPassword())
+                    ? user.getPassword()
+                    : passwordEncoder.encode(user.getPassword()));
         }
         // version and lastModifiedTimestamp handled by entity listeners
-        return applicationUserRepository.save(existingUser);
+        ApplicationUser saved = applicationUserRepository.save(existingUser);
+        // The profile may have changed, and with it the user's default privileges
+        entitlementService.evict(id);
+        return saved;
     }
 }
@@ -1,15 +1,144 @@
 package com.technicalchallenge.service;
 
-import lombok.AllArgsConstructor;
+import com.technicalchallenge.exception.LoginThrottledException;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verifies login credentials against the stored BCrypt hashes.
+ *
+ * <p>BCrypt is deliberately slow, so verification runs on a fixed pool of
+ * {@code security.login.verifier-threads} threads behind a queue of
+ * {@code security.login.queue-capacity} logins. The request thread only looks the user up and
+ * hands the rest to the pool; when the queue is full the login is rejected straight away with a
+ * {@link LoginThrottledException} instead of piling up request threads behind the hashing.
+ * The user is read from the database on every login rather than from {@link UserLoginCache},
+ * so a password changed or a user deactivated elsewhere takes effect on the next login.</p>
+ *
+ * <p>After a successful login a hash made with a different cost than
+ * {@code security.bcrypt.cost} is replaced by one made with the configured cost. Passwords
+ * still stored in plain text (as seeded by {@code data.sql}) are compared in constant time and
+ * hashed on their first successful login. Unknown users still cost one BCrypt comparison, so
+ * response times do not reveal which login ids exist.</p>
+ */
 @Service
-@AllArgsConstructor
 public class AuthorizationService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthorizationService.class);
+
+    private final ApplicationUserRepository applicationUserRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final int cost;
+    private final ThreadPoolExecutor verifiers;
+    private final String unknownUserHash;
+    private final Timer verifyTimer;
+    private final Counter throttled;
+
+    public AuthorizationService(ApplicationUserRepository applicationUserRepository,
+                                PasswordEncoder passwordEncoder,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.bcrypt.cost:10}") int cost,
+                                @Value("${security.login.verifier-threads:4}") int verifierThreads,
+                                @Value("${security.login.queue-capacity:64}") int queueCapacity) {
+        this.applicationUserRepository = applicationUserRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.cost = cost;
+        this.verifiers = new ThreadPoolExecutor(verifierThreads, verifierThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-verifier-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.unknownUserHash = passwordEncoder.encode("unknown-user");
+        this.verifyTimer = Timer.builder("login.password.verify")
+                .description("Time spent verifying a login password")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("login.throttled")
+                .description("Logins rejected because the password verifier queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks the credentials on the verifier pool.
+     *
+     * @return a future completing with whether the credentials are valid
+     * @throws LoginThrottledException if the verifier queue is full
+     */
+    public CompletableFuture<Boolean> authenticateUser(String userName, String password) {
+        ApplicationUser user = userName == null ? null : applicationUserRepository.findByLoginId(userName).orElse(null);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                Timer.Sample sample = Timer.start();
+                try {
+                    return verify(user, password);
+                } finally {
+                    sample.stop(verifyTimer);
+                }
+            }, verifiers);
+        } catch (RejectedExecutionException e) {
+            throttled.increment();
+            logger.warn("Login for {} rejected: {} logins already waiting for verification", userName,
+                    verifiers.getQueue().size());
+            throw new LoginThrottledException("Too many logins in progress, please retry shortly");
+        }
+    }
 
-    private final ApplicationUserService applicationUserService;
+    private boolean verify(ApplicationUser user, String password) {
+        if (password == null) {
+            return false;
+        }
+        if (user == null || user.getPassword() == null) {
+            passwordEncoder.matches(password, unknownUserHash);
+            return false;
+        }
+
+        String stored = user.getPassword();
+        if (!PasswordHashes.isBcrypt(stored)) {
+            boolean matches = MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                    password.getBytes(StandardCharsets.UTF_8));
+            if (matches) {
+                rehash(user, stored, password);
+            }
+            return matches;
+        }
+
+        if (!passwordEncoder.matches(password, stored)) {
+            return false;
+        }
+        if (PasswordHashes.cost(stored) != cost) {
+            rehash(user, stored, password);
+        }
+        return true;
+    }
+
+    private void rehash(ApplicationUser user, String stored, String password) {
+        try {
+            int updated = applicationUserRepository.updatePassword(user.getId(), stored, passwordEncoder.encode(password));
+            if (updated == 1) {
+                logger.info("Rehashed password for user {} with cost {}", user.getLoginId(), cost);
+            }
+        } catch (RuntimeException e) {
+            // The login itself succeeded; the next one will try again
+            logger.warn("Could not rehash password for user {}", user.getLoginId(), e);
+        }
+    }
 
-    public boolean authenticateUser(String userName, String password) {
-        return applicationUserService.validateCredentials(userName, password);
+    @PreDestroy
+    void shutdown() {
+        verifiers.shutdownNow();
     }
 }
@@ -0,0 +1,155 @@
+package com.technicalchallenge.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point cashflow amount arithmetic. Notionals are held in minor units (cents) and rates
+ * in basis-point micros ({@code 1bp = 1_000_000}, so 5% is {@code 500_000_000}); an accrual is
+ * {@code notional x rate x dayCountNumerator / (basis x RATE_SCALE)}, computed from the exact
+ * 128-bit product and rounded once, half-up, to the cent. No objects are created per period.
+ */
+public final class CashflowAmountKernel {
+
+    /** Rate units per 1.0 of rate: 10^4 basis points x 10^6 micros */
+    public static final long RATE_SCALE = 10_000_000_000L;
+
+    /**
+     * Day count fraction conventions. {@code THIRTY_360} is the 30/360 bond basis: a start on
+     * the 31st counts as the 30th, and so does an end on the 31st when the start is on the 30th or 31st.
+     */
+    public enum DayCount {
+        ACT_360(360),
+        ACT_365(365),
+        THIRTY_360(360);
+
+        private final int basis;
+
+        DayCount(int basis) {
+            this.basis = basis;
+        }
+
+        public int basis() {
+            return basis;
+        }
+    }
+
+    private CashflowAmountKernel() {
+    }
+
+    /**
+     * Converts a notional to minor units, rounding half-up to the cent.
+     */
+    public static long toMinorUnits(BigDecimal notional) {
+        return notional == null ? 0L : notional.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts a rate given as a fraction (0.05 for 5%) to basis-point micros. Goes through the
+     * rate's shortest decimal representation, so 0.035 is exactly 350 bp.
+     */
+    public static long toRateUnits(Double rate) {
+        return rate == null ? 0L : BigDecimal.valueOf(rate).movePointRight(10).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Numerator of the day count fraction between two epoch days.
+     */
+    public static long dayCountNumerator(DayCount dayCount, long startEpochDay, long endEpochDay) {
+        if (dayCount != DayCount.THIRTY_360) {
+            return endEpochDay - startEpochDay;
+        }
+        long start = civilDate(startEpochDay);
+        long end = civilDate(endEpochDay);
+        int d1 = (int) (start & 0x1F);
+        int d2 = (int) (end & 0x1F);
+        if (d1 == 31) {
+            d1 = 30;
+        }
+        if (d2 == 31 && d1 == 30) {
+            d2 = 30;
+        }
+        long months = (end >> 5) - (start >> 5);
+        return 30 * months + (d2 - d1);
+    }
+
+    /**
+     * Accrual in minor units for one period, exact to the cent (half-up, away from zero).
+     *
+     * @throws ArithmeticException if the amount does not fit in a {@code long}
+     */
+    public static long amount(long notionalMinor, long rateUnits, long dayCountNumerator, int basis) {
+        long a = Math.abs(notionalMinor);
+        long k = Math.multiplyExact(Math.abs(rateUnits), Math.abs(dayCountNumerator));
+        boolean negative = (notionalMinor < 0) ^ (rateUnits < 0) ^ (dayCountNumerator < 0);
+        long quotient = divideRoundHalfUp(Math.multiplyHigh(a, k), a * k, basis * RATE_SCALE);
+        return negative ? -quotient : quotient;
+    }
+
+    /**
+     * Vectorized accrual over consecutive periods: period {@code i} in {@code [from, to)} runs
+     * from {@code ends[i - 1]} (or {@code firstStart} for {@code i == from}) to {@code ends[i]},
+     * all as epoch days, and its amount is written to {@code out[i]}.
+     */
+    public static void amounts(long notionalMinor, long rateUnits, DayCount dayCount,
+                               long firstStart, long[] ends, int from, int to, long[] out) {
+        long start = firstStart;
+        for (int i = from; i < to; i++) {
+            long end = ends[i];
+            out[i] = amount(notionalMinor, rateUnits, dayCountNumerator(dayCount, start, end), dayCount.basis());
+            start = end;
+        }
+    }
+
+    // Unsigned 128-bit (hi:lo) / divisor, for divisor < 2^47, in 16-bit digits so no step overflows
+    private static long divideRoundHalfUp(long hi, long lo, long divisor) {
+        if (hi == 0 && lo >= 0) {
+            // Product fits in 63 bits: the common case for ordinary notionals and rates
+            long quotient = lo / divisor;
+            return 2 * (lo % divisor) >= divisor ? quotient + 1 : quotient;
+        }
+        long quotient = 0;
+        long remainder = 0;
+        for (int shift = 112; shift >= 0; shift -= 16) {
+            long digit = (shift >= 64 ? hi >>> (shift - 64) : lo >>> shift) & 0xFFFF;
+            long current = (remainder << 16) | digit;
+            if ((quotient >>> 47) != 0) {
+                throw new ArithmeticException("Cashflow amount overflows");
+            }
+            quotient = (quotient << 16) | (current / divisor);
+            remainder = current % divisor;
+        }
+        if (2 * remainder >= divisor) {
+            quotient = Math.addExact(quotient, 1);
+        }
+        if (quotient < 0) {
+            throw new ArithmeticException("Cashflow amount overflows");
+        }
+        return quotient;
+    }
+
+    // Proleptic Gregorian date of an epoch day packed as (year * 12 + month - 1) << 5 | day
+    // (the days-to-civil algorithm of java.time.LocalDate.ofEpochDay, without the object)
+    private static long civilDate(long epochDay) {
+        long zeroDay = epochDay + 719528 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = (zeroDay + 1) / 146097 - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * 146097;
+        }
+        long yearEst = (400 * zeroDay + 591) / 146097;
+        long doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        if (doyEst < 0) {
+            yearEst--;
+            doyEst = zeroDay - (365 * yearEst + yearEst / 4 - yearEst / 100 + yearEst / 400);
+        }
+        yearEst += adjust;
+        int marchDoy0 = (int) doyEst;
+        int marchMonth0 = (marchDoy0 * 5 + 2) / 153;
+        int month = (marchMonth0 + 2) % 12 + 1;
+        int dom = marchDoy0 - (marchMonth0 * 306 + 5) / 10 + 1;
+        yearEst += marchMonth0 / 10;
+        return ((yearEst * 12 + month - 1) << 5) | dom;
+    }
+}
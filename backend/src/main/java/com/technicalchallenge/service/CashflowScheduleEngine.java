@@ -0,0 +1,173 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.service.CashflowAmountKernel.DayCount;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Generates cashflow schedules for trade legs. Used both when a trade is booked and by the
+ * {@code /api/cashflows/generate} preview, so a leg always previews the amounts it books.
+ *
+ * <p>Convention: payment dates roll forward from the start date by the leg's schedule
+ * interval, with a final short stub ending on the maturity date when it is not on the grid.
+ * Fixed legs accrue {@code notional x rate x day count fraction} per period (ACT/360 unless
+ * the leg says otherwise) in {@link CashflowAmountKernel} fixed-point arithmetic, exact to the
+ * cent; floating legs generate the dates with a zero amount until fixings are known.</p>
+ *
+ * <p>A call takes any number of legs. Period counts are sized up front so every schedule is
+ * written into one set of primitive buffers; large batches fill them in parallel. Callers
+ * turn the buffers into {@code Cashflow} or {@code CashflowDTO} objects themselves.</p>
+ */
+@Service
+public class CashflowScheduleEngine {
+
+    /** Below this many legs a parallel fill costs more than it saves */
+    static final int PARALLEL_THRESHOLD = 64;
+
+    /**
+     * Economic terms of one leg. {@code monthsInterval} comes from {@link #parseSchedule(String)}.
+     */
+    public record LegTerms(BigDecimal notional, Double rate, boolean fixed, int monthsInterval,
+                           LocalDate startDate, LocalDate maturityDate, DayCount dayCount) {
+
+        public LegTerms(BigDecimal notional, Double rate, boolean fixed, int monthsInterval,
+                        LocalDate startDate, LocalDate maturityDate) {
+            this(notional, rate, fixed, monthsInterval, startDate, maturityDate, DayCount.ACT_360);
+        }
+    }
+
+    /**
+     * Generated periods of a batch of legs, stored leg after leg. Periods of leg {@code i}
+     * are at indexes {@code [start(i), end(i))}.
+     */
+    public static final class Schedules {
+        private final int[] offsets;
+        private final long[] valueDates;
+        // Minor units (cents)
+        private final long[] amounts;
+
+        private Schedules(int[] offsets) {
+            this.offsets = offsets;
+            this.valueDates = new long[offsets[offsets.length - 1]];
+            this.amounts = new long[valueDates.length];
+        }
+
+        public int legCount() {
+            return offsets.length - 1;
+        }
+
+        public int size() {
+            return valueDates.length;
+        }
+
+        public int start(int leg) {
+            return offsets[leg];
+        }
+
+        public int end(int leg) {
+            return offsets[leg + 1];
+        }
+
+        public LocalDate valueDate(int period) {
+            return LocalDate.ofEpochDay(valueDates[period]);
+        }
+
+        public BigDecimal amount(int period) {
+            return BigDecimal.valueOf(amounts[period], 2);
+        }
+    }
+
+    /**
+     * Generates the schedules of all given legs in one pass.
+     */
+    public Schedules generate(List<LegTerms> legs) {
+        int[] offsets = new int[legs.size() + 1];
+        for (int i = 0; i < legs.size(); i++) {
+            offsets[i + 1] = offsets[i] + periodCount(legs.get(i));
+        }
+        Schedules schedules = new Schedules(offsets);
+
+        IntStream indexes = IntStream.range(0, legs.size());
+        if (legs.size() >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> fill(legs.get(i), schedules, i));
+        return schedules;
+    }
+
+    /**
+     * Resolves a calculation period schedule name to its interval in months. Accepts the
+     * schedule names held in reference data (Monthly, Quarterly, ...) and the {@code NM} form;
+     * a missing schedule means quarterly.
+     *
+     * @throws IllegalArgumentException if the schedule is not recognised
+     */
+    public static int parseSchedule(String schedule) {
+        if (schedule == null || schedule.trim().isEmpty()) {
+            return 3;
+        }
+        String value = schedule.trim();
+        switch (value.toLowerCase()) {
+            case "monthly":
+                return 1;
+            case "quarterly":
+                return 3;
+            case "semi-annually":
+            case "semiannually":
+            case "half-yearly":
+                return 6;
+            case "annually":
+            case "yearly":
+                return 12;
+            default:
+                if (value.endsWith("M") || value.endsWith("m")) {
+                    try {
+                        int months = Integer.parseInt(value.substring(0, value.length() - 1));
+                        if (months > 0) {
+                            return months;
+                        }
+                    } catch (NumberFormatException e) {
+                        // fall through to the error below
+                    }
+                }
+                throw new IllegalArgumentException("Invalid schedule format: " + schedule
+                        + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
+        }
+    }
+
+    // Smallest k with start + k * interval on or after maturity
+    private static int periodCount(LegTerms leg) {
+        LocalDate start = leg.startDate();
+        LocalDate maturity = leg.maturityDate();
+        if (!start.isBefore(maturity)) {
+            return 0;
+        }
+        int interval = leg.monthsInterval();
+        long months = ChronoUnit.MONTHS.between(start, maturity);
+        int count = (int) ((months + interval - 1) / interval);
+        while (start.plusMonths((long) count * interval).isBefore(maturity)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static void fill(LegTerms leg, Schedules schedules, int index) {
+        int start = schedules.start(index);
+        int end = schedules.end(index);
+        long maturity = leg.maturityDate().toEpochDay();
+        for (int period = start, k = 1; period < end; period++, k++) {
+            // Roll from the start date rather than the previous date so month-end dates do not drift
+            schedules.valueDates[period] = Math.min(leg.startDate().plusMonths((long) k * leg.monthsInterval()).toEpochDay(), maturity);
+        }
+        if (leg.fixed()) {
+            CashflowAmountKernel.amounts(CashflowAmountKernel.toMinorUnits(leg.notional()),
+                    CashflowAmountKernel.toRateUnits(leg.rate()), leg.dayCount() != null ? leg.dayCount() : DayCount.ACT_360,
+                    leg.startDate().toEpochDay(), schedules.valueDates, start, end, schedules.amounts);
+        }
+    }
+}
@@ -2,16 +2,19 @@ package com.technicalchallenge.service;
 
 import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.NormalizedNames;
 import com.technicalchallenge.repository.CashflowRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
 import com.technicalchallenge.repository.LegTypeRepository;
 import com.technicalchallenge.repository.PayRecRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +29,16 @@ public class CashflowService {
     private LegTypeRepository legTypeRepository;
     @Autowired
     private BusinessDayConventionRepository businessDayConventionRepository;
+    @Autowired
+    private ReferenceDataCache referenceDataCache;
+    @Autowired
+    private TradeLegRepository tradeLegRepository;
+    @Autowired
+    private LegCashflowGenerator legCashflowGenerator;
+
+    // Stand-ins for an open bound of the value date window
+    private static final LocalDate EARLIEST = LocalDate.of(1, 1, 1);
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 31);
 
     public List<Cashflow> getAllCashflows() {
         logger.info("Retrieving all cashflows");
@@ -37,6 +50,19 @@ public class CashflowService {
         return cashflowRepository.findById(id);
     }
 
+    /**
+     * Cashflows of a leg with a value date in {@code [from, to]}, in value date order; either
+     * bound may be {@code null}. A leg booked with on-demand cashflows has them generated from
+     * its schedule terms instead of read. Empty if the leg does not exist.
+     */
+    public Optional<List<Cashflow>> getCashflowsForLeg(Long legId, LocalDate from, LocalDate to) {
+        logger.debug("Retrieving cashflows of leg {} between {} and {}", legId, from, to);
+        return tradeLegRepository.findById(legId).map(leg -> Boolean.TRUE.equals(leg.getCashflowsOnDemand())
+                ? legCashflowGenerator.generate(leg, from, to)
+                : cashflowRepository.findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(legId,
+                        from != null ? from : EARLIEST, to != null ? to : LATEST));
+    }
+
     public Cashflow saveCashflow(Cashflow cashflow) {
         logger.info("Saving cashflow: {}", cashflow);
         // Business logic: value must be positive, valueDate required (enforced in controller)
@@ -56,20 +82,21 @@ public class CashflowService {
     }
 
     public void populateReferenceDataByName(Cashflow cashflow, CashflowDTO dto) {
+        // Case-insensitive lookups: in-memory cache first, then the indexed normalized_name column
         if (dto.getPayRec() != null) {
-            cashflow.setPayRec(payRecRepository.findAll().stream()
-                .filter(p -> p.getPayRec().equalsIgnoreCase(dto.getPayRec()))
-                .findFirst().orElse(null));
+            cashflow.setPayRec(referenceDataCache.payRecByName(dto.getPayRec())
+                .or(() -> payRecRepository.findFirstByNormalizedName(NormalizedNames.normalize(dto.getPayRec())))
+                .orElse(null));
         }
         if (dto.getPaymentType() != null) {
-            cashflow.setPaymentType(legTypeRepository.findAll().stream()
-                .filter(l -> l.getType().equalsIgnoreCase(dto.getPaymentType()))
-                .findFirst().orElse(null));
+            cashflow.setPaymentType(referenceDataCache.legTypeByName(dto.getPaymentType())
+                .or(() -> legTypeRepository.findFirstByNormalizedName(NormalizedNames.normalize(dto.getPaymentType())))
+                .orElse(null));
         }
         if (dto.getPaymentBusinessDayConvention() != null) {
-            cashflow.setPaymentBusinessDayConvention(businessDayConventionRepository.findAll().stream()
-                .filter(b -> b.getBdc().equalsIgnoreCase(dto.getPaymentBusinessDayConvention()))
-                .findFirst().orElse(null));
+            cashflow.setPaymentBusinessDayConvention(referenceDataCache.businessDayConventionByName(dto.getPaymentBusinessDayConvention())
+                .or(() -> businessDayConventionRepository.findFirstByNormalizedName(NormalizedNames.normalize(dto.getPaymentBusinessDayConvention())))
+                .orElse(null));
         }
     }
 }
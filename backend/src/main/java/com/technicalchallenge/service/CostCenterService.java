@@ -1,6 +1,7 @@
 package com.technicalchallenge.service;
 
 import com.technicalchallenge.model.CostCenter;
+import com.technicalchallenge.model.NormalizedNames;
 import com.technicalchallenge.dto.CostCenterDTO;
 import com.technicalchallenge.repository.CostCenterRepository;
 import com.technicalchallenge.repository.SubDeskRepository;
@@ -35,9 +36,8 @@ public class CostCenterService {
 
     public void populateReferenceDataByName(CostCenter costCenter, CostCenterDTO dto) {
         if (dto.getSubDeskName() != null && !dto.getSubDeskName().isBlank()) {
-            var subDesk = subDeskRepository.findAll().stream()
-                .filter(s -> s.getSubdeskName().equalsIgnoreCase(dto.getSubDeskName()))
-                .findFirst().orElse(null);
+            var subDesk = subDeskRepository.findFirstByNormalizedName(NormalizedNames.normalize(dto.getSubDeskName()))
+                .orElse(null);
             if (subDesk == null) throw new IllegalArgumentException("SubDesk '" + dto.getSubDeskName() + "' does not exist");
             costCenter.setSubDesk(subDesk);
         }
@@ -0,0 +1,60 @@
+package com.technicalchallenge.service;
+
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The privileges a user can hold, named as in the {@code privilege} table.
+ *
+ * <p>Each constant owns one bit of a user's entitlement bitset ({@code 1L << ordinal()}), so
+ * constants may be appended but never reordered, and there can be at most 64 of them.
+ * Privilege rows whose name has no constant here are ignored.</p>
+ */
+public enum Entitlement {
+    BOOK_TRADE,
+    AMEND_TRADE,
+    READ_TRADE,
+    READ_USER,
+    WRITE_USER,
+    READ_STATIC_DATA,
+    WRITE_STATIC_DATA;
+
+    /**
+     * Privileges every user of a profile holds, on top of the ones granted in {@code user_privilege}.
+     * Follows the role descriptions in {@code docs/functionality.md}.
+     */
+    private static final Map<String, Set<Entitlement>> PROFILE_DEFAULTS = Map.of(
+            "TRADER_SALES", EnumSet.of(BOOK_TRADE, AMEND_TRADE, READ_TRADE),
+            "MO", EnumSet.of(AMEND_TRADE, READ_TRADE),
+            "SUPPORT", EnumSet.of(READ_TRADE),
+            "ADMIN", EnumSet.of(READ_USER, WRITE_USER, READ_STATIC_DATA, WRITE_STATIC_DATA),
+            "SUPERUSER", EnumSet.allOf(Entitlement.class));
+
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    /** The constant for a privilege name, or {@code null} if there is none. */
+    public static Entitlement fromPrivilegeName(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /** The bits granted by a user profile type; zero for an unknown or missing profile. */
+    public static long profileBits(String userType) {
+        long bits = 0;
+        if (userType != null) {
+            for (Entitlement entitlement : PROFILE_DEFAULTS.getOrDefault(userType, Set.of())) {
+                bits |= entitlement.bit();
+            }
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,153 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves what a user may do, as an immutable {@link Entitlements} bitset per user.
+ *
+ * <p>A user's bits are the defaults of their {@link UserProfile} type OR'ed with every privilege
+ * granted in {@code user_privilege}, one bit per {@link Entitlement}. The bitset is built with two
+ * queries on first use and then cached for {@code entitlement.cache.ttl-ms}, so a privilege check
+ * on the booking path is a map lookup and a bit test. Services that change users or their
+ * privileges call {@link #evict(Long)} or {@link #evictAll()}; the TTL only bounds how long a
+ * change made outside those services can go unnoticed.</p>
+ *
+ * <p>Evictions bump a generation counter, and a load that started before an eviction is not
+ * cached, so a slow load cannot put back entitlements that were just evicted. Hit/miss counts
+ * are published as the {@code entitlement.cache.lookups} metric.</p>
+ */
+@Service
+public class EntitlementService {
+    private static final Logger logger = LoggerFactory.getLogger(EntitlementService.class);
+
+    private final ApplicationUserRepository applicationUserRepository;
+    private final UserPrivilegeRepository userPrivilegeRepository;
+    private final long ttlNanos;
+
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public EntitlementService(ApplicationUserRepository applicationUserRepository,
+                              UserPrivilegeRepository userPrivilegeRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${entitlement.cache.ttl-ms:300000}") long ttlMillis) {
+        this.applicationUserRepository = applicationUserRepository;
+        this.userPrivilegeRepository = userPrivilegeRepository;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+        Gauge.builder("entitlement.cache.size", cache, Map::size)
+                .description("Users with cached entitlements")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The user's entitlements, loaded on a cache miss or after the TTL. A missing user or a
+     * {@code null} id has none.
+     */
+    public Entitlements entitlementsOf(Long userId) {
+        if (userId == null) {
+            return Entitlements.NONE;
+        }
+        long now = System.nanoTime();
+        Cached cached = cache.get(userId);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            hits.increment();
+            return cached.entitlements();
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Entitlements loaded = load(userId);
+        if (generation.get() == loadGeneration) {
+            cache.put(userId, new Cached(loaded, now));
+        }
+        return loaded;
+    }
+
+    public boolean isEntitled(Long userId, Entitlement entitlement) {
+        return entitlementsOf(userId).has(entitlement);
+    }
+
+    /**
+     * Drops one user's cached entitlements. Inside a transaction the eviction is repeated after
+     * commit, so a load running concurrently with the write cannot cache the old rows.
+     */
+    public void evict(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            cache.remove(userId);
+        });
+    }
+
+    /** Drops every user's cached entitlements, e.g. when the privilege table itself changes. */
+    public void evictAll() {
+        runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            cache.clear();
+        });
+    }
+
+    private void runNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        AfterCommit.register(eviction);
+    }
+
+    private Entitlements load(Long userId) {
+        UserProfile profile = applicationUserRepository.findById(userId)
+                .map(ApplicationUser::getUserProfile)
+                .orElse(null);
+        long bits = Entitlement.profileBits(profile == null ? null : profile.getUserType());
+        for (String name : userPrivilegeRepository.findPrivilegeNamesByUserId(userId)) {
+            Entitlement entitlement = Entitlement.fromPrivilegeName(name);
+            if (entitlement == null) {
+                logger.warn("Ignoring unknown privilege '{}' granted to user {}", name, userId);
+            } else {
+                bits |= entitlement.bit();
+            }
+        }
+        logger.debug("Loaded entitlements for user {}: {}", userId, bits);
+        return new Entitlements(bits);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("entitlement.cache.lookups")
+                .description("Entitlement cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One user's privileges as a bitset indexed by {@link Entitlement#ordinal()}.
+     */
+    public record Entitlements(long bits) {
+        public static final Entitlements NONE = new Entitlements(0);
+
+        public boolean has(Entitlement entitlement) {
+            return (bits & entitlement.bit()) != 0;
+        }
+    }
+
+    private record Cached(Entitlements entitlements, long loadedAt) {
+    }
+}
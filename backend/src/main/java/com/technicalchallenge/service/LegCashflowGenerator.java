@@ -0,0 +1,121 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.service.CashflowScheduleEngine.LegTerms;
+import com.technicalchallenge.service.CashflowScheduleEngine.Schedules;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the schedule terms stored on a {@link TradeLeg} into cashflow entities, both for
+ * booking (eager mode, where the result is persisted) and for reads of legs booked with
+ * {@code cashflow.materialization.on-demand=true}, where only the terms were stored.
+ *
+ * <p>Generation is deterministic in the leg's terms, so a generated cashflow matches the row
+ * eager booking would have written, apart from its (absent) ID. Recently generated schedules
+ * are kept in a bounded LRU cache keyed by those terms.</p>
+ */
+@Component
+public class LegCashflowGenerator {
+
+    private final CashflowScheduleEngine cashflowScheduleEngine;
+    private final boolean onDemand;
+    private final Map<LegTerms, Schedules> cache;
+
+    public LegCashflowGenerator(CashflowScheduleEngine cashflowScheduleEngine,
+                                @Value("${cashflow.materialization.on-demand:false}") boolean onDemand,
+                                @Value("${cashflow.materialization.cache-size:1000}") int cacheSize) {
+        this.cashflowScheduleEngine = cashflowScheduleEngine;
+        this.onDemand = onDemand;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<LegTerms, Schedules> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Whether new legs are booked without cashflow rows.
+     */
+    public boolean isOnDemand() {
+        return onDemand;
+    }
+
+    /**
+     * Schedule terms of a leg, read from its stored schedule dates, rate type and calculation
+     * period schedule.
+     *
+     * @throws IllegalArgumentException if the leg's schedule is not recognised
+     */
+    public static LegTerms terms(TradeLeg leg) {
+        String schedule = leg.getCalculationPeriodSchedule() != null ? leg.getCalculationPeriodSchedule().getSchedule() : null;
+        boolean fixed = leg.getLegRateType() != null && "Fixed".equalsIgnoreCase(leg.getLegRateType().getType());
+        return new LegTerms(leg.getNotional(), leg.getRate(), fixed,
+                CashflowScheduleEngine.parseSchedule(schedule), leg.getScheduleStartDate(), leg.getScheduleEndDate());
+    }
+
+    /**
+     * Generates the cashflows of many legs in one engine call, in leg order. Used at booking.
+     */
+    public List<Cashflow> generate(List<TradeLeg> legs) {
+        List<LegTerms> terms = new ArrayList<>(legs.size());
+        for (TradeLeg leg : legs) {
+            terms.add(terms(leg));
+        }
+        Schedules schedules = cashflowScheduleEngine.generate(terms);
+        List<Cashflow> cashflows = new ArrayList<>(schedules.size());
+        for (int i = 0; i < legs.size(); i++) {
+            addCashflows(legs.get(i), schedules, i, null, null, null, cashflows);
+        }
+        return cashflows;
+    }
+
+    /**
+     * Generates the cashflows of one leg with a value date in {@code [from, to]}; either bound
+     * may be {@code null}. Stamped with the leg's created date, which is when eager booking
+     * would have written them.
+     */
+    public List<Cashflow> generate(TradeLeg leg, LocalDate from, LocalDate to) {
+        if (leg.getScheduleStartDate() == null || leg.getScheduleEndDate() == null) {
+            return new ArrayList<>();
+        }
+        Schedules schedules = cache.computeIfAbsent(terms(leg), t -> cashflowScheduleEngine.generate(List.of(t)));
+        List<Cashflow> cashflows = new ArrayList<>();
+        addCashflows(leg, schedules, 0, from, to, leg.getCreatedDate(), cashflows);
+        return cashflows;
+    }
+
+    int cachedSchedules() {
+        return cache.size();
+    }
+
+    private static void addCashflows(TradeLeg leg, Schedules schedules, int index, LocalDate from, LocalDate to,
+                                     LocalDateTime createdDate, List<Cashflow> out) {
+        for (int period = schedules.start(index); period < schedules.end(index); period++) {
+            LocalDate valueDate = schedules.valueDate(period);
+            if ((from != null && valueDate.isBefore(from)) || (to != null && valueDate.isAfter(to))) {
+                continue;
+            }
+            Cashflow cashflow = new Cashflow();
+            cashflow.setTradeLeg(leg);
+            cashflow.setValueDate(valueDate);
+            cashflow.setRate(leg.getRate());
+            cashflow.setPaymentValue(schedules.amount(period));
+            cashflow.setPayRec(leg.getPayReceiveFlag());
+            cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
+            cashflow.setCreatedDate(createdDate);
+            cashflow.setActive(true);
+            out.add(cashflow);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.technicalchallenge.service;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Recognises stored BCrypt hashes, so passwords can be told apart from hashes and hashes made
+ * with a different cost can be found and rehashed.
+ */
+public final class PasswordHashes {
+
+    // $2a$10$ + 22 salt characters + 31 hash characters, as written by BCryptPasswordEncoder
+    private static final Pattern BCRYPT = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}\\z");
+
+    private PasswordHashes() {
+    }
+
+    public static boolean isBcrypt(String stored) {
+        return stored != null && BCRYPT.matcher(stored).matches();
+    }
+
+    /** The cost (log2 rounds) a BCrypt hash was made with, or -1 if it is not one. */
+    public static int cost(String stored) {
+        if (stored == null) {
+            return -1;
+        }
+        Matcher matcher = BCRYPT.matcher(stored);
+        return matcher.matches() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+}
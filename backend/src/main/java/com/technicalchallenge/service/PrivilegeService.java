@@ -18,6 +18,9 @@ public class PrivilegeService {
     @Autowired
     private PrivilegeRepository privilegeRepository;
 
+    @Autowired
+    private EntitlementService entitlementService;
+
     public List<Privilege> getAllPrivileges() {
         logger.info("Retrieving all privileges");
         return privilegeRepository.findAll();
@@ -30,11 +33,14 @@ public class PrivilegeService {
 
     public Privilege savePrivilege(Privilege privilege) {
         logger.info("Saving privilege: {}", privilege);
-        return privilegeRepository.save(privilege);
+        Privilege saved = privilegeRepository.save(privilege);
+        entitlementService.evictAll();
+        return saved;
     }
 
     public void deletePrivilege(Long id) {
         logger.warn("Deleting privilege with id: {}", id);
         privilegeRepository.deleteById(id);
+        entitlementService.evictAll();
     }
 }
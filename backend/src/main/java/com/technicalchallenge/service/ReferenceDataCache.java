@@ -0,0 +1,264 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.repository.*;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * In-memory index of the small, rarely changing reference data tables used on the booking path.
+ *
+ * <p>Every table is held as immutable name-&gt;ID, normalized-name-&gt;ID and ID maps in a single
+ * {@link Snapshot}. Name lookups try the exact name first and then the
+ * {@link NormalizedNames normalized} form, so they are case-insensitive without scanning. A hit is
+ * returned as a reference ({@code getReferenceById}) bound to the caller's persistence context,
+ * never as a shared entity, so lazy associations such as a book's cost center load normally; a
+ * field read on the reference costs at most one primary key select per entity and session.</p>
+ *
+ * <p>Writes to any reference entity (see
+ * {@link com.technicalchallenge.model.listener.ReferenceDataChangeListener}) bump the requested
+ * version once the writing transaction commits. The next lookup builds the new snapshot without
+ * holding a lock and swaps it in atomically, so readers of a current snapshot never wait on a
+ * reload and never see a half-built one. Two threads that find the snapshot stale at the same
+ * time may both build it; the tables are small.</p>
+ *
+ * <p>Lookups return {@link Optional#empty()} on a miss and callers fall back to the repository.
+ * Hit/miss counts are published as the {@code refdata.cache.lookups} metric.</p>
+ */
+@Service
+public class ReferenceDataCache {
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final BookRepository bookRepository;
+    private final CounterpartyRepository counterpartyRepository;
+    private final CurrencyRepository currencyRepository;
+    private final LegTypeRepository legTypeRepository;
+    private final IndexRepository indexRepository;
+    private final HolidayCalendarRepository holidayCalendarRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final BusinessDayConventionRepository businessDayConventionRepository;
+    private final PayRecRepository payRecRepository;
+    private final TradeTypeRepository tradeTypeRepository;
+    private final TradeSubTypeRepository tradeSubTypeRepository;
+    private final TradeStatusRepository tradeStatusRepository;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> hitCounters = new HashMap<>();
+    private final Map<String, Counter> missCounters = new HashMap<>();
+
+    private final AtomicLong requestedVersion = new AtomicLong(1);
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    public ReferenceDataCache(BookRepository bookRepository,
+                              CounterpartyRepository counterpartyRepository,
+                              CurrencyRepository currencyRepository,
+                              LegTypeRepository legTypeRepository,
+                              IndexRepository indexRepository,
+                              HolidayCalendarRepository holidayCalendarRepository,
+                              ScheduleRepository scheduleRepository,
+                              BusinessDayConventionRepository businessDayConventionRepository,
+                              PayRecRepository payRecRepository,
+                              TradeTypeRepository tradeTypeRepository,
+                              TradeSubTypeRepository tradeSubTypeRepository,
+                              TradeStatusRepository tradeStatusRepository,
+                              MeterRegistry meterRegistry) {
+        this.bookRepository = bookRepository;
+        this.counterpartyRepository = counterpartyRepository;
+        this.currencyRepository = currencyRepository;
+        this.legTypeRepository = legTypeRepository;
+        this.indexRepository = indexRepository;
+        this.holidayCalendarRepository = holidayCalendarRepository;
+        this.scheduleRepository = scheduleRepository;
+        this.businessDayConventionRepository = businessDayConventionRepository;
+        this.payRecRepository = payRecRepository;
+        this.tradeTypeRepository = tradeTypeRepository;
+        this.tradeSubTypeRepository = tradeSubTypeRepository;
+        this.tradeStatusRepository = tradeStatusRepository;
+        this.meterRegistry = meterRegistry;
+
+        for (String type : List.of("book", "counterparty", "currency", "legType", "index", "holidayCalendar",
+                "schedule", "businessDayConvention", "payRec", "tradeType", "tradeSubType", "tradeStatus")) {
+            hitCounters.put(type, lookupCounter(type, "hit"));
+            missCounters.put(type, lookupCounter(type, "miss"));
+        }
+        Gauge.builder("refdata.cache.version", requestedVersion, AtomicLong::get)
+                .description("Current reference data cache version")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        current();
+    }
+
+    // BOOKS
+    public Optional<Book> bookByName(String name) { return findByName("book", current().books(), name).map(bookRepository::getReferenceById); }
+    public Optional<Book> bookById(Long id) { return findById("book", current().books(), id).map(bookRepository::getReferenceById); }
+
+    // COUNTERPARTIES
+    public Optional<Counterparty> counterpartyByName(String name) { return findByName("counterparty", current().counterparties(), name).map(counterpartyRepository::getReferenceById); }
+    public Optional<Counterparty> counterpartyById(Long id) { return findById("counterparty", current().counterparties(), id).map(counterpartyRepository::getReferenceById); }
+
+    // CURRENCIES
+    public Optional<Currency> currencyByName(String name) { return findByName("currency", current().currencies(), name).map(currencyRepository::getReferenceById); }
+    public Optional<Currency> currencyById(Long id) { return findById("currency", current().currencies(), id).map(currencyRepository::getReferenceById); }
+
+    // LEG TYPES
+    public Optional<LegType> legTypeByName(String name) { return findByName("legType", current().legTypes(), name).map(legTypeRepository::getReferenceById); }
+    public Optional<LegType> legTypeById(Long id) { return findById("legType", current().legTypes(), id).map(legTypeRepository::getReferenceById); }
+
+    // INDICES
+    public Optional<Index> indexByName(String name) { return findByName("index", current().indices(), name).map(indexRepository::getReferenceById); }
+    public Optional<Index> indexById(Long id) { return findById("index", current().indices(), id).map(indexRepository::getReferenceById); }
+
+    // HOLIDAY CALENDARS
+    public Optional<HolidayCalendar> holidayCalendarByName(String name) { return findByName("holidayCalendar", current().holidayCalendars(), name).map(holidayCalendarRepository::getReferenceById); }
+    public Optional<HolidayCalendar> holidayCalendarById(Long id) { return findById("holidayCalendar", current().holidayCalendars(), id).map(holidayCalendarRepository::getReferenceById); }
+
+    // SCHEDULES
+    public Optional<Schedule> scheduleByName(String name) { return findByName("schedule", current().schedules(), name).map(scheduleRepository::getReferenceById); }
+    public Optional<Schedule> scheduleById(Long id) { return findById("schedule", current().schedules(), id).map(scheduleRepository::getReferenceById); }
+
+    // BUSINESS DAY CONVENTIONS
+    public Optional<BusinessDayConvention> businessDayConventionByName(String name) { return findByName("businessDayConvention", current().businessDayConventions(), name).map(businessDayConventionRepository::getReferenceById); }
+    public Optional<BusinessDayConvention> businessDayConventionById(Long id) { return findById("businessDayConvention", current().businessDayConventions(), id).map(businessDayConventionRepository::getReferenceById); }
+
+    // PAY/REC
+    public Optional<PayRec> payRecByName(String name) { return findByName("payRec", current().payRecs(), name).map(payRecRepository::getReferenceById); }
+    public Optional<PayRec> payRecById(Long id) { return findById("payRec", current().payRecs(), id).map(payRecRepository::getReferenceById); }
+
+    // TRADE TYPES
+    public Optional<TradeType> tradeTypeByName(String name) { return findByName("tradeType", current().tradeTypes(), name).map(tradeTypeRepository::getReferenceById); }
+    public Optional<TradeType> tradeTypeById(Long id) { return findById("tradeType", current().tradeTypes(), id).map(tradeTypeRepository::getReferenceById); }
+
+    // TRADE SUB TYPES
+    public Optional<TradeSubType> tradeSubTypeByName(String name) { return findByName("tradeSubType", current().tradeSubTypes(), name).map(tradeSubTypeRepository::getReferenceById); }
+    public Optional<TradeSubType> tradeSubTypeById(Long id) { return findById("tradeSubType", current().tradeSubTypes(), id).map(tradeSubTypeRepository::getReferenceById); }
+
+    // TRADE STATUSES
+    public Optional<TradeStatus> tradeStatusByName(String name) { return findByName("tradeStatus", current().tradeStatuses(), name).map(tradeStatusRepository::getReferenceById); }
+    public Optional<TradeStatus> tradeStatusById(Long id) { return findById("tradeStatus", current().tradeStatuses(), id).map(tradeStatusRepository::getReferenceById); }
+
+    /**
+     * Marks the cache stale. If called inside a transaction the invalidation is deferred
+     * until after commit, so the reload cannot miss the change being written.
+     */
+    public void invalidate() {
+        AfterCommit.run(requestedVersion::incrementAndGet);
+    }
+
+    /** Version of the snapshot currently served (0 before the first load). */
+    public long getVersion() {
+        Snapshot loaded = snapshot.get();
+        return loaded == null ? 0 : loaded.version();
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot.get();
+        long version = requestedVersion.get();
+        if (loaded != null && loaded.version() == version) {
+            return loaded;
+        }
+        Snapshot built = load(version);
+        // Never replace a snapshot with an older one built by a slower thread
+        snapshot.accumulateAndGet(built, (served, candidate) ->
+                served == null || served.version() < candidate.version() ? candidate : served);
+        return built;
+    }
+
+    private Snapshot load(long version) {
+        Snapshot loaded = new Snapshot(version,
+                Lookup.of(bookRepository.findAll(), Book::getBookName, Book::getId),
+                Lookup.of(counterpartyRepository.findAll(), Counterparty::getName, Counterparty::getId),
+                Lookup.of(currencyRepository.findAll(), Currency::getCurrency, Currency::getId),
+                Lookup.of(legTypeRepository.findAll(), LegType::getType, LegType::getId),
+                Lookup.of(indexRepository.findAll(), Index::getIndex, Index::getId),
+                Lookup.of(holidayCalendarRepository.findAll(), HolidayCalendar::getHolidayCalendar, HolidayCalendar::getId),
+                Lookup.of(scheduleRepository.findAll(), Schedule::getSchedule, Schedule::getId),
+                Lookup.of(businessDayConventionRepository.findAll(), BusinessDayConvention::getBdc, BusinessDayConvention::getId),
+                Lookup.of(payRecRepository.findAll(), PayRec::getPayRec, PayRec::getId),
+                Lookup.of(tradeTypeRepository.findAll(), TradeType::getTradeType, TradeType::getId),
+                Lookup.of(tradeSubTypeRepository.findAll(), TradeSubType::getTradeSubType, TradeSubType::getId),
+                Lookup.of(tradeStatusRepository.findAll(), TradeStatus::getTradeStatus, TradeStatus::getId));
+        logger.info("Loaded reference data cache version {}", version);
+        return loaded;
+    }
+
+    private Optional<Long> findByName(String type, Lookup lookup, String name) {
+        if (name == null) {
+            return Optional.empty();
+        }
+        Long id = lookup.byName().get(name);
+        if (id == null) {
+            id = lookup.byNormalizedName().get(NormalizedNames.normalize(name));
+        }
+        (id != null ? hitCounters : missCounters).get(type).increment();
+        return Optional.ofNullable(id);
+    }
+
+    private Optional<Long> findById(String type, Lookup lookup, Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        boolean hit = lookup.ids().contains(id);
+        (hit ? hitCounters : missCounters).get(type).increment();
+        return hit ? Optional.of(id) : Optional.empty();
+    }
+
+    private Counter lookupCounter(String type, String result) {
+        return Counter.builder("refdata.cache.lookups")
+                .description("Reference data cache lookups")
+                .tag("type", type)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private record Lookup(Map<String, Long> byName, Map<String, Long> byNormalizedName, Set<Long> ids) {
+        static <T> Lookup of(List<T> rows, Function<T, String> name, Function<T, Long> id) {
+            Map<String, Long> byName = new HashMap<>();
+            Map<String, Long> byNormalizedName = new HashMap<>();
+            Set<Long> ids = new HashSet<>();
+            for (T row : rows) {
+                Long rowId = id.apply(row);
+                String rowName = name.apply(row);
+                if (rowName != null) {
+                    byName.putIfAbsent(rowName, rowId);
+                    byNormalizedName.putIfAbsent(NormalizedNames.normalize(rowName), rowId);
+                }
+                ids.add(rowId);
+            }
+            return new Lookup(Map.copyOf(byName), Map.copyOf(byNormalizedName), Set.copyOf(ids));
+        }
+    }
+
+    private record Snapshot(long version,
+                            Lookup books,
+                            Lookup counterparties,
+                            Lookup currencies,
+                            Lookup legTypes,
+                            Lookup indices,
+                            Lookup holidayCalendars,
+                            Lookup schedules,
+                            Lookup businessDayConventions,
+                            Lookup payRecs,
+                            Lookup tradeTypes,
+                            Lookup tradeSubTypes,
+                            Lookup tradeStatuses) {
+    }
+}
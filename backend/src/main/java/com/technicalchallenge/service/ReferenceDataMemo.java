@@ -0,0 +1,50 @@
+package com.technicalchallenge.service;
+
+import org.hibernate.Hibernate;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Remembers reference data lookups for the lifetime of one booking request.
+ *
+ * <p>A batch of trades usually references the same handful of books, counterparties,
+ * currencies etc., so each distinct (type, key) pair is only resolved once per batch.
+ * Not thread-safe; create one instance per request.</p>
+ */
+class ReferenceDataMemo {
+
+    private final Map<String, Optional<?>> lookups = new HashMap<>();
+    private final boolean loadReferences;
+
+    ReferenceDataMemo() {
+        this(false);
+    }
+
+    private ReferenceDataMemo(boolean loadReferences) {
+        this.loadReferences = loadReferences;
+    }
+
+    /**
+     * A memo whose entries can be written from other sessions than the one resolving them.
+     * References handed out by {@link ReferenceDataCache} belong to the resolving session, so
+     * each one is loaded once (one primary key select per distinct entity) and the loaded
+     * entity is remembered instead.
+     */
+    static ReferenceDataMemo forOtherSessions() {
+        return new ReferenceDataMemo(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> Optional<T> get(String type, Object key, Supplier<Optional<T>> loader) {
+        String cacheKey = type + ':' + key;
+        Optional<?> cached = lookups.get(cacheKey);
+        if (cached == null) {
+            cached = loadReferences ? loader.get().map(Hibernate::unproxy) : loader.get();
+            lookups.put(cacheKey, cached);
+        }
+        return (Optional<T>) cached;
+    }
+}
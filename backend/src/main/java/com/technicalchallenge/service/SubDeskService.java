@@ -1,5 +1,6 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.model.NormalizedNames;
 import com.technicalchallenge.model.SubDesk;
 import com.technicalchallenge.dto.SubDeskDTO;
 import com.technicalchallenge.repository.DeskRepository;
@@ -34,9 +35,8 @@ public class SubDeskService {
 
     public void populateReferenceDataByName(SubDesk subDesk, SubDeskDTO dto) {
         if (dto.getDeskName() != null && !dto.getDeskName().isBlank()) {
-            var desk = deskRepository.findAll().stream()
-                .filter(d -> d.getDeskName().equalsIgnoreCase(dto.getDeskName()))
-                .findFirst().orElse(null);
+            var desk = deskRepository.findFirstByNormalizedName(NormalizedNames.normalize(dto.getDeskName()))
+                .orElse(null);
             if (desk == null) throw new IllegalArgumentException("Desk '" + dto.getDeskName() + "' does not exist");
             subDesk.setDesk(desk);
         }
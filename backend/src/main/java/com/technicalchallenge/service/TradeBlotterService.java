@@ -0,0 +1,67 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeCursorPageDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.TradeCurrent;
+import com.technicalchallenge.repository.TradeCurrentRepository;
+import com.technicalchallenge.repository.TradeSortKey;
+import com.technicalchallenge.specification.TradeSpecification;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Trade blotter reads. Served entirely from the {@link TradeCurrent} projection: one narrow
+ * row per live trade, no joins to reference data, no historical versions and no legs.
+ */
+@Service
+@RequiredArgsConstructor
+public class TradeBlotterService {
+
+    private static final Sort BLOTTER_ORDER = Sort.by(Sort.Direction.DESC, "tradeDate", "tradeId");
+
+    private final TradeCurrentRepository tradeCurrentRepository;
+    private final TradeSearchIndex tradeSearchIndex;
+    private final TradeMapper tradeMapper;
+
+    /**
+     * One cursor page of live trades matching the search criteria, newest trade date first.
+     * Uses the same continuation tokens and page size limits as the trade search APIs.
+     */
+    @Transactional(readOnly = true)
+    public TradeCursorPageDTO blotter(SearchParametersDTO params, String cursor, int size, boolean includeCount) {
+        if (size < 1 || size > TradeService.MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + TradeService.MAX_CURSOR_PAGE_SIZE);
+        }
+        Specification<TradeCurrent> criteria = TradeSpecification.blotterCriteria(params, tradeSearchIndex.resolve(params));
+        Specification<TradeCurrent> page = criteria;
+        if (cursor != null && !cursor.isBlank()) {
+            TradeSortKey after = TradeCursors.decode(cursor);
+            page = criteria.and(TradeSpecification.blotterAfter(after.tradeDate(), after.tradeId()));
+        }
+
+        List<TradeCurrent> rows = tradeCurrentRepository.findBy(page, query -> query
+                .sortBy(BLOTTER_ORDER)
+                .limit(size + 1)
+                .all());
+        boolean hasNext = rows.size() > size;
+        if (hasNext) {
+            rows = rows.subList(0, size);
+        }
+
+        TradeCurrent last = hasNext ? rows.get(rows.size() - 1) : null;
+        return TradeCursorPageDTO.builder()
+                .content(rows.stream().map(tradeMapper::toBlotterDto).toList())
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(last == null ? null
+                        : TradeCursors.encode(new TradeSortKey(last.getTradeDate(), last.getTradeId(), last.getTradeRowId())))
+                .totalElements(includeCount ? tradeCurrentRepository.count(criteria) : null)
+                .build();
+    }
+}
@@ -0,0 +1,9 @@
+package com.technicalchallenge.service;
+
+/**
+ * Published by {@link TradeBookingWorker} once an asynchronously booked trade's cashflows and
+ * additional info are written. Downstream consumers should listen with
+ * {@code @TransactionalEventListener}, so they only hear about work that committed.
+ */
+public record TradeBookedEvent(Long tradeId, Integer version, int cashflowCount) {
+}
@@ -0,0 +1,355 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.dto.TradeBookingStatusDTO;
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.model.TradeOutboxEntry;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post-booking pipeline for {@code trade.booking.async} mode.
+ *
+ * <p>An async booking commits the trade and its legs with the legs flagged on-demand, so reads
+ * generate their cashflows from the terms until they are written, plus a
+ * {@link TradeOutboxEntry} in the same transaction. After commit the entry is handed to a pool
+ * of {@code trade.booking.worker-threads} threads, which in one transaction per entry writes
+ * the cashflows, stores the additional fields submitted with the booking through
+ * {@link AdditionalInfoService}, publishes a {@link TradeBookedEvent} and marks the entry
+ * completed. The booking request therefore never waits for cashflows, however long the trade.</p>
+ *
+ * <p>The pool's queue is bounded. Entries it rejects, and entries whose attempt failed, stay
+ * pending and are resubmitted by a sweep every {@code trade.booking.poll-interval-ms}; an entry
+ * is marked failed after {@code trade.booking.max-attempts} attempts. Entries are claimed with
+ * a conditional update, so each runs once however often it is submitted.</p>
+ *
+ * <p>A claim that has not finished within {@code trade.booking.claim-timeout-ms}, because the
+ * instance running it stopped or the attempt hung, is released by the sweep. The entry's
+ * version is bumped by every claim and release, so an attempt that outlives its claim rolls
+ * back instead of completing an entry another attempt now owns. On shutdown queued entries are
+ * left pending and running attempts get {@code trade.booking.shutdown-timeout-ms} to finish.</p>
+ */
+@Service
+public class TradeBookingWorker {
+    private static final Logger logger = LoggerFactory.getLogger(TradeBookingWorker.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final TypeReference<List<AdditionalInfoDTO>> ADDITIONAL_FIELDS = new TypeReference<>() {
+    };
+
+    private final TradeOutboxRepository tradeOutboxRepository;
+    private final TradeRepository tradeRepository;
+    private final TradeLegRepository tradeLegRepository;
+    private final CashflowRepository cashflowRepository;
+    private final LegCashflowGenerator legCashflowGenerator;
+    private final AdditionalInfoService additionalInfoService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate requiresNew;
+    private final boolean async;
+    private final int maxAttempts;
+    private final long pollIntervalMs;
+    private final long claimTimeoutMs;
+    private final long shutdownTimeoutMs;
+    private final ThreadPoolExecutor workers;
+    private final Timer pipelineTimer;
+    private final Counter completed;
+    private final Counter retried;
+    private final Counter failed;
+
+    public TradeBookingWorker(TradeOutboxRepository tradeOutboxRepository,
+                              TradeRepository tradeRepository,
+                              TradeLegRepository tradeLegRepository,
+                              CashflowRepository cashflowRepository,
+                              LegCashflowGenerator legCashflowGenerator,
+                              AdditionalInfoService additionalInfoService,
+                              ApplicationEventPublisher eventPublisher,
+                              ObjectMapper objectMapper,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry,
+                              @Value("${trade.booking.async:false}") boolean async,
+                              @Value("${trade.booking.worker-threads:4}") int workerThreads,
+                              @Value("${trade.booking.queue-capacity:1000}") int queueCapacity,
+                              @Value("${trade.booking.max-attempts:3}") int maxAttempts,
+                              @Value("${trade.booking.poll-interval-ms:5000}") long pollIntervalMs,
+                              @Value("${trade.booking.claim-timeout-ms:300000}") long claimTimeoutMs,
+                              @Value("${trade.booking.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("trade.booking.max-attempts must be at least 1");
+        }
+        this.tradeOutboxRepository = tradeOutboxRepository;
+        this.tradeRepository = tradeRepository;
+        this.tradeLegRepository = tradeLegRepository;
+        this.cashflowRepository = cashflowRepository;
+        this.legCashflowGenerator = legCashflowGenerator;
+        this.additionalInfoService = additionalInfoService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.async = async;
+        this.maxAttempts = maxAttempts;
+        this.pollIntervalMs = pollIntervalMs;
+        this.claimTimeoutMs = claimTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.workers = new ThreadPoolExecutor(workerThreads, workerThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("trade-booking-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.pipelineTimer = Timer.builder("trade.booking.pipeline")
+                .description("Time spent on the post-booking work of an asynchronously booked trade")
+                .register(meterRegistry);
+        this.completed = outcomeCounter(meterRegistry, "completed");
+        this.retried = outcomeCounter(meterRegistry, "retried");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    public boolean isAsync() {
+        return async;
+    }
+
+    /**
+     * Records the post-booking work of a trade booked in the current transaction. The entry is
+     * submitted to the pool once the booking commits.
+     */
+    public void enqueue(Trade trade, List<AdditionalInfoDTO> additionalFields) {
+        TradeOutboxEntry entry = new TradeOutboxEntry();
+        entry.setTradeId(trade.getTradeId());
+        entry.setTradeRowId(trade.getId());
+        entry.setAdditionalFields(writeAdditionalFields(additionalFields));
+        Long id = tradeOutboxRepository.save(entry).getId();
+
+        AfterCommit.run(() -> submit(id));
+    }
+
+    /**
+     * Status of the latest asynchronous booking of a trade, if it was booked asynchronously.
+     */
+    public Optional<TradeBookingStatusDTO> getStatus(Long tradeId) {
+        return tradeOutboxRepository.findFirstByTradeIdOrderByIdDesc(tradeId)
+                .map(entry -> TradeBookingStatusDTO.builder()
+                        .tradeId(entry.getTradeId())
+                        .status(entry.getStatus().name())
+                        .attempts(entry.getAttempts())
+                        .lastError(entry.getLastError())
+                        .acceptedDate(entry.getCreatedDate())
+                        .completedDate(entry.getCompletedDate())
+                        .build());
+    }
+
+    /**
+     * Releases expired claims, then resubmits entries that have been pending for at least a poll
+     * interval, up to the free space in the queue.
+     */
+    @Scheduled(fixedDelayString = "${trade.booking.poll-interval-ms:5000}")
+    public void resubmitPending() {
+        if (!async) {
+            return;
+        }
+        Integer released = requiresNew.execute(status -> tradeOutboxRepository.releaseExpiredClaims(
+                LocalDateTime.now().minus(Duration.ofMillis(claimTimeoutMs)), maxAttempts));
+        if (released != null && released > 0) {
+            logger.warn("Released {} trade bookings whose attempt did not finish within {} ms", released, claimTimeoutMs);
+        }
+
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        List<Long> ids = tradeOutboxRepository.findPendingIds(
+                LocalDateTime.now().minus(Duration.ofMillis(pollIntervalMs)), PageRequest.of(0, capacity));
+        for (Long id : ids) {
+            if (!submit(id)) {
+                break;
+            }
+        }
+        if (!ids.isEmpty()) {
+            logger.debug("Resubmitted {} pending trade bookings", ids.size());
+        }
+    }
+
+    private boolean submit(Long id) {
+        try {
+            workers.execute(() -> process(id));
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.debug("Trade booking worker queue full, outbox entry {} left for the next sweep", id);
+            return false;
+        }
+    }
+
+    void process(Long id) {
+        Claim claim = requiresNew.execute(status -> {
+            if (tradeOutboxRepository.claim(id, LocalDateTime.now()) == 0) {
+                return null;
+            }
+            return new Claim(tradeOutboxRepository.findById(id)
+                    .orElseThrow(() -> new IllegalStateException("Trade outbox entry " + id + " not found"))
+                    .getVersion());
+        });
+        if (claim == null) {
+            return;
+        }
+        Timer.Sample sample = Timer.start();
+        try {
+            if (Boolean.TRUE.equals(requiresNew.execute(status -> complete(id, claim)))) {
+                completed.increment();
+            }
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Claim on trade outbox entry {} expired before its attempt finished; the attempt was rolled back", id);
+        } catch (RuntimeException e) {
+            logger.warn("Post-booking work of outbox entry {} failed: {}", id, e.getMessage(), e);
+            requiresNew.executeWithoutResult(status -> recordFailure(id, claim, e));
+        } finally {
+            sample.stop(pipelineTimer);
+        }
+    }
+
+    /**
+     * Runs the post-booking work of a claimed entry. Returns false, doing nothing, if the claim
+     * was released in the meantime.
+     */
+    private boolean complete(Long id, Claim claim) {
+        TradeOutboxEntry entry = tradeOutboxRepository.findById(id).orElse(null);
+        if (entry == null || !claim.owns(entry)) {
+            logger.warn("Claim on trade outbox entry {} expired before its attempt started", id);
+            return false;
+        }
+        Trade trade = tradeRepository.findById(entry.getTradeRowId())
+                .orElseThrow(() -> new IllegalStateException("Trade row " + entry.getTradeRowId() + " not found"));
+
+        int cashflowCount = materializeCashflows(trade);
+        additionalInfoService.addTradeFields(entry.getTradeId(), readAdditionalFields(entry.getAdditionalFields()));
+
+        LocalDateTime now = LocalDateTime.now();
+        entry.setStatus(TradeOutboxEntry.Status.COMPLETED);
+        entry.setLastError(null);
+        entry.setLastModifiedDate(now);
+        entry.setCompletedDate(now);
+        tradeOutboxRepository.save(entry);
+
+        eventPublisher.publishEvent(new TradeBookedEvent(trade.getTradeId(), trade.getVersion(), cashflowCount));
+        logger.info("Completed booking of trade {} ({} cashflows)", trade.getTradeId(), cashflowCount);
+        return true;
+    }
+
+    /**
+     * Writes the cashflows of the legs the booking deferred. A version amended away in the
+     * meantime keeps its legs on demand, as superseded versions do anyway.
+     */
+    private int materializeCashflows(Trade trade) {
+        if (legCashflowGenerator.isOnDemand() || !Boolean.TRUE.equals(trade.getActive()) || trade.getTradeLegs() == null) {
+            return 0;
+        }
+        List<TradeLeg> deferred = trade.getTradeLegs().stream()
+                .filter(leg -> Boolean.TRUE.equals(leg.getCashflowsOnDemand()))
+                .toList();
+        if (deferred.isEmpty()) {
+            return 0;
+        }
+        List<Cashflow> cashflows = legCashflowGenerator.generate(deferred);
+        cashflowRepository.insertAll(cashflows, LocalDateTime.now());
+        for (TradeLeg leg : deferred) {
+            leg.setCashflowsOnDemand(false);
+        }
+        tradeLegRepository.saveAll(deferred);
+        return cashflows.size();
+    }
+
+    private void recordFailure(Long id, Claim claim, RuntimeException failure) {
+        tradeOutboxRepository.findById(id).filter(claim::owns).ifPresent(entry -> {
+            boolean exhausted = entry.getAttempts() >= maxAttempts;
+            String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getName();
+            entry.setStatus(exhausted ? TradeOutboxEntry.Status.FAILED : TradeOutboxEntry.Status.PENDING);
+            entry.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+            entry.setLastModifiedDate(LocalDateTime.now());
+            tradeOutboxRepository.save(entry);
+            (exhausted ? failed : retried).increment();
+        });
+    }
+
+    private String writeAdditionalFields(List<AdditionalInfoDTO> additionalFields) {
+        if (additionalFields == null || additionalFields.isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(additionalFields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Additional fields could not be stored: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private List<AdditionalInfoDTO> readAdditionalFields(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, ADDITIONAL_FIELDS);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Stored additional fields could not be read: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("trade.booking.outcomes")
+                .description("Post-booking attempts of asynchronously booked trades, by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // Queued entries are still pending in the outbox; only let running attempts finish
+        workers.getQueue().clear();
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(shutdownTimeoutMs, TimeUnit.MILLISECONDS)) {
+                logger.warn("Trade booking attempts still running after {} ms; their claims expire and are retried",
+                        shutdownTimeoutMs);
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workers.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** The entry version written by a claim; the claim is held while the entry still has it. */
+    private record Claim(Long version) {
+        boolean owns(TradeOutboxEntry entry) {
+            return entry.getStatus() == TradeOutboxEntry.Status.PROCESSING && Objects.equals(version, entry.getVersion());
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeCurrent;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.model.TradeSubType;
+import com.technicalchallenge.model.TradeType;
+import com.technicalchallenge.repository.TradeCurrentRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the {@link TradeCurrent} projection in step with the live version of each trade.
+ * Must be called inside the transaction that writes the trade, so the projection can never
+ * disagree with the trade table after a commit or rollback.
+ *
+ * <p>The denormalized reference data names are refreshed when the reference entity is renamed
+ * (see {@link com.technicalchallenge.model.listener.TradeCurrentNameListener}), once the
+ * renaming transaction commits. Until then the blotter shows and matches the previous name.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class TradeCurrentProjector {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeCurrentProjector.class);
+
+    private final TradeCurrentRepository tradeCurrentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Upserts the projection row of the trade's business ID from the given (live) version.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void project(Trade trade) {
+        TradeCurrent current = tradeCurrentRepository.findById(trade.getTradeId())
+                .orElseGet(() -> new TradeCurrent(trade.getTradeId()));
+        copy(trade, current);
+        tradeCurrentRepository.save(current);
+    }
+
+    /**
+     * Batch variant of {@link #project(Trade)}: one lookup for all existing rows and one
+     * {@code saveAll}, so a booked batch adds no per-trade queries.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void projectAll(Collection<Trade> trades) {
+        if (trades.isEmpty()) {
+            return;
+        }
+        Map<Long, TradeCurrent> existing = new HashMap<>();
+        for (TradeCurrent current : tradeCurrentRepository.findAllById(trades.stream().map(Trade::getTradeId).toList())) {
+            existing.put(current.getTradeId(), current);
+        }
+        List<TradeCurrent> rows = new ArrayList<>(trades.size());
+        for (Trade trade : trades) {
+            TradeCurrent current = existing.computeIfAbsent(trade.getTradeId(), TradeCurrent::new);
+            copy(trade, current);
+            rows.add(current);
+        }
+        tradeCurrentRepository.saveAll(rows);
+    }
+
+    /**
+     * Refreshes the names copied from the given reference entity in every projection row that
+     * references it, after the current transaction commits and in a transaction of its own.
+     * Entities whose names are not denormalized are ignored.
+     */
+    public void refreshNamesAfterCommit(Object reference) {
+        AfterCommit.run(() -> {
+            TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+            requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+            try {
+                int refreshed = requiresNew.execute(status -> refreshNames(reference));
+                if (refreshed > 0) {
+                    logger.info("Refreshed {} trade blotter rows after {} was renamed", refreshed, reference.getClass().getSimpleName());
+                }
+            } catch (RuntimeException e) {
+                // The rename itself has committed; the rows catch up the next time their trade is written
+                logger.warn("Could not refresh trade blotter names after {} changed", reference.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    private int refreshNames(Object reference) {
+        return switch (reference) {
+            case Book book -> tradeCurrentRepository.refreshBookName(book.getId());
+            case Counterparty counterparty -> tradeCurrentRepository.refreshCounterpartyName(counterparty.getId());
+            case ApplicationUser user -> tradeCurrentRepository.refreshTraderUserName(user.getId());
+            case TradeType tradeType -> tradeCurrentRepository.refreshTradeType(tradeType.getId());
+            case TradeSubType tradeSubType -> tradeCurrentRepository.refreshTradeSubType(tradeSubType.getId());
+            case TradeStatus tradeStatus -> tradeCurrentRepository.refreshTradeStatus(tradeStatus.getId());
+            default -> 0;
+        };
+    }
+
+    private static void copy(Trade trade, TradeCurrent current) {
+        current.setTradeRowId(trade.getId());
+        current.setVersion(trade.getVersion());
+        current.setTradeDate(trade.getTradeDate());
+        current.setTradeStartDate(trade.getTradeStartDate());
+        current.setTradeMaturityDate(trade.getTradeMaturityDate());
+        current.setUtiCode(trade.getUtiCode());
+        current.setLastTouchTimestamp(trade.getLastTouchTimestamp());
+
+        current.setBookId(trade.getBook() != null ? trade.getBook().getId() : null);
+        current.setBookName(trade.getBook() != null ? trade.getBook().getBookName() : null);
+        current.setCounterpartyId(trade.getCounterparty() != null ? trade.getCounterparty().getId() : null);
+        current.setCounterpartyName(trade.getCounterparty() != null ? trade.getCounterparty().getName() : null);
+        current.setTraderUserId(trade.getTraderUser() != null ? trade.getTraderUser().getId() : null);
+        current.setTraderUserName(trade.getTraderUser() != null
+                ? trade.getTraderUser().getFirstName() + " " + trade.getTraderUser().getLastName() : null);
+        current.setTradeTypeId(trade.getTradeType() != null ? trade.getTradeType().getId() : null);
+        current.setTradeType(trade.getTradeType() != null ? trade.getTradeType().getTradeType() : null);
+        current.setTradeSubTypeId(trade.getTradeSubType() != null ? trade.getTradeSubType().getId() : null);
+        current.setTradeSubType(trade.getTradeSubType() != null ? trade.getTradeSubType().getTradeSubType() : null);
+        current.setTradeStatusId(trade.getTradeStatus() != null ? trade.getTradeStatus().getId() : null);
+        current.setTradeStatus(trade.getTradeStatus() != null ? trade.getTradeStatus().getTradeStatus() : null);
+    }
+}
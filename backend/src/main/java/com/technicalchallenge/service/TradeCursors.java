@@ -0,0 +1,40 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.repository.TradeSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions as opaque continuation tokens for the cursor paginated trade APIs.
+ * Clients must treat the token as opaque; the format carries a version prefix so it can change.
+ */
+final class TradeCursors {
+
+    private static final String VERSION = "v1";
+
+    private TradeCursors() {
+    }
+
+    static String encode(TradeSortKey key) {
+        String raw = VERSION + ':' + key.tradeDate() + ':' + key.tradeId() + ':' + key.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode}
+     */
+    static TradeSortKey decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":");
+            if (parts.length != 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TradeSortKey(LocalDate.parse(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes the trade blotter to an output stream one trade at a time.
+ *
+ * <p>Trades are read through a streamed query, and the persistence context is cleared every
+ * {@value #CLEAR_INTERVAL} trades so already written trades can be garbage collected. Memory
+ * use therefore does not grow with the number of trades exported. Exports contain trade
+ * headers and reference data; legs and cashflows are available per trade from
+ * {@code GET /api/trades/{id}}.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class TradeExportService {
+    private static final Logger logger = LoggerFactory.getLogger(TradeExportService.class);
+
+    static final int CLEAR_INTERVAL = 500;
+
+    static final String[] CSV_COLUMNS = {
+            "tradeId", "version", "tradeDate", "tradeStartDate", "tradeMaturityDate", "tradeExecutionDate",
+            "utiCode", "bookName", "counterpartyName", "traderUserName", "inputterUserName",
+            "tradeType", "tradeSubType", "tradeStatus", "active", "lastTouchTimestamp"
+    };
+
+    private final TradeRepository tradeRepository;
+    private final TradeMapper tradeMapper;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String fileExtension;
+
+        Format(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getFileExtension() {
+            return fileExtension;
+        }
+
+        public static Format parse(String value) {
+            try {
+                return Format.valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value + " (expected ndjson or csv)");
+            }
+        }
+    }
+
+    /**
+     * Writes all trades to {@code out} in the given format. Runs in its own read-only
+     * transaction, so it can be called from the export's async task after the
+     * request thread has returned. The stream is flushed but not closed.
+     *
+     * @return number of trades written
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        ObjectWriter jsonWriter = objectMapper.writerFor(TradeDTO.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long count = 0;
+
+        if (format == Format.CSV) {
+            writer.write(String.join(",", CSV_COLUMNS));
+            writer.write('\n');
+        }
+
+        try (Stream<Trade> trades = tradeRepository.streamAllForExport()) {
+            Iterator<Trade> iterator = trades.iterator();
+            while (iterator.hasNext()) {
+                TradeDTO dto = tradeMapper.toHeaderDto(iterator.next());
+                if (format == Format.CSV) {
+                    writeCsvRow(writer, dto);
+                } else {
+                    jsonWriter.writeValue(writer, dto);
+                    writer.write('\n');
+                }
+
+                if (++count % CLEAR_INTERVAL == 0) {
+                    writer.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+
+        writer.flush();
+        logger.info("Exported {} trades as {}", count, format);
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, TradeDTO dto) throws IOException {
+        Object[] values = {
+                dto.getTradeId(), dto.getVersion(), dto.getTradeDate(), dto.getTradeStartDate(),
+                dto.getTradeMaturityDate(), dto.getTradeExecutionDate(), dto.getUtiCode(), dto.getBookName(),
+                dto.getCounterpartyName(), dto.getTraderUserName(), dto.getInputterUserName(), dto.getTradeType(),
+                dto.getTradeSubType(), dto.getTradeStatus(), dto.getActive(), dto.getLastTouchTimestamp()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvEscape(values[i].toString()));
+            }
+        }
+        writer.write('\n');
+    }
+
+    static String csvEscape(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
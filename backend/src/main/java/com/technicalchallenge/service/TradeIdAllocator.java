@@ -0,0 +1,116 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.TradeIdBlock;
+import com.technicalchallenge.repository.TradeIdBlockRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out unique business trade IDs.
+ *
+ * <p>IDs are reserved from the {@code trade_id_block} table in blocks of
+ * {@code trade.id.block-size} (hi/lo). Within a block IDs are handed out lock-free from an
+ * {@link AtomicLong}; the database is only touched when a block is exhausted, and the row
+ * lock taken then keeps blocks disjoint across application instances.</p>
+ *
+ * <p>Blocks are reserved in their own transaction, so IDs of rolled-back bookings are
+ * skipped rather than reused.</p>
+ */
+@Service
+public class TradeIdAllocator {
+    private static final Logger logger = LoggerFactory.getLogger(TradeIdAllocator.class);
+
+    static final String TRADE_BLOCK = "TRADE";
+    static final long FIRST_TRADE_ID = 10000L;
+
+    private final TradeIdBlockRepository tradeIdBlockRepository;
+    private final TradeRepository tradeRepository;
+    private final TransactionTemplate requiresNew;
+    private final Counter refillCounter;
+    private final int blockSize;
+
+    private volatile Block current;
+
+    public TradeIdAllocator(TradeIdBlockRepository tradeIdBlockRepository,
+                            TradeRepository tradeRepository,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${trade.id.block-size:100}") int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("trade.id.block-size must be at least 1");
+        }
+        this.tradeIdBlockRepository = tradeIdBlockRepository;
+        this.tradeRepository = tradeRepository;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.refillCounter = Counter.builder("trade.id.block.refills")
+                .description("Number of trade ID blocks reserved from the database")
+                .register(meterRegistry);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Returns the next unused trade ID. Only blocks (and touches the database) when the
+     * current block is exhausted.
+     */
+    public long nextTradeId() {
+        while (true) {
+            Block block = current;
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private synchronized void refill(Block exhausted) {
+        if (current != exhausted) {
+            // Another thread already swapped in a fresh block
+            return;
+        }
+        long start = requiresNew.execute(status -> reserveBlock());
+        current = new Block(start, start + blockSize);
+        refillCounter.increment();
+        logger.debug("Reserved trade ID block [{}, {})", start, start + blockSize);
+    }
+
+    private long reserveBlock() {
+        TradeIdBlock row = tradeIdBlockRepository.findByNameForUpdate(TRADE_BLOCK)
+                .orElseGet(this::initialBlockRow);
+        long start = row.getNextValue();
+        row.setNextValue(start + blockSize);
+        tradeIdBlockRepository.save(row);
+        return start;
+    }
+
+    private TradeIdBlock initialBlockRow() {
+        long start = tradeRepository.findMaxTradeId()
+                .map(max -> Math.max(max + 1, FIRST_TRADE_ID))
+                .orElse(FIRST_TRADE_ID);
+        logger.info("Initialising trade ID allocation at {}", start);
+        return new TradeIdBlock(TRADE_BLOCK, start);
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long end;
+
+        private Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
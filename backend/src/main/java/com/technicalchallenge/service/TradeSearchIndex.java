@@ -0,0 +1,198 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeFilterRequestDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.BookRepository;
+import com.technicalchallenge.repository.CounterpartyRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import com.technicalchallenge.repository.TradeUtiView;
+import com.technicalchallenge.specification.TradeSpecification.SearchCandidates;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * In-process trigram indexes over the free-text fields of the trade blotter search:
+ * counterparty names, book names, trader full names and login IDs, and trade UTI codes.
+ *
+ * <p>A search term is resolved here to the set of matching entity IDs before the database
+ * query runs, turning a {@code LIKE '%term%'} over every joined row into an indexed
+ * {@code IN (...)} on the trade's foreign key (see {@link SearchCandidates}).</p>
+ *
+ * <p>The indexes are built when the application is ready and then kept up to date by
+ * {@link com.technicalchallenge.model.listener.TradeSearchIndexListener} as trades and reference data are written; changes are
+ * applied once the writing transaction commits. Until the first build completes, or when a
+ * term is too short, too unselective to be worth an {@code IN} list or matches nothing, the
+ * term is left unresolved and the query falls back to {@code LIKE}.</p>
+ *
+ * <p>The indexes are per JVM and only see writes that go through JPA in this instance. Rows
+ * written by other instances or by SQL that bypasses JPA, and rows committed by another
+ * thread whose after-commit update has not run yet, are missing until the next
+ * {@link #rebuild}. A miss is therefore never taken as "no match", but a term whose other
+ * matches are indexed can still leave such a row out of the results.</p>
+ */
+@Service
+public class TradeSearchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(TradeSearchIndex.class);
+
+    /** Above this many matches an IN list stops paying off; the query uses LIKE instead */
+    static final int MAX_CANDIDATES = 1000;
+
+    private final CounterpartyRepository counterpartyRepository;
+    private final BookRepository bookRepository;
+    private final ApplicationUserRepository applicationUserRepository;
+    private final TradeRepository tradeRepository;
+
+    // Reference data tables are small, so terms under three characters are answered by a scan
+    private final TrigramIndex counterpartyNames = new TrigramIndex(true);
+    private final TrigramIndex bookNames = new TrigramIndex(true);
+    private final TrigramIndex traderNames = new TrigramIndex(true);
+    private final TrigramIndex traderLoginIds = new TrigramIndex(true);
+    private final TrigramIndex utiCodes = new TrigramIndex(false);
+
+    private volatile boolean ready;
+
+    public TradeSearchIndex(CounterpartyRepository counterpartyRepository,
+                            BookRepository bookRepository,
+                            ApplicationUserRepository applicationUserRepository,
+                            TradeRepository tradeRepository) {
+        this.counterpartyRepository = counterpartyRepository;
+        this.bookRepository = bookRepository;
+        this.applicationUserRepository = applicationUserRepository;
+        this.tradeRepository = tradeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        for (TrigramIndex index : new TrigramIndex[]{counterpartyNames, bookNames, traderNames, traderLoginIds, utiCodes}) {
+            index.clear();
+        }
+        counterpartyRepository.findAll().forEach(c -> counterpartyNames.put(c.getId(), c.getName()));
+        bookRepository.findAll().forEach(b -> bookNames.put(b.getId(), b.getBookName()));
+        applicationUserRepository.findAll().forEach(u -> putUser(u.getId(), u.getNormalizedFullName(), u.getLoginId()));
+        for (TradeUtiView trade : tradeRepository.findAllUtiCodes()) {
+            utiCodes.put(trade.getId(), trade.getUtiCode());
+        }
+        ready = true;
+        logger.info("Built trade search index in {} ms ({} counterparties, {} books, {} users, {} UTI codes)",
+                System.currentTimeMillis() - start, counterpartyNames.size(), bookNames.size(),
+                traderLoginIds.size(), utiCodes.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Resolves the free-text criteria of a blotter search to candidate IDs.
+     */
+    public SearchCandidates resolve(SearchParametersDTO params) {
+        if (!ready) {
+            return SearchCandidates.NONE;
+        }
+        return new SearchCandidates(
+                lookup(counterpartyNames, params.getCounterpartyName()),
+                lookup(bookNames, params.getBookName()),
+                lookupTrader(params.getTrader()),
+                lookup(utiCodes, params.getUtiCode()));
+    }
+
+    /**
+     * Resolves the free-text criteria of an advanced filter request to candidate IDs.
+     */
+    public SearchCandidates resolve(TradeFilterRequestDTO filters) {
+        if (!ready) {
+            return SearchCandidates.NONE;
+        }
+        return new SearchCandidates(
+                lookup(counterpartyNames, filters.getCounterpartyName()),
+                lookup(bookNames, filters.getBookName()),
+                null,
+                null);
+    }
+
+    // Called by TradeSearchIndexListener; the values are captured now and applied after commit
+
+    public void onSaved(Object entity) {
+        if (entity instanceof Counterparty c) {
+            Long id = c.getId();
+            String name = c.getName();
+            AfterCommit.run(() -> counterpartyNames.put(id, name));
+        } else if (entity instanceof Book b) {
+            Long id = b.getId();
+            String name = b.getBookName();
+            AfterCommit.run(() -> bookNames.put(id, name));
+        } else if (entity instanceof ApplicationUser u) {
+            Long id = u.getId();
+            String fullName = u.getNormalizedFullName();
+            String loginId = u.getLoginId();
+            AfterCommit.run(() -> putUser(id, fullName, loginId));
+        } else if (entity instanceof Trade t) {
+            Long id = t.getId();
+            String utiCode = t.getUtiCode();
+            AfterCommit.run(() -> utiCodes.put(id, utiCode));
+        }
+    }
+
+    public void onRemoved(Object entity) {
+        if (entity instanceof Counterparty c) {
+            Long id = c.getId();
+            AfterCommit.run(() -> counterpartyNames.remove(id));
+        } else if (entity instanceof Book b) {
+            Long id = b.getId();
+            AfterCommit.run(() -> bookNames.remove(id));
+        } else if (entity instanceof ApplicationUser u) {
+            Long id = u.getId();
+            AfterCommit.run(() -> {
+                traderNames.remove(id);
+                traderLoginIds.remove(id);
+            });
+        } else if (entity instanceof Trade t) {
+            Long id = t.getId();
+            AfterCommit.run(() -> utiCodes.remove(id));
+        }
+    }
+
+    private void putUser(Long id, String fullName, String loginId) {
+        traderNames.put(id, fullName);
+        traderLoginIds.put(id, loginId);
+    }
+
+    private Set<Long> lookupTrader(String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        Set<Long> byName = traderNames.search(term);
+        Set<Long> byLogin = traderLoginIds.search(term);
+        if (byName == null || byLogin == null) {
+            return null;
+        }
+        Set<Long> ids = new HashSet<>(byName);
+        ids.addAll(byLogin);
+        return usable(ids);
+    }
+
+    private static Set<Long> lookup(TrigramIndex index, String term) {
+        if (term == null || term.isBlank()) {
+            return null;
+        }
+        return usable(index.search(term));
+    }
+
+    // An empty set would become IN (), returning nothing for a row the index has not seen yet
+    private static Set<Long> usable(Set<Long> ids) {
+        return ids == null || ids.isEmpty() || ids.size() > MAX_CANDIDATES ? null : ids;
+    }
+}
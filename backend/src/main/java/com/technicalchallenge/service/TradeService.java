@@ -1,6 +1,10 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.dto.AdditionalInfoDTO;
 import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeBookingStatusDTO;
+import com.technicalchallenge.dto.TradeCursorPageDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeFilterRequestDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
@@ -8,29 +12,48 @@ import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.*;
 import com.technicalchallenge.repository.*;
 import com.technicalchallenge.specification.TradeSpecification;
+import com.technicalchallenge.validation.TradeValidationEngine;
+import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.refData.MemoizingReferenceDataGateway;
+import com.technicalchallenge.validation.refData.ReferenceDataGateway;
 import io.github.perplexhub.rsql.RSQLJPASupport;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class TradeService {
     private static final Logger logger = LoggerFactory.getLogger(TradeService.class);
+    static final int MAX_CURSOR_PAGE_SIZE = 500;
+    static final int BATCH_WRITE_CHUNK_SIZE = 100;
 
     private final TradeRepository tradeRepository;
     private final TradeLegRepository tradeLegRepository;
@@ -49,37 +72,138 @@ public class TradeService {
     private final BusinessDayConventionRepository businessDayConventionRepository;
     private final PayRecRepository payRecRepository;
     private final AdditionalInfoService additionalInfoService;
+    private final TradeIdAllocator tradeIdAllocator;
+    private final ReferenceDataCache referenceDataCache;
+    private final UserDirectory userDirectory;
+    private final TradeValidationEngine tradeValidationEngine;
+    private final ReferenceDataGateway referenceDataGateway;
+    private final TradeSearchIndex tradeSearchIndex;
+    private final TradeCurrentProjector tradeCurrentProjector;
+    private final LegCashflowGenerator legCashflowGenerator;
+    private final TradeBookingWorker tradeBookingWorker;
     private final TradeMapper tradeMapper;
-    private final ModelMapper modelMapper;
+    private final PlatformTransactionManager transactionManager;
 
 
+    @Transactional(readOnly = true)
     public List<Trade> getAllTrades() {
         logger.info("Retrieving all trades");
-        return tradeRepository.findAll();
+        List<Trade> trades = tradeRepository.findAllWithLegs();
+        if (!trades.isEmpty()) {
+            // Every leg belongs to one of the trades, so load all cashflows in one go
+            tradeLegRepository.findAllWithCashflows();
+        }
+        return trades;
     }
 // new, search by search criteria
+    @Transactional(readOnly = true)
     public Page<TradeDTO> searchTradesPaginated(SearchParametersDTO params, Pageable pageable) {
-        Page<Trade> page = tradeRepository.findBySearchCriteria(
-                params.getCounterpartyName(),
-                params.getBookName(),
-                params.getTrader(),
-                params.getStatus(),
-                params.getFromDate(),
-                params.getToDate(),
-                pageable
-        );
+        Specification<Trade> specification = TradeSpecification.searchCriteria(params, tradeSearchIndex.resolve(params));
+        return toDtoPage(tradeRepository.findIds(specification, pageable));
+    }
 
-        return page.map(tradeMapper::toDto);
+    /**
+     * Cursor paginated variant of {@link #searchTradesPaginated(SearchParametersDTO, Pageable)}.
+     * Trades are returned newest trade date first; pass the previous page's
+     * {@code nextCursor} to continue, or {@code null} for the first page.
+     */
+    @Transactional(readOnly = true)
+    public TradeCursorPageDTO searchTradesPaginated(SearchParametersDTO params, String cursor, int size, boolean includeCount) {
+        return keysetPage(TradeSpecification.searchCriteria(params, tradeSearchIndex.resolve(params)), cursor, size, includeCount);
     }
 
+    @Transactional(readOnly = true)
     public Page<TradeDTO> filterTrades(TradeFilterRequestDTO filters, String traderUsername, Pageable pageable){
-        Specification<Trade> specification = TradeSpecification.filterTrades(filters, traderUsername);
-        return tradeRepository.findAll(specification, pageable).map(tradeMapper::toDto);
+        Specification<Trade> specification = TradeSpecification.filterTrades(filters, traderUsername, tradeSearchIndex.resolve(filters));
+        return toDtoPage(tradeRepository.findIds(specification, pageable));
+
+    }
 
+    @Transactional(readOnly = true)
+    public TradeCursorPageDTO filterTrades(TradeFilterRequestDTO filters, String traderUsername,
+                                           String cursor, int size, boolean includeCount) {
+        return keysetPage(TradeSpecification.filterTrades(filters, traderUsername, tradeSearchIndex.resolve(filters)), cursor, size, includeCount);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Trade> getTradeById(Long tradeId) {
         logger.debug("Retrieving trade by id: {}", tradeId);
+        Optional<Trade> trade = tradeRepository.findWithLegsByTradeIdAndActiveTrue(tradeId);
+        trade.ifPresent(t -> fetchCashflows(List.of(t)));
+        return trade;
+    }
+
+    /**
+     * Second phase of a paginated read: loads the page's trades with their legs and reference
+     * data (one query) and the legs' cashflows (one query), then maps them in page order.
+     * The number of queries per page does not depend on the number of trades or legs.
+     */
+    private Page<TradeDTO> toDtoPage(Page<Long> ids) {
+        return new PageImpl<>(toDtos(ids.getContent()), ids.getPageable(), ids.getTotalElements());
+    }
+
+    /**
+     * Keyset page: seeks past the cursor's sort key instead of skipping rows, so every page
+     * costs the same as the first. Fetches one key more than requested to detect a next page,
+     * and only runs the count query when the caller asks for it.
+     */
+    private TradeCursorPageDTO keysetPage(Specification<Trade> specification, String cursor,
+                                          int size, boolean includeCount) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+        TradeSortKey after = cursor == null || cursor.isBlank() ? null : TradeCursors.decode(cursor);
+
+        List<TradeSortKey> keys = tradeRepository.findSortKeys(specification, after, size + 1);
+        boolean hasNext = keys.size() > size;
+        if (hasNext) {
+            keys = keys.subList(0, size);
+        }
+
+        return TradeCursorPageDTO.builder()
+                .content(toDtos(keys.stream().map(TradeSortKey::id).toList()))
+                .size(size)
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? TradeCursors.encode(keys.get(keys.size() - 1)) : null)
+                .totalElements(includeCount ? tradeRepository.count(specification) : null)
+                .build();
+    }
+
+    private List<TradeDTO> toDtos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Trade> tradesById = new HashMap<>();
+        for (Trade trade : tradeRepository.findWithLegsByIdIn(ids)) {
+            tradesById.put(trade.getId(), trade);
+        }
+        fetchCashflows(tradesById.values());
+
+        List<TradeDTO> dtos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Trade trade = tradesById.get(id);
+            if (trade != null) {
+                dtos.add(tradeMapper.toDto(trade));
+            }
+        }
+        return dtos;
+    }
+
+    private void fetchCashflows(Collection<Trade> trades) {
+        List<Long> legIds = new ArrayList<>();
+        for (Trade trade : trades) {
+            if (trade.getTradeLegs() != null) {
+                for (TradeLeg leg : trade.getTradeLegs()) {
+                    legIds.add(leg.getLegId());
+                }
+            }
+        }
+        if (!legIds.isEmpty()) {
+            tradeLegRepository.findWithCashflowsByLegIdIn(legIds);
+        }
+    }
+
+    private Optional<Trade> findActiveTrade(Long tradeId) {
         return tradeRepository.findByTradeIdAndActiveTrue(tradeId);
     }
 
@@ -89,8 +213,7 @@ public class TradeService {
 
         // Generate trade ID if not provided
         if (tradeDTO.getTradeId() == null) {
-            // Generate sequential trade ID starting from 10000
-            Long generatedTradeId = generateNextTradeId();
+            Long generatedTradeId = tradeIdAllocator.nextTradeId();
             tradeDTO.setTradeId(generatedTradeId);
             logger.info("Generated trade ID: {}", generatedTradeId);
         }
@@ -116,15 +239,281 @@ public class TradeService {
         // Ensure we have essential reference data
         validateReferenceData(trade);
 
+        // Run the full rule set against the resolved trade
+        runValidationEngine(trade, tradeDTO, TradeOperationType.CREATE);
+
         Trade savedTrade = tradeRepository.save(trade);
+        tradeCurrentProjector.project(savedTrade);
+
+        if (tradeBookingWorker.isAsync()) {
+            // Cashflows and additional fields are written by the booking worker after commit
+            createTradeLegs(tradeDTO, savedTrade, true);
+            tradeBookingWorker.enqueue(savedTrade, tradeDTO.getAdditionalFields());
+            logger.info("Accepted trade with ID: {}, post-booking work queued", savedTrade.getTradeId());
+            return savedTrade;
+        }
 
         // Create trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
+        createTradeLegs(tradeDTO, savedTrade, false);
+        additionalInfoService.addTradeFields(savedTrade.getTradeId(), tradeDTO.getAdditionalFields());
 
         logger.info("Successfully created trade with ID: {}", savedTrade.getTradeId());
         return savedTrade;
     }
 
+    /**
+     * Whether new trades are booked asynchronously: {@link #createTrade} commits the trade and
+     * its legs and leaves the cashflows and additional fields to {@link TradeBookingWorker}.
+     */
+    public boolean isAsyncBooking() {
+        return tradeBookingWorker.isAsync();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<TradeBookingStatusDTO> getBookingStatus(Long tradeId) {
+        return tradeBookingWorker.getStatus(tradeId);
+    }
+
+    /**
+     * Books a list of trades.
+     *
+     * <p>Reference data is resolved once per distinct name/ID across the whole batch and
+     * trades, legs and cashflows are written with {@code saveAll} so Hibernate can group
+     * the inserts into JDBC batches. Trades that fail validation are reported in the
+     * result list and skipped; the rest of the batch is still booked.</p>
+     *
+     * <p>Validation runs in two passes: first every trade's reference data is resolved and
+     * trade IDs repeated within the batch or already booked are rejected, then the
+     * existence/active state of all referenced entities is fetched with one bulk query per
+     * entity type before the validation engine runs for each trade.</p>
+     *
+     * <p>The accepted trades are written in chunks of {@value #BATCH_WRITE_CHUNK_SIZE}, each in
+     * its own transaction. A chunk that fails to write is retried one trade at a time, so a
+     * trade is only reported as booked once its chunk committed and a write failure is
+     * attributed to the trade that caused it.</p>
+     *
+     * <p>The method itself runs outside a transaction: both validation passes share one short
+     * read-only transaction, so only the chunk being written holds a pooled connection and the
+     * persistence context does not grow with the batch.</p>
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<TradeBatchResultDTO> createTrades(List<TradeDTO> tradeDTOs) {
+        logger.info("Creating batch of {} trades", tradeDTOs.size());
+
+        TradeBatchResultDTO[] results = new TradeBatchResultDTO[tradeDTOs.size()];
+        LocalDateTime now = LocalDateTime.now();
+
+        // Allocated up front, a block refill takes a connection of its own
+        for (TradeDTO tradeDTO : tradeDTOs) {
+            if (tradeDTO.getTradeId() == null) {
+                tradeDTO.setTradeId(tradeIdAllocator.nextTradeId());
+            }
+        }
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<BatchTrade> accepted = readOnly.execute(status -> validateBatchTrades(tradeDTOs, results, now));
+
+        // Pass 3: write the accepted trades chunk by chunk
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        int booked = 0;
+        int cashflowCount = 0;
+        for (int from = 0; from < accepted.size(); from += BATCH_WRITE_CHUNK_SIZE) {
+            List<BatchTrade> chunk = accepted.subList(from, Math.min(from + BATCH_WRITE_CHUNK_SIZE, accepted.size()));
+            try {
+                cashflowCount += requiresNew.execute(status -> writeBatchTrades(chunk, now));
+                for (BatchTrade batchTrade : chunk) {
+                    results[batchTrade.index()] = new TradeBatchResultDTO(batchTrade.index(), batchTrade.trade().getTradeId(), true, null);
+                }
+                booked += chunk.size();
+            } catch (RuntimeException chunkFailure) {
+                logger.warn("Writing {} trades of the batch failed, retrying them one at a time: {}",
+                        chunk.size(), chunkFailure.getMessage());
+                for (BatchTrade batchTrade : chunk) {
+                    batchTrade.clearIds();
+                    try {
+                        cashflowCount += requiresNew.execute(status -> writeBatchTrades(List.of(batchTrade), now));
+                        results[batchTrade.index()] = new TradeBatchResultDTO(batchTrade.index(), batchTrade.trade().getTradeId(), true, null);
+                        booked++;
+                    } catch (RuntimeException e) {
+                        logger.warn("Rejected trade {} in batch: {}", batchTrade.index(), e.getMessage());
+                        results[batchTrade.index()] = new TradeBatchResultDTO(batchTrade.index(), batchTrade.trade().getTradeId(), false, e.getMessage());
+                    }
+                }
+            }
+        }
+
+        logger.info("Batch booked {} of {} trades with {} cashflows", booked, tradeDTOs.size(), cashflowCount);
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Validation passes of {@link #createTrades}: records the rejected trades in
+     * {@code results} and returns the accepted ones with their legs, ready to be written.
+     */
+    private List<BatchTrade> validateBatchTrades(List<TradeDTO> tradeDTOs, TradeBatchResultDTO[] results, LocalDateTime now) {
+        // Chunks are written in their own sessions, see ReferenceDataMemo#forOtherSessions
+        ReferenceDataMemo memo = ReferenceDataMemo.forOtherSessions();
+        Map<Integer, Trade> resolved = new LinkedHashMap<>();
+        Set<Long> batchTradeIds = new HashSet<>();
+        List<BatchTrade> accepted = new ArrayList<>(tradeDTOs.size());
+
+        // Pass 1: structural checks and reference data resolution
+        for (int i = 0; i < tradeDTOs.size(); i++) {
+            TradeDTO tradeDTO = tradeDTOs.get(i);
+            try {
+                if (!batchTradeIds.add(tradeDTO.getTradeId())) {
+                    throw new RuntimeException("Trade ID " + tradeDTO.getTradeId() + " appears more than once in the batch");
+                }
+
+                validateTradeCreation(tradeDTO);
+
+                Trade trade = mapDTOToEntity(tradeDTO);
+                trade.setVersion(1);
+                trade.setActive(true);
+                trade.setCreatedDate(now);
+                trade.setLastTouchTimestamp(now);
+
+                if (tradeDTO.getTradeStatus() == null) {
+                    tradeDTO.setTradeStatus("NEW");
+                }
+
+                populateReferenceDataByName(trade, tradeDTO, memo);
+                validateReferenceData(trade);
+                copyResolvedReferenceIds(trade, tradeDTO);
+                resolved.put(i, trade);
+            } catch (RuntimeException e) {
+                logger.warn("Rejected trade {} in batch: {}", i, e.getMessage());
+                results[i] = new TradeBatchResultDTO(i, tradeDTO.getTradeId(), false, e.getMessage());
+            }
+        }
+        rejectBookedTradeIds(resolved, results);
+
+        // Pass 2: rule validation against prefetched entity states, then build legs
+        ReferenceDataGateway gateway = prefetchEntityStates(resolved.values());
+        for (Map.Entry<Integer, Trade> entry : resolved.entrySet()) {
+            int i = entry.getKey();
+            Trade trade = entry.getValue();
+            TradeDTO tradeDTO = tradeDTOs.get(i);
+            try {
+                tradeValidationEngine.validateOrThrow(new ValidationContext(
+                        tradeDTO, trade.getTradeInputterUser(), gateway, LocalDate.now(), TradeOperationType.CREATE));
+
+                List<TradeLeg> tradeLegs = new ArrayList<>(tradeDTO.getTradeLegs().size());
+                for (TradeLegDTO legDTO : tradeDTO.getTradeLegs()) {
+                    tradeLegs.add(buildTradeLeg(legDTO, tradeDTO, trade, memo));
+                }
+                accepted.add(new BatchTrade(i, trade, tradeLegs, tradeDTO.getAdditionalFields()));
+            } catch (RuntimeException e) {
+                logger.warn("Rejected trade {} in batch: {}", i, e.getMessage());
+                results[i] = new TradeBatchResultDTO(i, tradeDTO.getTradeId(), false, e.getMessage());
+            }
+        }
+
+        return accepted;
+    }
+
+    /**
+     * Rejects the resolved trades whose trade ID is already booked, with one query for the
+     * whole batch.
+     */
+    private void rejectBookedTradeIds(Map<Integer, Trade> resolved, TradeBatchResultDTO[] results) {
+        if (resolved.isEmpty()) {
+            return;
+        }
+        Set<Long> booked = new HashSet<>(tradeRepository.findBookedTradeIds(
+                resolved.values().stream().map(Trade::getTradeId).toList()));
+        resolved.entrySet().removeIf(entry -> {
+            Long tradeId = entry.getValue().getTradeId();
+            if (!booked.contains(tradeId)) {
+                return false;
+            }
+            String message = "Trade ID " + tradeId + " already exists";
+            logger.warn("Rejected trade {} in batch: {}", entry.getKey(), message);
+            results[entry.getKey()] = new TradeBatchResultDTO(entry.getKey(), tradeId, false, message);
+            return true;
+        });
+    }
+
+    /**
+     * Writes trades, their legs, cashflows and additional fields in the current transaction.
+     * Returns the number of cashflows written.
+     */
+    private int writeBatchTrades(List<BatchTrade> batchTrades, LocalDateTime now) {
+        List<Trade> trades = new ArrayList<>(batchTrades.size());
+        List<TradeLeg> legs = new ArrayList<>(batchTrades.size() * 2);
+        for (BatchTrade batchTrade : batchTrades) {
+            trades.add(batchTrade.trade());
+            legs.addAll(batchTrade.legs());
+        }
+        tradeRepository.saveAll(trades);
+        tradeCurrentProjector.projectAll(trades);
+        tradeLegRepository.saveAll(legs);
+        // One engine call generates the schedules of every leg in the chunk
+        List<Cashflow> cashflows = legCashflowGenerator.generate(legsToMaterialize(legs));
+        cashflowRepository.insertAll(cashflows, now);
+        for (BatchTrade batchTrade : batchTrades) {
+            additionalInfoService.addTradeFields(batchTrade.trade().getTradeId(), batchTrade.additionalFields());
+        }
+        return cashflows.size();
+    }
+
+    /**
+     * A validated trade of a batch with its legs and additional fields, waiting to be written.
+     */
+    private record BatchTrade(int index, Trade trade, List<TradeLeg> legs, List<AdditionalInfoDTO> additionalFields) {
+        // IDs assigned by a rolled back write would make the retry merge instead of insert
+        void clearIds() {
+            trade.setId(null);
+            legs.forEach(leg -> leg.setLegId(null));
+        }
+    }
+
+    /**
+     * Wraps the reference data gateway in a memo and warms it with the states of every
+     * entity referenced by the given trades, one bulk query per entity type.
+     */
+    private ReferenceDataGateway prefetchEntityStates(Collection<Trade> trades) {
+        MemoizingReferenceDataGateway gateway = new MemoizingReferenceDataGateway(referenceDataGateway);
+        if (trades.isEmpty()) {
+            return gateway;
+        }
+
+        Set<Long> books = new HashSet<>();
+        Set<Long> counterparties = new HashSet<>();
+        Set<Long> users = new HashSet<>();
+        Set<String> loginIds = new HashSet<>();
+        Set<Long> tradeTypes = new HashSet<>();
+        Set<Long> tradeSubTypes = new HashSet<>();
+        Set<Long> tradeStatuses = new HashSet<>();
+        for (Trade trade : trades) {
+            addId(books, trade.getBook(), Book::getId);
+            addId(counterparties, trade.getCounterparty(), Counterparty::getId);
+            addId(users, trade.getTraderUser(), ApplicationUser::getId);
+            addId(users, trade.getTradeInputterUser(), ApplicationUser::getId);
+            addId(loginIds, trade.getTradeInputterUser(), ApplicationUser::getLoginId);
+            addId(tradeTypes, trade.getTradeType(), TradeType::getId);
+            addId(tradeSubTypes, trade.getTradeSubType(), TradeSubType::getId);
+            addId(tradeStatuses, trade.getTradeStatus(), TradeStatus::getId);
+        }
+
+        gateway.bookStates(books);
+        gateway.counterpartyStates(counterparties);
+        gateway.userStates(users);
+        gateway.userStatesByLoginId(loginIds);
+        gateway.tradeTypeStates(tradeTypes);
+        gateway.tradeSubTypeStates(tradeSubTypes);
+        gateway.tradeStatusStates(tradeStatuses);
+        return gateway;
+    }
+
+    private static <E, K> void addId(Set<K> ids, E entity, Function<E, K> id) {
+        if (entity != null && id.apply(entity) != null) {
+            ids.add(id.apply(entity));
+        }
+    }
+
     // NEW METHOD: For controller compatibility
     @Transactional
     public Trade saveTrade(Trade trade, TradeDTO tradeDTO) {
@@ -140,102 +529,92 @@ public class TradeService {
 
     // FIXED: Populate reference data by names from DTO
     public void populateReferenceDataByName(Trade trade, TradeDTO tradeDTO) {
+        populateReferenceDataByName(trade, tradeDTO, new ReferenceDataMemo());
+    }
+
+    private void populateReferenceDataByName(Trade trade, TradeDTO tradeDTO, ReferenceDataMemo memo) {
         logger.debug("Populating reference data for trade");
 
         // Populate Book
         if (tradeDTO.getBookName() != null) {
-            bookRepository.findByBookName(tradeDTO.getBookName())
+            memo.get("book", tradeDTO.getBookName(),
+                    () -> referenceDataCache.bookByName(tradeDTO.getBookName())
+                            .or(() -> bookRepository.findByBookName(tradeDTO.getBookName())))
                     .ifPresent(trade::setBook);
         } else if (tradeDTO.getBookId() != null) {
-            bookRepository.findById(tradeDTO.getBookId())
+            memo.get("bookId", tradeDTO.getBookId(),
+                    () -> referenceDataCache.bookById(tradeDTO.getBookId())
+                            .or(() -> bookRepository.findById(tradeDTO.getBookId())))
                     .ifPresent(trade::setBook);
         }
 
         // Populate Counterparty
         if (tradeDTO.getCounterpartyName() != null) {
-            counterpartyRepository.findByName(tradeDTO.getCounterpartyName())
+            memo.get("counterparty", tradeDTO.getCounterpartyName(),
+                    () -> referenceDataCache.counterpartyByName(tradeDTO.getCounterpartyName())
+                            .or(() -> counterpartyRepository.findByName(tradeDTO.getCounterpartyName())))
                     .ifPresent(trade::setCounterparty);
         } else if (tradeDTO.getCounterpartyId() != null) {
-            counterpartyRepository.findById(tradeDTO.getCounterpartyId())
+            memo.get("counterpartyId", tradeDTO.getCounterpartyId(),
+                    () -> referenceDataCache.counterpartyById(tradeDTO.getCounterpartyId())
+                            .or(() -> counterpartyRepository.findById(tradeDTO.getCounterpartyId())))
                     .ifPresent(trade::setCounterparty);
         }
 
         // Populate TradeStatus
         if (tradeDTO.getTradeStatus() != null) {
-            tradeStatusRepository.findByTradeStatus(tradeDTO.getTradeStatus())
+            memo.get("tradeStatus", tradeDTO.getTradeStatus(),
+                    () -> referenceDataCache.tradeStatusByName(tradeDTO.getTradeStatus())
+                            .or(() -> tradeStatusRepository.findByTradeStatus(tradeDTO.getTradeStatus())))
                     .ifPresent(trade::setTradeStatus);
         } else if (tradeDTO.getTradeStatusId() != null) {
-            tradeStatusRepository.findById(tradeDTO.getTradeStatusId())
+            memo.get("tradeStatusId", tradeDTO.getTradeStatusId(),
+                    () -> referenceDataCache.tradeStatusById(tradeDTO.getTradeStatusId())
+                            .or(() -> tradeStatusRepository.findById(tradeDTO.getTradeStatusId())))
                     .ifPresent(trade::setTradeStatus);
         }
 
         // Populate other reference data
-        populateUserReferences(trade, tradeDTO);
-        populateTradeTypeReferences(trade, tradeDTO);
+        populateUserReferences(trade, tradeDTO, memo);
+        populateTradeTypeReferences(trade, tradeDTO, memo);
     }
 
-    private void populateUserReferences(Trade trade, TradeDTO tradeDTO) {
-        // Handle trader user by name or ID with enhanced logging
+    private void populateUserReferences(Trade trade, TradeDTO tradeDTO, ReferenceDataMemo memo) {
+        // Names resolve in the user directory by login ID, full name, first or last name, or a unique prefix
         if (tradeDTO.getTraderUserName() != null) {
-            logger.debug("Looking up trader user by name: {}", tradeDTO.getTraderUserName());
-            String[] nameParts = tradeDTO.getTraderUserName().trim().split("\\s+");
-            if (nameParts.length >= 1) {
-                String firstName = nameParts[0];
-                logger.debug("Searching for user with firstName: {}", firstName);
-                Optional<ApplicationUser> userOpt = applicationUserRepository.findByFirstName(firstName);
-                if (userOpt.isPresent()) {
-                    trade.setTraderUser(userOpt.get());
-                    logger.debug("Found trader user: {} {}", userOpt.get().getFirstName(), userOpt.get().getLastName());
-                } else {
-                    logger.warn("Trader user not found with firstName: {}", firstName);
-                    // Try with loginId as fallback
-                    Optional<ApplicationUser> byLoginId = applicationUserRepository.findByLoginId(tradeDTO.getTraderUserName().toLowerCase());
-                    if (byLoginId.isPresent()) {
-                        trade.setTraderUser(byLoginId.get());
-                        logger.debug("Found trader user by loginId: {}", tradeDTO.getTraderUserName());
-                    } else {
-                        logger.warn("Trader user not found by loginId either: {}", tradeDTO.getTraderUserName());
-                    }
-                }
-            }
+            resolveUser("trader", tradeDTO.getTraderUserName()).ifPresent(trade::setTraderUser);
         } else if (tradeDTO.getTraderUserId() != null) {
-            applicationUserRepository.findById(tradeDTO.getTraderUserId())
-                    .ifPresent(trade::setTraderUser);
+            findUser(tradeDTO.getTraderUserId(), memo).ifPresent(trade::setTraderUser);
         }
 
-        // Handle inputter user by name or ID with enhanced logging
         if (tradeDTO.getInputterUserName() != null) {
-            logger.debug("Looking up inputter user by name: {}", tradeDTO.getInputterUserName());
-            String[] nameParts = tradeDTO.getInputterUserName().trim().split("\\s+");
-            if (nameParts.length >= 1) {
-                String firstName = nameParts[0];
-                logger.debug("Searching for inputter with firstName: {}", firstName);
-                Optional<ApplicationUser> userOpt = applicationUserRepository.findByFirstName(firstName);
-                if (userOpt.isPresent()) {
-                    trade.setTradeInputterUser(userOpt.get());
-                    logger.debug("Found inputter user: {} {}", userOpt.get().getFirstName(), userOpt.get().getLastName());
-                } else {
-                    logger.warn("Inputter user not found with firstName: {}", firstName);
-                    // Try with loginId as fallback
-                    Optional<ApplicationUser> byLoginId = applicationUserRepository.findByLoginId(tradeDTO.getInputterUserName().toLowerCase());
-                    if (byLoginId.isPresent()) {
-                        trade.setTradeInputterUser(byLoginId.get());
-                        logger.debug("Found inputter user by loginId: {}", tradeDTO.getInputterUserName());
-                    } else {
-                        logger.warn("Inputter user not found by loginId either: {}", tradeDTO.getInputterUserName());
-                    }
-                }
-            }
+            resolveUser("inputter", tradeDTO.getInputterUserName()).ifPresent(trade::setTradeInputterUser);
         } else if (tradeDTO.getTradeInputterUserId() != null) {
-            applicationUserRepository.findById(tradeDTO.getTradeInputterUserId())
-                    .ifPresent(trade::setTradeInputterUser);
+            findUser(tradeDTO.getTradeInputterUserId(), memo).ifPresent(trade::setTradeInputterUser);
+        }
+    }
+
+    private Optional<ApplicationUser> resolveUser(String role, String name) {
+        Optional<ApplicationUser> user = userDirectory.resolve(name);
+        if (user.isPresent()) {
+            logger.debug("Found {} user {} for '{}'", role, user.get().getLoginId(), name);
+        } else {
+            logger.warn("No {} user matches '{}'", role, name);
         }
+        return user;
+    }
+
+    private Optional<ApplicationUser> findUser(Long id, ReferenceDataMemo memo) {
+        return userDirectory.byId(id)
+                .or(() -> memo.get("userId", id, () -> applicationUserRepository.findById(id)));
     }
 
-    private void populateTradeTypeReferences(Trade trade, TradeDTO tradeDTO) {
+    private void populateTradeTypeReferences(Trade trade, TradeDTO tradeDTO, ReferenceDataMemo memo) {
         if (tradeDTO.getTradeType() != null) {
             logger.debug("Looking up trade type: {}", tradeDTO.getTradeType());
-            Optional<TradeType> tradeTypeOpt = tradeTypeRepository.findByTradeType(tradeDTO.getTradeType());
+            Optional<TradeType> tradeTypeOpt = memo.get("tradeType", tradeDTO.getTradeType(),
+                    () -> referenceDataCache.tradeTypeByName(tradeDTO.getTradeType())
+                            .or(() -> tradeTypeRepository.findByTradeType(tradeDTO.getTradeType())));
             if (tradeTypeOpt.isPresent()) {
                 trade.setTradeType(tradeTypeOpt.get());
                 logger.debug("Found trade type: {} with ID: {}", tradeTypeOpt.get().getTradeType(), tradeTypeOpt.get().getId());
@@ -243,29 +622,29 @@ public class TradeService {
                 logger.warn("Trade type not found: {}", tradeDTO.getTradeType());
             }
         } else if (tradeDTO.getTradeTypeId() != null) {
-            tradeTypeRepository.findById(tradeDTO.getTradeTypeId())
+            memo.get("tradeTypeId", tradeDTO.getTradeTypeId(),
+                    () -> referenceDataCache.tradeTypeById(tradeDTO.getTradeTypeId())
+                            .or(() -> tradeTypeRepository.findById(tradeDTO.getTradeTypeId())))
                     .ifPresent(trade::setTradeType);
         }
 
         if (tradeDTO.getTradeSubType() != null) {
-            Optional<TradeSubType> tradeSubTypeOpt = tradeSubTypeRepository.findByTradeSubType(tradeDTO.getTradeSubType());
-            if (tradeSubTypeOpt.isPresent()) {
-                trade.setTradeSubType(tradeSubTypeOpt.get());
-            } else {
-                List<TradeSubType> allSubTypes = tradeSubTypeRepository.findAll();
-                for (TradeSubType subType : allSubTypes) {
-                    if (subType.getTradeSubType().equalsIgnoreCase(tradeDTO.getTradeSubType())) {
-                        trade.setTradeSubType(subType);
-                        break;
-                    }
-                }
-            }
+            memo.get("tradeSubType", tradeDTO.getTradeSubType(), () -> findTradeSubTypeIgnoreCase(tradeDTO.getTradeSubType()))
+                    .ifPresent(trade::setTradeSubType);
         } else if (tradeDTO.getTradeSubTypeId() != null) {
-            tradeSubTypeRepository.findById(tradeDTO.getTradeSubTypeId())
+            memo.get("tradeSubTypeId", tradeDTO.getTradeSubTypeId(),
+                    () -> referenceDataCache.tradeSubTypeById(tradeDTO.getTradeSubTypeId())
+                            .or(() -> tradeSubTypeRepository.findById(tradeDTO.getTradeSubTypeId())))
                     .ifPresent(trade::setTradeSubType);
         }
     }
 
+    private Optional<TradeSubType> findTradeSubTypeIgnoreCase(String tradeSubType) {
+        return referenceDataCache.tradeSubTypeByName(tradeSubType)
+                .or(() -> tradeSubTypeRepository.findByTradeSubType(tradeSubType))
+                .or(() -> tradeSubTypeRepository.findFirstByNormalizedName(NormalizedNames.normalize(tradeSubType)));
+    }
+
     // NEW METHOD: Delete trade (mark as cancelled)
     @Transactional
     public void deleteTrade(Long tradeId) {
@@ -277,7 +656,7 @@ public class TradeService {
     public Trade amendTrade(Long tradeId, TradeDTO tradeDTO) {
         logger.info("Amending trade with ID: {}", tradeId);
 
-        Optional<Trade> existingTradeOpt = getTradeById(tradeId);
+        Optional<Trade> existingTradeOpt = findActiveTrade(tradeId);
         if (existingTradeOpt.isEmpty()) {
             throw new RuntimeException("Trade not found: " + tradeId);
         }
@@ -301,14 +680,18 @@ public class TradeService {
         populateReferenceDataByName(amendedTrade, tradeDTO);
 
         // Set status to AMENDED
-        TradeStatus amendedStatus = tradeStatusRepository.findByTradeStatus("AMENDED")
+        TradeStatus amendedStatus = referenceDataCache.tradeStatusByName("AMENDED")
+                .or(() -> tradeStatusRepository.findByTradeStatus("AMENDED"))
                 .orElseThrow(() -> new RuntimeException("AMENDED status not found"));
         amendedTrade.setTradeStatus(amendedStatus);
 
+        runValidationEngine(amendedTrade, tradeDTO, TradeOperationType.AMEND);
+
         Trade savedTrade = tradeRepository.save(amendedTrade);
+        tradeCurrentProjector.project(savedTrade);
 
-        // Create new trade legs and cashflows
-        createTradeLegsWithCashflows(tradeDTO, savedTrade);
+        // Carry unchanged legs forward; only changed legs get new cashflows
+        amendTradeLegs(tradeDTO, existingTrade, savedTrade);
 
         logger.info("Successfully amended trade with ID: {}", savedTrade.getTradeId());
         return savedTrade;
@@ -318,38 +701,44 @@ public class TradeService {
     public Trade terminateTrade(Long tradeId) {
         logger.info("Terminating trade with ID: {}", tradeId);
 
-        Optional<Trade> tradeOpt = getTradeById(tradeId);
+        Optional<Trade> tradeOpt = findActiveTrade(tradeId);
         if (tradeOpt.isEmpty()) {
             throw new RuntimeException("Trade not found: " + tradeId);
         }
 
         Trade trade = tradeOpt.get();
-        TradeStatus terminatedStatus = tradeStatusRepository.findByTradeStatus("TERMINATED")
+        TradeStatus terminatedStatus = referenceDataCache.tradeStatusByName("TERMINATED")
+                .or(() -> tradeStatusRepository.findByTradeStatus("TERMINATED"))
                 .orElseThrow(() -> new RuntimeException("TERMINATED status not found"));
 
         trade.setTradeStatus(terminatedStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeCurrentProjector.project(savedTrade);
+        return savedTrade;
     }
 
     @Transactional
     public Trade cancelTrade(Long tradeId) {
         logger.info("Cancelling trade with ID: {}", tradeId);
 
-        Optional<Trade> tradeOpt = getTradeById(tradeId);
+        Optional<Trade> tradeOpt = findActiveTrade(tradeId);
         if (tradeOpt.isEmpty()) {
             throw new RuntimeException("Trade not found: " + tradeId);
         }
 
         Trade trade = tradeOpt.get();
-        TradeStatus cancelledStatus = tradeStatusRepository.findByTradeStatus("CANCELLED")
+        TradeStatus cancelledStatus = referenceDataCache.tradeStatusByName("CANCELLED")
+                .or(() -> tradeStatusRepository.findByTradeStatus("CANCELLED"))
                 .orElseThrow(() -> new RuntimeException("CANCELLED status not found"));
 
         trade.setTradeStatus(cancelledStatus);
         trade.setLastTouchTimestamp(LocalDateTime.now());
 
-        return tradeRepository.save(trade);
+        Trade savedTrade = tradeRepository.save(trade);
+        tradeCurrentProjector.project(savedTrade);
+        return savedTrade;
     }
 
     private void validateTradeCreation(TradeDTO tradeDTO) {
@@ -384,204 +773,277 @@ public class TradeService {
         return trade;
     }
 
-    private void createTradeLegsWithCashflows(TradeDTO tradeDTO, Trade savedTrade) {
+    /**
+     * Saves the trade's legs and, unless {@code deferCashflows}, their cashflows. Deferred legs
+     * are flagged on-demand until the booking worker writes their cashflows, so reads in the
+     * meantime generate them from the terms.
+     */
+    private void createTradeLegs(TradeDTO tradeDTO, Trade savedTrade, boolean deferCashflows) {
+        ReferenceDataMemo memo = new ReferenceDataMemo();
+        List<TradeLeg> savedLegs = new ArrayList<>(tradeDTO.getTradeLegs().size());
+        for (TradeLegDTO legDTO : tradeDTO.getTradeLegs()) {
+            savedLegs.add(tradeLegRepository.save(buildTradeLeg(legDTO, tradeDTO, savedTrade, memo)));
+        }
+
+        // Generate cashflows for all legs of the trade in one engine call; both legs'
+        // cashflows go to the database as one batch
+        List<TradeLeg> cashflowLegs = legsToMaterialize(savedLegs);
+        if (deferCashflows) {
+            cashflowLegs.forEach(leg -> leg.setCashflowsOnDemand(true));
+        } else if (!cashflowLegs.isEmpty()) {
+            cashflowRepository.insertAll(legCashflowGenerator.generate(cashflowLegs), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Builds the legs of an amended version. An incoming leg whose terms match the previous
+     * version's leg (matched by leg ID, else by position) is copied and gets a copy of the
+     * previous leg's cashflow rows in one INSERT ... SELECT, so the superseded version keeps its
+     * own rows as booked. Cashflows are only generated for legs whose terms changed, so a
+     * header-only amendment runs the schedule engine for none.
+     *
+     * <p>A previous leg still on demand has no rows to copy: either cashflows are generated on
+     * read anyway, or its async booking is pending and {@link TradeBookingWorker} will skip the
+     * superseded version. Such legs are treated as changed so this version gets its own rows.</p>
+     */
+    private void amendTradeLegs(TradeDTO tradeDTO, Trade previousTrade, Trade savedTrade) {
+        ReferenceDataMemo memo = new ReferenceDataMemo();
+        List<TradeLeg> previousLegs = previousTrade.getTradeLegs() != null ? previousTrade.getTradeLegs() : List.of();
+        List<TradeLeg> changedLegs = new ArrayList<>(tradeDTO.getTradeLegs().size());
+        int carried = 0;
         for (int i = 0; i < tradeDTO.getTradeLegs().size(); i++) {
-            var legDTO = tradeDTO.getTradeLegs().get(i);
+            TradeLegDTO legDTO = tradeDTO.getTradeLegs().get(i);
+            TradeLeg leg = buildTradeLeg(legDTO, tradeDTO, savedTrade, memo);
+            TradeLeg previous = previousLeg(legDTO, i, previousLegs);
+            if (previous == null || Boolean.TRUE.equals(previous.getCashflowsOnDemand()) || !sameTerms(previous, leg)) {
+                changedLegs.add(tradeLegRepository.save(leg));
+                continue;
+            }
+            cashflowRepository.copyCashflows(previous, tradeLegRepository.save(leg));
+            carried++;
+        }
 
-            TradeLeg tradeLeg = new TradeLeg();
-            tradeLeg.setTrade(savedTrade);
-            tradeLeg.setNotional(legDTO.getNotional());
-            tradeLeg.setRate(legDTO.getRate());
-            tradeLeg.setActive(true);
-            tradeLeg.setCreatedDate(LocalDateTime.now());
+        List<TradeLeg> cashflowLegs = legsToMaterialize(changedLegs);
+        if (!cashflowLegs.isEmpty()) {
+            cashflowRepository.insertAll(legCashflowGenerator.generate(cashflowLegs), LocalDateTime.now());
+        }
+        logger.debug("Amendment of trade {} carried {} of {} legs forward", savedTrade.getTradeId(), carried,
+                tradeDTO.getTradeLegs().size());
+    }
 
-            // Populate reference data for leg
-            populateLegReferenceData(tradeLeg, legDTO);
+    private static TradeLeg previousLeg(TradeLegDTO legDTO, int position, List<TradeLeg> previousLegs) {
+        if (legDTO.getLegId() != null) {
+            for (TradeLeg previous : previousLegs) {
+                if (legDTO.getLegId().equals(previous.getLegId())) {
+                    return previous;
+                }
+            }
+        }
+        return position < previousLegs.size() ? previousLegs.get(position) : null;
+    }
+
+    /**
+     * Whether two legs would generate the same cashflows: same economics, schedule, dates and
+     * conventions. Reference data is compared by ID.
+     */
+    private static boolean sameTerms(TradeLeg a, TradeLeg b) {
+        return (a.getNotional() == null ? b.getNotional() == null
+                        : b.getNotional() != null && a.getNotional().compareTo(b.getNotional()) == 0)
+                && Objects.equals(a.getRate(), b.getRate())
+                && Objects.equals(a.getScheduleStartDate(), b.getScheduleStartDate())
+                && Objects.equals(a.getScheduleEndDate(), b.getScheduleEndDate())
+                && sameReference(a.getLegRateType(), b.getLegRateType(), LegType::getId)
+                && sameReference(a.getCalculationPeriodSchedule(), b.getCalculationPeriodSchedule(), Schedule::getId)
+                && sameReference(a.getCurrency(), b.getCurrency(), Currency::getId)
+                && sameReference(a.getIndex(), b.getIndex(), Index::getId)
+                && sameReference(a.getHolidayCalendar(), b.getHolidayCalendar(), HolidayCalendar::getId)
+                && sameReference(a.getPaymentBusinessDayConvention(), b.getPaymentBusinessDayConvention(), BusinessDayConvention::getId)
+                && sameReference(a.getFixingBusinessDayConvention(), b.getFixingBusinessDayConvention(), BusinessDayConvention::getId)
+                && sameReference(a.getPayReceiveFlag(), b.getPayReceiveFlag(), PayRec::getId);
+    }
 
-            TradeLeg savedLeg = tradeLegRepository.save(tradeLeg);
+    private static <T> boolean sameReference(T a, T b, Function<T, Long> id) {
+        return Objects.equals(a != null ? id.apply(a) : null, b != null ? id.apply(b) : null);
+    }
 
-            // Generate cashflows for this leg
-            if (tradeDTO.getTradeStartDate() != null && tradeDTO.getTradeMaturityDate() != null) {
-                generateCashflows(savedLeg, tradeDTO.getTradeStartDate(), tradeDTO.getTradeMaturityDate());
+    /**
+     * Returns the legs whose cashflows should be written now. In on-demand mode the legs are
+     * flagged instead and none are returned.
+     */
+    private List<TradeLeg> legsToMaterialize(List<TradeLeg> tradeLegs) {
+        List<TradeLeg> cashflowLegs = new ArrayList<>(tradeLegs.size());
+        for (TradeLeg tradeLeg : tradeLegs) {
+            if (tradeLeg.getScheduleStartDate() == null || tradeLeg.getScheduleEndDate() == null) {
+                continue;
+            }
+            // Rejects an unknown schedule at booking rather than at the first read
+            LegCashflowGenerator.terms(tradeLeg);
+            if (legCashflowGenerator.isOnDemand()) {
+                tradeLeg.setCashflowsOnDemand(true);
+            } else {
+                cashflowLegs.add(tradeLeg);
             }
         }
+        return cashflowLegs;
+    }
+
+    private TradeLeg buildTradeLeg(TradeLegDTO legDTO, TradeDTO tradeDTO, Trade trade, ReferenceDataMemo memo) {
+        TradeLeg tradeLeg = new TradeLeg();
+        tradeLeg.setTrade(trade);
+        tradeLeg.setNotional(legDTO.getNotional());
+        tradeLeg.setRate(legDTO.getRate());
+        tradeLeg.setScheduleStartDate(tradeDTO.getTradeStartDate());
+        tradeLeg.setScheduleEndDate(tradeDTO.getTradeMaturityDate());
+        tradeLeg.setActive(true);
+        tradeLeg.setCreatedDate(LocalDateTime.now());
+
+        // Populate reference data for leg
+        populateLegReferenceData(tradeLeg, legDTO, memo);
+        return tradeLeg;
     }
 
-    private void populateLegReferenceData(TradeLeg leg, TradeLegDTO legDTO) {
+    private void populateLegReferenceData(TradeLeg leg, TradeLegDTO legDTO, ReferenceDataMemo memo) {
         // Populate currency by name or ID
         if (legDTO.getCurrency() != null) {
-            currencyRepository.findByCurrency(legDTO.getCurrency())
+            memo.get("currency", legDTO.getCurrency(),
+                    () -> referenceDataCache.currencyByName(legDTO.getCurrency())
+                            .or(() -> currencyRepository.findByCurrency(legDTO.getCurrency())))
                     .ifPresent(leg::setCurrency);
         } else if (legDTO.getCurrencyId() != null) {
-            currencyRepository.findById(legDTO.getCurrencyId())
+            memo.get("currencyId", legDTO.getCurrencyId(),
+                    () -> referenceDataCache.currencyById(legDTO.getCurrencyId())
+                            .or(() -> currencyRepository.findById(legDTO.getCurrencyId())))
                     .ifPresent(leg::setCurrency);
         }
 
         // Populate leg type by name or ID
         if (legDTO.getLegType() != null) {
-            legTypeRepository.findByType(legDTO.getLegType())
+            memo.get("legType", legDTO.getLegType(),
+                    () -> referenceDataCache.legTypeByName(legDTO.getLegType())
+                            .or(() -> legTypeRepository.findByType(legDTO.getLegType())))
                     .ifPresent(leg::setLegRateType);
         } else if (legDTO.getLegTypeId() != null) {
-            legTypeRepository.findById(legDTO.getLegTypeId())
+            memo.get("legTypeId", legDTO.getLegTypeId(),
+                    () -> referenceDataCache.legTypeById(legDTO.getLegTypeId())
+                            .or(() -> legTypeRepository.findById(legDTO.getLegTypeId())))
                     .ifPresent(leg::setLegRateType);
         }
 
         // Populate index by name or ID
         if (legDTO.getIndexName() != null) {
-            indexRepository.findByIndex(legDTO.getIndexName())
+            memo.get("index", legDTO.getIndexName(),
+                    () -> referenceDataCache.indexByName(legDTO.getIndexName())
+                            .or(() -> indexRepository.findByIndex(legDTO.getIndexName())))
                     .ifPresent(leg::setIndex);
         } else if (legDTO.getIndexId() != null) {
-            indexRepository.findById(legDTO.getIndexId())
+            memo.get("indexId", legDTO.getIndexId(),
+                    () -> referenceDataCache.indexById(legDTO.getIndexId())
+                            .or(() -> indexRepository.findById(legDTO.getIndexId())))
                     .ifPresent(leg::setIndex);
         }
 
         // Populate holiday calendar by name or ID
         if (legDTO.getHolidayCalendar() != null) {
-            holidayCalendarRepository.findByHolidayCalendar(legDTO.getHolidayCalendar())
+            memo.get("holidayCalendar", legDTO.getHolidayCalendar(),
+                    () -> referenceDataCache.holidayCalendarByName(legDTO.getHolidayCalendar())
+                            .or(() -> holidayCalendarRepository.findByHolidayCalendar(legDTO.getHolidayCalendar())))
                     .ifPresent(leg::setHolidayCalendar);
         } else if (legDTO.getHolidayCalendarId() != null) {
-            holidayCalendarRepository.findById(legDTO.getHolidayCalendarId())
+            memo.get("holidayCalendarId", legDTO.getHolidayCalendarId(),
+                    () -> referenceDataCache.holidayCalendarById(legDTO.getHolidayCalendarId())
+                            .or(() -> holidayCalendarRepository.findById(legDTO.getHolidayCalendarId())))
                     .ifPresent(leg::setHolidayCalendar);
         }
 
         // Populate schedule by name or ID
         if (legDTO.getCalculationPeriodSchedule() != null) {
-            scheduleRepository.findBySchedule(legDTO.getCalculationPeriodSchedule())
+            memo.get("schedule", legDTO.getCalculationPeriodSchedule(),
+                    () -> referenceDataCache.scheduleByName(legDTO.getCalculationPeriodSchedule())
+                            .or(() -> scheduleRepository.findBySchedule(legDTO.getCalculationPeriodSchedule())))
                     .ifPresent(leg::setCalculationPeriodSchedule);
         } else if (legDTO.getScheduleId() != null) {
-            scheduleRepository.findById(legDTO.getScheduleId())
+            memo.get("scheduleId", legDTO.getScheduleId(),
+                    () -> referenceDataCache.scheduleById(legDTO.getScheduleId())
+                            .or(() -> scheduleRepository.findById(legDTO.getScheduleId())))
                     .ifPresent(leg::setCalculationPeriodSchedule);
         }
 
         // Populate payment business day convention by name or ID
         if (legDTO.getPaymentBusinessDayConvention() != null) {
-            businessDayConventionRepository.findByBdc(legDTO.getPaymentBusinessDayConvention())
+            memo.get("bdc", legDTO.getPaymentBusinessDayConvention(),
+                    () -> referenceDataCache.businessDayConventionByName(legDTO.getPaymentBusinessDayConvention())
+                            .or(() -> businessDayConventionRepository.findByBdc(legDTO.getPaymentBusinessDayConvention())))
                     .ifPresent(leg::setPaymentBusinessDayConvention);
         } else if (legDTO.getPaymentBdcId() != null) {
-            businessDayConventionRepository.findById(legDTO.getPaymentBdcId())
+            memo.get("bdcId", legDTO.getPaymentBdcId(),
+                    () -> referenceDataCache.businessDayConventionById(legDTO.getPaymentBdcId())
+                            .or(() -> businessDayConventionRepository.findById(legDTO.getPaymentBdcId())))
                     .ifPresent(leg::setPaymentBusinessDayConvention);
         }
 
         // Populate fixing business day convention by name or ID
         if (legDTO.getFixingBusinessDayConvention() != null) {
-            businessDayConventionRepository.findByBdc(legDTO.getFixingBusinessDayConvention())
+            memo.get("bdc", legDTO.getFixingBusinessDayConvention(),
+                    () -> referenceDataCache.businessDayConventionByName(legDTO.getFixingBusinessDayConvention())
+                            .or(() -> businessDayConventionRepository.findByBdc(legDTO.getFixingBusinessDayConvention())))
                     .ifPresent(leg::setFixingBusinessDayConvention);
         } else if (legDTO.getFixingBdcId() != null) {
-            businessDayConventionRepository.findById(legDTO.getFixingBdcId())
+            memo.get("bdcId", legDTO.getFixingBdcId(),
+                    () -> referenceDataCache.businessDayConventionById(legDTO.getFixingBdcId())
+                            .or(() -> businessDayConventionRepository.findById(legDTO.getFixingBdcId())))
                     .ifPresent(leg::setFixingBusinessDayConvention);
         }
 
         // Populate pay/receive flag by name or ID
         if (legDTO.getPayReceiveFlag() != null) {
-            payRecRepository.findByPayRec(legDTO.getPayReceiveFlag())
+            memo.get("payRec", legDTO.getPayReceiveFlag(),
+                    () -> referenceDataCache.payRecByName(legDTO.getPayReceiveFlag())
+                            .or(() -> payRecRepository.findByPayRec(legDTO.getPayReceiveFlag())))
                     .ifPresent(leg::setPayReceiveFlag);
         } else if (legDTO.getPayRecId() != null) {
-            payRecRepository.findById(legDTO.getPayRecId())
+            memo.get("payRecId", legDTO.getPayRecId(),
+                    () -> referenceDataCache.payRecById(legDTO.getPayRecId())
+                            .or(() -> payRecRepository.findById(legDTO.getPayRecId())))
                     .ifPresent(leg::setPayReceiveFlag);
         }
     }
 
     /**
-     * FIXED: Generate cashflows based on schedule and maturity date
+     * Runs the {@link TradeValidationEngine} for a trade whose reference data has been resolved.
+     * The trade inputter is treated as the user performing the operation.
      */
-    private void generateCashflows(TradeLeg leg, LocalDate startDate, LocalDate maturityDate) {
-        logger.info("Generating cashflows for leg {} from {} to {}", leg.getLegId(), startDate, maturityDate);
+    private void runValidationEngine(Trade trade, TradeDTO tradeDTO, TradeOperationType operation) {
+        copyResolvedReferenceIds(trade, tradeDTO);
+        tradeValidationEngine.validateOrThrow(new ValidationContext(
+                tradeDTO, trade.getTradeInputterUser(), referenceDataGateway, LocalDate.now(), operation));
+    }
 
-        // Use default schedule if not set
-        String schedule = "3M"; // Default to quarterly
-        if (leg.getCalculationPeriodSchedule() != null) {
-            schedule = leg.getCalculationPeriodSchedule().getSchedule();
+    /**
+     * Payloads usually identify reference data by name, so the IDs of the resolved entities are
+     * copied back onto the DTO for the ID-based validators.
+     */
+    private void copyResolvedReferenceIds(Trade trade, TradeDTO tradeDTO) {
+        if (trade.getBook() != null && tradeDTO.getBookId() == null) {
+            tradeDTO.setBookId(trade.getBook().getId());
         }
-
-        int monthsInterval = parseSchedule(schedule);
-        List<LocalDate> paymentDates = calculatePaymentDates(startDate, maturityDate, monthsInterval);
-
-        for (LocalDate paymentDate : paymentDates) {
-            Cashflow cashflow = new Cashflow();
-            cashflow.setTradeLeg(leg); // Fixed field name
-            cashflow.setValueDate(paymentDate);
-            cashflow.setRate(leg.getRate());
-
-            // Calculate value based on leg type
-            BigDecimal cashflowValue = calculateCashflowValue(leg, monthsInterval);
-            cashflow.setPaymentValue(cashflowValue);
-
-            cashflow.setPayRec(leg.getPayReceiveFlag());
-            cashflow.setPaymentBusinessDayConvention(leg.getPaymentBusinessDayConvention());
-            cashflow.setCreatedDate(LocalDateTime.now());
-            cashflow.setActive(true);
-
-            cashflowRepository.save(cashflow);
+        if (trade.getCounterparty() != null && tradeDTO.getCounterpartyId() == null) {
+            tradeDTO.setCounterpartyId(trade.getCounterparty().getId());
         }
-
-        logger.info("Generated {} cashflows for leg {}", paymentDates.size(), leg.getLegId());
-    }
-
-    private int parseSchedule(String schedule) {
-        if (schedule == null || schedule.trim().isEmpty()) {
-            return 3; // Default to quarterly
+        if (trade.getTraderUser() != null && tradeDTO.getTraderUserId() == null) {
+            tradeDTO.setTraderUserId(trade.getTraderUser().getId());
         }
-
-        schedule = schedule.trim();
-
-        // Handle common schedule names
-        switch (schedule.toLowerCase()) {
-            case "monthly":
-                return 1;
-            case "quarterly":
-                return 3;
-            case "semi-annually":
-            case "semiannually":
-            case "half-yearly":
-                return 6;
-            case "annually":
-            case "yearly":
-                return 12;
-            default:
-                // Parse "1M", "3M", "12M" format
-                if (schedule.endsWith("M") || schedule.endsWith("m")) {
-                    try {
-                        return Integer.parseInt(schedule.substring(0, schedule.length() - 1));
-                    } catch (NumberFormatException e) {
-                        throw new RuntimeException("Invalid schedule format: " + schedule);
-                    }
-                }
-                throw new RuntimeException("Invalid schedule format: " + schedule + ". Supported formats: Monthly, Quarterly, Semi-annually, Annually, or 1M, 3M, 6M, 12M");
+        if (trade.getTradeInputterUser() != null && tradeDTO.getTradeInputterUserId() == null) {
+            tradeDTO.setTradeInputterUserId(trade.getTradeInputterUser().getId());
         }
-    }
-
-    private List<LocalDate> calculatePaymentDates(LocalDate startDate, LocalDate maturityDate, int monthsInterval) {
-        List<LocalDate> dates = new ArrayList<>();
-        LocalDate currentDate = startDate.plusMonths(monthsInterval);
-
-        while (!currentDate.isAfter(maturityDate)) {
-            dates.add(currentDate);
-            currentDate = currentDate.plusMonths(monthsInterval);
+        if (trade.getTradeType() != null && tradeDTO.getTradeTypeId() == null) {
+            tradeDTO.setTradeTypeId(trade.getTradeType().getId());
         }
-
-        return dates;
-    }
-
-    private BigDecimal calculateCashflowValue(TradeLeg leg, int monthsInterval) {
-        if (leg.getLegRateType() == null) {
-            return BigDecimal.ZERO;
+        if (trade.getTradeSubType() != null && tradeDTO.getTradeSubTypeId() == null) {
+            tradeDTO.setTradeSubTypeId(trade.getTradeSubType().getId());
         }
-
-        String legType = leg.getLegRateType().getType();
-
-        if ("Fixed".equals(legType)) {
-            double notional = leg.getNotional().doubleValue();
-            double rate = leg.getRate();
-            double months = monthsInterval;
-
-            double result = (notional * rate * months) / 12;
-
-            return BigDecimal.valueOf(result);
-        } else if ("Floating".equals(legType)) {
-            return BigDecimal.ZERO;
+        if (trade.getTradeStatus() != null) {
+            tradeDTO.setTradeStatusId(trade.getTradeStatus().getId());
         }
-
-        return BigDecimal.ZERO;
     }
 
     private void validateReferenceData(Trade trade) {
@@ -599,16 +1061,15 @@ public class TradeService {
         logger.debug("Reference data validation passed for trade");
     }
 
-    // NEW METHOD: Generate the next trade ID (sequential)
-    private Long generateNextTradeId() {
-        // For simplicity, using a static variable. In real scenario, this should be atomic and thread-safe.
-        return 10000L + tradeRepository.count();
-    }
-
+    @Transactional(readOnly = true)
     public Page<TradeDTO> searchTradesWithRsql(String query, Pageable pageable) {
         Specification<Trade> spec = RSQLJPASupport.toSpecification(query);
-        Page<Trade> page = tradeRepository.findAll(spec, pageable);
-        return page.map(trade -> modelMapper.map(trade, TradeDTO.class));
+        return toDtoPage(tradeRepository.findIds(spec, pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public TradeCursorPageDTO searchTradesWithRsql(String query, String cursor, int size, boolean includeCount) {
+        return keysetPage(RSQLJPASupport.toSpecification(query), cursor, size, includeCount);
     }
 
     }
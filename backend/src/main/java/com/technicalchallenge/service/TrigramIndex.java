@@ -0,0 +1,131 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.NormalizedNames;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index from character trigrams to the IDs whose text contains them, answering
+ * case-insensitive "contains" queries without scanning every text.
+ *
+ * <p>A term of three or more characters is answered by walking the posting list of its rarest
+ * trigram and checking each candidate's text, so the cost depends on how selective the term
+ * is rather than on the number of entries. Shorter terms have no trigram; they are answered
+ * by a scan when {@code scanShortTerms} is set, otherwise {@link #search} returns {@code null}
+ * and the caller falls back to the database.</p>
+ *
+ * <p>Reads are lock-free. Writes are serialized; a reader racing a write may miss or see the
+ * entry being written, so a result is only as current as the last completed write.</p>
+ */
+final class TrigramIndex {
+
+    private final Map<Long, String> texts = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final boolean scanShortTerms;
+
+    TrigramIndex(boolean scanShortTerms) {
+        this.scanShortTerms = scanShortTerms;
+    }
+
+    synchronized void put(Long id, String text) {
+        String normalized = NormalizedNames.normalize(text);
+        if (normalized == null || normalized.isEmpty()) {
+            remove(id);
+            return;
+        }
+        String previous = texts.put(id, normalized);
+        if (normalized.equals(previous)) {
+            return;
+        }
+        if (previous != null) {
+            for (String trigram : trigrams(previous)) {
+                removePosting(trigram, id);
+            }
+        }
+        for (String trigram : trigrams(normalized)) {
+            postings.computeIfAbsent(trigram, k -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        String previous = texts.remove(id);
+        if (previous != null) {
+            for (String trigram : trigrams(previous)) {
+                removePosting(trigram, id);
+            }
+        }
+    }
+
+    synchronized void clear() {
+        texts.clear();
+        postings.clear();
+    }
+
+    int size() {
+        return texts.size();
+    }
+
+    /**
+     * Returns the IDs whose text contains the term (case-insensitively), or {@code null} if the
+     * term is too short to look up and short-term scans are disabled.
+     */
+    Set<Long> search(String term) {
+        String normalized = NormalizedNames.normalize(term);
+        if (normalized.length() < 3) {
+            return scanShortTerms ? scan(normalized) : null;
+        }
+
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String trigram : trigrams(normalized)) {
+            Set<Long> list = postings.get(trigram);
+            if (list == null) {
+                return Set.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> matches = new HashSet<>();
+        for (Long id : lists.get(0)) {
+            String text = texts.get(id);
+            if (text != null && text.contains(normalized)) {
+                matches.add(id);
+            }
+        }
+        return matches;
+    }
+
+    private Set<Long> scan(String normalized) {
+        Set<Long> matches = new HashSet<>();
+        texts.forEach((id, text) -> {
+            if (text.contains(normalized)) {
+                matches.add(id);
+            }
+        });
+        return matches;
+    }
+
+    private void removePosting(String trigram, Long id) {
+        Set<Long> list = postings.get(trigram);
+        if (list != null) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    private static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            trigrams.add(text.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -0,0 +1,189 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.NormalizedNames;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * In-memory index of every user: resolves the trader and inputter named on a booking and serves
+ * lookups by ID. Lookups by login ID go through {@link UserLoginCache} instead, so a user write
+ * does not put a full reload on the user endpoint or the logged-in user check in validation.
+ *
+ * <p>A name is {@link NormalizedNames normalized} and looked up in a single map holding, in
+ * order of precedence, login IDs, full names ({@code "first last"}, as {@code TradeMapper}
+ * writes them), first names and last names. A key shared by two users at the same precedence
+ * is ambiguous and resolves to nobody, rather than to whichever row the database returns
+ * first. Names that are not a key resolve by prefix of a login ID or full name, if exactly one
+ * user matches.</p>
+ *
+ * <p>Like {@link ReferenceDataCache}, the index is an immutable {@link Snapshot}. User writes
+ * (see {@link com.technicalchallenge.model.listener.UserDirectoryChangeListener}) bump the requested version after commit and the
+ * next lookup rebuilds the snapshot from one query.</p>
+ */
+@Service
+public class UserDirectory {
+    private static final Logger logger = LoggerFactory.getLogger(UserDirectory.class);
+
+    private final ApplicationUserRepository applicationUserRepository;
+
+    private final AtomicLong requestedVersion = new AtomicLong(1);
+    private volatile Snapshot snapshot;
+
+    public UserDirectory(ApplicationUserRepository applicationUserRepository) {
+        this.applicationUserRepository = applicationUserRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        current();
+    }
+
+    /**
+     * Resolves a login ID or name, exactly or by a unique prefix.
+     */
+    public Optional<ApplicationUser> resolve(String name) {
+        String key = NormalizedNames.normalize(name);
+        if (key == null || key.isEmpty()) {
+            return Optional.empty();
+        }
+        Snapshot loaded = current();
+        ApplicationUser user = loaded.byKey().get(key);
+        if (user != null) {
+            return Optional.of(user);
+        }
+        if (loaded.ambiguous().contains(key)) {
+            logger.warn("User name '{}' matches more than one user", name);
+            return Optional.empty();
+        }
+        return byPrefix(loaded, key, name);
+    }
+
+    public Optional<ApplicationUser> byId(Long id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(current().byId().get(id));
+    }
+
+    /**
+     * Marks the directory stale. Inside a transaction the invalidation is deferred until after
+     * commit, so the rebuild cannot miss the change being written.
+     */
+    public void invalidate() {
+        AfterCommit.run(requestedVersion::incrementAndGet);
+    }
+
+    private Optional<ApplicationUser> byPrefix(Snapshot loaded, String prefix, String name) {
+        ApplicationUser match = null;
+        for (ApplicationUser user : loaded.byPrefix().subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            if (match != null && match != user) {
+                logger.warn("User name '{}' is a prefix of more than one user", name);
+                return Optional.empty();
+            }
+            match = user;
+        }
+        return Optional.ofNullable(match);
+    }
+
+    private Snapshot current() {
+        Snapshot loaded = snapshot;
+        if (loaded == null || loaded.version() != requestedVersion.get()) {
+            loaded = reload();
+        }
+        return loaded;
+    }
+
+    private synchronized Snapshot reload() {
+        long version = requestedVersion.get();
+        Snapshot loaded = snapshot;
+        if (loaded != null && loaded.version() == version) {
+            return loaded;
+        }
+        List<ApplicationUser> users = applicationUserRepository.findAll();
+
+        Map<String, ApplicationUser> byKey = new HashMap<>();
+        Set<String> ambiguous = new HashSet<>();
+        addKeys(users, u -> NormalizedNames.normalize(u.getLoginId()), byKey, ambiguous);
+        addKeys(users, UserDirectory::fullName, byKey, ambiguous);
+        addKeys(users, u -> NormalizedNames.normalize(u.getFirstName()), byKey, ambiguous);
+        addKeys(users, u -> NormalizedNames.normalize(u.getLastName()), byKey, ambiguous);
+
+        NavigableMap<String, ApplicationUser> byPrefix = new TreeMap<>();
+        Map<Long, ApplicationUser> byId = new HashMap<>();
+        for (ApplicationUser user : users) {
+            putIfPresent(byPrefix, NormalizedNames.normalize(user.getLoginId()), user);
+            putIfPresent(byPrefix, fullName(user), user);
+            byId.put(user.getId(), user);
+        }
+
+        loaded = new Snapshot(version, Collections.unmodifiableMap(byKey), Collections.unmodifiableSet(ambiguous),
+                Collections.unmodifiableNavigableMap(byPrefix), Collections.unmodifiableMap(byId));
+        snapshot = loaded;
+        logger.info("Loaded user directory version {} ({} users, {} ambiguous names)", version, users.size(), ambiguous.size());
+        return loaded;
+    }
+
+    /**
+     * Adds one kind of key for every user. Keys already taken by a kind added earlier are left
+     * alone; keys shared by two users within this kind become ambiguous.
+     */
+    private static void addKeys(List<ApplicationUser> users, Function<ApplicationUser, String> key,
+                                Map<String, ApplicationUser> byKey, Set<String> ambiguous) {
+        Map<String, ApplicationUser> kind = new HashMap<>();
+        Set<String> shared = new HashSet<>();
+        for (ApplicationUser user : users) {
+            String value = key.apply(user);
+            if (value != null && !value.isEmpty() && kind.putIfAbsent(value, user) != null) {
+                shared.add(value);
+            }
+        }
+        for (Map.Entry<String, ApplicationUser> entry : kind.entrySet()) {
+            String value = entry.getKey();
+            if (byKey.containsKey(value) || ambiguous.contains(value)) {
+                continue;
+            }
+            if (shared.contains(value)) {
+                ambiguous.add(value);
+            } else {
+                byKey.put(value, entry.getValue());
+            }
+        }
+    }
+
+    /** The name {@code TradeMapper} shows for the user, normalized. */
+    private static String fullName(ApplicationUser user) {
+        if (user.getFirstName() == null && user.getLastName() == null) {
+            return null;
+        }
+        return NormalizedNames.normalize((user.getFirstName() == null ? "" : user.getFirstName())
+                + " " + (user.getLastName() == null ? "" : user.getLastName()));
+    }
+
+    // Keyed "name\0id" so users sharing a name each keep an entry within the name's prefix range
+    private static void putIfPresent(NavigableMap<String, ApplicationUser> map, String key, ApplicationUser user) {
+        if (key != null && !key.isEmpty()) {
+            map.put(key + '\0' + user.getId(), user);
+        }
+    }
+
+    private record Snapshot(long version,
+                            Map<String, ApplicationUser> byKey,
+                            Set<String> ambiguous,
+                            NavigableMap<String, ApplicationUser> byPrefix,
+                            Map<Long, ApplicationUser> byId) {
+    }
+}
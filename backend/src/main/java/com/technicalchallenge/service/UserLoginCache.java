@@ -0,0 +1,109 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache of users by login ID, used by the lookups that can live with a user that
+ * was changed on another instance a moment ago: the user endpoint and the logged-in user check
+ * in validation. Unlike {@link UserDirectory}, a write evicts only the user written, so a
+ * lookup never has to reload every user.
+ *
+ * <p>Entries have no TTL, so the cache never serves credentials; {@link AuthorizationService}
+ * reads the user from the database on every login.</p>
+ *
+ * <p>Holds at most {@code user.cache.size} users in LRU order; unknown login IDs are not cached.
+ * Any insert, update or delete of a user evicts that user once the transaction commits (see
+ * {@link com.technicalchallenge.model.listener.UserLoginCacheListener}). As in
+ * {@link EntitlementService}, a load that overlaps an eviction is returned but not cached.
+ * Hit/miss counts are published as the {@code user.cache.lookups} metric.</p>
+ */
+@Component
+public class UserLoginCache {
+
+    private final ApplicationUserRepository applicationUserRepository;
+    private final Map<String, ApplicationUser> cache;
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter hits;
+    private final Counter misses;
+
+    public UserLoginCache(ApplicationUserRepository applicationUserRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${user.cache.size:1000}") int cacheSize) {
+        this.applicationUserRepository = applicationUserRepository;
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ApplicationUser> eldest) {
+                return size() > cacheSize;
+            }
+        });
+        this.hits = lookupCounter(meterRegistry, "hit");
+        this.misses = lookupCounter(meterRegistry, "miss");
+    }
+
+    public Optional<ApplicationUser> find(String loginId) {
+        if (loginId == null) {
+            return Optional.empty();
+        }
+        ApplicationUser user = cache.get(loginId);
+        if (user != null) {
+            hits.increment();
+            return Optional.of(user);
+        }
+        misses.increment();
+
+        long loadGeneration = generation.get();
+        Optional<ApplicationUser> loaded = applicationUserRepository.findByLoginId(loginId);
+        loaded.ifPresent(found -> {
+            synchronized (cache) {
+                if (generation.get() == loadGeneration) {
+                    cache.put(loginId, found);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * The cached user, without loading it on a miss. For callers that look up misses in bulk.
+     */
+    public Optional<ApplicationUser> findCached(String loginId) {
+        ApplicationUser user = loginId == null ? null : cache.get(loginId);
+        (user != null ? hits : misses).increment();
+        return Optional.ofNullable(user);
+    }
+
+    /**
+     * Evicts a user by ID, so an entry cached under a login ID the write changed goes too.
+     * Inside a transaction the eviction is deferred until after commit, so an entry loaded
+     * before the change was visible is dropped as well.
+     */
+    public void evictUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        AfterCommit.run(() -> {
+            synchronized (cache) {
+                generation.incrementAndGet();
+                cache.values().removeIf(user -> userId.equals(user.getId()));
+            }
+        });
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("user.cache.lookups")
+                .description("User by login ID cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -18,6 +18,9 @@ public class UserPrivilegeService {
     @Autowired
     private UserPrivilegeRepository userPrivilegeRepository;
 
+    @Autowired
+    private EntitlementService entitlementService;
+
     public List<UserPrivilege> getAllUserPrivileges() {
         logger.info("Retrieving all user privileges");
         return userPrivilegeRepository.findAll();
@@ -30,11 +33,15 @@ public class UserPrivilegeService {
 
     public UserPrivilege saveUserPrivilege(UserPrivilege userPrivilege) {
         logger.info("Saving user privilege: {}", userPrivilege);
-        return userPrivilegeRepository.save(userPrivilege);
+        UserPrivilege saved = userPrivilegeRepository.save(userPrivilege);
+        entitlementService.evict(saved.getUserId());
+        return saved;
     }
 
     public void deleteUserPrivilege(Long id) {
         logger.warn("Deleting user privilege with id: {}", id);
         userPrivilegeRepository.deleteById(id);
+        // The id alone does not say whose privilege it was
+        entitlementService.evictAll();
     }
 }
@@ -1,12 +1,15 @@
 package com.technicalchallenge.specification;
 
+import com.technicalchallenge.dto.SearchParametersDTO;
 import com.technicalchallenge.dto.TradeFilterRequestDTO;
 import org.springframework.data.jpa.domain.Specification;
 import com.technicalchallenge.model.*;
 import jakarta.persistence.criteria.*;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Builds dynamic filtering logic for {@link Trade} entities.
@@ -15,6 +18,140 @@ import java.util.List;
  * modular helper methods, and conditional joins for performance.
  */
 public class TradeSpecification {
+    /**
+     * Free-text criteria already resolved to matching IDs by the in-memory search index.
+     * A {@code null} set means the term was not resolved and is matched with {@code LIKE}; an
+     * empty set means nothing matches.
+     *
+     * @param counterpartyIds counterparties whose name contains the counterparty term
+     * @param bookIds         books whose name contains the book term
+     * @param traderIds       users whose full name or login ID contains the trader term
+     * @param tradeIds        trade rows whose UTI code contains the UTI term
+     */
+    public record SearchCandidates(Set<Long> counterpartyIds, Set<Long> bookIds, Set<Long> traderIds, Set<Long> tradeIds) {
+        public static final SearchCandidates NONE = new SearchCandidates(null, null, null, null);
+    }
+
+    public static Specification<Trade> searchCriteria(SearchParametersDTO params) {
+        return searchCriteria(params, SearchCandidates.NONE);
+    }
+
+    /**
+     * Creates a {@link Specification} for the blotter's multi-criteria search.
+     * <p>
+     * Text criteria are case-insensitive "contains" matches; the trader matches either the full
+     * name or the login ID. Status is an exact (case-insensitive) match and the dates are an
+     * inclusive trade date range. All name comparisons run against the stored, indexed
+     * {@link NormalizedNames normalized} columns rather than lower-casing every joined row.
+     *
+     * @param params     search criteria; null fields are ignored
+     * @param candidates free-text criteria already resolved by the search index
+     * @return Specification for the search
+     */
+    public static Specification<Trade> searchCriteria(SearchParametersDTO params, SearchCandidates candidates) {
+        return (Root<Trade> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (params.getCounterpartyName() != null) {
+                predicates.add(candidates.counterpartyIds() != null
+                        ? idIn(cb, root.get("counterparty").get("id"), candidates.counterpartyIds())
+                        : cb.like(root.get("counterparty").get("normalizedName"), contains(params.getCounterpartyName())));
+            }
+            if (params.getBookName() != null) {
+                predicates.add(candidates.bookIds() != null
+                        ? idIn(cb, root.get("book").get("id"), candidates.bookIds())
+                        : cb.like(root.get("book").get("normalizedName"), contains(params.getBookName())));
+            }
+            if (params.getTrader() != null) {
+                Path<ApplicationUser> trader = root.get("traderUser");
+                predicates.add(candidates.traderIds() != null
+                        ? idIn(cb, trader.get("id"), candidates.traderIds())
+                        : cb.or(
+                                cb.like(trader.get("normalizedFullName"), contains(params.getTrader())),
+                                cb.like(trader.get("normalizedLoginId"), contains(params.getTrader()))));
+            }
+            if (params.getUtiCode() != null) {
+                predicates.add(candidates.tradeIds() != null
+                        ? idIn(cb, root.get("id"), candidates.tradeIds())
+                        : cb.like(cb.lower(root.get("utiCode")), contains(params.getUtiCode())));
+            }
+            if (params.getStatus() != null) {
+                predicates.add(cb.equal(root.get("tradeStatus").get("normalizedName"), NormalizedNames.normalize(params.getStatus())));
+            }
+            if (params.getFromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("tradeDate"), params.getFromDate()));
+            }
+            if (params.getToDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("tradeDate"), params.getToDate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Blotter search over the {@link TradeCurrent} projection: the same criteria as
+     * {@link #searchCriteria(SearchParametersDTO, SearchCandidates)}, matched against the
+     * denormalized name columns so no reference table is joined.
+     */
+    public static Specification<TradeCurrent> blotterCriteria(SearchParametersDTO params, SearchCandidates candidates) {
+        return (Root<TradeCurrent> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            // Rows without a trade date have no position in the blotter's keyset order
+            predicates.add(cb.isNotNull(root.get("tradeDate")));
+
+            if (params.getCounterpartyName() != null) {
+                predicates.add(candidates.counterpartyIds() != null
+                        ? idIn(cb, root.get("counterpartyId"), candidates.counterpartyIds())
+                        : cb.like(cb.lower(root.get("counterpartyName")), contains(params.getCounterpartyName())));
+            }
+            if (params.getBookName() != null) {
+                predicates.add(candidates.bookIds() != null
+                        ? idIn(cb, root.get("bookId"), candidates.bookIds())
+                        : cb.like(cb.lower(root.get("bookName")), contains(params.getBookName())));
+            }
+            if (params.getTrader() != null) {
+                // Login IDs are not denormalized; without candidates only the trader name is matched
+                predicates.add(candidates.traderIds() != null
+                        ? idIn(cb, root.get("traderUserId"), candidates.traderIds())
+                        : cb.like(cb.lower(root.get("traderUserName")), contains(params.getTrader())));
+            }
+            if (params.getUtiCode() != null) {
+                predicates.add(candidates.tradeIds() != null
+                        ? idIn(cb, root.get("tradeRowId"), candidates.tradeIds())
+                        : cb.like(cb.lower(root.get("utiCode")), contains(params.getUtiCode())));
+            }
+            if (params.getStatus() != null) {
+                // Status codes are stored upper-case (NEW, AMENDED, ...), so this stays an indexed equality
+                predicates.add(cb.equal(root.get("tradeStatus"), params.getStatus().trim().toUpperCase()));
+            }
+            if (params.getFromDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("tradeDate"), params.getFromDate()));
+            }
+            if (params.getToDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("tradeDate"), params.getToDate()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset condition for the blotter: rows after {@code (tradeDate, tradeId)} in descending
+     * order. The trade ID is unique in the projection, so it is a complete tiebreaker.
+     */
+    public static Specification<TradeCurrent> blotterAfter(LocalDate tradeDate, Long tradeId) {
+        return (Root<TradeCurrent> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> cb.or(
+                cb.lessThan(root.get("tradeDate"), tradeDate),
+                cb.and(cb.equal(root.get("tradeDate"), tradeDate), cb.lessThan(root.get("tradeId"), tradeId)));
+    }
+
+    private static Predicate idIn(CriteriaBuilder cb, Path<Long> id, Set<Long> ids) {
+        return ids.isEmpty() ? cb.disjunction() : id.in(ids);
+    }
+
+    private static String contains(String value) {
+        return "%" + NormalizedNames.normalize(value) + "%";
+    }
+
     /**
      * Creates a {@link Specification} for filtering trades based on provided criteria.
      * <p>
@@ -26,42 +163,61 @@ public class TradeSpecification {
      * @return Specification for trade filtering
      */
     public static Specification<Trade> filterTrades(TradeFilterRequestDTO filterRequest, String traderUsername) {
+        return filterTrades(filterRequest, traderUsername, SearchCandidates.NONE);
+    }
+
+    /**
+     * As {@link #filterTrades(TradeFilterRequestDTO, String)}, with the book and counterparty
+     * name criteria already resolved to IDs by the search index where possible.
+     */
+    public static Specification<Trade> filterTrades(TradeFilterRequestDTO filterRequest, String traderUsername,
+                                                    SearchCandidates candidates) {
         // IMPROVEMENT 1: Validate input ranges before building predicates
 
         return (Root<Trade> root, CriteriaQuery<?> query, CriteriaBuilder cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
             // --- Restrict to logged-in trader (if applicable) ---
+            // Inner join: the predicate drops trades without a trader anyway, and H2 only reorders
+            // inner joins, so it can start from the trader's normalized login ID index
             if (traderUsername != null && !traderUsername.trim().isEmpty()) {
-                Join<Trade, ApplicationUser> traderJoin = root.join("traderUser", JoinType.LEFT);
-                predicates.add(cb.equal(cb.lower(traderJoin.get("loginId")), traderUsername.trim().toLowerCase()));
+                Join<Trade, ApplicationUser> traderJoin = root.join("traderUser", JoinType.INNER);
+                predicates.add(cb.equal(traderJoin.get("normalizedLoginId"), NormalizedNames.normalize(traderUsername)));
             }
 
             // --- Book ---
 
             if (filterRequest.getBookName() != null && !filterRequest.getBookName().trim().isEmpty()) {
-                Join<Trade, Book> bookJoin = root.join("book", JoinType.LEFT);
-                predicates.add(cb.like(cb.lower(bookJoin.get("bookName")), "%" + filterRequest.getBookName().trim().toLowerCase() + "%"));
+                if (candidates.bookIds() != null) {
+                    predicates.add(idIn(cb, root.get("book").get("id"), candidates.bookIds()));
+                } else {
+                    Join<Trade, Book> bookJoin = root.join("book", JoinType.LEFT);
+                    predicates.add(cb.like(bookJoin.get("normalizedName"), contains(filterRequest.getBookName())));
+                }
             }
             // --- Counterparty ---
             if (filterRequest.getCounterpartyName() != null && !filterRequest.getCounterpartyName().trim().isEmpty()) {
-                Join<Trade, Counterparty> counterpartyJoin = root.join("counterparty", JoinType.LEFT);
-                predicates.add(cb.like(cb.lower(counterpartyJoin.get("name")), "%" + filterRequest.getCounterpartyName().trim().toLowerCase() + "%"));
+                if (candidates.counterpartyIds() != null) {
+                    predicates.add(idIn(cb, root.get("counterparty").get("id"), candidates.counterpartyIds()));
+                } else {
+                    Join<Trade, Counterparty> counterpartyJoin = root.join("counterparty", JoinType.LEFT);
+                    predicates.add(cb.like(counterpartyJoin.get("normalizedName"), contains(filterRequest.getCounterpartyName())));
+                }
             }
             // --- Trade type ---
             if (filterRequest.getTradeTypeName() != null && !filterRequest.getTradeTypeName().trim().isEmpty()) {
                 Join<Trade, TradeType> typeJoin = root.join("tradeType", JoinType.LEFT);
-                predicates.add(cb.equal(cb.lower(typeJoin.get("tradeType")), filterRequest.getTradeTypeName().trim().toLowerCase()));
+                predicates.add(cb.equal(typeJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getTradeTypeName())));
             }
             // --- Trade sub-type ---
             if (filterRequest.getTradeSubTypeName() != null && !filterRequest.getTradeSubTypeName().trim().isEmpty()) {
                 Join<Trade, TradeSubType> subTypeJoin = root.join("tradeSubType", JoinType.LEFT);
-                predicates.add(cb.equal(cb.lower(subTypeJoin.get("tradeSubType")), filterRequest.getTradeSubTypeName().trim().toLowerCase()));
+                predicates.add(cb.equal(subTypeJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getTradeSubTypeName())));
             }
             // --- Trade status ---
             if (filterRequest.getTradeStatusName() != null && !filterRequest.getTradeStatusName().isEmpty()) {
                 Join<Trade, TradeStatus> statusJoin = root.join("tradeStatus", JoinType.LEFT);
-                predicates.add(cb.equal(cb.lower(statusJoin.get("tradeStatus")), filterRequest.getTradeStatusName().toLowerCase()));
+                predicates.add(cb.equal(statusJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getTradeStatusName())));
             }
             // “Check if the user provided a version value — and only then, filter trades by that version.”
             // --- Version ---
@@ -134,24 +290,24 @@ public class TradeSpecification {
 
                 if (filterRequest.getCurrency() != null && !filterRequest.getCurrency().trim().isEmpty()) {
                     Join<TradeLeg, Currency> currencyJoin = legJoin.join("currency", JoinType.LEFT);
-                    predicates.add(cb.equal(cb.lower(currencyJoin.get("currency")), filterRequest.getCurrency().trim().toLowerCase()));
+                    predicates.add(cb.equal(currencyJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getCurrency())));
                 }
                 //  Leg rate type
                 if (filterRequest.getLegRateTypeName() != null && !filterRequest.getLegRateTypeName().trim().isEmpty()) {
                     Join<TradeLeg, LegType> legTypeJoin = legJoin.join("legRateType", JoinType.LEFT);
-                    predicates.add(cb.equal(cb.lower(legTypeJoin.get("type")), filterRequest.getLegRateTypeName().trim().toLowerCase()));
+                    predicates.add(cb.equal(legTypeJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getLegRateTypeName())));
                 }
 
                 //  Pay/Receive flag
                 if (filterRequest.getPayReceiveFlag() != null && !filterRequest.getPayReceiveFlag().trim().isEmpty()) {
                     Join<TradeLeg, PayRec> payRecJoin = legJoin.join("payReceiveFlag", JoinType.LEFT);
-                    predicates.add(cb.equal(cb.lower(payRecJoin.get("payRec")), filterRequest.getPayReceiveFlag().trim().toLowerCase()));
+                    predicates.add(cb.equal(payRecJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getPayReceiveFlag())));
                 }
 
                 //  Index
                 if (filterRequest.getIndexName() != null && !filterRequest.getIndexName().trim().isEmpty()) {
                     Join<TradeLeg, Index> indexJoin = legJoin.join("index", JoinType.LEFT);
-                    predicates.add(cb.equal(cb.lower(indexJoin.get("index")), filterRequest.getIndexName().trim().toLowerCase()));
+                    predicates.add(cb.equal(indexJoin.get("normalizedName"), NormalizedNames.normalize(filterRequest.getIndexName())));
                 }
             }
 
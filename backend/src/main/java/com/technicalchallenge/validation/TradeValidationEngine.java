@@ -1,4 +1,160 @@
 package com.technicalchallenge.validation;
 
+import com.technicalchallenge.exception.ValidationException;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.validator.Validator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs every {@link Validator} bean against a trade.
+ *
+ * <p>The validator list is compiled once at startup into a plan per operation type, so a
+ * booking only touches the validators that apply to it. Each plan has two stages:</p>
+ * <ol>
+ *     <li>{@link Validator.Cost#IN_MEMORY} validators run sequentially on the calling thread.
+ *     If any of them reports an error the trade is already rejected and the second stage is
+ *     skipped.</li>
+ *     <li>{@link Validator.Cost#IO} validators run concurrently on virtual threads, each into
+ *     its own {@link ValidationResult}. The results are merged back in registration order so
+ *     the message order does not depend on thread scheduling.</li>
+ * </ol>
+ *
+ * <p>Every validator run is timed as {@code trade.validation.validator}, tagged with the
+ * validator name and operation.</p>
+ */
+@Component
 public class TradeValidationEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(TradeValidationEngine.class);
+
+    private final Map<TradeOperationType, Plan> plans = new EnumMap<>(TradeOperationType.class);
+    private final MeterRegistry meterRegistry;
+    private final long timeoutMillis;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public TradeValidationEngine(List<Validator> validators,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${trade.validation.timeout-ms:5000}") long timeoutMillis) {
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+
+        // Stable sort: validators of the same cost keep their bean registration order
+        List<Validator> ordered = new ArrayList<>(validators);
+        ordered.sort(Comparator.comparing(Validator::cost));
+
+        for (TradeOperationType operation : TradeOperationType.values()) {
+            List<Validator> inMemory = new ArrayList<>();
+            List<Validator> io = new ArrayList<>();
+            for (Validator validator : ordered) {
+                if (!validator.appliesTo(operation)) {
+                    continue;
+                }
+                (validator.cost() == Validator.Cost.IO ? io : inMemory).add(validator);
+            }
+            plans.put(operation, new Plan(List.copyOf(inMemory), List.copyOf(io)));
+        }
+        logger.info("Compiled trade validation plans: {}", plans);
+    }
+
+    /**
+     * Validates the trade in the context and returns all collected messages.
+     */
+    public ValidationResult validate(ValidationContext context) {
+        TradeOperationType operation = context.getOperation();
+        Plan plan = plans.get(operation);
+        ValidationResult result = new ValidationResult();
+
+        for (Validator validator : plan.inMemory()) {
+            run(validator, operation, context, result);
+        }
+        if (result.hasErrors() || plan.io().isEmpty()) {
+            return result;
+        }
+
+        if (plan.io().size() == 1) {
+            run(plan.io().get(0), operation, context, result);
+            return result;
+        }
+
+        List<Future<ValidationResult>> futures = new ArrayList<>(plan.io().size());
+        for (Validator validator : plan.io()) {
+            futures.add(executor.submit(() -> {
+                ValidationResult partial = new ValidationResult();
+                run(validator, operation, context, partial);
+                return partial;
+            }));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int i = 0; i < futures.size(); i++) {
+            Future<ValidationResult> future = futures.get(i);
+            String name = plan.io().get(i).name();
+            try {
+                result.merge(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                result.addError(name + " did not complete within " + timeoutMillis + " ms");
+            } catch (ExecutionException e) {
+                logger.error("Validator {} failed", name, e.getCause());
+                result.addError(name + " failed: " + e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new IllegalStateException("Interrupted while validating trade", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Validates the trade and throws a {@link ValidationException} listing every error found.
+     */
+    public ValidationResult validateOrThrow(ValidationContext context) {
+        ValidationResult result = validate(context);
+        if (result.hasErrors()) {
+            throw new ValidationException(String.join("; ", result.getErrors()));
+        }
+        return result;
+    }
+
+    private void run(Validator validator, TradeOperationType operation,
+                     ValidationContext context, ValidationResult result) {
+        Timer.builder("trade.validation.validator")
+                .description("Time spent in a single trade validator")
+                .tag("validator", validator.name())
+                .tag("operation", operation.name())
+                .register(meterRegistry)
+                .record(() -> validator.validate(context, result));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Plan(List<Validator> inMemory, List<Validator> io) {
+        @Override
+        public String toString() {
+            return "in-memory=" + inMemory.stream().map(Validator::name).toList()
+                    + ", io=" + io.stream().map(Validator::name).toList();
+        }
+    }
 }
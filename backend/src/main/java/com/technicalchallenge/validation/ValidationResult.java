@@ -1,6 +1,7 @@
 package com.technicalchallenge.validation;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -22,4 +23,20 @@ public class ValidationResult {
         return messages.stream().anyMatch(msg -> msg.type().equals("ERROR"));
 
     }
+
+    /** Appends all messages of another result, e.g. one produced by a concurrently run validator. */
+    public void merge(ValidationResult other) {
+        messages.addAll(other.messages);
+    }
+
+    public List<ValidationMessage> getMessages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    public List<String> getErrors() {
+        return messages.stream()
+                .filter(msg -> msg.type().equals("ERROR"))
+                .map(ValidationMessage::message)
+                .toList();
+    }
 }
@@ -0,0 +1,26 @@
+package com.technicalchallenge.validation.refData;
+
+/**
+ * Existence and active status of a referenced entity, as returned by the bulk
+ * {@link ReferenceDataGateway} lookups.
+ *
+ * <p>Entities without an active flag (trade types, sub-types and statuses) are reported
+ * as {@link #ACTIVE} when they exist.</p>
+ */
+public enum EntityState {
+    MISSING,
+    INACTIVE,
+    ACTIVE;
+
+    public boolean exists() {
+        return this != MISSING;
+    }
+
+    public boolean isActive() {
+        return this == ACTIVE;
+    }
+
+    public static EntityState of(Boolean active) {
+        return Boolean.TRUE.equals(active) ? ACTIVE : INACTIVE;
+    }
+}
@@ -0,0 +1,93 @@
+package com.technicalchallenge.validation.refData;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-request {@link ReferenceDataGateway} that remembers every state it has resolved.
+ *
+ * <p>Only IDs that have not been seen before are passed on to the delegate, so validating a
+ * batch costs one bulk query per entity type, either up front (call the {@code ...States}
+ * methods with all IDs of the batch) or lazily as validators ask. Safe to share between
+ * validators running concurrently; a race can at worst resolve the same ID twice.</p>
+ *
+ * <p>Not a Spring bean: create one per booking request and discard it afterwards so changes
+ * to reference data are picked up by the next request.</p>
+ */
+public class MemoizingReferenceDataGateway implements ReferenceDataGateway {
+
+    private final ReferenceDataGateway delegate;
+
+    private final Map<Long, EntityState> books = new ConcurrentHashMap<>();
+    private final Map<Long, EntityState> counterparties = new ConcurrentHashMap<>();
+    private final Map<Long, EntityState> users = new ConcurrentHashMap<>();
+    private final Map<String, EntityState> usersByLoginId = new ConcurrentHashMap<>();
+    private final Map<Long, EntityState> tradeTypes = new ConcurrentHashMap<>();
+    private final Map<Long, EntityState> tradeSubTypes = new ConcurrentHashMap<>();
+    private final Map<Long, EntityState> tradeStatuses = new ConcurrentHashMap<>();
+
+    public MemoizingReferenceDataGateway(ReferenceDataGateway delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Map<Long, EntityState> bookStates(Collection<Long> ids) {
+        return memoized(books, ids, delegate::bookStates);
+    }
+
+    @Override
+    public Map<Long, EntityState> counterpartyStates(Collection<Long> ids) {
+        return memoized(counterparties, ids, delegate::counterpartyStates);
+    }
+
+    @Override
+    public Map<Long, EntityState> userStates(Collection<Long> ids) {
+        return memoized(users, ids, delegate::userStates);
+    }
+
+    @Override
+    public Map<String, EntityState> userStatesByLoginId(Collection<String> loginIds) {
+        return memoized(usersByLoginId, loginIds, delegate::userStatesByLoginId);
+    }
+
+    @Override
+    public Map<Long, EntityState> tradeTypeStates(Collection<Long> ids) {
+        return memoized(tradeTypes, ids, delegate::tradeTypeStates);
+    }
+
+    @Override
+    public Map<Long, EntityState> tradeSubTypeStates(Collection<Long> ids) {
+        return memoized(tradeSubTypes, ids, delegate::tradeSubTypeStates);
+    }
+
+    @Override
+    public Map<Long, EntityState> tradeStatusStates(Collection<Long> ids) {
+        return memoized(tradeStatuses, ids, delegate::tradeStatusStates);
+    }
+
+    private static <K> Map<K, EntityState> memoized(Map<K, EntityState> cache, Collection<K> keys,
+                                                  Function<Collection<K>, Map<K, EntityState>> loader) {
+        List<K> unknown = keys.stream()
+                .filter(key -> key != null && !cache.containsKey(key))
+                .distinct()
+                .toList();
+        if (!unknown.isEmpty()) {
+            Map<K, EntityState> loaded = loader.apply(unknown);
+            for (K key : unknown) {
+                cache.put(key, loaded.getOrDefault(key, EntityState.MISSING));
+            }
+        }
+
+        Map<K, EntityState> states = new HashMap<>();
+        for (K key : keys) {
+            if (key != null) {
+                states.put(key, cache.get(key));
+            }
+        }
+        return states;
+    }
+}
@@ -1,5 +1,9 @@
 package com.technicalchallenge.validation.refData;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Provides a unified gateway for looking up reference data used in validation.
  *
@@ -9,18 +13,34 @@ package com.technicalchallenge.validation.refData;
  *
  * <p>Each method represents a specific type of lookup that validators
  * can call through the {@code ReferenceDataGatewayImpl} implementation.</p>
+ *
+ * <p>The {@code ...States} methods are the primitive operations: they resolve existence
+ * and active flag for many IDs at once, and the returned map contains an entry for every
+ * non-null ID requested ({@link EntityState#MISSING} when not found). The single-ID checks
+ * are derived from them, so wrapping a gateway in {@link MemoizingReferenceDataGateway}
+ * caches both.</p>
  */
 public interface ReferenceDataGateway {
 
     // BOOKS
 
+    /**
+     * Resolves existence and active flag of several Books in one query.
+     *
+     * @param ids the Book IDs
+     * @return the state of every requested Book, keyed by ID
+     */
+    Map<Long, EntityState> bookStates(Collection<Long> ids);
+
     /**
      * Checks whether a Book exists by its ID.
      *
      * @param id the Book ID
      * @return true if the book exists, false otherwise
      */
-    boolean bookExists(Long id);
+    default boolean bookExists(Long id) {
+        return bookStates(List.of(id)).get(id).exists();
+    }
 
     /**
      * Checks whether a Book is active.
@@ -28,11 +48,20 @@ public interface ReferenceDataGateway {
      * @param id the Book ID
      * @return true if the book is active, false otherwise
      */
-    boolean isBookActive(Long id);
+    default boolean isBookActive(Long id) {
+        return bookStates(List.of(id)).get(id).isActive();
+    }
 
 
     //  COUNTERPARTIES
 
+    /**
+     * Resolves existence and active flag of several Counterparties in one query.
+     *
+     * @param ids the Counterparty IDs
+     * @return the state of every requested Counterparty, keyed by ID
+     */
+    Map<Long, EntityState> counterpartyStates(Collection<Long> ids);
 
     /**
      * Checks whether a Counterparty exists by its ID.
@@ -40,7 +69,9 @@ public interface ReferenceDataGateway {
      * @param id the Counterparty ID
      * @return true if the counterparty exists, false otherwise
      */
-    boolean counterpartyExists(Long id);
+    default boolean counterpartyExists(Long id) {
+        return counterpartyStates(List.of(id)).get(id).exists();
+    }
 
     /**
      * Checks whether a Counterparty is active.
@@ -48,18 +79,38 @@ public interface ReferenceDataGateway {
      * @param id the Counterparty ID
      * @return true if the counterparty is active, false otherwise
      */
-    boolean isCounterpartyActive(Long id);
+    default boolean isCounterpartyActive(Long id) {
+        return counterpartyStates(List.of(id)).get(id).isActive();
+    }
 
 
     //  USERS
 
+    /**
+     * Resolves existence and active flag of several Users by numeric ID in one query.
+     *
+     * @param ids the user IDs
+     * @return the state of every requested user, keyed by ID
+     */
+    Map<Long, EntityState> userStates(Collection<Long> ids);
+
+    /**
+     * Resolves existence and active flag of several Users by loginId in one query.
+     *
+     * @param loginIds the users' login identifiers
+     * @return the state of every requested user, keyed by loginId
+     */
+    Map<String, EntityState> userStatesByLoginId(Collection<String> loginIds);
+
     /**
      * Checks whether a User exists by their loginId (for logged-in user validation).
      *
      * @param loginId the user’s unique login identifier
      * @return true if the user exists, false otherwise
      */
-    boolean userExists(String loginId);
+    default boolean userExists(String loginId) {
+        return userStatesByLoginId(List.of(loginId)).get(loginId).exists();
+    }
 
     /**
      * Checks whether a User exists by their numeric ID (for trade references such as trader or inputter).
@@ -67,7 +118,9 @@ public interface ReferenceDataGateway {
      * @param id the user’s numeric ID
      * @return true if the user exists, false otherwise
      */
-    boolean userExistsById(Long id);
+    default boolean userExistsById(Long id) {
+        return userStates(List.of(id)).get(id).exists();
+    }
 
     /**
      * Checks whether a User is active.
@@ -75,11 +128,36 @@ public interface ReferenceDataGateway {
      * @param id the user’s numeric ID
      * @return true if the user is active, false otherwise
      */
-    boolean isUserActive(Long id);
+    default boolean isUserActive(Long id) {
+        return userStates(List.of(id)).get(id).isActive();
+    }
 
 
     //  TRADE METADATA
 
+    /**
+     * Resolves which of several Trade Types exist in one query.
+     *
+     * @param ids the trade type IDs
+     * @return {@code ACTIVE} or {@code MISSING} for every requested ID
+     */
+    Map<Long, EntityState> tradeTypeStates(Collection<Long> ids);
+
+    /**
+     * Resolves which of several Trade Sub-Types exist in one query.
+     *
+     * @param ids the trade sub-type IDs
+     * @return {@code ACTIVE} or {@code MISSING} for every requested ID
+     */
+    Map<Long, EntityState> tradeSubTypeStates(Collection<Long> ids);
+
+    /**
+     * Resolves which of several Trade Statuses exist in one query.
+     *
+     * @param ids the trade status IDs
+     * @return {@code ACTIVE} or {@code MISSING} for every requested ID
+     */
+    Map<Long, EntityState> tradeStatusStates(Collection<Long> ids);
 
     /**
      * Checks whether a Trade Type exists.
@@ -87,7 +165,9 @@ public interface ReferenceDataGateway {
      * @param id the trade type ID
      * @return true if it exists, false otherwise
      */
-    boolean tradeTypeExists(Long id);
+    default boolean tradeTypeExists(Long id) {
+        return tradeTypeStates(List.of(id)).get(id).exists();
+    }
 
     /**
      * Checks whether a Trade Sub-Type exists.
@@ -95,7 +175,9 @@ public interface ReferenceDataGateway {
      * @param id the trade sub-type ID
      * @return true if it exists, false otherwise
      */
-    boolean tradeSubTypeExists(Long id);
+    default boolean tradeSubTypeExists(Long id) {
+        return tradeSubTypeStates(List.of(id)).get(id).exists();
+    }
 
     /**
      * Checks whether a Trade Status exists.
@@ -103,5 +185,7 @@ public interface ReferenceDataGateway {
      * @param id the trade status ID
      * @return true if it exists, false otherwise
      */
-    boolean tradeStatusExists(Long id);
+    default boolean tradeStatusExists(Long id) {
+        return tradeStatusStates(List.of(id)).get(id).exists();
+    }
 }
@@ -1,23 +1,34 @@
 package com.technicalchallenge.validation.refData;
 
-import com.technicalchallenge.model.ApplicationUser;
-import com.technicalchallenge.model.Book;
-import com.technicalchallenge.model.Counterparty;
 import com.technicalchallenge.repository.*;
+import com.technicalchallenge.service.UserLoginCache;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
 /**
  * Implementation of {@link ReferenceDataGateway} that performs
  * database lookups via JPA repositories.
  *
  * <p>This class centralizes all reference data queries so that
- * validators never access repositories directly.</p>
+ * validators never access repositories directly. Each bulk lookup by ID is a
+ * single {@code IN} query per {@value #MAX_IN_CLAUSE_SIZE} IDs.</p>
  */
 @Service
 @AllArgsConstructor
 public class ReferenceDataGatewayImpl implements ReferenceDataGateway {
 
+    /** Keeps IN lists well below the bind parameter limits of the supported databases. */
+    static final int MAX_IN_CLAUSE_SIZE = 1000;
+
     //  Repositories
 
     private final BookRepository bookRepository;
@@ -26,73 +37,108 @@ public class ReferenceDataGatewayImpl implements ReferenceDataGateway {
     private final TradeTypeRepository tradeTypeRepository;
     private final TradeSubTypeRepository tradeSubTypeRepository;
     private final TradeStatusRepository tradeStatusRepository;
+    private final UserLoginCache userLoginCache;
 
     //  BOOKS
     @Override
-    public boolean bookExists(Long id) {
-        return bookRepository.existsById(id);
-    }
-
-    @Override
-    public boolean isBookActive(Long id) {
-        return bookRepository.findById(id)
-                .map(Book::isActive)
-                .orElse(false);
+    public Map<Long, EntityState> bookStates(Collection<Long> ids) {
+        return activeFlags(ids, bookRepository::findActiveFlagsByIdIn);
     }
 
 
     //  COUNTERPARTIES
     @Override
-    public boolean counterpartyExists(Long id) {
-        return counterpartyRepository.existsById(id);
-    }
-
-    @Override
-    public boolean isCounterpartyActive(Long id) {
-        return counterpartyRepository.findById(id)
-                .map(Counterparty::isActive)
-                .orElse(false);
+    public Map<Long, EntityState> counterpartyStates(Collection<Long> ids) {
+        return activeFlags(ids, counterpartyRepository::findActiveFlagsByIdIn);
     }
 
 
     //  USERS
     /**
-     * Used for validating the logged-in user (based on loginId).
+     * Used for validating trade references such as traderUserId or tradeInputterUserId.
      */
     @Override
-    public boolean userExists(String loginId) {
-        return userRepository.existsByLoginId(loginId);
+    public Map<Long, EntityState> userStates(Collection<Long> ids) {
+        return activeFlags(ids, userRepository::findActiveFlagsByIdIn);
     }
 
     /**
-     * Used for validating trade references such as traderUserId or tradeInputterUserId.
+     * Used for validating the logged-in user (based on loginId). Users held by the
+     * {@link UserLoginCache} cost no query; the rest are looked up with one IN query per chunk.
      */
     @Override
-    public boolean userExistsById(Long id) {
-        return !userRepository.existsById(id);
-    }
-
-    @Override
-    public boolean isUserActive(Long id) {
-        return userRepository.findById(id)
-                .map(ApplicationUser::isActive)
-                .orElse(false);
+    public Map<String, EntityState> userStatesByLoginId(Collection<String> loginIds) {
+        Map<String, EntityState> states = missing(loginIds);
+        Set<String> uncached = new HashSet<>();
+        for (Map.Entry<String, EntityState> state : states.entrySet()) {
+            userLoginCache.findCached(state.getKey()).ifPresentOrElse(
+                    user -> state.setValue(EntityState.of(user.isActive())),
+                    () -> uncached.add(state.getKey()));
+        }
+        for (List<String> chunk : chunks(uncached)) {
+            for (UserLoginFlagView view : userRepository.findActiveFlagsByLoginIdIn(chunk)) {
+                states.put(view.getLoginId(), EntityState.of(view.getActive()));
+            }
+        }
+        return states;
     }
 
 
     //  TRADE METADATA
     @Override
-    public boolean tradeTypeExists(Long id) {
-        return tradeTypeRepository.existsById(id);
+    public Map<Long, EntityState> tradeTypeStates(Collection<Long> ids) {
+        return existing(ids, tradeTypeRepository::findExistingIds);
     }
 
     @Override
-    public boolean tradeSubTypeExists(Long id) {
-        return tradeSubTypeRepository.existsById(id);
+    public Map<Long, EntityState> tradeSubTypeStates(Collection<Long> ids) {
+        return existing(ids, tradeSubTypeRepository::findExistingIds);
     }
 
     @Override
-    public boolean tradeStatusExists(Long id) {
-        return tradeStatusRepository.existsById(id);
+    public Map<Long, EntityState> tradeStatusStates(Collection<Long> ids) {
+        return existing(ids, tradeStatusRepository::findExistingIds);
+    }
+
+
+    //  HELPERS
+    private static Map<Long, EntityState> activeFlags(Collection<Long> ids,
+                                                      Function<List<Long>, List<ActiveFlagView>> query) {
+        Map<Long, EntityState> states = missing(ids);
+        for (List<Long> chunk : chunks(states.keySet())) {
+            for (ActiveFlagView view : query.apply(chunk)) {
+                states.put(view.getId(), EntityState.of(view.getActive()));
+            }
+        }
+        return states;
+    }
+
+    private static Map<Long, EntityState> existing(Collection<Long> ids, Function<List<Long>, List<Long>> query) {
+        Map<Long, EntityState> states = missing(ids);
+        for (List<Long> chunk : chunks(states.keySet())) {
+            for (Long id : query.apply(chunk)) {
+                states.put(id, EntityState.ACTIVE);
+            }
+        }
+        return states;
+    }
+
+    private static <K> Map<K, EntityState> missing(Collection<K> keys) {
+        Map<K, EntityState> states = new HashMap<>();
+        for (K key : keys) {
+            if (key != null) {
+                states.put(key, EntityState.MISSING);
+            }
+        }
+        return states;
+    }
+
+    private static <K> List<List<K>> chunks(Set<K> keys) {
+        List<K> all = new ArrayList<>(keys);
+        List<List<K>> chunks = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += MAX_IN_CLAUSE_SIZE) {
+            chunks.add(all.subList(from, Math.min(all.size(), from + MAX_IN_CLAUSE_SIZE)));
+        }
+        return chunks;
     }
 }
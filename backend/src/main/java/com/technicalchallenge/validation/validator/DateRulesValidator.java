@@ -2,10 +2,19 @@ package com.technicalchallenge.validation.validator;
 
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
 import com.technicalchallenge.validation.ValidationResult;
+import org.springframework.stereotype.Component;
+
 import java.time.LocalDate;
 
+@Component
 public class DateRulesValidator implements Validator {
+    @Override
+    public boolean appliesTo(TradeOperationType operation) {
+        return operation == TradeOperationType.CREATE || operation == TradeOperationType.AMEND;
+    }
+
     @Override
     public void validate(ValidationContext context, ValidationResult result) {
         TradeDTO tradeDto = context.getTradeDTO();
@@ -21,7 +30,8 @@ public class DateRulesValidator implements Validator {
             if (tradeDto.getTradeStartDate() != null && tradeDto.getTradeStartDate().isBefore(tradeDto.getTradeDate())) {
                 result.addError("Trade start date cannot be before the trade date.");
             }
-            if (tradeDto.getTradeDate().isBefore(thirtyDaysAgo)) {
+            // Only a new booking must be recent; amending a trade booked months ago is fine
+            if (context.getOperation() == TradeOperationType.CREATE && tradeDto.getTradeDate().isBefore(thirtyDaysAgo)) {
                 result.addError("Trade date cannot be more than 30 days in the past.");
             }
             if (tradeDto.getTradeMaturityDate().isBefore(tradeDto.getTradeDate())) {
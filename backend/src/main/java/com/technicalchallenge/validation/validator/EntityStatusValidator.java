@@ -3,11 +3,29 @@ package com.technicalchallenge.validation.validator;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.model.ApplicationUser;
 import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
 import com.technicalchallenge.validation.ValidationResult;
+import com.technicalchallenge.validation.refData.EntityState;
 import com.technicalchallenge.validation.refData.ReferenceDataGateway;
+import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+@Component
 public class EntityStatusValidator implements Validator {
 
+    @Override
+    public Cost cost() {
+        return Cost.IO;
+    }
+
+    @Override
+    public boolean appliesTo(TradeOperationType operation) {
+        return operation == TradeOperationType.CREATE || operation == TradeOperationType.AMEND;
+    }
+
     @Override
     public void validate(ValidationContext context, ValidationResult result) {
         TradeDTO tradeDTO = context.getTradeDTO();
@@ -20,17 +38,24 @@ public class EntityStatusValidator implements Validator {
             return;
         }
 
+        // Each entity's state is resolved once; with a memoizing gateway a batch shares the lookups
+        EntityState book = refData.bookStates(List.of(tradeDTO.getBookId())).get(tradeDTO.getBookId());
+        EntityState counterparty = refData.counterpartyStates(List.of(tradeDTO.getCounterpartyId()))
+                .get(tradeDTO.getCounterpartyId());
+        Map<Long, EntityState> users = refData.userStates(
+                Arrays.asList(tradeDTO.getTraderUserId(), tradeDTO.getTradeInputterUserId()));
+
         // BOOK
-        if (!refData.bookExists(tradeDTO.getBookId())) {
+        if (!book.exists()) {
             result.addError("Book with ID " + tradeDTO.getBookId() + " does not exist.");
-        } else if (!refData.isBookActive(tradeDTO.getBookId())) {
+        } else if (!book.isActive()) {
             result.addError("Book with ID " + tradeDTO.getBookId() + " is inactive.");
         }
 
         // COUNTERPARTY
-        if (!refData.counterpartyExists(tradeDTO.getCounterpartyId())) {
+        if (!counterparty.exists()) {
             result.addError("Counterparty with ID " + tradeDTO.getCounterpartyId() + " does not exist.");
-        } else if (!refData.isCounterpartyActive(tradeDTO.getCounterpartyId())) {
+        } else if (!counterparty.isActive()) {
             result.addError("Counterparty with ID " + tradeDTO.getCounterpartyId() + " is inactive.");
         }
 
@@ -38,18 +63,18 @@ public class EntityStatusValidator implements Validator {
         // TRADER USER
         if (tradeDTO.getTraderUserId() == null) {
             result.addError("Trader User ID is missing from the trade.");
-        } else if (refData.userExistsById(tradeDTO.getTraderUserId())) {
+        } else if (!users.get(tradeDTO.getTraderUserId()).exists()) {
             result.addError("Trader User with ID " + tradeDTO.getTraderUserId() + " does not exist.");
-        } else if (refData.isUserActive(tradeDTO.getTraderUserId())) {
+        } else if (!users.get(tradeDTO.getTraderUserId()).isActive()) {
             result.addError("Trader User with ID " + tradeDTO.getTraderUserId() + " is inactive.");
         }
 
         // TRADE INPUTTER USER
         if (tradeDTO.getTradeInputterUserId() == null) {
             result.addError("Trade Inputter User ID is missing from the trade.");
-        } else if (refData.userExistsById(tradeDTO.getTradeInputterUserId())) {
+        } else if (!users.get(tradeDTO.getTradeInputterUserId()).exists()) {
             result.addError("Trade Inputter User with ID " + tradeDTO.getTradeInputterUserId() + " does not exist.");
-        } else if (refData.isUserActive(tradeDTO.getTradeInputterUserId())) {
+        } else if (!users.get(tradeDTO.getTradeInputterUserId()).isActive()) {
             result.addError("Trade Inputter User with ID " + tradeDTO.getTradeInputterUserId() + " is inactive.");
         }
 
@@ -84,10 +109,13 @@ public class EntityStatusValidator implements Validator {
         // LOGGED-IN USER CONTEXT
         if (user == null || user.getLoginId() == null) {
             result.addError("No user context provided for validation.");
-        } else if (!refData.userExists(user.getLoginId())) {
-            result.addError("User with loginId '" + user.getLoginId() + "' does not exist.");
-        } else if (refData.isUserActive(user.getId())) {
-            result.addError("User with loginId '" + user.getLoginId() + "' is inactive and cannot perform this operation.");
+        } else {
+            EntityState loggedIn = refData.userStatesByLoginId(List.of(user.getLoginId())).get(user.getLoginId());
+            if (!loggedIn.exists()) {
+                result.addError("User with loginId '" + user.getLoginId() + "' does not exist.");
+            } else if (!loggedIn.isActive()) {
+                result.addError("User with loginId '" + user.getLoginId() + "' is inactive and cannot perform this operation.");
+            }
         }
     }
 }
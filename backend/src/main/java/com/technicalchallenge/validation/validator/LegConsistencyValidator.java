@@ -3,11 +3,19 @@ package com.technicalchallenge.validation.validator;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
 import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
 import com.technicalchallenge.validation.ValidationResult;
+import org.springframework.stereotype.Component;
 
 import java.util.List;
 
+@Component
 public class LegConsistencyValidator implements Validator {
+    @Override
+    public boolean appliesTo(TradeOperationType operation) {
+        return operation == TradeOperationType.CREATE || operation == TradeOperationType.AMEND;
+    }
+
     @Override
     public void validate(ValidationContext context, ValidationResult result) {
         TradeDTO tradeDTO = context.getTradeDTO();
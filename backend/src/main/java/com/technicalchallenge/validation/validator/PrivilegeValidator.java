@@ -1,4 +1,54 @@
 package com.technicalchallenge.validation.validator;
 
-public class PrivilegeValidator {
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.service.Entitlement;
+import com.technicalchallenge.service.EntitlementService;
+import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.ValidationResult;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Checks that the user performing the operation holds the privilege it needs.
+ *
+ * <p>Entitlements come from the {@link EntitlementService} cache, so once a user's bitset is
+ * loaded the check is a single bit test and runs with the in-memory validators. A missing user
+ * is left to {@link EntityStatusValidator}.</p>
+ */
+@Component
+public class PrivilegeValidator implements Validator {
+
+    private static final Map<TradeOperationType, Entitlement> REQUIRED = new EnumMap<>(Map.of(
+            TradeOperationType.CREATE, Entitlement.BOOK_TRADE,
+            TradeOperationType.AMEND, Entitlement.AMEND_TRADE,
+            TradeOperationType.CANCEL, Entitlement.AMEND_TRADE,
+            TradeOperationType.TERMINATE, Entitlement.AMEND_TRADE,
+            TradeOperationType.VIEW, Entitlement.READ_TRADE));
+
+    private final EntitlementService entitlementService;
+
+    public PrivilegeValidator(EntitlementService entitlementService) {
+        this.entitlementService = entitlementService;
+    }
+
+    @Override
+    public boolean appliesTo(TradeOperationType operation) {
+        return REQUIRED.containsKey(operation);
+    }
+
+    @Override
+    public void validate(ValidationContext context, ValidationResult result) {
+        ApplicationUser user = context.getUser();
+        if (user == null) {
+            return;
+        }
+        Entitlement required = REQUIRED.get(context.getOperation());
+        if (!entitlementService.isEntitled(user.getId(), required)) {
+            result.addError("User '" + user.getLoginId() + "' does not have the " + required
+                    + " privilege required to " + context.getOperation().name().toLowerCase() + " trades.");
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package com.technicalchallenge.validation.validator;
 
 import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
 import com.technicalchallenge.validation.ValidationResult;
 
 /**
@@ -17,4 +18,32 @@ public interface Validator {
      * @param result   shared container for validation messages
      */
     void validate(ValidationContext context, ValidationResult result );
+
+    /**
+     * How expensive this validator is to run. The {@code TradeValidationEngine} runs all
+     * {@link Cost#IN_MEMORY} validators first and only starts {@link Cost#IO} validators
+     * (concurrently) when the cheap checks found no errors.
+     */
+    default Cost cost() {
+        return Cost.IN_MEMORY;
+    }
+
+    /**
+     * Whether this validator applies to the given operation. Defaults to all operations.
+     */
+    default boolean appliesTo(TradeOperationType operation) {
+        return true;
+    }
+
+    /** Name used in timing metrics and error messages. */
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    enum Cost {
+        /** Pure checks on the trade DTO and context, no database access. */
+        IN_MEMORY,
+        /** Checks that query reference data or other external state. */
+        IO
+    }
 }
@@ -42,6 +42,9 @@ INSERT INTO trade (id, trade_id, version, book_id, counterparty_id, trader_user_
   (1000, 100001, 1, 1000, 1000, 1003, 1003, 1001, 1003, 1004, '2024-06-01', '2024-06-03', '2029-06-03', '2024-06-01', 'UTI-001', '2024-06-01T10:30:00', '2024-06-01', null, true, '2024-06-01T10:30:00', null),
   (1001, 100002, 1, 1001, 1001, 1005, 1005, 1000, 1000, 1004, '2024-06-02', '2024-06-02', '2024-06-04', '2024-06-02', 'UTI-002', '2024-06-02T11:15:00', '2024-06-02', null, true, '2024-06-02T11:15:00', null);
 
+-- Trade ID allocation (next block starts after the sample trades)
+INSERT INTO trade_id_block (name, next_value) VALUES ('TRADE', 100003);
+
 -- Sample Trade Legs
 INSERT INTO trade_leg (leg_id, notional, rate, trade_id, currency_id, leg_rate_type_id, index_id, holiday_calendar_id,
                        calculation_period_schedule_id, payment_business_day_convention_id, fixing_business_day_convention_id, pay_rec_id,
@@ -56,3 +59,45 @@ INSERT INTO cashflow (id, payment_value, value_date, rate, leg_id, pay_rec_id, p
   (1000, 12500.00, '2024-09-01', 0.05, 1000, 1000, 1000, 1000, true, '2024-06-01T10:30:00', '2024-06-01', null),
   (1001, 12500.00, '2024-12-01', 0.05, 1000, 1000, 1000, 1000, true, '2024-06-01T10:30:00', '2024-06-01', null),
   (1002, 225000.00, '2024-06-04', 0.045, 1002, 1000, 1000, 1001, true, '2024-06-02T11:15:00', '2024-06-02', null);
+
+-- Normalized lookup keys for name-keyed reference data (kept up to date by JPA callbacks after startup)
+UPDATE book SET normalized_name = LOWER(TRIM(book_name));
+UPDATE counterparty SET normalized_name = LOWER(TRIM(name));
+UPDATE currency SET normalized_name = LOWER(TRIM(currency));
+UPDATE leg_type SET normalized_name = LOWER(TRIM(type));
+UPDATE index_table SET normalized_name = LOWER(TRIM(index));
+UPDATE holiday_calendar SET normalized_name = LOWER(TRIM(holiday_calendar));
+UPDATE schedule SET normalized_name = LOWER(TRIM(schedule));
+UPDATE business_day_convention SET normalized_name = LOWER(TRIM(bdc));
+UPDATE pay_rec SET normalized_name = LOWER(TRIM(pay_rec));
+UPDATE trade_type SET normalized_name = LOWER(TRIM(trade_type));
+UPDATE trade_sub_type SET normalized_name = LOWER(TRIM(trade_sub_type));
+UPDATE trade_status SET normalized_name = LOWER(TRIM(trade_status));
+UPDATE cost_center SET normalized_name = LOWER(TRIM(cost_center_name));
+UPDATE desk SET normalized_name = LOWER(TRIM(desk_name));
+UPDATE sub_desk SET normalized_name = LOWER(TRIM(subdesk_name));
+UPDATE application_user SET normalized_login_id = LOWER(TRIM(login_id)),
+    normalized_full_name = LOWER(TRIM(CONCAT(COALESCE(first_name, ''), ' ', COALESCE(last_name, ''))));
+
+-- Current-version projection of the sample trades (kept up to date by TradeService after startup)
+INSERT INTO trade_current (trade_id, trade_row_id, version, trade_date, trade_start_date, trade_maturity_date, uti_code,
+                           book_id, book_name, counterparty_id, counterparty_name, trader_user_id, trader_user_name,
+                           trade_type_id, trade_type, trade_sub_type_id, trade_sub_type, trade_status_id, trade_status,
+                           last_touch_timestamp)
+SELECT t.trade_id, t.id, t.version, t.trade_date, t.trade_start_date, t.trade_maturity_date, t.uti_code,
+       b.id, b.book_name, c.id, c.name, u.id, CONCAT(u.first_name, ' ', u.last_name),
+       tt.id, tt.trade_type, tst.id, tst.trade_sub_type, ts.id, ts.trade_status,
+       t.last_touch_timestamp
+FROM trade t
+LEFT JOIN book b ON b.id = t.book_id
+LEFT JOIN counterparty c ON c.id = t.counterparty_id
+LEFT JOIN application_user u ON u.id = t.trader_user_id
+LEFT JOIN trade_type tt ON tt.id = t.trade_type_id
+LEFT JOIN trade_sub_type tst ON tst.id = t.trade_sub_type_id
+LEFT JOIN trade_status ts ON ts.id = t.trade_status_id
+WHERE t.active = true;
+
+-- Schedule terms of the sample legs (set at booking after startup)
+UPDATE trade_leg SET schedule_start_date = (SELECT t.trade_start_date FROM trade t WHERE t.id = trade_leg.trade_id),
+    schedule_end_date = (SELECT t.trade_maturity_date FROM trade t WHERE t.id = trade_leg.trade_id),
+    cashflows_on_demand = false;
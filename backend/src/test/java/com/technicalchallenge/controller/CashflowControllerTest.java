@@ -9,6 +9,7 @@ import com.technicalchallenge.mapper.CashflowMapper;
 import com.technicalchallenge.model.Cashflow;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.service.CashflowScheduleEngine;
 import com.technicalchallenge.service.CashflowService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -37,7 +38,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @ExtendWith(SpringExtension.class)
 @WebMvcTest(CashflowController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, CashflowScheduleEngine.class})
 public class CashflowControllerTest {
 
     @Autowired
@@ -141,6 +142,34 @@ public class CashflowControllerTest {
         verify(cashflowService).getCashflowById(999L);
     }
 
+    @Test
+    void testGetCashflowsForLeg() throws Exception {
+        // Given
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 12, 31);
+        when(cashflowService.getCashflowsForLeg(1L, from, to)).thenReturn(Optional.of(List.of(cashflow)));
+        when(cashflowMapper.toDto(cashflow)).thenReturn(cashflowDTO);
+
+        // When/Then
+        mockMvc.perform(get("/api/cashflows/leg/1")
+                .param("from", "2025-01-01")
+                .param("to", "2025-12-31")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].paymentValue", is(25000.0)));
+
+        verify(cashflowService).getCashflowsForLeg(1L, from, to);
+    }
+
+    @Test
+    void testGetCashflowsForUnknownLeg() throws Exception {
+        when(cashflowService.getCashflowsForLeg(999L, null, null)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/cashflows/leg/999"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testCreateCashflow() throws Exception {
         // Given
@@ -3,9 +3,15 @@ package com.technicalchallenge.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.technicalchallenge.config.TestSecurityConfig;
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeBookingStatusDTO;
+import com.technicalchallenge.dto.TradeCursorPageDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.service.TradeBlotterService;
+import com.technicalchallenge.service.TradeExportService;
 import com.technicalchallenge.service.TradeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,12 +24,16 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -43,6 +53,12 @@ public class TradeControllerTest {
     @MockitoBean
     private TradeMapper tradeMapper;
 
+    @MockitoBean
+    private TradeExportService tradeExportService;
+
+    @MockitoBean
+    private TradeBlotterService tradeBlotterService;
+
     private ObjectMapper objectMapper;
     private TradeDTO tradeDTO;
     private Trade trade;
@@ -145,6 +161,44 @@ public class TradeControllerTest {
         verify(tradeService).populateReferenceDataByName(any(Trade.class), any(TradeDTO.class));
     }
 
+    @Test
+    void testCreateTradeAsyncBookingReturnsAccepted() throws Exception {
+        // Given - a valid new trade (no row ID yet) in asynchronous booking mode
+        tradeDTO.setBookId(1L);
+        tradeDTO.setCounterpartyId(1L);
+        Trade newTrade = new Trade();
+        when(tradeMapper.toEntity(any(TradeDTO.class))).thenReturn(newTrade);
+        when(tradeService.saveTrade(any(Trade.class), any(TradeDTO.class))).thenReturn(trade);
+        when(tradeService.isAsyncBooking()).thenReturn(true);
+
+        // When/Then
+        mockMvc.perform(post("/api/trades")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tradeDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/trades/1001/booking-status"))
+                .andExpect(jsonPath("$.tradeId", is(1001)))
+                .andExpect(jsonPath("$.status", is("PENDING")));
+
+        verify(tradeMapper, never()).toDto(any(Trade.class));
+    }
+
+    @Test
+    void testGetBookingStatus() throws Exception {
+        // Given
+        when(tradeService.getBookingStatus(1001L)).thenReturn(Optional.of(TradeBookingStatusDTO.builder()
+                .tradeId(1001L).status("COMPLETED").attempts(1).build()));
+        when(tradeService.getBookingStatus(9999L)).thenReturn(Optional.empty());
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/1001/booking-status"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")))
+                .andExpect(jsonPath("$.attempts", is(1)));
+        mockMvc.perform(get("/api/trades/9999/booking-status"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void testCreateTradeValidationFailure_MissingTradeDate() throws Exception {
         // Given
@@ -181,6 +235,107 @@ public class TradeControllerTest {
         verify(tradeService, never()).saveTrade(any(Trade.class), any(TradeDTO.class));
     }
 
+    @Test
+    void testCreateTradesBatch() throws Exception {
+        // Given
+        when(tradeService.createTrades(anyList())).thenReturn(List.of(
+                new TradeBatchResultDTO(0, 1001L, true, null),
+                new TradeBatchResultDTO(1, 1002L, false, "Trade must have exactly 2 legs")));
+
+        // When/Then
+        mockMvc.perform(post("/api/trades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(tradeDTO, tradeDTO))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].success", is(true)))
+                .andExpect(jsonPath("$[1].success", is(false)));
+
+        verify(tradeService).createTrades(anyList());
+    }
+
+    @Test
+    void testCreateTradesBatchEmpty() throws Exception {
+        mockMvc.perform(post("/api/trades/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(tradeService, never()).createTrades(anyList());
+    }
+
+    @Test
+    void testExportTradesNdjson() throws Exception {
+        when(tradeExportService.export(eq(TradeExportService.Format.NDJSON), any(OutputStream.class)))
+                .thenAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(1);
+                    out.write("{\"tradeId\":1001}\n".getBytes(StandardCharsets.UTF_8));
+                    return 1L;
+                });
+
+        var result = mockMvc.perform(get("/api/trades/export").param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // The export carries its own long timeout rather than relying on a global one
+        assertEquals(Duration.ofMinutes(30).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=trades.ndjson"))
+                .andExpect(content().string("{\"tradeId\":1001}\n"));
+    }
+
+    @Test
+    void testExportTradesUnsupportedFormat() throws Exception {
+        mockMvc.perform(get("/api/trades/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tradeExportService);
+    }
+
+    @Test
+    void testSearchTradesByCursor() throws Exception {
+        // Given
+        TradeCursorPageDTO page = TradeCursorPageDTO.builder()
+                .content(List.of(tradeDTO))
+                .size(1)
+                .hasNext(true)
+                .nextCursor("next")
+                .build();
+        when(tradeService.searchTradesPaginated(any(SearchParametersDTO.class), eq("abc"), eq(1), eq(false)))
+                .thenReturn(page);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/search/cursor").param("cursor", "abc").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(true)))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+    }
+
+    @Test
+    void testBlotter() throws Exception {
+        // Given
+        TradeCursorPageDTO page = TradeCursorPageDTO.builder().content(List.of(tradeDTO)).size(50).build();
+        when(tradeBlotterService.blotter(any(SearchParametersDTO.class), isNull(), eq(50), eq(false))).thenReturn(page);
+
+        // When/Then
+        mockMvc.perform(get("/api/trades/blotter").param("book", "FX"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.hasNext", is(false)));
+    }
+
+    @Test
+    void testSearchTradesByCursorInvalidCursor() throws Exception {
+        when(tradeService.searchTradesPaginated(any(SearchParametersDTO.class), eq("bad"), anyInt(), anyBoolean()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/trades/search/cursor").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testUpdateTrade() throws Exception {
         // Given
@@ -18,8 +18,11 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -73,5 +76,17 @@ public class UserControllerTest {
         mockMvc.perform(get("/api/users"))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldLookUpUserByLoginIdWithoutListingAllUsers() throws Exception {
+        when(applicationUserService.getUserByLoginId("jdoe")).thenReturn(Optional.of(new ApplicationUser()));
+        when(applicationUserService.getUserByLoginId("nobody")).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/users/loginId/jdoe"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/loginId/nobody"))
+                .andExpect(status().isNotFound());
+        verify(applicationUserService, never()).getAllUsers();
+    }
     // Add more tests for POST, PUT, DELETE as needed
 }
@@ -0,0 +1,100 @@
+package com.technicalchallenge.mapper;
+
+import com.technicalchallenge.dto.BookDTO;
+import com.technicalchallenge.dto.CounterpartyDTO;
+import com.technicalchallenge.dto.UserDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.CostCenter;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.NormalizedNames;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.CostCenterRepository;
+import com.technicalchallenge.repository.UserProfileRepository;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GeneratedMappersTest {
+
+    @Test
+    void testCounterpartyMapper_RoundTrip() {
+        CounterpartyMapper mapper = Mappers.getMapper(CounterpartyMapper.class);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(1001L);
+        counterparty.setName("MegaFund");
+        counterparty.setAddress("2 Fund Ave");
+        counterparty.setInternalCode(1002L);
+        counterparty.setCreatedDate(LocalDate.of(2024, 1, 1));
+        counterparty.setActive(true);
+
+        CounterpartyDTO dto = mapper.toDto(counterparty);
+        Counterparty entity = mapper.toEntity(dto);
+
+        assertEquals("MegaFund", dto.getName());
+        assertEquals(LocalDate.of(2024, 1, 1), dto.getCreatedDate());
+        assertTrue(dto.isActive());
+        assertEquals(1001L, entity.getId());
+        assertEquals("2 Fund Ave", entity.getAddress());
+        assertEquals(1002L, entity.getInternalCode());
+    }
+
+    @Test
+    void testBookMapper_FlattensCostCenterName() {
+        BookMapper mapper = Mappers.getMapper(BookMapper.class);
+        CostCenter costCenter = new CostCenter();
+        costCenter.setCostCenterName("Rates CC");
+        Book book = new Book();
+        book.setId(1001L);
+        book.setBookName("RATES-BOOK-1");
+        book.setCostCenter(costCenter);
+
+        BookDTO dto = mapper.toDto(book);
+
+        assertEquals("RATES-BOOK-1", dto.getBookName());
+        assertEquals("Rates CC", dto.getCostCenterName());
+        assertNull(mapper.toDto(new Book()).getCostCenterName());
+    }
+
+    @Test
+    void testBookMapper_ResolvesCostCenterByNormalizedName() {
+        BookMapper mapper = Mappers.getMapper(BookMapper.class);
+        mapper.costCenterRepository = mock(CostCenterRepository.class);
+        CostCenter costCenter = new CostCenter();
+        costCenter.setCostCenterName("Rates CC");
+        when(mapper.costCenterRepository.findFirstByNormalizedName(NormalizedNames.normalize("rates cc")))
+                .thenReturn(Optional.of(costCenter));
+        BookDTO dto = new BookDTO();
+        dto.setBookName("RATES-BOOK-1");
+        dto.setCostCenterName("rates cc");
+
+        Book book = mapper.toEntity(dto);
+
+        assertSame(costCenter, book.getCostCenter());
+        verify(mapper.costCenterRepository, never()).findAll();
+    }
+
+    @Test
+    void testApplicationUserMapper_ResolvesUserProfileByType() {
+        ApplicationUserMapper mapper = Mappers.getMapper(ApplicationUserMapper.class);
+        mapper.userProfileRepository = mock(UserProfileRepository.class);
+        UserProfile trader = new UserProfile();
+        trader.setUserType("TRADER_SALES");
+        when(mapper.userProfileRepository.findByUserType("TRADER_SALES")).thenReturn(Optional.of(trader));
+
+        ApplicationUser user = new ApplicationUser();
+        user.setLoginId("simon");
+        user.setUserProfile(trader);
+        UserDTO dto = mapper.toDto(user);
+        ApplicationUser entity = mapper.toEntity(dto);
+
+        assertEquals("TRADER_SALES", dto.getUserProfile());
+        assertEquals("simon", entity.getLoginId());
+        assertSame(trader, entity.getUserProfile());
+    }
+}
@@ -0,0 +1,90 @@
+package com.technicalchallenge.monitoring;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlRowCountingDataSourceTest {
+
+    private SqlStatementStatistics statistics;
+    private SqlRowCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        statistics = new SqlStatementStatistics(100, 0, 100);
+        dataSource = new SqlRowCountingDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:rowcounting;DB_CLOSE_DELAY=-1", "sa", ""), statistics);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS cashflow");
+            statement.execute("CREATE TABLE cashflow (id BIGINT PRIMARY KEY, leg_id BIGINT)");
+        }
+    }
+
+    @Test
+    void testBatchUpdateAndQueryRowsAreRecordedPerShape() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("insert into cashflow (id, leg_id) values (?, ?)")) {
+                for (long id = 1; id <= 3; id++) {
+                    insert.setLong(1, id);
+                    insert.setLong(2, id == 3 ? 2 : 1);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            try (PreparedStatement update = connection.prepareStatement("update cashflow set leg_id=? where leg_id=?")) {
+                update.setLong(1, 5);
+                update.setLong(2, 1);
+                assertEquals(2, update.executeUpdate());
+            }
+            try (PreparedStatement select = connection.prepareStatement("select id from cashflow where leg_id=?")) {
+                select.setLong(1, 5);
+                try (ResultSet rows = select.executeQuery()) {
+                    while (rows.next()) {
+                        assertTrue(rows.getLong(1) > 0);
+                    }
+                }
+            }
+        }
+
+        Map<String, Long> rows = statistics.shapes().stream()
+                .collect(Collectors.toMap(SqlStatementStatistics.ShapeReport::sql, SqlStatementStatistics.ShapeReport::rows));
+        assertEquals(3L, rows.get("insert into cashflow (id, leg_id) values (?, ?)"));
+        assertEquals(2L, rows.get("update cashflow set leg_id=? where leg_id=?"));
+        assertEquals(2L, rows.get("select id from cashflow where leg_id=?"));
+    }
+
+    @Test
+    void testResultSetClosedEarlyRecordsTheRowsRead() throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into cashflow (id, leg_id) values (1, 1), (2, 1)");
+            try (ResultSet rows = statement.executeQuery("select id from cashflow")) {
+                assertTrue(rows.next());
+            }
+        }
+
+        assertEquals(1L, statistics.shapes().stream()
+                .filter(shape -> shape.sql().equals("select id from cashflow"))
+                .findFirst().orElseThrow().rows());
+    }
+
+    @Test
+    void testWrappersHandBackTheCountingConnectionAndStatement() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement select = connection.prepareStatement("select id from cashflow");
+             ResultSet rows = select.executeQuery()) {
+            assertSame(connection, select.getConnection());
+            assertSame(select, rows.getStatement());
+            assertFalse(rows.next());
+        }
+    }
+}
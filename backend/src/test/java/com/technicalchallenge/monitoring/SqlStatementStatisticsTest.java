@@ -0,0 +1,107 @@
+package com.technicalchallenge.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementStatisticsTest {
+
+    @Test
+    void testNormalizeReplacesLiteralsAndCollapsesInLists() {
+        assertEquals("select b.id from book b where b.id in (...) and b.book_name=? and b.active=?",
+                SqlStatementStatistics.normalize(
+                        "/* load Book */ select b.id\n  from book b where b.id in (?, ?, ?) and b.book_name='FX''1' and b.active=1"));
+        assertEquals("select t1_0.id from trade t1_0 where t1_0.id in (...)",
+                SqlStatementStatistics.normalize("select t1_0.id from trade t1_0 where t1_0.id in (?,?)"));
+    }
+
+    @Test
+    void testExecutionsAreAggregatedPerShape() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(100, 10, 100);
+
+        statistics.statementPrepared("select * from book where id in (?, ?)");
+        statistics.statementExecuted(TimeUnit.MICROSECONDS.toNanos(50));
+        statistics.statementPrepared("select * from book where id in (?)");
+        statistics.statementExecuted(TimeUnit.MILLISECONDS.toNanos(2));
+
+        List<SqlStatementStatistics.ShapeReport> shapes = statistics.shapes();
+        assertEquals(1, shapes.size());
+        SqlStatementStatistics.ShapeReport book = shapes.get(0);
+        assertEquals("select * from book where id in (...)", book.sql());
+        assertEquals(2, book.prepared());
+        assertEquals(2, book.executions());
+        assertEquals(2.0, book.maxMillis(), 0.001);
+        assertEquals(1L, book.latencyHistogram().get("<=100us"));
+        assertEquals(1L, book.latencyHistogram().get("<=5ms"));
+        assertTrue(statistics.slowStatements().isEmpty());
+    }
+
+    @Test
+    void testRowsAreAggregatedPerShape() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(100, 0, 100);
+
+        statistics.rowsProcessed("insert into cashflow (id, value) values (?, ?)", 24);
+        statistics.rowsProcessed("insert into cashflow (id, value) values (?, ?)", 12);
+        statistics.rowsProcessed("select * from book where id=?", 0);
+
+        List<SqlStatementStatistics.ShapeReport> shapes = statistics.shapes();
+        assertEquals(1, shapes.size());
+        assertEquals(36, shapes.get(0).rows());
+    }
+
+    @Test
+    void testExecutionIsOnlyAttributedToTheStatementPreparedBeforeIt() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(100, 0, 100);
+
+        statistics.statementPrepared("select * from book");
+        statistics.statementExecuted(1_000);
+        statistics.statementExecuted(1_000);
+
+        assertEquals(List.of(SqlStatementStatistics.OTHER_SHAPE, "select * from book"),
+                statistics.shapes().stream().map(SqlStatementStatistics.ShapeReport::sql).sorted().toList());
+        assertTrue(statistics.shapes().stream().allMatch(shape -> shape.executions() == 1));
+    }
+
+    @Test
+    void testSlowStatementsAreSampledAndBounded() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(10, 2, 100);
+
+        for (int i = 0; i < 3; i++) {
+            statistics.statementPrepared("insert into cashflow (id, value) values (?, ?)");
+            statistics.statementExecuted(TimeUnit.MILLISECONDS.toNanos(20 + i));
+        }
+        statistics.statementPrepared("select 1");
+        statistics.statementExecuted(TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<SqlStatementStatistics.SlowStatement> slow = statistics.slowStatements();
+        assertEquals(2, slow.size());
+        assertEquals(22.0, slow.get(0).millis(), 0.001);
+        assertEquals("insert into cashflow (id, value) values (?, ?)", slow.get(0).sql());
+    }
+
+    @Test
+    void testShapesBeyondLimitAreGroupedAsOther() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(100, 0, 1);
+
+        statistics.statementPrepared("select * from book");
+        statistics.statementPrepared("select * from counterparty");
+
+        assertEquals(List.of(SqlStatementStatistics.OTHER_SHAPE, "select * from book"),
+                statistics.shapes().stream().map(SqlStatementStatistics.ShapeReport::sql).sorted().toList());
+    }
+
+    @Test
+    void testResetClearsEverything() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(0, 5, 100);
+        statistics.statementPrepared("select * from book");
+        statistics.statementExecuted(1_000);
+
+        statistics.reset();
+
+        assertTrue(statistics.shapes().isEmpty());
+        assertTrue(statistics.slowStatements().isEmpty());
+    }
+}
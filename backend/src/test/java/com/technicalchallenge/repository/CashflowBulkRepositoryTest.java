@@ -0,0 +1,91 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.TradeLeg;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+class CashflowBulkRepositoryTest {
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void insertAllPersistsEveryRowAndStampsOneTimestamp() {
+        // Given - a 30 year monthly leg, one row already carrying its own created date
+        LocalDateTime batchTime = LocalDateTime.of(2025, 6, 1, 9, 30);
+        LocalDateTime ownTime = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Cashflow> cashflows = new ArrayList<>();
+        for (int i = 1; i <= 360; i++) {
+            Cashflow cashflow = new Cashflow();
+            cashflow.setValueDate(LocalDate.of(2025, 1, 17).plusMonths(i));
+            cashflow.setPaymentValue(BigDecimal.valueOf(4166.67));
+            cashflows.add(cashflow);
+        }
+        cashflows.get(0).setCreatedDate(ownTime);
+
+        // When
+        cashflowRepository.insertAll(cashflows, batchTime);
+
+        // Then
+        assertEquals(360, cashflowRepository.count());
+        assertTrue(cashflows.stream().allMatch(c -> c.getId() != null));
+        assertEquals(ownTime, cashflows.get(0).getCreatedDate());
+        assertTrue(cashflows.stream().skip(1).allMatch(c -> batchTime.equals(c.getCreatedDate())));
+    }
+
+    @Test
+    void insertAllWithNoRowsDoesNothing() {
+        cashflowRepository.insertAll(List.of(), LocalDateTime.now());
+
+        assertEquals(0, cashflowRepository.count());
+    }
+
+    @Test
+    void copyCashflowsLeavesTheSourceLegsRowsInPlace() {
+        // Given - a superseded leg with two cashflows and its amended copy
+        TradeLeg previous = entityManager.persist(new TradeLeg());
+        TradeLeg amended = entityManager.persist(new TradeLeg());
+        for (int i = 1; i <= 2; i++) {
+            Cashflow cashflow = new Cashflow();
+            cashflow.setTradeLeg(previous);
+            cashflow.setValueDate(LocalDate.of(2025, 1, 17).plusMonths(3L * i));
+            cashflow.setPaymentValue(BigDecimal.valueOf(12500));
+            cashflow.setRate(0.05);
+            entityManager.persist(cashflow);
+        }
+
+        // When
+        assertEquals(2, cashflowRepository.copyCashflows(previous, amended));
+
+        // Then
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2026, 1, 1);
+        List<Cashflow> previousRows = cashflowRepository.findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(
+                previous.getLegId(), from, to);
+        List<Cashflow> amendedRows = cashflowRepository.findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(
+                amended.getLegId(), from, to);
+        assertEquals(2, previousRows.size());
+        assertEquals(2, amendedRows.size());
+        assertEquals(LocalDate.of(2025, 4, 17), amendedRows.get(0).getValueDate());
+        assertEquals(0, BigDecimal.valueOf(12500).compareTo(amendedRows.get(1).getPaymentValue()));
+        assertTrue(amendedRows.stream().noneMatch(c -> previousRows.stream().anyMatch(p -> p.getId().equals(c.getId()))));
+    }
+}
@@ -0,0 +1,69 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeCurrent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+class TradeCurrentRepositoryTest {
+
+    @Autowired
+    private TradeCurrentRepository tradeCurrentRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void refreshBookNameRewritesOnlyRowsOfTheRenamedBookWithAStaleName() {
+        // Given - the book was renamed after the rows were projected
+        execute("INSERT INTO book (id, book_name, active, version) VALUES (1000, 'FX-BOOK-RENAMED', true, 2)");
+        execute("INSERT INTO book (id, book_name, active, version) VALUES (1001, 'RATES-BOOK-1', true, 1)");
+        persist(100001L, 1000L, "FX-BOOK-1", null, null);
+        persist(100002L, 1000L, "FX-BOOK-1", null, null);
+        persist(100003L, 1001L, "RATES-BOOK-1", null, null);
+
+        // When
+        int refreshed = tradeCurrentRepository.refreshBookName(1000L);
+
+        // Then
+        assertEquals(2, refreshed);
+        entityManager.clear();
+        assertEquals("FX-BOOK-RENAMED", tradeCurrentRepository.findById(100001L).orElseThrow().getBookName());
+        assertEquals("FX-BOOK-RENAMED", tradeCurrentRepository.findById(100002L).orElseThrow().getBookName());
+        assertEquals("RATES-BOOK-1", tradeCurrentRepository.findById(100003L).orElseThrow().getBookName());
+        assertEquals(0, tradeCurrentRepository.refreshBookName(1000L));
+    }
+
+    @Test
+    void refreshTraderUserNameJoinsFirstAndLastName() {
+        execute("INSERT INTO application_user (id, first_name, last_name, login_id, active, version) "
+                + "VALUES (1000, 'Alice', 'Jones', 'alice', true, 2)");
+        persist(100001L, null, null, 1000L, "Alice Smith");
+
+        assertEquals(1, tradeCurrentRepository.refreshTraderUserName(1000L));
+
+        entityManager.clear();
+        assertEquals("Alice Jones", tradeCurrentRepository.findById(100001L).orElseThrow().getTraderUserName());
+    }
+
+    // Reference rows are inserted directly so no entity listener runs
+    private void execute(String sql) {
+        entityManager.getEntityManager().createNativeQuery(sql).executeUpdate();
+    }
+
+    private void persist(Long tradeId, Long bookId, String bookName, Long traderUserId, String traderUserName) {
+        TradeCurrent current = new TradeCurrent(tradeId);
+        current.setBookId(bookId);
+        current.setBookName(bookName);
+        current.setTraderUserId(traderUserId);
+        current.setTraderUserName(traderUserName);
+        entityManager.persistAndFlush(current);
+    }
+}
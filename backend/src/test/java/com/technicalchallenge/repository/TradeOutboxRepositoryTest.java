@@ -0,0 +1,70 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.model.TradeOutboxEntry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false"
+})
+class TradeOutboxRepositoryTest {
+
+    @Autowired
+    private TradeOutboxRepository tradeOutboxRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void claimTakesPendingEntryOnceAndBumpsVersion() {
+        TradeOutboxEntry entry = persist(TradeOutboxEntry.Status.PENDING, 0, null);
+        Long version = entry.getVersion();
+        LocalDateTime now = LocalDateTime.of(2025, 6, 1, 9, 30);
+
+        assertEquals(1, tradeOutboxRepository.claim(entry.getId(), now));
+        assertEquals(0, tradeOutboxRepository.claim(entry.getId(), now));
+
+        TradeOutboxEntry claimed = reload(entry);
+        assertEquals(TradeOutboxEntry.Status.PROCESSING, claimed.getStatus());
+        assertEquals(1, claimed.getAttempts());
+        assertEquals(now, claimed.getClaimedDate());
+        assertEquals(version + 1, claimed.getVersion());
+    }
+
+    @Test
+    void releaseExpiredClaimsRetriesOrFailsOnlyExpiredEntries() {
+        LocalDateTime cutoff = LocalDateTime.of(2025, 6, 1, 9, 0);
+        TradeOutboxEntry retry = persist(TradeOutboxEntry.Status.PROCESSING, 1, cutoff.minusMinutes(10));
+        TradeOutboxEntry exhausted = persist(TradeOutboxEntry.Status.PROCESSING, 3, cutoff.minusMinutes(10));
+        TradeOutboxEntry running = persist(TradeOutboxEntry.Status.PROCESSING, 1, cutoff.plusMinutes(1));
+
+        assertEquals(2, tradeOutboxRepository.releaseExpiredClaims(cutoff, 3));
+
+        assertEquals(TradeOutboxEntry.Status.PENDING, reload(retry).getStatus());
+        assertEquals(TradeOutboxEntry.Status.FAILED, reload(exhausted).getStatus());
+        assertNotNull(reload(exhausted).getLastError());
+        assertEquals(TradeOutboxEntry.Status.PROCESSING, reload(running).getStatus());
+    }
+
+    private TradeOutboxEntry persist(TradeOutboxEntry.Status status, int attempts, LocalDateTime claimedDate) {
+        TradeOutboxEntry entry = new TradeOutboxEntry();
+        entry.setTradeId(10001L);
+        entry.setTradeRowId(5L);
+        entry.setStatus(status);
+        entry.setAttempts(attempts);
+        entry.setClaimedDate(claimedDate);
+        return entityManager.persistFlushFind(entry);
+    }
+
+    private TradeOutboxEntry reload(TradeOutboxEntry entry) {
+        entityManager.clear();
+        return entityManager.find(TradeOutboxEntry.class, entry.getId());
+    }
+}
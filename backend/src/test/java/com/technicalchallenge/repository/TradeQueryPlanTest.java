@@ -0,0 +1,207 @@
+package com.technicalchallenge.repository;
+
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeFilterRequestDTO;
+import com.technicalchallenge.specification.TradeSpecification;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Guards the schema indexes declared on the trade entities: each test runs a trade read path
+ * (a repository method or a {@link TradeSpecification}), captures the SQL Hibernate renders
+ * for it and checks that its H2 plan names the index that path relies on. A dropped or renamed
+ * index, or a predicate that stops being sargable (e.g. wrapping a column in LOWER()), shows
+ * up here as a table scan.
+ *
+ * <p>The rows are seeded once for the class, outside the per-test transactions: H2's
+ * {@code ANALYZE} commits, so the seed cannot be rolled back and is deleted after the last
+ * test instead.</p>
+ */
+@DataJpaTest(properties = {
+        "spring.sql.init.mode=never",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.technicalchallenge.repository.TradeQueryPlanTest$CapturedSql"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TradeQueryPlanTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TradeRepository tradeRepository;
+
+    @Autowired
+    private CashflowRepository cashflowRepository;
+
+    @BeforeAll
+    void seed() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> insertRows());
+    }
+
+    @AfterAll
+    void clear() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            execute("DELETE FROM cashflow");
+            execute("DELETE FROM trade_leg");
+            execute("DELETE FROM trade");
+            execute("DELETE FROM application_user");
+            execute("DELETE FROM trade_status");
+        });
+    }
+
+    private void insertRows() {
+        execute("INSERT INTO trade_status (id, trade_status, normalized_name) VALUES "
+                + "(1, 'NEW', 'new'), (2, 'AMENDED', 'amended'), (3, 'LIVE', 'live'), (4, 'CANCELLED', 'cancelled')");
+        execute("INSERT INTO application_user (id, first_name, last_name, login_id, normalized_login_id, "
+                + "normalized_full_name, active, version) "
+                + "SELECT X, 'First' || X, 'Last' || X, 'user' || X, 'user' || X, 'first' || X || ' last' || X, TRUE, 1 "
+                + "FROM SYSTEM_RANGE(1, 50)");
+        execute("INSERT INTO trade (id, trade_id, version, active, trade_date, trade_status_id, trader_user_id) "
+                + "SELECT X, 100000 + X / 2, 1, MOD(X, 2) = 0, DATEADD('DAY', MOD(X, 365), DATE '2024-01-01'), "
+                + "MOD(X, 4) + 1, MOD(X, 50) + 1 FROM SYSTEM_RANGE(1, 2000)");
+        execute("INSERT INTO trade_leg (leg_id, trade_id, active) "
+                + "SELECT X, (X + 1) / 2, TRUE FROM SYSTEM_RANGE(1, 4000)");
+        execute("INSERT INTO cashflow (id, leg_id, value_date, active) "
+                + "SELECT X, MOD(X, 4000) + 1, DATEADD('MONTH', MOD(X, 24), DATE '2024-01-01'), TRUE "
+                + "FROM SYSTEM_RANGE(1, 20000)");
+        execute("ANALYZE");
+    }
+
+    @Test
+    void liveVersionLookupUsesTradeIdActiveIndex() {
+        String sql = capture("from trade ", () -> tradeRepository.findByTradeIdAndActiveTrue(100500L));
+
+        assertUsesIndex("idx_trade_trade_id_active", sql);
+    }
+
+    @Test
+    void tradeDateRangeUsesKeysetIndex() {
+        SearchParametersDTO params = SearchParametersDTO.builder()
+                .fromDate(LocalDate.of(2024, 3, 1))
+                .toDate(LocalDate.of(2024, 3, 7))
+                .build();
+
+        String sql = capture("from trade ", () -> tradeRepository.findSortKeys(
+                TradeSpecification.searchCriteria(params), null, 20));
+
+        assertUsesIndex("idx_trade_keyset", sql);
+    }
+
+    @Test
+    void statusSearchUsesNormalizedNameAndForeignKeyIndexes() {
+        SearchParametersDTO params = SearchParametersDTO.builder().status("Live").build();
+
+        String sql = capture("from trade ", () -> tradeRepository.findIds(
+                TradeSpecification.searchCriteria(params), PageRequest.of(0, 20)));
+
+        String plan = assertUsesIndex("idx_trade_trade_status_id", sql);
+        assertContainsIndex(plan, "idx_trade_status_normalized_name");
+    }
+
+    @Test
+    void traderRestrictionUsesNormalizedLoginIdAndForeignKeyIndexes() {
+        String sql = capture("from trade ", () -> tradeRepository.findIds(
+                TradeSpecification.filterTrades(new TradeFilterRequestDTO(), "User7"), PageRequest.of(0, 20)));
+
+        String plan = assertUsesIndex("idx_trade_trader_user_id", sql);
+        assertContainsIndex(plan, "idx_application_user_normalized_login_id");
+    }
+
+    @Test
+    void legsOfTradesUseTradeIdIndex() {
+        String sql = capture("trade_leg", () -> tradeRepository.findWithLegsByIdIn(List.of(10L, 11L, 12L)));
+
+        assertUsesIndex("idx_trade_leg_trade_id", sql);
+    }
+
+    @Test
+    void cashflowsOfLegUseLegIdValueDateIndex() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+
+        String sql = capture("from cashflow ", () -> cashflowRepository
+                .findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(42L, from, to));
+
+        assertUsesIndex("idx_cashflow_leg_id_value_date", sql);
+    }
+
+    /**
+     * Runs a read path and returns the first statement it sent that contains {@code fragment}.
+     */
+    private static String capture(String fragment, Runnable readPath) {
+        CapturedSql.STATEMENTS.clear();
+        readPath.run();
+        return CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains(fragment))
+                .findFirst()
+                .orElseGet(() -> fail("No statement containing '" + fragment + "' in " + CapturedSql.STATEMENTS));
+    }
+
+    private String assertUsesIndex(String index, String sql) {
+        String plan = explain(sql);
+        assertContainsIndex(plan, index);
+        return plan;
+    }
+
+    // H2 picks the plan when the statement is prepared, so the values bound do not change it
+    private String explain(String sql) {
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 1; i <= explain.getParameterMetaData().getParameterCount(); i++) {
+                    explain.setObject(i, null);
+                }
+                try (ResultSet plan = explain.executeQuery()) {
+                    plan.next();
+                    return plan.getString(1);
+                }
+            }
+        });
+    }
+
+    private static void assertContainsIndex(String plan, String index) {
+        assertTrue(plan.toLowerCase().contains(index), () -> "Expected plan to use " + index + " but was:\n" + plan);
+    }
+
+    private void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+
+    /**
+     * Records every statement Hibernate prepares, so the plans checked are those of the SQL the
+     * read paths actually run.
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
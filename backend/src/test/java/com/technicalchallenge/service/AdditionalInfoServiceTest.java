@@ -0,0 +1,58 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.mapper.AdditionalInfoMapper;
+import com.technicalchallenge.model.AdditionalInfo;
+import com.technicalchallenge.repository.AdditionalInfoRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdditionalInfoServiceTest {
+
+    @Mock private AdditionalInfoRepository additionalInfoRepository;
+    @Mock private AdditionalInfoMapper additionalInfoMapper;
+
+    @InjectMocks private AdditionalInfoService additionalInfoService;
+
+    @Test
+    void testAddTradeFields_StoresEachFieldAgainstTheTrade() {
+        // Given
+        AdditionalInfoDTO untyped = new AdditionalInfoDTO();
+        untyped.setFieldName("settlementInstructions");
+        untyped.setFieldValue("SSI-1");
+        AdditionalInfoDTO typed = new AdditionalInfoDTO();
+        typed.setFieldName("clearingDate");
+        typed.setFieldType("DATE");
+        when(additionalInfoMapper.toEntity(any(AdditionalInfoDTO.class))).thenAnswer(invocation -> new AdditionalInfo());
+        when(additionalInfoRepository.save(any(AdditionalInfo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        additionalInfoService.addTradeFields(10001L, List.of(untyped, typed));
+
+        // Then
+        ArgumentCaptor<AdditionalInfoDTO> fields = ArgumentCaptor.forClass(AdditionalInfoDTO.class);
+        verify(additionalInfoMapper, times(2)).toEntity(fields.capture());
+        assertTrue(fields.getAllValues().stream().allMatch(f -> "TRADE".equals(f.getEntityType())
+                && Long.valueOf(10001L).equals(f.getEntityId())));
+        assertEquals("STRING", untyped.getFieldType());
+        assertEquals("DATE", typed.getFieldType());
+    }
+
+    @Test
+    void testAddTradeFields_NoFieldsWritesNothing() {
+        additionalInfoService.addTradeFields(10001L, null);
+
+        verifyNoInteractions(additionalInfoRepository, additionalInfoMapper);
+    }
+}
@@ -0,0 +1,136 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.exception.LoginThrottledException;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthorizationServiceTest {
+
+    // Low costs keep the test fast; the service only compares costs, it does not care how high they are
+    private static final int COST = 5;
+
+    @Mock private ApplicationUserRepository applicationUserRepository;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder(COST);
+    private AuthorizationService service;
+    private ApplicationUser simon;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuthorizationService(applicationUserRepository, passwordEncoder, new SimpleMeterRegistry(), COST, 2, 8);
+        simon = new ApplicationUser();
+        simon.setId(1003L);
+        simon.setLoginId("simon");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void testAuthenticateUser_VerifiesAgainstBcryptHash() throws Exception {
+        simon.setPassword(passwordEncoder.encode("password"));
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+
+        assertTrue(service.authenticateUser("simon", "password").get(5, TimeUnit.SECONDS));
+        assertFalse(service.authenticateUser("simon", "wrong").get(5, TimeUnit.SECONDS));
+        verify(applicationUserRepository, never()).updatePassword(any(), any(), any());
+    }
+
+    @Test
+    void testAuthenticateUser_ReadsTheStoredHashOnEveryLogin() throws Exception {
+        // Given - the password is changed between two logins
+        ApplicationUser changed = new ApplicationUser();
+        changed.setId(1003L);
+        changed.setLoginId("simon");
+        changed.setPassword(passwordEncoder.encode("new-password"));
+        simon.setPassword(passwordEncoder.encode("password"));
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon), Optional.of(changed));
+
+        // When / Then
+        assertTrue(service.authenticateUser("simon", "password").get(5, TimeUnit.SECONDS));
+        assertFalse(service.authenticateUser("simon", "password").get(5, TimeUnit.SECONDS));
+        verify(applicationUserRepository, times(2)).findByLoginId("simon");
+    }
+
+    @Test
+    void testAuthenticateUser_UnknownUserFails() throws Exception {
+        when(applicationUserRepository.findByLoginId("nobody")).thenReturn(Optional.empty());
+
+        assertFalse(service.authenticateUser("nobody", "password").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testAuthenticateUser_HashesPlainTextPasswordOnFirstLogin() throws Exception {
+        // Given - seeded users start with plain text passwords
+        simon.setPassword("password");
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+        when(applicationUserRepository.updatePassword(eq(1003L), eq("password"), anyString())).thenReturn(1);
+
+        // When
+        assertTrue(service.authenticateUser("simon", "password").get(5, TimeUnit.SECONDS));
+
+        // Then
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(applicationUserRepository).updatePassword(eq(1003L), eq("password"), hash.capture());
+        assertEquals(COST, PasswordHashes.cost(hash.getValue()));
+        assertTrue(passwordEncoder.matches("password", hash.getValue()));
+    }
+
+    @Test
+    void testAuthenticateUser_RehashesWhenCostChanged() throws Exception {
+        String oldHash = new BCryptPasswordEncoder(4).encode("password");
+        simon.setPassword(oldHash);
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+        when(applicationUserRepository.updatePassword(eq(1003L), eq(oldHash), anyString())).thenReturn(1);
+
+        assertTrue(service.authenticateUser("simon", "password").get(5, TimeUnit.SECONDS));
+
+        ArgumentCaptor<String> hash = ArgumentCaptor.forClass(String.class);
+        verify(applicationUserRepository).updatePassword(eq(1003L), eq(oldHash), hash.capture());
+        assertEquals(COST, PasswordHashes.cost(hash.getValue()));
+    }
+
+    @Test
+    void testAuthenticateUser_RejectsWhenVerifierQueueIsFull() throws Exception {
+        // Given - one verifier thread, blocked, and a queue of one
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blocking = mock(PasswordEncoder.class);
+        when(blocking.encode(anyString())).thenReturn("unused");
+        when(blocking.matches(anyString(), anyString())).thenAnswer(invocation -> release.await(5, TimeUnit.SECONDS));
+        service.shutdown();
+        service = new AuthorizationService(applicationUserRepository, blocking, new SimpleMeterRegistry(), COST, 1, 1);
+        simon.setPassword(passwordEncoder.encode("password"));
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+
+        CompletableFuture<Boolean> running = service.authenticateUser("simon", "password");
+        CompletableFuture<Boolean> queued = service.authenticateUser("simon", "password");
+
+        // When / Then
+        assertThrows(LoginThrottledException.class, () -> service.authenticateUser("simon", "password"));
+        release.countDown();
+        assertTrue(running.get(5, TimeUnit.SECONDS));
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,101 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.service.CashflowAmountKernel.DayCount;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CashflowAmountKernelTest {
+
+    @Test
+    void testAmount_MatchesBigDecimalToTheCent() {
+        // Given - random notionals up to 100bn, rates between -50% and 150%, periods up to 30 years
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long notional = (long) (random.nextDouble() * 1e13) * (random.nextBoolean() ? 1 : -1);
+            long rate = random.nextLong(20_000_000_000L) - 5_000_000_000L;
+            long days = random.nextInt(11_000);
+            int basis = random.nextBoolean() ? 360 : 365;
+
+            // When
+            long amount = CashflowAmountKernel.amount(notional, rate, days, basis);
+
+            // Then
+            BigDecimal expected = BigDecimal.valueOf(notional)
+                    .multiply(BigDecimal.valueOf(rate))
+                    .multiply(BigDecimal.valueOf(days))
+                    .divide(BigDecimal.valueOf(basis).multiply(BigDecimal.valueOf(CashflowAmountKernel.RATE_SCALE)),
+                            0, RoundingMode.HALF_UP);
+            assertEquals(expected.longValueExact(), amount, () -> notional + " x " + rate + " x " + days + "/" + basis);
+        }
+    }
+
+    @Test
+    void testAmount_RoundsHalfUp() {
+        // 1,000,000.00 at 5% for 31 days ACT/360 = 4305.5555...
+        assertEquals(430556, CashflowAmountKernel.amount(100_000_000L, 500_000_000L, 31, 360));
+        // 100.00 at 1% for 9 days ACT/360 = 0.025, a tie that rounds away from zero
+        assertEquals(3, CashflowAmountKernel.amount(10_000L, 100_000_000L, 9, 360));
+        assertEquals(-3, CashflowAmountKernel.amount(-10_000L, 100_000_000L, 9, 360));
+    }
+
+    @Test
+    void testAmount_Overflow() {
+        assertThrows(ArithmeticException.class,
+                () -> CashflowAmountKernel.amount(Long.MAX_VALUE, CashflowAmountKernel.RATE_SCALE, 720, 360));
+    }
+
+    @Test
+    void testDayCountNumerator() {
+        assertEquals(31, numerator(DayCount.ACT_360, "2025-01-31", "2025-03-03"));
+        assertEquals(31, numerator(DayCount.ACT_365, "2025-01-31", "2025-03-03"));
+        // 30/360: start on the 31st counts as the 30th
+        assertEquals(33, numerator(DayCount.THIRTY_360, "2025-01-31", "2025-03-03"));
+        // End on the 31st stays when the start is before the 30th ...
+        assertEquals(76, numerator(DayCount.THIRTY_360, "2025-01-15", "2025-03-31"));
+        assertEquals(46, numerator(DayCount.THIRTY_360, "2025-01-15", "2025-03-01"));
+        // ... and becomes the 30th when the start is on the 30th or 31st
+        assertEquals(60, numerator(DayCount.THIRTY_360, "2025-03-30", "2025-05-31"));
+        assertEquals(30, numerator(DayCount.THIRTY_360, "2025-03-30", "2025-04-30"));
+        assertEquals(60, numerator(DayCount.THIRTY_360, "2025-05-31", "2025-07-31"));
+        assertEquals(10_800, numerator(DayCount.THIRTY_360, "2025-01-17", "2055-01-17"));
+        assertEquals(-30, numerator(DayCount.THIRTY_360, "1969-12-01", "1969-11-01"));
+    }
+
+    @Test
+    void testAmounts_OverPeriodBoundaries() {
+        // Given - three quarterly periods from 2025-01-15 (90, 91, 92 days)
+        long start = LocalDate.of(2025, 1, 15).toEpochDay();
+        long[] ends = {
+                LocalDate.of(2025, 4, 15).toEpochDay(),
+                LocalDate.of(2025, 7, 15).toEpochDay(),
+                LocalDate.of(2025, 10, 15).toEpochDay()
+        };
+        long[] out = new long[3];
+
+        // When - 10,000,000.00 at 3.5%
+        CashflowAmountKernel.amounts(1_000_000_000L, CashflowAmountKernel.toRateUnits(0.035), DayCount.ACT_365,
+                start, ends, 0, 3, out);
+
+        // Then
+        assertArrayEquals(new long[]{8_630_137L, 8_726_027L, 8_821_918L}, out);
+    }
+
+    @Test
+    void testUnitConversions() {
+        assertEquals(350_000_000L, CashflowAmountKernel.toRateUnits(0.035));
+        assertEquals(0L, CashflowAmountKernel.toRateUnits(null));
+        assertEquals(100_000_001L, CashflowAmountKernel.toMinorUnits(new BigDecimal("1000000.005")));
+        assertEquals(0L, CashflowAmountKernel.toMinorUnits(null));
+    }
+
+    private static long numerator(DayCount dayCount, String start, String end) {
+        return CashflowAmountKernel.dayCountNumerator(dayCount,
+                LocalDate.parse(start).toEpochDay(), LocalDate.parse(end).toEpochDay());
+    }
+}
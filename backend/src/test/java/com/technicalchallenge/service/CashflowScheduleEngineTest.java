@@ -0,0 +1,112 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.service.CashflowScheduleEngine.LegTerms;
+import com.technicalchallenge.service.CashflowScheduleEngine.Schedules;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CashflowScheduleEngineTest {
+
+    private final CashflowScheduleEngine engine = new CashflowScheduleEngine();
+
+    @Test
+    void testGenerate_MonthlyFixedLeg_OnGrid() {
+        // Given
+        LegTerms leg = new LegTerms(BigDecimal.valueOf(1_000_000), 0.05, true, 1,
+                LocalDate.of(2025, 1, 17), LocalDate.of(2026, 1, 17));
+
+        // When
+        Schedules schedules = engine.generate(List.of(leg));
+
+        // Then
+        assertEquals(12, schedules.size());
+        assertEquals(LocalDate.of(2025, 2, 17), schedules.valueDate(0));
+        assertEquals(LocalDate.of(2026, 1, 17), schedules.valueDate(11));
+        // 31 days ACT/360
+        assertEquals(new BigDecimal("4305.56"), schedules.amount(0));
+    }
+
+    @Test
+    void testGenerate_OffGridMaturity_EndsWithStub() {
+        // Given
+        LegTerms leg = new LegTerms(BigDecimal.valueOf(1_000_000), 0.05, true, 3,
+                LocalDate.of(2025, 1, 15), LocalDate.of(2025, 8, 1));
+
+        // When
+        Schedules schedules = engine.generate(List.of(leg));
+
+        // Then
+        assertEquals(3, schedules.size());
+        assertEquals(LocalDate.of(2025, 7, 15), schedules.valueDate(1));
+        assertEquals(LocalDate.of(2025, 8, 1), schedules.valueDate(2));
+        // 17 day stub
+        assertEquals(new BigDecimal("2361.11"), schedules.amount(2));
+    }
+
+    @Test
+    void testGenerate_MonthEndStart_DoesNotDrift() {
+        LegTerms leg = new LegTerms(BigDecimal.ONE, 0.0, true, 1,
+                LocalDate.of(2025, 1, 31), LocalDate.of(2025, 4, 30));
+
+        Schedules schedules = engine.generate(List.of(leg));
+
+        assertEquals(3, schedules.size());
+        assertEquals(LocalDate.of(2025, 2, 28), schedules.valueDate(0));
+        assertEquals(LocalDate.of(2025, 3, 31), schedules.valueDate(1));
+        assertEquals(LocalDate.of(2025, 4, 30), schedules.valueDate(2));
+    }
+
+    @Test
+    void testGenerate_FloatingLeg_HasZeroAmounts() {
+        LegTerms leg = new LegTerms(BigDecimal.valueOf(1_000_000), null, false, 6,
+                LocalDate.of(2025, 1, 17), LocalDate.of(2027, 1, 17));
+
+        Schedules schedules = engine.generate(List.of(leg));
+
+        assertEquals(4, schedules.size());
+        for (int i = 0; i < schedules.size(); i++) {
+            assertEquals(0, schedules.amount(i).signum());
+        }
+    }
+
+    @Test
+    void testGenerate_LargeBatch_MatchesLegByLeg() {
+        // Given - enough legs to take the parallel path, with mixed tenors and schedules
+        List<LegTerms> legs = new ArrayList<>();
+        for (int i = 0; i < CashflowScheduleEngine.PARALLEL_THRESHOLD * 3; i++) {
+            legs.add(new LegTerms(BigDecimal.valueOf(1_000_000 + i), 0.01 + i / 10_000.0, i % 2 == 0,
+                    new int[]{1, 3, 6, 12}[i % 4], LocalDate.of(2025, 1, 1).plusDays(i),
+                    LocalDate.of(2030, 6, 30).plusDays(i * 7L)));
+        }
+
+        // When
+        Schedules batch = engine.generate(legs);
+
+        // Then
+        assertEquals(legs.size(), batch.legCount());
+        for (int i = 0; i < legs.size(); i++) {
+            Schedules single = engine.generate(List.of(legs.get(i)));
+            assertEquals(single.size(), batch.end(i) - batch.start(i));
+            for (int p = 0; p < single.size(); p++) {
+                assertEquals(single.valueDate(p), batch.valueDate(batch.start(i) + p));
+                assertEquals(single.amount(p), batch.amount(batch.start(i) + p));
+            }
+        }
+    }
+
+    @Test
+    void testParseSchedule() {
+        assertEquals(1, CashflowScheduleEngine.parseSchedule("Monthly"));
+        assertEquals(3, CashflowScheduleEngine.parseSchedule(null));
+        assertEquals(6, CashflowScheduleEngine.parseSchedule("Semi-annually"));
+        assertEquals(12, CashflowScheduleEngine.parseSchedule("12M"));
+        assertThrows(IllegalArgumentException.class, () -> CashflowScheduleEngine.parseSchedule("0M"));
+        assertThrows(IllegalArgumentException.class, () -> CashflowScheduleEngine.parseSchedule("Fortnightly"));
+    }
+}
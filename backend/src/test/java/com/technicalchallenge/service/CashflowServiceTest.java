@@ -1,17 +1,21 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.dto.CashflowDTO;
 import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegType;
 import com.technicalchallenge.model.PayRec;
 import com.technicalchallenge.model.TradeLeg;
 import com.technicalchallenge.repository.CashflowRepository;
 import com.technicalchallenge.repository.BusinessDayConventionRepository;
 import com.technicalchallenge.repository.LegTypeRepository;
 import com.technicalchallenge.repository.PayRecRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
@@ -38,6 +42,15 @@ public class CashflowServiceTest {
     @Mock
     private BusinessDayConventionRepository businessDayConventionRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private TradeLegRepository tradeLegRepository;
+
+    @Spy
+    private LegCashflowGenerator legCashflowGenerator = new LegCashflowGenerator(new CashflowScheduleEngine(), false, 100);
+
     @InjectMocks
     private CashflowService cashflowService;
 
@@ -177,6 +190,29 @@ public class CashflowServiceTest {
         verify(cashflowRepository, never()).save(any(Cashflow.class));
     }
 
+    @Test
+    void testPopulateReferenceDataByName_UsesNormalizedLookupsWithoutScanning() {
+        // Given
+        LegType fixed = new LegType();
+        fixed.setType("Fixed");
+        CashflowDTO dto = new CashflowDTO();
+        dto.setPayRec("pay");
+        dto.setPaymentType("FIXED");
+        when(referenceDataCache.payRecByName("pay")).thenReturn(Optional.of(payRec));
+        when(legTypeRepository.findFirstByNormalizedName("fixed")).thenReturn(Optional.of(fixed));
+
+        Cashflow cashflow = new Cashflow();
+
+        // When
+        cashflowService.populateReferenceDataByName(cashflow, dto);
+
+        // Then
+        assertEquals(payRec, cashflow.getPayRec());
+        assertEquals(fixed, cashflow.getPaymentType());
+        verify(payRecRepository, never()).findAll();
+        verify(legTypeRepository, never()).findAll();
+    }
+
     @Test
     void testDeleteCashflow() {
         // Given
@@ -189,4 +225,49 @@ public class CashflowServiceTest {
         // Then
         verify(cashflowRepository).deleteById(cashflowId);
     }
+
+    @Test
+    void testGetCashflowsForLeg_StoredCashflows() {
+        // Given
+        tradeLeg.setCashflowsOnDemand(false);
+        LocalDate to = LocalDate.now().plusMonths(9);
+        when(tradeLegRepository.findById(1L)).thenReturn(Optional.of(tradeLeg));
+        when(cashflowRepository.findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(eq(1L), any(LocalDate.class), eq(to)))
+                .thenReturn(List.of(cashflow1));
+
+        // When
+        Optional<List<Cashflow>> result = cashflowService.getCashflowsForLeg(1L, null, to);
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(List.of(cashflow1), result.get());
+        verify(legCashflowGenerator, never()).generate(any(TradeLeg.class), any(), any());
+    }
+
+    @Test
+    void testGetCashflowsForLeg_OnDemandLeg_GeneratesWindow() {
+        // Given - a two year quarterly leg booked without cashflow rows
+        tradeLeg.setCashflowsOnDemand(true);
+        tradeLeg.setRate(0.05);
+        tradeLeg.setScheduleStartDate(LocalDate.of(2025, 1, 17));
+        tradeLeg.setScheduleEndDate(LocalDate.of(2027, 1, 17));
+        when(tradeLegRepository.findById(1L)).thenReturn(Optional.of(tradeLeg));
+
+        // When
+        Optional<List<Cashflow>> result = cashflowService.getCashflowsForLeg(1L,
+                LocalDate.of(2025, 6, 1), LocalDate.of(2025, 12, 31));
+
+        // Then
+        assertTrue(result.isPresent());
+        assertEquals(List.of(LocalDate.of(2025, 7, 17), LocalDate.of(2025, 10, 17)),
+                result.get().stream().map(Cashflow::getValueDate).toList());
+        verify(cashflowRepository, never()).findByTradeLegLegIdAndValueDateBetweenOrderByValueDate(any(), any(), any());
+    }
+
+    @Test
+    void testGetCashflowsForLeg_UnknownLeg() {
+        when(tradeLegRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertTrue(cashflowService.getCashflowsForLeg(99L, null, null).isEmpty());
+    }
 }
@@ -0,0 +1,135 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.UserProfile;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import com.technicalchallenge.repository.UserPrivilegeRepository;
+import com.technicalchallenge.service.EntitlementService.Entitlements;
+import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.ValidationResult;
+import com.technicalchallenge.validation.validator.PrivilegeValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EntitlementServiceTest {
+
+    @Mock private ApplicationUserRepository applicationUserRepository;
+    @Mock private UserPrivilegeRepository userPrivilegeRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private EntitlementService service;
+    private ApplicationUser ashley;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new EntitlementService(applicationUserRepository, userPrivilegeRepository, meterRegistry, 60_000);
+
+        UserProfile mo = new UserProfile();
+        mo.setUserType("MO");
+        ashley = new ApplicationUser();
+        ashley.setId(1004L);
+        ashley.setLoginId("ashley");
+        ashley.setUserProfile(mo);
+    }
+
+    @Test
+    void testEntitlementsOf_CombinesProfileDefaultsAndGrantedPrivileges() {
+        // Given
+        when(applicationUserRepository.findById(1004L)).thenReturn(Optional.of(ashley));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1004L))
+                .thenReturn(List.of("READ_STATIC_DATA", "NOT_A_PRIVILEGE"));
+
+        // When
+        Entitlements entitlements = service.entitlementsOf(1004L);
+
+        // Then
+        assertTrue(entitlements.has(Entitlement.AMEND_TRADE));
+        assertTrue(entitlements.has(Entitlement.READ_TRADE));
+        assertTrue(entitlements.has(Entitlement.READ_STATIC_DATA));
+        assertFalse(entitlements.has(Entitlement.BOOK_TRADE));
+        assertEquals(Entitlement.AMEND_TRADE.bit() | Entitlement.READ_TRADE.bit()
+                | Entitlement.READ_STATIC_DATA.bit(), entitlements.bits());
+    }
+
+    @Test
+    void testIsEntitled_LoadsOnceThenServesFromCache() {
+        when(applicationUserRepository.findById(1004L)).thenReturn(Optional.of(ashley));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1004L)).thenReturn(List.of());
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(service.isEntitled(1004L, Entitlement.AMEND_TRADE));
+        }
+
+        verify(applicationUserRepository, times(1)).findById(1004L);
+        verify(userPrivilegeRepository, times(1)).findPrivilegeNamesByUserId(1004L);
+        assertEquals(4.0, meterRegistry.get("entitlement.cache.lookups").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("entitlement.cache.lookups").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testEvict_ReloadsChangedPrivileges() {
+        when(applicationUserRepository.findById(1004L)).thenReturn(Optional.of(ashley));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1004L))
+                .thenReturn(List.of())
+                .thenReturn(List.of("BOOK_TRADE"));
+        assertFalse(service.isEntitled(1004L, Entitlement.BOOK_TRADE));
+
+        service.evict(1004L);
+
+        assertTrue(service.isEntitled(1004L, Entitlement.BOOK_TRADE));
+    }
+
+    @Test
+    void testEntitlementsOf_ReloadsAfterTtl() {
+        service = new EntitlementService(applicationUserRepository, userPrivilegeRepository, meterRegistry, 0);
+        when(applicationUserRepository.findById(1004L)).thenReturn(Optional.of(ashley));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1004L)).thenReturn(List.of());
+
+        service.entitlementsOf(1004L);
+        service.entitlementsOf(1004L);
+
+        verify(userPrivilegeRepository, times(2)).findPrivilegeNamesByUserId(1004L);
+    }
+
+    @Test
+    void testEntitlementsOf_UnknownUserHasNone() {
+        when(applicationUserRepository.findById(99L)).thenReturn(Optional.empty());
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(99L)).thenReturn(List.of());
+
+        assertEquals(Entitlements.NONE, service.entitlementsOf(99L));
+        assertEquals(Entitlements.NONE, service.entitlementsOf(null));
+    }
+
+    @Test
+    void testPrivilegeValidator_RejectsBookingWithoutBookTrade() {
+        // Given - MO users may amend but not book
+        when(applicationUserRepository.findById(1004L)).thenReturn(Optional.of(ashley));
+        when(userPrivilegeRepository.findPrivilegeNamesByUserId(1004L)).thenReturn(List.of());
+        PrivilegeValidator validator = new PrivilegeValidator(service);
+
+        // When
+        ValidationResult create = new ValidationResult();
+        validator.validate(new ValidationContext(null, ashley, null, LocalDate.now(), TradeOperationType.CREATE), create);
+        ValidationResult amend = new ValidationResult();
+        validator.validate(new ValidationContext(null, ashley, null, LocalDate.now(), TradeOperationType.AMEND), amend);
+
+        // Then
+        assertEquals(List.of("User 'ashley' does not have the BOOK_TRADE privilege required to create trades."),
+                create.getErrors());
+        assertFalse(amend.hasErrors());
+    }
+}
@@ -0,0 +1,84 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.LegType;
+import com.technicalchallenge.model.Schedule;
+import com.technicalchallenge.model.TradeLeg;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LegCashflowGeneratorTest {
+
+    private final LegCashflowGenerator generator = new LegCashflowGenerator(new CashflowScheduleEngine(), true, 2);
+
+    @Test
+    void testGenerateOnRead_MatchesBookingGeneration() {
+        // Given
+        TradeLeg leg = leg(1L, LocalDate.of(2025, 1, 17), LocalDate.of(2055, 1, 17));
+
+        // When
+        List<Cashflow> booked = generator.generate(List.of(leg));
+        List<Cashflow> onRead = generator.generate(leg, null, null);
+
+        // Then
+        assertEquals(360, onRead.size());
+        assertEquals(booked.size(), onRead.size());
+        for (int i = 0; i < booked.size(); i++) {
+            assertEquals(booked.get(i).getValueDate(), onRead.get(i).getValueDate());
+            assertEquals(booked.get(i).getPaymentValue(), onRead.get(i).getPaymentValue());
+            assertEquals(booked.get(i).getRate(), onRead.get(i).getRate());
+        }
+        assertEquals(leg.getCreatedDate(), onRead.get(0).getCreatedDate());
+    }
+
+    @Test
+    void testGenerateOnRead_FiltersToWindow() {
+        TradeLeg leg = leg(1L, LocalDate.of(2025, 1, 17), LocalDate.of(2026, 1, 17));
+
+        List<Cashflow> window = generator.generate(leg, LocalDate.of(2025, 3, 17), LocalDate.of(2025, 5, 16));
+
+        assertEquals(List.of(LocalDate.of(2025, 3, 17), LocalDate.of(2025, 4, 17)),
+                window.stream().map(Cashflow::getValueDate).toList());
+    }
+
+    @Test
+    void testGenerateOnRead_CacheIsBounded() {
+        for (int i = 0; i < 5; i++) {
+            generator.generate(leg((long) i, LocalDate.of(2025, 1, 17).plusDays(i), LocalDate.of(2030, 1, 17)), null, null);
+        }
+
+        assertEquals(2, generator.cachedSchedules());
+    }
+
+    @Test
+    void testGenerateOnRead_WithoutScheduleTerms_ReturnsNothing() {
+        TradeLeg leg = leg(1L, null, null);
+
+        assertTrue(generator.generate(leg, null, null).isEmpty());
+    }
+
+    private static TradeLeg leg(Long legId, LocalDate start, LocalDate end) {
+        LegType fixed = new LegType();
+        fixed.setType("Fixed");
+        Schedule monthly = new Schedule();
+        monthly.setSchedule("Monthly");
+
+        TradeLeg leg = new TradeLeg();
+        leg.setLegId(legId);
+        leg.setNotional(BigDecimal.valueOf(10_000_000));
+        leg.setRate(0.035);
+        leg.setLegRateType(fixed);
+        leg.setCalculationPeriodSchedule(monthly);
+        leg.setScheduleStartDate(start);
+        leg.setScheduleEndDate(end);
+        leg.setCashflowsOnDemand(true);
+        leg.setCreatedDate(LocalDateTime.of(2025, 1, 15, 12, 0));
+        return leg;
+    }
+}
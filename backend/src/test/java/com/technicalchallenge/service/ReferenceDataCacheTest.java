@@ -0,0 +1,117 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.repository.*;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReferenceDataCacheTest {
+
+    @Mock private BookRepository bookRepository;
+    @Mock private CounterpartyRepository counterpartyRepository;
+    @Mock private CurrencyRepository currencyRepository;
+    @Mock private LegTypeRepository legTypeRepository;
+    @Mock private IndexRepository indexRepository;
+    @Mock private HolidayCalendarRepository holidayCalendarRepository;
+    @Mock private ScheduleRepository scheduleRepository;
+    @Mock private BusinessDayConventionRepository businessDayConventionRepository;
+    @Mock private PayRecRepository payRecRepository;
+    @Mock private TradeTypeRepository tradeTypeRepository;
+    @Mock private TradeSubTypeRepository tradeSubTypeRepository;
+    @Mock private TradeStatusRepository tradeStatusRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataCache cache;
+    private Book book;
+    private Book reference;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ReferenceDataCache(bookRepository, counterpartyRepository, currencyRepository, legTypeRepository,
+                indexRepository, holidayCalendarRepository, scheduleRepository, businessDayConventionRepository,
+                payRecRepository, tradeTypeRepository, tradeSubTypeRepository, tradeStatusRepository, meterRegistry);
+
+        book = new Book();
+        book.setId(1000L);
+        book.setBookName("FX-BOOK-1");
+        when(bookRepository.findAll()).thenReturn(List.of(book));
+
+        // Stands in for the reference bound to the caller's persistence context
+        reference = new Book();
+        reference.setId(1000L);
+    }
+
+    @Test
+    void testLookups_LoadTablesOnceAndServeFromMemory() {
+        // Given
+        when(bookRepository.getReferenceById(1000L)).thenReturn(reference);
+
+        // When
+        assertSame(reference, cache.bookByName("FX-BOOK-1").orElseThrow());
+        assertSame(reference, cache.bookById(1000L).orElseThrow());
+        assertTrue(cache.bookByName("UNKNOWN").isEmpty());
+
+        // Then
+        verify(bookRepository, times(1)).findAll();
+        assertEquals(2.0, meterRegistry.counter("refdata.cache.lookups", "type", "book", "result", "hit").count());
+        assertEquals(1.0, meterRegistry.counter("refdata.cache.lookups", "type", "book", "result", "miss").count());
+    }
+
+    @Test
+    void testLookups_NeverHandOutTheLoadedEntity() {
+        when(bookRepository.getReferenceById(1000L)).thenReturn(reference);
+
+        Book found = cache.bookByName("FX-BOOK-1").orElseThrow();
+
+        assertNotSame(book, found);
+        verify(bookRepository).getReferenceById(1000L);
+    }
+
+    @Test
+    void testInvalidate_ReloadsSnapshotOnNextLookup() {
+        // Given
+        assertTrue(cache.currencyByName("CHF").isEmpty());
+        long loadedVersion = cache.getVersion();
+
+        Currency chf = new Currency();
+        chf.setId(1003L);
+        chf.setCurrency("CHF");
+        when(currencyRepository.findAll()).thenReturn(List.of(chf));
+        when(currencyRepository.getReferenceById(1003L)).thenReturn(chf);
+
+        // When
+        cache.invalidate();
+
+        // Then
+        assertSame(chf, cache.currencyByName("CHF").orElseThrow());
+        assertEquals(loadedVersion + 1, cache.getVersion());
+        verify(bookRepository, times(2)).findAll();
+    }
+
+    @Test
+    void testNameLookups_AreCaseInsensitive() {
+        when(bookRepository.getReferenceById(1000L)).thenReturn(reference);
+
+        assertSame(reference, cache.bookByName("fx-book-1").orElseThrow());
+        assertSame(reference, cache.bookByName(" FX-Book-1 ").orElseThrow());
+    }
+
+    @Test
+    void testLookups_NullKeyIsMiss() {
+        assertTrue(cache.bookByName(null).isEmpty());
+        assertTrue(cache.bookById(null).isEmpty());
+        verify(bookRepository, never()).getReferenceById(any());
+    }
+}
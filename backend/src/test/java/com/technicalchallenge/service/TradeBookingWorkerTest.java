@@ -0,0 +1,189 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.model.Cashflow;
+import com.technicalchallenge.model.Schedule;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeLeg;
+import com.technicalchallenge.model.TradeOutboxEntry;
+import com.technicalchallenge.repository.CashflowRepository;
+import com.technicalchallenge.repository.TradeLegRepository;
+import com.technicalchallenge.repository.TradeOutboxRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeBookingWorkerTest {
+
+    @Mock private TradeOutboxRepository tradeOutboxRepository;
+    @Mock private TradeRepository tradeRepository;
+    @Mock private TradeLegRepository tradeLegRepository;
+    @Mock private CashflowRepository cashflowRepository;
+    @Mock private AdditionalInfoService additionalInfoService;
+    @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TradeBookingWorker worker;
+    private TradeOutboxEntry entry;
+
+    @BeforeEach
+    void setUp() {
+        worker = new TradeBookingWorker(tradeOutboxRepository, tradeRepository, tradeLegRepository, cashflowRepository,
+                new LegCashflowGenerator(new CashflowScheduleEngine(), false, 100), additionalInfoService,
+                eventPublisher, new ObjectMapper().findAndRegisterModules(), transactionManager,
+                new SimpleMeterRegistry(), true, 1, 10, 2, 5000, 60000, 1000);
+        entry = new TradeOutboxEntry();
+        entry.setId(1L);
+        entry.setTradeId(10001L);
+        entry.setTradeRowId(5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void testProcess_WritesDeferredCashflowsAndAdditionalFields() {
+        // Given - a one year trade with two monthly legs booked on demand
+        Trade trade = new Trade();
+        trade.setId(5L);
+        trade.setTradeId(10001L);
+        trade.setVersion(1);
+        trade.setActive(true);
+        trade.setTradeLegs(List.of(deferredLeg(trade), deferredLeg(trade)));
+        entry.setAdditionalFields("[{\"fieldName\":\"settlementInstructions\",\"fieldValue\":\"SSI-1\"}]");
+        claimSucceeds();
+        when(tradeOutboxRepository.findById(1L)).thenReturn(Optional.of(entry));
+        when(tradeRepository.findById(5L)).thenReturn(Optional.of(trade));
+
+        // When
+        worker.process(1L);
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> cashflows = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).insertAll(cashflows.capture(), any(LocalDateTime.class));
+        assertEquals(24, cashflows.getValue().size());
+        assertTrue(trade.getTradeLegs().stream().noneMatch(TradeLeg::getCashflowsOnDemand));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<AdditionalInfoDTO>> fields = ArgumentCaptor.forClass(List.class);
+        verify(additionalInfoService).addTradeFields(eq(10001L), fields.capture());
+        assertEquals("settlementInstructions", fields.getValue().get(0).getFieldName());
+        assertEquals("SSI-1", fields.getValue().get(0).getFieldValue());
+
+        verify(eventPublisher).publishEvent(new TradeBookedEvent(10001L, 1, 24));
+        assertEquals(TradeOutboxEntry.Status.COMPLETED, entry.getStatus());
+        assertNotNull(entry.getCompletedDate());
+    }
+
+    @Test
+    void testProcess_FailedAttemptIsRetriedUntilMaxAttempts() {
+        // Given - the booked row cannot be read
+        claimSucceeds();
+        when(tradeOutboxRepository.findById(1L)).thenReturn(Optional.of(entry));
+        when(tradeRepository.findById(5L)).thenReturn(Optional.empty());
+
+        // When - first of two attempts
+        entry.setAttempts(1);
+        worker.process(1L);
+
+        // Then
+        assertEquals(TradeOutboxEntry.Status.PENDING, entry.getStatus());
+        assertTrue(entry.getLastError().contains("not found"));
+
+        // When - last attempt
+        entry.setAttempts(2);
+        worker.process(1L);
+
+        // Then
+        assertEquals(TradeOutboxEntry.Status.FAILED, entry.getStatus());
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void testProcess_EntryClaimedElsewhereIsSkipped() {
+        when(tradeOutboxRepository.claim(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        worker.process(1L);
+
+        verifyNoInteractions(tradeRepository, cashflowRepository, additionalInfoService, eventPublisher);
+        assertEquals(TradeOutboxEntry.Status.PENDING, entry.getStatus());
+    }
+
+    @Test
+    void testProcess_AttemptWhoseClaimWasReleasedDoesNothing() {
+        // Given - the sweep releases and another attempt re-claims the entry before this one starts
+        claimSucceeds();
+        when(tradeOutboxRepository.findById(1L)).thenReturn(Optional.of(entry)).thenAnswer(invocation -> {
+            entry.setVersion(entry.getVersion() + 2);
+            return Optional.of(entry);
+        });
+
+        // When
+        worker.process(1L);
+
+        // Then
+        verifyNoInteractions(tradeRepository, cashflowRepository, additionalInfoService, eventPublisher);
+        verify(tradeOutboxRepository, never()).save(any());
+        assertEquals(TradeOutboxEntry.Status.PROCESSING, entry.getStatus());
+    }
+
+    @Test
+    void testResubmitPending_ReleasesExpiredClaimsFirst() {
+        when(tradeOutboxRepository.releaseExpiredClaims(any(LocalDateTime.class), eq(2))).thenReturn(1);
+        when(tradeOutboxRepository.findPendingIds(any(LocalDateTime.class), any())).thenReturn(List.of());
+
+        worker.resubmitPending();
+
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(tradeOutboxRepository).releaseExpiredClaims(before.capture(), eq(2));
+        assertTrue(before.getValue().isBefore(LocalDateTime.now().minusSeconds(59)));
+        verify(tradeOutboxRepository).findPendingIds(any(LocalDateTime.class), any());
+    }
+
+    // Stands in for the conditional UPDATE: the claim moves the entry to processing and bumps its version
+    private void claimSucceeds() {
+        entry.setVersion(1L);
+        when(tradeOutboxRepository.claim(eq(1L), any(LocalDateTime.class))).thenAnswer(invocation -> {
+            entry.setStatus(TradeOutboxEntry.Status.PROCESSING);
+            entry.setVersion(entry.getVersion() + 1);
+            return 1;
+        });
+    }
+
+    private static TradeLeg deferredLeg(Trade trade) {
+        Schedule monthly = new Schedule();
+        monthly.setSchedule("Monthly");
+        TradeLeg leg = new TradeLeg();
+        leg.setTrade(trade);
+        leg.setNotional(BigDecimal.valueOf(1000000));
+        leg.setRate(0.05);
+        leg.setCalculationPeriodSchedule(monthly);
+        leg.setScheduleStartDate(LocalDate.of(2025, 1, 17));
+        leg.setScheduleEndDate(LocalDate.of(2026, 1, 17));
+        leg.setCashflowsOnDemand(true);
+        return leg;
+    }
+}
@@ -0,0 +1,131 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Currency;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.model.TradeCurrent;
+import com.technicalchallenge.model.TradeStatus;
+import com.technicalchallenge.repository.TradeCurrentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeCurrentProjectorTest {
+
+    @Mock private TradeCurrentRepository tradeCurrentRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+    @InjectMocks private TradeCurrentProjector projector;
+
+    @Test
+    void testProject_NewTradeInsertsRowWithDenormalizedNames() {
+        // Given
+        when(tradeCurrentRepository.findById(100001L)).thenReturn(Optional.empty());
+
+        // When
+        projector.project(trade(10L, 1, "NEW"));
+
+        // Then
+        ArgumentCaptor<TradeCurrent> saved = ArgumentCaptor.forClass(TradeCurrent.class);
+        verify(tradeCurrentRepository).save(saved.capture());
+        TradeCurrent row = saved.getValue();
+        assertTrue(row.isNew());
+        assertEquals(100001L, row.getTradeId());
+        assertEquals(10L, row.getTradeRowId());
+        assertEquals("FX-BOOK-1", row.getBookName());
+        assertEquals("NEW", row.getTradeStatus());
+    }
+
+    @Test
+    void testProject_AmendmentUpdatesExistingRow() {
+        // Given
+        TradeCurrent existing = new TradeCurrent(); // as loaded from the database
+        existing.setTradeId(100001L);
+        existing.setTradeRowId(10L);
+        when(tradeCurrentRepository.findById(100001L)).thenReturn(Optional.of(existing));
+
+        // When
+        projector.project(trade(11L, 2, "AMENDED"));
+
+        // Then
+        verify(tradeCurrentRepository).save(existing);
+        assertFalse(existing.isNew());
+        assertEquals(11L, existing.getTradeRowId());
+        assertEquals(2, existing.getVersion());
+        assertEquals("AMENDED", existing.getTradeStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testProjectAll_LooksUpExistingRowsOnce() {
+        // Given
+        Trade first = trade(10L, 1, "NEW");
+        Trade second = trade(20L, 1, "NEW");
+        second.setTradeId(100002L);
+        when(tradeCurrentRepository.findAllById(List.of(100001L, 100002L))).thenReturn(List.of());
+
+        // When
+        projector.projectAll(List.of(first, second));
+
+        // Then
+        verify(tradeCurrentRepository, times(1)).findAllById(any());
+        verify(tradeCurrentRepository, never()).findById(any());
+        ArgumentCaptor<List<TradeCurrent>> saved = ArgumentCaptor.forClass(List.class);
+        verify(tradeCurrentRepository).saveAll(saved.capture());
+        assertEquals(List.of(100001L, 100002L), saved.getValue().stream().map(TradeCurrent::getTradeId).toList());
+    }
+
+    @Test
+    void testRefreshNamesAfterCommit_RefreshesTheRenamedEntitysRowsInATransactionOfItsOwn() {
+        // Given - outside a transaction the refresh runs right away
+        Book book = new Book();
+        book.setId(1000L);
+        when(tradeCurrentRepository.refreshBookName(1000L)).thenReturn(3);
+
+        // When
+        projector.refreshNamesAfterCommit(book);
+
+        // Then
+        verify(tradeCurrentRepository).refreshBookName(1000L);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testRefreshNamesAfterCommit_IgnoresEntitiesWithoutDenormalizedNames() {
+        projector.refreshNamesAfterCommit(new Currency());
+
+        verifyNoInteractions(tradeCurrentRepository);
+    }
+
+    private static Trade trade(Long id, int version, String status) {
+        Book book = new Book();
+        book.setId(1000L);
+        book.setBookName("FX-BOOK-1");
+        TradeStatus tradeStatus = new TradeStatus();
+        tradeStatus.setId(1L);
+        tradeStatus.setTradeStatus(status);
+
+        Trade trade = new Trade();
+        trade.setId(id);
+        trade.setTradeId(100001L);
+        trade.setVersion(version);
+        trade.setTradeDate(LocalDate.of(2025, 1, 15));
+        trade.setBook(book);
+        trade.setTradeStatus(tradeStatus);
+        return trade;
+    }
+}
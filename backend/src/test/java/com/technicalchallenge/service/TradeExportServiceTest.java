@@ -0,0 +1,109 @@
+package com.technicalchallenge.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Book;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.TradeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeExportServiceTest {
+
+    @Mock private TradeRepository tradeRepository;
+    @Mock private EntityManager entityManager;
+
+    private TradeExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        exportService = new TradeExportService(tradeRepository, new TradeMapper(), objectMapper, entityManager);
+    }
+
+    @Test
+    void testExportNdjsonWritesOneLinePerTradeWithoutTouchingLegs() throws Exception {
+        Trade trade = trade(100001L, "FX-BOOK-1", "BigBank");
+        trade.setTradeLegs(null);
+        when(tradeRepository.streamAllForExport()).thenReturn(List.of(trade).stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = exportService.export(TradeExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, count);
+        assertEquals(1, lines.length);
+        assertTrue(lines[0].contains("\"tradeId\":100001"));
+        assertTrue(lines[0].contains("\"bookName\":\"FX-BOOK-1\""));
+        assertTrue(lines[0].contains("\"tradeLegs\":null"));
+    }
+
+    @Test
+    void testExportCsvWritesHeaderAndEscapesValues() throws Exception {
+        Trade trade = trade(100001L, "FX-BOOK-1", "Smith, Jones & \"Co\"");
+        when(tradeRepository.streamAllForExport()).thenReturn(List.of(trade).stream());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        exportService.export(TradeExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(String.join(",", TradeExportService.CSV_COLUMNS), lines[0]);
+        assertTrue(lines[1].startsWith("100001,1,2025-01-15,"));
+        assertTrue(lines[1].contains(",FX-BOOK-1,\"Smith, Jones & \"\"Co\"\"\","));
+    }
+
+    @Test
+    void testExportClearsPersistenceContextPeriodicallyAndClosesStream() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        List<Trade> trades = new ArrayList<>();
+        LongStream.range(0, TradeExportService.CLEAR_INTERVAL * 2L + 1)
+                .forEach(i -> trades.add(trade(100000L + i, "FX-BOOK-1", "BigBank")));
+        when(tradeRepository.streamAllForExport()).thenReturn(trades.stream().onClose(() -> closed.set(true)));
+
+        long count = exportService.export(TradeExportService.Format.NDJSON, new ByteArrayOutputStream());
+
+        assertEquals(TradeExportService.CLEAR_INTERVAL * 2L + 1, count);
+        verify(entityManager, times(2)).clear();
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testParseFormat() {
+        assertEquals(TradeExportService.Format.CSV, TradeExportService.Format.parse(" CSV "));
+        assertThrows(IllegalArgumentException.class, () -> TradeExportService.Format.parse("xml"));
+        assertThrows(IllegalArgumentException.class, () -> TradeExportService.Format.parse(null));
+    }
+
+    private static Trade trade(Long tradeId, String bookName, String counterpartyName) {
+        Book book = new Book();
+        book.setBookName(bookName);
+        Counterparty counterparty = new Counterparty();
+        counterparty.setName(counterpartyName);
+
+        Trade trade = new Trade();
+        trade.setTradeId(tradeId);
+        trade.setVersion(1);
+        trade.setTradeDate(LocalDate.of(2025, 1, 15));
+        trade.setBook(book);
+        trade.setCounterparty(counterparty);
+        return trade;
+    }
+}
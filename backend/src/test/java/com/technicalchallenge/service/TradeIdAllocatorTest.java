@@ -0,0 +1,95 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.TradeIdBlock;
+import com.technicalchallenge.repository.TradeIdBlockRepository;
+import com.technicalchallenge.repository.TradeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeIdAllocatorTest {
+
+    @Mock private TradeIdBlockRepository tradeIdBlockRepository;
+    @Mock private TradeRepository tradeRepository;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private TradeIdBlock row;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        row = new TradeIdBlock("TRADE", 100003L);
+    }
+
+    @Test
+    void testNextTradeId_HandsOutSequentialIdsWithinBlock() {
+        // Given
+        when(tradeIdBlockRepository.findByNameForUpdate("TRADE")).thenReturn(Optional.of(row));
+        TradeIdAllocator allocator = new TradeIdAllocator(tradeIdBlockRepository, tradeRepository, transactionManager, meterRegistry, 10);
+
+        // When
+        long first = allocator.nextTradeId();
+        long second = allocator.nextTradeId();
+
+        // Then
+        assertEquals(100003L, first);
+        assertEquals(100004L, second);
+        assertEquals(100013L, row.getNextValue());
+        verify(tradeIdBlockRepository, times(1)).findByNameForUpdate("TRADE");
+        verify(tradeRepository, never()).count();
+        assertEquals(1.0, meterRegistry.counter("trade.id.block.refills").count());
+    }
+
+    @Test
+    void testNextTradeId_InitialisesFromMaxTradeIdWhenNoRow() {
+        // Given
+        when(tradeIdBlockRepository.findByNameForUpdate("TRADE")).thenReturn(Optional.empty());
+        when(tradeRepository.findMaxTradeId()).thenReturn(Optional.of(100002L));
+        TradeIdAllocator allocator = new TradeIdAllocator(tradeIdBlockRepository, tradeRepository, transactionManager, meterRegistry, 10);
+
+        // When / Then
+        assertEquals(100003L, allocator.nextTradeId());
+        verify(tradeIdBlockRepository).save(argThat(saved -> saved.getNextValue() == 100013L));
+    }
+
+    @Test
+    void testNextTradeId_NoDuplicatesUnderConcurrency() throws Exception {
+        // Given
+        when(tradeIdBlockRepository.findByNameForUpdate("TRADE")).thenReturn(Optional.of(row));
+        TradeIdAllocator allocator = new TradeIdAllocator(tradeIdBlockRepository, tradeRepository, transactionManager, meterRegistry, 7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> ids.add(allocator.nextTradeId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then
+        assertEquals(1000, ids.size());
+    }
+
+    @Test
+    void testConstructor_RejectsNonPositiveBlockSize() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new TradeIdAllocator(tradeIdBlockRepository, tradeRepository, transactionManager, meterRegistry, 0));
+    }
+}
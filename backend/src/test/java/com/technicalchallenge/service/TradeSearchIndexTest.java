@@ -0,0 +1,130 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.repository.*;
+import com.technicalchallenge.specification.TradeSpecification.SearchCandidates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TradeSearchIndexTest {
+
+    @Mock private CounterpartyRepository counterpartyRepository;
+    @Mock private BookRepository bookRepository;
+    @Mock private ApplicationUserRepository applicationUserRepository;
+    @Mock private TradeRepository tradeRepository;
+
+    private TradeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TradeSearchIndex(counterpartyRepository, bookRepository, applicationUserRepository, tradeRepository);
+    }
+
+    @Test
+    void testResolve_BeforeBuild_LeavesTermsToTheDatabase() {
+        SearchCandidates candidates = index.resolve(SearchParametersDTO.builder().counterpartyName("bank").build());
+
+        assertSame(SearchCandidates.NONE, candidates);
+    }
+
+    @Test
+    void testResolve_MatchesSubstringsCaseInsensitively() {
+        // Given
+        when(counterpartyRepository.findAll()).thenReturn(List.of(
+                counterparty(1L, "BigBank"), counterparty(2L, "Acme Corp"), counterparty(3L, "Bank of Nowhere")));
+        when(applicationUserRepository.findAll()).thenReturn(List.of(user(10L, "Simon King", "simon")));
+        when(tradeRepository.findAllUtiCodes()).thenReturn(List.of());
+        index.rebuild();
+
+        // When
+        SearchCandidates candidates = index.resolve(SearchParametersDTO.builder()
+                .counterpartyName(" BANK ")
+                .trader("king")
+                .bookName("nothing-like-this")
+                .build());
+
+        // Then
+        assertEquals(Set.of(1L, 3L), candidates.counterpartyIds());
+        assertEquals(Set.of(10L), candidates.traderIds());
+        assertNull(candidates.bookIds(), "a miss is left to LIKE");
+        assertNull(candidates.tradeIds(), "no UTI term given");
+    }
+
+    @Test
+    void testResolve_ShortUtiTermFallsBackToDatabase() {
+        // Given
+        when(tradeRepository.findAllUtiCodes()).thenReturn(List.of(uti(100L, "UTI-ABC-001")));
+        index.rebuild();
+
+        // When/Then
+        assertNull(index.resolve(SearchParametersDTO.builder().utiCode("AB").build()).tradeIds());
+        assertEquals(Set.of(100L), index.resolve(SearchParametersDTO.builder().utiCode("abc-0").build()).tradeIds());
+    }
+
+    @Test
+    void testOnSaved_UpdatesIndexIncrementally() {
+        // Given
+        index.rebuild();
+        Counterparty counterparty = counterparty(5L, "Old Name Ltd");
+        index.onSaved(counterparty);
+
+        // When
+        counterparty.setName("New Name Ltd");
+        index.onSaved(counterparty);
+
+        // Then
+        assertNull(index.resolve(SearchParametersDTO.builder().counterpartyName("old").build()).counterpartyIds());
+        assertEquals(Set.of(5L), index.resolve(SearchParametersDTO.builder().counterpartyName("new").build()).counterpartyIds());
+
+        Trade trade = new Trade();
+        trade.setId(200L);
+        trade.setUtiCode("UTI-XYZ-9");
+        index.onSaved(trade);
+        assertEquals(Set.of(200L), index.resolve(SearchParametersDTO.builder().utiCode("xyz").build()).tradeIds());
+
+        index.onRemoved(trade);
+        assertNull(index.resolve(SearchParametersDTO.builder().utiCode("xyz").build()).tradeIds());
+    }
+
+    private static Counterparty counterparty(Long id, String name) {
+        Counterparty counterparty = new Counterparty();
+        counterparty.setId(id);
+        counterparty.setName(name);
+        return counterparty;
+    }
+
+    private static ApplicationUser user(Long id, String fullName, String loginId) {
+        ApplicationUser user = new ApplicationUser();
+        user.setId(id);
+        user.setNormalizedFullName(fullName.toLowerCase());
+        user.setLoginId(loginId);
+        return user;
+    }
+
+    private static TradeUtiView uti(Long id, String utiCode) {
+        return new TradeUtiView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getUtiCode() {
+                return utiCode;
+            }
+        };
+    }
+}
@@ -1,21 +1,41 @@
 package com.technicalchallenge.service;
 
+import com.technicalchallenge.dto.AdditionalInfoDTO;
+import com.technicalchallenge.dto.SearchParametersDTO;
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeCursorPageDTO;
 import com.technicalchallenge.dto.TradeDTO;
 import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.exception.ValidationException;
 import com.technicalchallenge.mapper.TradeLegMapper;
+import com.technicalchallenge.mapper.TradeMapper;
 import com.technicalchallenge.model.*;
 import com.technicalchallenge.repository.*;
+import com.technicalchallenge.validation.TradeValidationEngine;
+import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.refData.ReferenceDataGateway;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -42,6 +62,17 @@ class TradeServiceTest {
     @Mock private ScheduleRepository scheduleRepository;
     @Mock private BusinessDayConventionRepository businessDayConventionRepository;
     @Mock private PayRecRepository payRecRepository;
+    @Mock private TradeIdAllocator tradeIdAllocator;
+    @Mock private ReferenceDataCache referenceDataCache;
+    @Mock private UserDirectory userDirectory;
+    @Mock private TradeValidationEngine tradeValidationEngine;
+    @Mock private TradeSearchIndex tradeSearchIndex;
+    @Mock private TradeCurrentProjector tradeCurrentProjector;
+    @Spy private LegCashflowGenerator legCashflowGenerator = new LegCashflowGenerator(new CashflowScheduleEngine(), false, 100);
+    @Mock private TradeBookingWorker tradeBookingWorker;
+    @Mock private TradeMapper tradeMapper;
+    @Mock private ReferenceDataGateway referenceDataGateway;
+    @Mock private PlatformTransactionManager transactionManager;
 
 
 
@@ -130,10 +161,73 @@ class TradeServiceTest {
         verify(counterpartyRepository).findByName(anyString());
         verify(tradeStatusRepository).findByTradeStatus("NEW");
         verify(tradeLegRepository, times(2)).save(any(TradeLeg.class));
+        verify(tradeCurrentProjector).project(trade);
+        verify(additionalInfoService).addTradeFields(100001L, tradeDTO.getAdditionalFields());
 
 
     }
 
+    @Test
+    void testCreateTrade_GeneratesTradeIdFromAllocator() {
+        // Given
+        tradeDTO.setTradeId(null);
+        when(tradeIdAllocator.nextTradeId()).thenReturn(100005L);
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.findByBookName(anyString())).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName(anyString())).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenReturn(mockTradeLeg);
+
+        // When
+        Trade result = tradeService.createTrade(tradeDTO);
+
+        // Then
+        assertEquals(100005L, result.getTradeId());
+        verify(tradeIdAllocator).nextTradeId();
+        verify(tradeRepository, never()).count();
+    }
+
+    @Test
+    void testCreateTrade_UsesReferenceDataCacheBeforeRepositories() {
+        // Given
+        when(referenceDataCache.bookByName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(referenceDataCache.counterpartyByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(referenceDataCache.tradeStatusByName("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenReturn(mockTradeLeg);
+
+        // When
+        Trade result = tradeService.createTrade(tradeDTO);
+
+        // Then
+        assertNotNull(result);
+        verify(bookRepository, never()).findByBookName(anyString());
+        verify(counterpartyRepository, never()).findByName(anyString());
+        verify(tradeStatusRepository, never()).findByTradeStatus(anyString());
+    }
+
+    @Test
+    void testCreateTrade_ResolvesTradeSubTypeByNormalizedName() {
+        // Given
+        TradeSubType irSwap = new TradeSubType();
+        irSwap.setTradeSubType("IR Swap");
+        tradeDTO.setTradeSubType("ir swap");
+        when(tradeSubTypeRepository.findByTradeSubType("ir swap")).thenReturn(Optional.empty());
+        when(tradeSubTypeRepository.findFirstByNormalizedName("ir swap")).thenReturn(Optional.of(irSwap));
+        when(tradeRepository.save(any(Trade.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(bookRepository.findByBookName(anyString())).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName(anyString())).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenReturn(mockTradeLeg);
+
+        // When
+        Trade result = tradeService.createTrade(tradeDTO);
+
+        // Then
+        assertSame(irSwap, result.getTradeSubType());
+        verify(tradeSubTypeRepository, never()).findAll();
+    }
+
     @Test
     void testCreateTrade_InvalidDates_ShouldFail() {
         // Given - This test is intentionally failing for candidates to fix
@@ -161,10 +255,49 @@ class TradeServiceTest {
         assertTrue(exception.getMessage().contains("exactly 2 legs"));
     }
 
+    @Test
+    void testCreateTrade_RunsValidationEngineWithResolvedReferenceIds() {
+        // Given
+        tradeDTO.setBookId(null);
+        mockBook.setId(7L);
+        when(bookRepository.findByBookName(anyString())).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName(anyString())).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenReturn(mockTradeLeg);
+
+        // When
+        tradeService.createTrade(tradeDTO);
+
+        // Then
+        ArgumentCaptor<ValidationContext> context = ArgumentCaptor.forClass(ValidationContext.class);
+        verify(tradeValidationEngine).validateOrThrow(context.capture());
+        assertEquals(ValidationContext.TradeOperationType.CREATE, context.getValue().getOperation());
+        assertEquals(7L, context.getValue().getTradeDTO().getBookId());
+    }
+
+    @Test
+    void testCreateTrade_ValidationEngineRejection_ShouldNotSave() {
+        // Given
+        when(bookRepository.findByBookName(anyString())).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName(anyString())).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeValidationEngine.validateOrThrow(any(ValidationContext.class)))
+                .thenThrow(new ValidationException("Book with ID 100001 is inactive."));
+
+        // When & Then
+        ValidationException exception = assertThrows(ValidationException.class, () -> {
+            tradeService.createTrade(tradeDTO);
+        });
+
+        assertEquals("Book with ID 100001 is inactive.", exception.getMessage());
+        verify(tradeRepository, never()).save(any(Trade.class));
+    }
+
     @Test
     void testGetTradeById_Found() {
         // Given
-        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(tradeRepository.findWithLegsByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
 
         // When
         Optional<Trade> result = tradeService.getTradeById(100001L);
@@ -177,7 +310,7 @@ class TradeServiceTest {
     @Test
     void testGetTradeById_NotFound() {
         // Given
-        when(tradeRepository.findByTradeIdAndActiveTrue(999L)).thenReturn(Optional.empty());
+        when(tradeRepository.findWithLegsByTradeIdAndActiveTrue(999L)).thenReturn(Optional.empty());
 
         // When
         Optional<Trade> result = tradeService.getTradeById(999L);
@@ -186,6 +319,105 @@ class TradeServiceTest {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    void testGetTradeById_FetchesCashflowsForAllLegsInOneQuery() {
+        // Given
+        TradeLeg secondLeg = new TradeLeg();
+        secondLeg.setLegId(2L);
+        trade.setTradeLegs(List.of(mockTradeLeg, secondLeg));
+        when(tradeRepository.findWithLegsByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+
+        // When
+        tradeService.getTradeById(100001L);
+
+        // Then
+        verify(tradeLegRepository, times(1)).findWithCashflowsByLegIdIn(List.of(1L, 2L));
+        verify(tradeRepository, never()).findByTradeIdAndActiveTrue(anyLong());
+    }
+
+    @Test
+    void testSearchTradesPaginated_FetchesPageByIdsAndKeepsPageOrder() {
+        // Given
+        Trade first = new Trade();
+        first.setId(2L);
+        first.setTradeId(100002L);
+        Trade second = new Trade();
+        second.setId(1L);
+        second.setTradeId(100001L);
+        Pageable pageable = PageRequest.of(0, 2);
+        when(tradeRepository.findIds(any(), eq(pageable)))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 5));
+        // The IN query returns rows in database order, not page order
+        when(tradeRepository.findWithLegsByIdIn(List.of(2L, 1L))).thenReturn(List.of(second, first));
+        when(tradeMapper.toDto(any(Trade.class))).thenAnswer(invocation -> {
+            TradeDTO dto = new TradeDTO();
+            dto.setTradeId(((Trade) invocation.getArgument(0)).getTradeId());
+            return dto;
+        });
+
+        // When
+        Page<TradeDTO> page = tradeService.searchTradesPaginated(SearchParametersDTO.builder().build(), pageable);
+
+        // Then
+        assertEquals(List.of(100002L, 100001L), page.getContent().stream().map(TradeDTO::getTradeId).toList());
+        assertEquals(5, page.getTotalElements());
+        verify(tradeRepository, never()).findAll(any(Pageable.class));
+    }
+
+    @Test
+    void testSearchTradesByCursor_ReturnsNextCursorForLastKeyOfPage() {
+        // Given: one key more than the page size means there is a next page
+        TradeSortKey newest = new TradeSortKey(LocalDate.of(2025, 3, 2), 100003L, 3L);
+        TradeSortKey middle = new TradeSortKey(LocalDate.of(2025, 3, 1), 100002L, 2L);
+        TradeSortKey oldest = new TradeSortKey(LocalDate.of(2025, 2, 28), 100001L, 1L);
+        when(tradeRepository.findSortKeys(any(), isNull(), eq(3))).thenReturn(List.of(newest, middle, oldest));
+        when(tradeRepository.findWithLegsByIdIn(List.of(3L, 2L))).thenReturn(List.of());
+
+        // When
+        TradeCursorPageDTO page = tradeService.searchTradesPaginated(SearchParametersDTO.builder().build(), null, 2, false);
+
+        // Then
+        assertTrue(page.isHasNext());
+        assertEquals(middle, TradeCursors.decode(page.getNextCursor()));
+        assertNull(page.getTotalElements());
+        verify(tradeRepository, never()).count(any(Specification.class));
+    }
+
+    @Test
+    void testSearchTradesByCursor_SeeksPastCursorAndCountsOnlyWhenAsked() {
+        // Given
+        TradeSortKey after = new TradeSortKey(LocalDate.of(2025, 3, 1), 100002L, 2L);
+        Trade last = new Trade();
+        last.setId(1L);
+        last.setTradeId(100001L);
+        when(tradeRepository.findSortKeys(any(), eq(after), eq(3)))
+                .thenReturn(List.of(new TradeSortKey(LocalDate.of(2025, 2, 28), 100001L, 1L)));
+        when(tradeRepository.findWithLegsByIdIn(List.of(1L))).thenReturn(List.of(last));
+        when(tradeMapper.toDto(last)).thenReturn(tradeDTO);
+        when(tradeRepository.count(any(Specification.class))).thenReturn(3L);
+
+        // When
+        TradeCursorPageDTO page = tradeService.searchTradesPaginated(
+                SearchParametersDTO.builder().build(), TradeCursors.encode(after), 2, true);
+
+        // Then
+        assertEquals(List.of(tradeDTO), page.getContent());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(3L, page.getTotalElements());
+    }
+
+    @Test
+    void testSearchTradesByCursor_InvalidCursorOrSize_ShouldThrow() {
+        SearchParametersDTO params = SearchParametersDTO.builder().build();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeService.searchTradesPaginated(params, "not-a-cursor", 50, false));
+        assertThrows(IllegalArgumentException.class,
+                () -> tradeService.searchTradesPaginated(params, null, TradeService.MAX_CURSOR_PAGE_SIZE + 1, false));
+        verify(tradeRepository, never()).findSortKeys(any(), any(), anyInt());
+    }
+
     @Test
     void testAmendTrade_Success() {
 
@@ -207,6 +439,92 @@ class TradeServiceTest {
         assertNotNull(result);
         verify(tradeRepository, times(2)).save(any(Trade.class)); // Save old and new
         verify(tradeLegRepository, times(2)).save(any(TradeLeg.class));
+        // Only the new live version is projected
+        verify(tradeCurrentProjector, times(1)).project(result);
+    }
+
+    @Test
+    void testAmendTrade_UnchangedLegsCarryCashflowsForward() {
+        // Given - the amendment only touches the header, so both legs keep their terms
+        TradeLeg previousFixed = previousLeg(10L, 0.05);
+        TradeLeg previousFloating = previousLeg(11L, 0.0);
+        trade.setTradeLegs(List.of(previousFixed, previousFloating));
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(tradeStatusRepository.findByTradeStatus("AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tradeService.amendTrade(100001L, tradeDTO);
+
+        // Then - cashflow rows are copied, none are generated, the superseded legs are untouched
+        verify(cashflowRepository).copyCashflows(eq(previousFixed), any(TradeLeg.class));
+        verify(cashflowRepository).copyCashflows(eq(previousFloating), any(TradeLeg.class));
+        verify(cashflowRepository, never()).insertAll(anyList(), any());
+        assertFalse(Boolean.TRUE.equals(previousFixed.getCashflowsOnDemand()));
+        assertFalse(Boolean.TRUE.equals(previousFloating.getCashflowsOnDemand()));
+    }
+
+    @Test
+    void testAmendTrade_OnlyChangedLegIsRegenerated() {
+        // Given - the fixed leg's rate changes
+        TradeLeg previousFixed = previousLeg(10L, 0.04);
+        TradeLeg previousFloating = previousLeg(11L, 0.0);
+        trade.setTradeLegs(List.of(previousFixed, previousFloating));
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(tradeStatusRepository.findByTradeStatus("AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tradeService.amendTrade(100001L, tradeDTO);
+
+        // Then - one year quarterly (default schedule) for the fixed leg only
+        verify(cashflowRepository, never()).copyCashflows(eq(previousFixed), any(TradeLeg.class));
+        verify(cashflowRepository).copyCashflows(eq(previousFloating), any(TradeLeg.class));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> cashflows = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).insertAll(cashflows.capture(), any(LocalDateTime.class));
+        assertEquals(4, cashflows.getValue().size());
+        assertTrue(cashflows.getValue().stream().allMatch(c -> Double.valueOf(0.05).equals(c.getRate())));
+        assertFalse(Boolean.TRUE.equals(previousFixed.getCashflowsOnDemand()));
+    }
+
+    @Test
+    void testAmendTrade_LegsStillAwaitingAsyncBookingGetTheirOwnCashflows() {
+        // Given - neither leg has its cashflows yet, the booking worker has not run
+        TradeLeg previousFixed = previousLeg(10L, 0.05);
+        TradeLeg previousFloating = previousLeg(11L, 0.0);
+        previousFixed.setCashflowsOnDemand(true);
+        previousFloating.setCashflowsOnDemand(true);
+        trade.setTradeLegs(List.of(previousFixed, previousFloating));
+        when(tradeRepository.findByTradeIdAndActiveTrue(100001L)).thenReturn(Optional.of(trade));
+        when(tradeStatusRepository.findByTradeStatus("AMENDED")).thenReturn(Optional.of(new TradeStatus()));
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        tradeService.amendTrade(100001L, tradeDTO);
+
+        // Then - the worker skips the superseded version, so the amendment writes both legs' rows
+        verify(cashflowRepository, never()).copyCashflows(any(), any());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> cashflows = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).insertAll(cashflows.capture(), any(LocalDateTime.class));
+        assertEquals(8, cashflows.getValue().size());
+        ArgumentCaptor<TradeLeg> legs = ArgumentCaptor.forClass(TradeLeg.class);
+        verify(tradeLegRepository, times(2)).save(legs.capture());
+        assertTrue(legs.getAllValues().stream().noneMatch(leg -> Boolean.TRUE.equals(leg.getCashflowsOnDemand())));
+    }
+
+    private TradeLeg previousLeg(Long legId, double rate) {
+        TradeLeg leg = new TradeLeg();
+        leg.setLegId(legId);
+        leg.setNotional(BigDecimal.valueOf(1000000));
+        leg.setRate(rate);
+        leg.setScheduleStartDate(tradeDTO.getTradeStartDate());
+        leg.setScheduleEndDate(tradeDTO.getTradeMaturityDate());
+        return leg;
     }
 
     @Test
@@ -222,6 +540,156 @@ class TradeServiceTest {
         assertTrue(exception.getMessage().contains("Trade not found"));
     }
 
+    @Test
+    void testCreateTrades_BatchResolvesReferenceDataOnceAndReportsPerTrade() {
+        // Given
+        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+
+        TradeDTO second = new TradeDTO();
+        second.setTradeId(100002L);
+        second.setBookName("TestBook");
+        second.setCounterpartyName("counterpartyName");
+        second.setTradeDate(tradeDTO.getTradeDate());
+        second.setTradeStartDate(tradeDTO.getTradeStartDate());
+        second.setTradeMaturityDate(tradeDTO.getTradeMaturityDate());
+        second.setTradeLegs(tradeDTO.getTradeLegs());
+
+        TradeDTO invalid = new TradeDTO();
+        invalid.setTradeId(100003L);
+        invalid.setTradeLegs(List.of(new TradeLegDTO())); // Only 1 leg
+
+        // When
+        List<TradeBatchResultDTO> results = tradeService.createTrades(List.of(tradeDTO, second, invalid));
+
+        // Then
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(2).getMessage().contains("exactly 2 legs"));
+        verify(bookRepository, times(1)).findByBookName("TestBook");
+        verify(counterpartyRepository, times(1)).findByName("counterpartyName");
+        verify(tradeRepository).saveAll(argThat(trades -> ((List<Trade>) trades).size() == 2));
+        verify(tradeLegRepository).saveAll(argThat(legs -> ((List<TradeLeg>) legs).size() == 4));
+        verify(tradeRepository, never()).save(any(Trade.class));
+    }
+
+    @Test
+    void testCreateTrades_PrefetchesEntityStatesOncePerBatch() {
+        // Given
+        mockBook.setId(7L);
+        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+
+        TradeDTO second = new TradeDTO();
+        second.setTradeId(100002L);
+        second.setBookName("TestBook");
+        second.setCounterpartyName("counterpartyName");
+        second.setTradeDate(tradeDTO.getTradeDate());
+        second.setTradeStartDate(tradeDTO.getTradeStartDate());
+        second.setTradeMaturityDate(tradeDTO.getTradeMaturityDate());
+        second.setTradeLegs(tradeDTO.getTradeLegs());
+
+        // When
+        tradeService.createTrades(List.of(tradeDTO, second));
+
+        // Then
+        verify(referenceDataGateway, times(1)).bookStates(argThat(ids -> ids.size() == 1 && ids.contains(7L)));
+        verify(referenceDataGateway, times(1)).counterpartyStates(argThat(ids -> ids.contains(1L)));
+        ArgumentCaptor<ValidationContext> context = ArgumentCaptor.forClass(ValidationContext.class);
+        verify(tradeValidationEngine, times(2)).validateOrThrow(context.capture());
+        assertSame(context.getAllValues().get(0).getRefDataGateway(), context.getAllValues().get(1).getRefDataGateway());
+    }
+
+    @Test
+    void testCreateTrades_RejectsTradeIdsRepeatedInBatchOrAlreadyBooked() {
+        // Given - 100002 is submitted twice, 100003 is already booked
+        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeRepository.findBookedTradeIds(anyCollection())).thenReturn(List.of(100003L));
+
+        // When
+        List<TradeBatchResultDTO> results = tradeService.createTrades(
+                List.of(batchTrade(100002L), batchTrade(100002L), batchTrade(100003L)));
+
+        // Then
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertTrue(results.get(1).getMessage().contains("more than once"));
+        assertFalse(results.get(2).isSuccess());
+        assertTrue(results.get(2).getMessage().contains("already exists"));
+        verify(tradeRepository).saveAll(argThat(trades -> ((List<Trade>) trades).size() == 1));
+    }
+
+    @Test
+    void testCreateTrades_FailedChunkIsRetriedTradeByTrade() {
+        // Given - writing trade 100003 violates a constraint
+        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        when(tradeRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Trade> trades = invocation.getArgument(0);
+            if (trades.stream().anyMatch(t -> t.getTradeId() == 100003L)) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            trades.forEach(t -> t.setId(t.getTradeId()));
+            return trades;
+        });
+
+        // When
+        List<TradeBatchResultDTO> results = tradeService.createTrades(
+                List.of(batchTrade(100002L), batchTrade(100003L), batchTrade(100004L)));
+
+        // Then - validation, the chunk and each trade ran in their own transactions, only 100003 failed
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals("constraint violated", results.get(1).getMessage());
+        assertTrue(results.get(2).isSuccess());
+        verify(transactionManager, times(5)).getTransaction(any());
+        verify(transactionManager, times(3)).commit(any());
+        verify(tradeCurrentProjector, times(2)).projectAll(anyList());
+    }
+
+    @Test
+    void testCreateTrades_WritesAdditionalFieldsWithTheChunk() {
+        // Given
+        when(bookRepository.findByBookName("TestBook")).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName("counterpartyName")).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        TradeDTO withFields = batchTrade(100002L);
+        List<AdditionalInfoDTO> fields = List.of(new AdditionalInfoDTO(
+                null, null, null, "DESK_NOTE", "hedge", null, null, null, null, null));
+        withFields.setAdditionalFields(fields);
+
+        // When
+        List<TradeBatchResultDTO> results = tradeService.createTrades(List.of(withFields, batchTrade(100003L)));
+
+        // Then - the fields are written in the chunk transaction, after the trades
+        assertTrue(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        InOrder order = inOrder(tradeRepository, additionalInfoService, transactionManager);
+        order.verify(tradeRepository).saveAll(anyList());
+        order.verify(additionalInfoService).addTradeFields(100002L, fields);
+        order.verify(transactionManager).commit(any());
+        verify(additionalInfoService).addTradeFields(100003L, null);
+    }
+
+    private TradeDTO batchTrade(Long tradeId) {
+        TradeDTO dto = new TradeDTO();
+        dto.setTradeId(tradeId);
+        dto.setBookName("TestBook");
+        dto.setCounterpartyName("counterpartyName");
+        dto.setTradeDate(tradeDTO.getTradeDate());
+        dto.setTradeStartDate(tradeDTO.getTradeStartDate());
+        dto.setTradeMaturityDate(tradeDTO.getTradeMaturityDate());
+        dto.setTradeLegs(tradeDTO.getTradeLegs());
+        return dto;
+    }
+
     // This test has a deliberate bug for candidates to find and fix
     @Test
     void testCashflowGeneration_MonthlySchedule() {
@@ -250,8 +718,40 @@ class TradeServiceTest {
 
         // Then - assertions are wrong/missing
         // THEN
-        // Two legs × 12 monthly cashflows = 24 saves
-        verify(cashflowRepository, times(24)).save(any(Cashflow.class));
+        // Two legs × 12 monthly cashflows = 24 rows, written as one batch
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Cashflow>> cashflows = ArgumentCaptor.forClass(List.class);
+        verify(cashflowRepository).insertAll(cashflows.capture(), any(LocalDateTime.class));
+        verify(cashflowRepository, never()).save(any(Cashflow.class));
+        assertEquals(24, cashflows.getValue().size());
+    }
+
+    @Test
+    void testCreateTrade_AsyncBookingDefersCashflowsToWorker() {
+        // Given
+        when(tradeBookingWorker.isAsync()).thenReturn(true);
+        when(tradeRepository.save(any(Trade.class))).thenReturn(trade);
+        when(bookRepository.findByBookName(anyString())).thenReturn(Optional.of(mockBook));
+        when(counterpartyRepository.findByName(anyString())).thenReturn(Optional.of(mockCounterparty));
+        when(tradeStatusRepository.findByTradeStatus("NEW")).thenReturn(Optional.of(tradeStatus));
+        Schedule monthly = new Schedule();
+        monthly.setSchedule("Monthly");
+        when(tradeLegRepository.save(any(TradeLeg.class))).thenAnswer(invocation -> {
+            TradeLeg savedLeg = invocation.getArgument(0);
+            savedLeg.setCalculationPeriodSchedule(monthly);
+            return savedLeg;
+        });
+
+        // When
+        tradeService.createTrade(tradeDTO);
+
+        // Then - legs are committed readable on demand, cashflows are left to the worker
+        ArgumentCaptor<TradeLeg> legs = ArgumentCaptor.forClass(TradeLeg.class);
+        verify(tradeLegRepository, times(2)).save(legs.capture());
+        assertTrue(legs.getAllValues().stream().allMatch(leg -> leg.getCashflowsOnDemand()));
+        verify(cashflowRepository, never()).insertAll(any(), any());
+        verify(tradeBookingWorker).enqueue(trade, tradeDTO.getAdditionalFields());
+        verify(additionalInfoService, never()).addTradeFields(any(), any());
     }
 
 }
@@ -0,0 +1,93 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDirectoryTest {
+
+    @Mock private ApplicationUserRepository applicationUserRepository;
+
+    private UserDirectory directory;
+    private ApplicationUser simon;
+    private ApplicationUser joey;
+    private ApplicationUser simone;
+
+    @BeforeEach
+    void setUp() {
+        directory = new UserDirectory(applicationUserRepository);
+        simon = user(1003L, "simon", "Simon", "King");
+        joey = user(1005L, "joey", "Joey", "Tribbiani");
+        simone = user(1007L, "sbaker", "Simone", "King");
+        when(applicationUserRepository.findAll()).thenReturn(List.of(simon, joey, simone));
+    }
+
+    @Test
+    void testResolve_ByLoginIdFullNameAndUniqueFirstName() {
+        assertSame(joey, directory.resolve("joey").orElseThrow());
+        assertSame(simon, directory.resolve("Simon King").orElseThrow());
+        assertSame(simon, directory.resolve("  SIMON king ").orElseThrow());
+        assertSame(simone, directory.resolve("Simone").orElseThrow());
+        assertSame(joey, directory.resolve("Tribbiani").orElseThrow());
+    }
+
+    @Test
+    void testResolve_LoginIdTakesPrecedenceOverNames() {
+        // "simon" is both Simon's login ID and his first name; a first name cannot shadow a login ID
+        ApplicationUser other = user(1008L, "jking", "Jo", "simon");
+        when(applicationUserRepository.findAll()).thenReturn(List.of(simon, other));
+
+        assertSame(simon, directory.resolve("simon").orElseThrow());
+    }
+
+    @Test
+    void testResolve_SharedNameIsAmbiguous() {
+        // Both Simon and Simone are called King
+        assertEquals(Optional.empty(), directory.resolve("King"));
+    }
+
+    @Test
+    void testResolve_ByUniquePrefix() {
+        assertSame(joey, directory.resolve("Joey Trib").orElseThrow());
+        assertSame(simone, directory.resolve("sbak").orElseThrow());
+        assertEquals(Optional.empty(), directory.resolve("Sim"));
+        assertEquals(Optional.empty(), directory.resolve("Nobody"));
+        assertEquals(Optional.empty(), directory.resolve(null));
+    }
+
+    @Test
+    void testResolve_LoadsOnceUntilInvalidated() {
+        directory.resolve("joey");
+        directory.resolve("Simon King");
+        assertSame(joey, directory.byId(1005L).orElseThrow());
+        verify(applicationUserRepository, times(1)).findAll();
+
+        ApplicationUser renamed = user(1005L, "jtribbiani", "Joey", "Tribbiani");
+        doReturn(List.of(simon, renamed, simone)).when(applicationUserRepository).findAll();
+        directory.invalidate();
+
+        assertSame(renamed, directory.resolve("jtribbiani").orElseThrow());
+        assertSame(renamed, directory.resolve("joey").orElseThrow()); // now by first name
+        verify(applicationUserRepository, times(2)).findAll();
+    }
+
+    private static ApplicationUser user(Long id, String loginId, String firstName, String lastName) {
+        ApplicationUser user = new ApplicationUser();
+        user.setId(id);
+        user.setLoginId(loginId);
+        user.setFirstName(firstName);
+        user.setLastName(lastName);
+        return user;
+    }
+}
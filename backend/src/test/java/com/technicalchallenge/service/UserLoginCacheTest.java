@@ -0,0 +1,99 @@
+package com.technicalchallenge.service;
+
+import com.technicalchallenge.model.ApplicationUser;
+import com.technicalchallenge.repository.ApplicationUserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLoginCacheTest {
+
+    @Mock private ApplicationUserRepository applicationUserRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserLoginCache cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new UserLoginCache(applicationUserRepository, meterRegistry, 2);
+    }
+
+    @Test
+    void testFind_LoadsOnceThenServesFromCache() {
+        ApplicationUser simon = user(1003L, "simon");
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+
+        assertSame(simon, cache.find("simon").orElseThrow());
+        assertSame(simon, cache.find("simon").orElseThrow());
+
+        verify(applicationUserRepository, times(1)).findByLoginId("simon");
+        assertEquals(1.0, meterRegistry.get("user.cache.lookups").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testFind_UnknownLoginIdIsNotCached() {
+        when(applicationUserRepository.findByLoginId("nobody")).thenReturn(Optional.empty());
+
+        assertTrue(cache.find("nobody").isEmpty());
+        assertTrue(cache.find("nobody").isEmpty());
+        assertTrue(cache.find(null).isEmpty());
+
+        verify(applicationUserRepository, times(2)).findByLoginId("nobody");
+    }
+
+    @Test
+    void testFind_EvictsLeastRecentlyUsedBeyondSize() {
+        when(applicationUserRepository.findByLoginId(anyString()))
+                .thenAnswer(invocation -> Optional.of(user(1L, invocation.getArgument(0))));
+
+        cache.find("simon");
+        cache.find("joey");
+        cache.find("simon");
+        cache.find("alice");
+        cache.find("simon");
+        cache.find("joey");
+
+        verify(applicationUserRepository, times(1)).findByLoginId("simon");
+        verify(applicationUserRepository, times(2)).findByLoginId("joey");
+    }
+
+    @Test
+    void testFindCached_NeverLoads() {
+        ApplicationUser simon = user(1003L, "simon");
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(simon));
+
+        assertTrue(cache.findCached("simon").isEmpty());
+        cache.find("simon");
+        assertSame(simon, cache.findCached("simon").orElseThrow());
+
+        verify(applicationUserRepository, times(1)).findByLoginId("simon");
+    }
+
+    @Test
+    void testEvictUser_DropsUserCachedUnderAnyLoginId() {
+        when(applicationUserRepository.findByLoginId("simon")).thenReturn(Optional.of(user(1003L, "simon")));
+        cache.find("simon");
+
+        cache.evictUser(1003L);
+        cache.find("simon");
+
+        verify(applicationUserRepository, times(2)).findByLoginId("simon");
+    }
+
+    private static ApplicationUser user(Long id, String loginId) {
+        ApplicationUser user = new ApplicationUser();
+        user.setId(id);
+        user.setLoginId(loginId);
+        return user;
+    }
+}
@@ -15,6 +15,10 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserServiceTest {
     @Mock
     private ApplicationUserRepository applicationUserRepository;
+    @Mock
+    private EntitlementService entitlementService;
+    @Mock
+    private UserLoginCache userLoginCache;
     @InjectMocks
     private ApplicationUserService applicationUserService;
 
@@ -44,6 +48,7 @@ public class UserServiceTest {
         doNothing().when(applicationUserRepository).deleteById(userId);
         applicationUserService.deleteUser(userId);
         verify(applicationUserRepository, times(1)).deleteById(userId);
+        verify(entitlementService).evict(userId);
     }
 
     @Test
@@ -0,0 +1,197 @@
+package com.technicalchallenge.validation;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.exception.ValidationException;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.validator.Validator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TradeValidationEngineTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TradeValidationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+        }
+    }
+
+    @Test
+    void testInMemoryValidatorsRunBeforeIoValidators() {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("io", Validator.Cost.IO, (c, r) -> calls.add("io")),
+                new StubValidator("cheap", Validator.Cost.IN_MEMORY, (c, r) -> calls.add("cheap"))),
+                meterRegistry, 1000);
+
+        ValidationResult result = engine.validate(context(TradeOperationType.CREATE));
+
+        assertFalse(result.hasErrors());
+        assertEquals(List.of("cheap", "io"), calls);
+    }
+
+    @Test
+    void testInMemoryErrorSkipsIoValidators() {
+        AtomicBoolean ioRan = new AtomicBoolean();
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("cheap", Validator.Cost.IN_MEMORY, (c, r) -> r.addError("Trade date is required.")),
+                new StubValidator("io", Validator.Cost.IO, (c, r) -> ioRan.set(true))),
+                meterRegistry, 1000);
+
+        ValidationResult result = engine.validate(context(TradeOperationType.CREATE));
+
+        assertEquals(List.of("Trade date is required."), result.getErrors());
+        assertFalse(ioRan.get());
+    }
+
+    @Test
+    void testIoValidatorsRunConcurrentlyAndMergeInRegistrationOrder() {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Validator.Cost io = Validator.Cost.IO;
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("first", io, (c, r) -> {
+                    awaitOther(bothStarted);
+                    r.addError("first");
+                }),
+                new StubValidator("second", io, (c, r) -> {
+                    awaitOther(bothStarted);
+                    r.addError("second");
+                })),
+                meterRegistry, 1000);
+
+        ValidationResult result = engine.validate(context(TradeOperationType.CREATE));
+
+        // Each validator waits for the other to start, so this only completes if they overlap
+        assertEquals(List.of("first", "second"), result.getErrors());
+    }
+
+    @Test
+    void testValidatorsAreScopedByOperation() {
+        AtomicBoolean ran = new AtomicBoolean();
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("createOnly", Validator.Cost.IN_MEMORY, (c, r) -> ran.set(true),
+                        Set.of(TradeOperationType.CREATE))),
+                meterRegistry, 1000);
+
+        engine.validate(context(TradeOperationType.CANCEL));
+
+        assertFalse(ran.get());
+    }
+
+    @Test
+    void testFailingIoValidatorIsReportedAsError() {
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("ok", Validator.Cost.IO, (c, r) -> { }),
+                new StubValidator("broken", Validator.Cost.IO, (c, r) -> {
+                    throw new IllegalStateException("lookup failed");
+                })),
+                meterRegistry, 1000);
+
+        ValidationResult result = engine.validate(context(TradeOperationType.CREATE));
+
+        assertEquals(List.of("broken failed: lookup failed"), result.getErrors());
+    }
+
+    @Test
+    void testValidateOrThrowJoinsErrors() {
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("cheap", Validator.Cost.IN_MEMORY, (c, r) -> {
+                    r.addError("Book and Counterparty are required");
+                    r.addWarning("Trader User and Trade Inputter User are the same person");
+                    r.addError("Trade date is required.");
+                })),
+                meterRegistry, 1000);
+
+        ValidationException exception = assertThrows(ValidationException.class,
+                () -> engine.validateOrThrow(context(TradeOperationType.CREATE)));
+
+        assertEquals("Book and Counterparty are required; Trade date is required.", exception.getMessage());
+    }
+
+    @Test
+    void testEachValidatorRunIsTimed() {
+        engine = new TradeValidationEngine(List.of(
+                new StubValidator("cheap", Validator.Cost.IN_MEMORY, (c, r) -> { })),
+                meterRegistry, 1000);
+
+        engine.validate(context(TradeOperationType.CREATE));
+        engine.validate(context(TradeOperationType.CREATE));
+
+        assertEquals(2, meterRegistry.get("trade.validation.validator")
+                .tag("validator", "cheap")
+                .tag("operation", "CREATE")
+                .timer().count());
+    }
+
+    private static ValidationContext context(TradeOperationType operation) {
+        return new ValidationContext(new TradeDTO(), null, null, LocalDate.of(2025, 1, 15), operation);
+    }
+
+    private static void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertTrue(latch.await(500, TimeUnit.MILLISECONDS), "validators did not overlap");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class StubValidator implements Validator {
+        private final String name;
+        private final Cost cost;
+        private final Validator body;
+        private final Set<TradeOperationType> operations;
+
+        StubValidator(String name, Cost cost, Validator body) {
+            this(name, cost, body, Set.of(TradeOperationType.values()));
+        }
+
+        StubValidator(String name, Cost cost, Validator body, Set<TradeOperationType> operations) {
+            this.name = name;
+            this.cost = cost;
+            this.body = body;
+            this.operations = operations;
+        }
+
+        @Override
+        public void validate(ValidationContext context, ValidationResult result) {
+            body.validate(context, result);
+        }
+
+        @Override
+        public Cost cost() {
+            return cost;
+        }
+
+        @Override
+        public boolean appliesTo(TradeOperationType operation) {
+            return operations.contains(operation);
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+    }
+}
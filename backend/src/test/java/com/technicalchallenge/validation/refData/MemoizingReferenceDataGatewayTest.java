@@ -0,0 +1,74 @@
+package com.technicalchallenge.validation.refData;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MemoizingReferenceDataGatewayTest {
+
+    @Mock private ReferenceDataGateway delegate;
+
+    private MemoizingReferenceDataGateway gateway;
+
+    @BeforeEach
+    void setUp() {
+        gateway = new MemoizingReferenceDataGateway(delegate);
+    }
+
+    @Test
+    void testBulkLookupIsForwardedOnceAndServesSingleChecks() {
+        when(delegate.bookStates(anyCollection()))
+                .thenReturn(Map.of(1L, EntityState.ACTIVE, 2L, EntityState.INACTIVE));
+
+        Map<Long, EntityState> states = gateway.bookStates(List.of(1L, 2L, 3L));
+
+        assertEquals(EntityState.ACTIVE, states.get(1L));
+        assertEquals(EntityState.INACTIVE, states.get(2L));
+        assertEquals(EntityState.MISSING, states.get(3L));
+        assertTrue(gateway.bookExists(1L));
+        assertFalse(gateway.isBookActive(2L));
+        assertFalse(gateway.bookExists(3L));
+        verify(delegate, times(1)).bookStates(anyCollection());
+    }
+
+    @Test
+    void testOnlyUnknownIdsAreForwarded() {
+        when(delegate.userStates(anyCollection())).thenReturn(Map.of(1L, EntityState.ACTIVE));
+        gateway.userStates(List.of(1L));
+
+        when(delegate.userStates(List.of(2L))).thenReturn(Map.of(2L, EntityState.ACTIVE));
+        Map<Long, EntityState> states = gateway.userStates(List.of(1L, 2L));
+
+        assertEquals(Map.of(1L, EntityState.ACTIVE, 2L, EntityState.ACTIVE), states);
+        verify(delegate).userStates(List.of(2L));
+    }
+
+    @Test
+    void testNullIdsAreIgnored() {
+        Map<Long, EntityState> states = gateway.counterpartyStates(Arrays.asList(null, null));
+
+        assertTrue(states.isEmpty());
+        verifyNoInteractions(delegate);
+    }
+
+    @Test
+    void testLoginIdLookupsAreMemoizedSeparately() {
+        when(delegate.userStatesByLoginId(anyCollection())).thenReturn(Map.of("jdoe", EntityState.ACTIVE));
+
+        assertTrue(gateway.userExists("jdoe"));
+        assertTrue(gateway.userExists("jdoe"));
+
+        verify(delegate, times(1)).userStatesByLoginId(anyCollection());
+        verify(delegate, never()).userStates(anyCollection());
+    }
+}
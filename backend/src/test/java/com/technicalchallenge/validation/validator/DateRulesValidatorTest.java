@@ -0,0 +1,56 @@
+package com.technicalchallenge.validation.validator;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.validation.ValidationContext;
+import com.technicalchallenge.validation.ValidationContext.TradeOperationType;
+import com.technicalchallenge.validation.ValidationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DateRulesValidatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    private final DateRulesValidator validator = new DateRulesValidator();
+
+    @Test
+    void testCreate_RejectsTradeDateOlderThanThirtyDays() {
+        ValidationResult result = validate(TradeOperationType.CREATE, trade(TODAY.minusDays(31), TODAY.plusYears(1)));
+
+        assertEquals(List.of("Trade date cannot be more than 30 days in the past."), result.getErrors());
+    }
+
+    @Test
+    void testAmend_AllowsOldTradeDate() {
+        // A trade booked last year can still be amended
+        ValidationResult result = validate(TradeOperationType.AMEND, trade(TODAY.minusYears(1), TODAY.plusYears(1)));
+
+        assertFalse(result.hasErrors());
+    }
+
+    @Test
+    void testAmend_StillChecksDateOrder() {
+        ValidationResult result = validate(TradeOperationType.AMEND, trade(TODAY.minusYears(1), TODAY.minusYears(2)));
+
+        assertEquals(List.of("Maturity date cannot be before trade date.", "Maturity date cannot be before start date."),
+                result.getErrors());
+    }
+
+    private ValidationResult validate(TradeOperationType operation, TradeDTO trade) {
+        ValidationResult result = new ValidationResult();
+        validator.validate(new ValidationContext(trade, null, null, TODAY, operation), result);
+        return result;
+    }
+
+    private static TradeDTO trade(LocalDate tradeDate, LocalDate maturityDate) {
+        TradeDTO trade = new TradeDTO();
+        trade.setTradeDate(tradeDate);
+        trade.setTradeStartDate(tradeDate);
+        trade.setTradeMaturityDate(maturityDate);
+        return trade;
+    }
+}
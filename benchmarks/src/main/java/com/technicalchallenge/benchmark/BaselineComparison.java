@@ -0,0 +1,129 @@
+package com.technicalchallenge.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Compares a JMH JSON result file with a recorded baseline and fails if any benchmark got
+ * worse by more than a threshold percentage. Throughput scores regress when they fall; every
+ * other mode (average time, sample time, single shot) regresses when the score rises.
+ * Benchmarks missing from the baseline are reported but never fail the comparison.
+ *
+ * <p>Scores are compared as confidence intervals ({@code score ± scoreError}), not as points:
+ * a benchmark only regresses when its whole interval is worse than the baseline's whole
+ * interval widened by the threshold, so run-to-run noise within the error bars never fails
+ * the build.</p>
+ *
+ * <p>Arguments: {@code <result.json> <baseline.json> [threshold percent, default 10]}. A missing
+ * baseline file is an error, so a moved or deleted baseline cannot silently turn the check
+ * off; record one by copying a result file to that path, or skip the comparison explicitly
+ * with {@code -Djmh.baseline.skip}.</p>
+ */
+public final class BaselineComparison {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    record Score(String mode, double score, double error, String unit) {
+
+        // JMH reports NaN as the error of a run too short to estimate one
+        Score {
+            error = Double.isNaN(error) ? 0.0 : error;
+        }
+
+        double lower() {
+            return score - error;
+        }
+
+        double upper() {
+            return score + error;
+        }
+    }
+
+    private BaselineComparison() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: BaselineComparison <result.json> <baseline.json> [threshold percent]");
+        }
+        Path results = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No benchmark baseline at " + baseline + ". Copy " + results
+                    + " there to record one, or run with -Djmh.baseline.skip to skip the comparison.");
+        }
+
+        List<String> regressions = compare(read(results), read(baseline), threshold, System.out::println);
+        if (!regressions.isEmpty()) {
+            throw new IllegalStateException(regressions.size() + " benchmark(s) regressed by more than " + threshold
+                    + "% against " + baseline + ":\n  " + String.join("\n  ", regressions));
+        }
+    }
+
+    /**
+     * Reads a JMH JSON result file, keyed by benchmark name plus its parameters.
+     */
+    static Map<String, Score> read(Path file) throws IOException {
+        Map<String, Score> scores = new TreeMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file.toFile())) {
+            String key = run.path("benchmark").asText();
+            Map<String, String> params = new TreeMap<>();
+            run.path("params").properties().forEach(param -> params.put(param.getKey(), param.getValue().asText()));
+            if (!params.isEmpty()) {
+                key += " " + params;
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key, new Score(run.path("mode").asText(), metric.path("score").asDouble(),
+                    metric.path("scoreError").asDouble(Double.NaN), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+
+    /**
+     * Compares every result with its baseline, reporting one line per benchmark.
+     *
+     * @return descriptions of the benchmarks that regressed beyond the threshold
+     */
+    static List<String> compare(Map<String, Score> results, Map<String, Score> baseline, double thresholdPercent,
+                                Consumer<String> report) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Score> entry : results.entrySet()) {
+            String name = entry.getKey();
+            Score current = entry.getValue();
+            Score previous = baseline.get(name);
+            if (previous == null) {
+                report.accept(String.format("%-100s %12.3f %-10s (new, no baseline)", name, current.score(), current.unit()));
+                continue;
+            }
+            if (!previous.unit().equals(current.unit()) || !previous.mode().equals(current.mode())) {
+                String line = name + ": measured as " + current.mode() + " " + current.unit() + " but the baseline is "
+                        + previous.mode() + " " + previous.unit() + "; record a new baseline";
+                report.accept(line);
+                regressions.add(line);
+                continue;
+            }
+            double change = 100.0 * (current.score() - previous.score()) / previous.score();
+            report.accept(String.format("%-100s %12.3f ± %-10.3f %-10s %+7.1f%%",
+                    name, current.score(), current.error(), current.unit(), change));
+            boolean regressed = "thrpt".equals(current.mode())
+                    ? current.upper() < previous.lower() * (1 - thresholdPercent / 100)
+                    : current.lower() > previous.upper() * (1 + thresholdPercent / 100);
+            if (regressed) {
+                regressions.add(String.format("%s: %.3f ± %.3f -> %.3f ± %.3f %s (%+.1f%%)", name,
+                        previous.score(), previous.error(), current.score(), current.error(), current.unit(), change));
+            }
+        }
+        return regressions;
+    }
+}
@@ -0,0 +1,72 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.service.CashflowAmountKernel;
+import com.technicalchallenge.service.CashflowAmountKernel.DayCount;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Amount calculation alone for one 30 year monthly fixed leg (360 periods): the fixed-point
+ * kernel against the BigDecimal accrual the service used before. Scores are nanoseconds per period.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CashflowAmountKernelBenchmark {
+
+    private static final int PERIODS = 360;
+
+    private final BigDecimal notional = BigDecimal.valueOf(10_000_000);
+    private final double rate = 0.035;
+    private long firstStart;
+    private long[] ends;
+    private long[] amounts;
+
+    @Setup
+    public void setUp() {
+        LocalDate start = LocalDate.of(2025, 1, 31);
+        firstStart = start.toEpochDay();
+        ends = new long[PERIODS];
+        for (int i = 0; i < PERIODS; i++) {
+            ends[i] = start.plusMonths(i + 1).toEpochDay();
+        }
+        amounts = new long[PERIODS];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PERIODS)
+    public long[] kernel() {
+        CashflowAmountKernel.amounts(CashflowAmountKernel.toMinorUnits(notional), CashflowAmountKernel.toRateUnits(rate),
+                DayCount.ACT_360, firstStart, ends, 0, PERIODS, amounts);
+        return amounts;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PERIODS)
+    public void bigDecimal(Blackhole blackhole) {
+        long start = firstStart;
+        for (int i = 0; i < PERIODS; i++) {
+            BigDecimal days = BigDecimal.valueOf(ends[i] - start);
+            blackhole.consume(notional.multiply(BigDecimal.valueOf(rate)).multiply(days)
+                    .divide(BigDecimal.valueOf(360), 2, RoundingMode.HALF_UP));
+            start = ends[i];
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CashflowAmountKernelBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
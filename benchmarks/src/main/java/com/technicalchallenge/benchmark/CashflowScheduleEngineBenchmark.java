@@ -0,0 +1,66 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.service.CashflowScheduleEngine;
+import com.technicalchallenge.service.CashflowScheduleEngine.LegTerms;
+import com.technicalchallenge.service.CashflowScheduleEngine.Schedules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-leg cost of cashflow generation on a book of 30 year monthly swaps (one fixed and one
+ * floating leg each, 360 periods per leg). Scores are microseconds per leg.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CashflowScheduleEngineBenchmark {
+
+    private static final int SWAPS = 1000;
+    private static final int LEGS = SWAPS * 2;
+
+    private final CashflowScheduleEngine engine = new CashflowScheduleEngine();
+    private List<LegTerms> book;
+    private List<LegTerms> singleLeg;
+
+    @Setup
+    public void setUp() {
+        book = new ArrayList<>(LEGS);
+        LocalDate start = LocalDate.of(2025, 1, 2);
+        for (int i = 0; i < SWAPS; i++) {
+            LocalDate tradeStart = start.plusDays(i % 250);
+            LocalDate maturity = tradeStart.plusYears(30);
+            BigDecimal notional = BigDecimal.valueOf(1_000_000L * (1 + i % 50));
+            book.add(new LegTerms(notional, 0.03 + (i % 100) / 10_000.0, true, 1, tradeStart, maturity));
+            book.add(new LegTerms(notional, null, false, 1, tradeStart, maturity));
+        }
+        singleLeg = List.of(book.get(0));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LEGS)
+    public Schedules swapBook() {
+        return engine.generate(book);
+    }
+
+    @Benchmark
+    public Schedules singleLeg() {
+        return engine.generate(singleLeg);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CashflowScheduleEngineBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.model.Trade;
+import cz.jirutka.rsql.parser.RSQLParser;
+import cz.jirutka.rsql.parser.ast.Node;
+import io.github.perplexhub.rsql.RSQLJPASupport;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code /api/trades/rsql} query path: parsing the RSQL expression alone, and parsing it
+ * into the criteria query {@code TradeService.searchTradesWithRsql} runs. Scores are
+ * microseconds per query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RsqlBenchmark {
+
+    @Param({
+            "counterparty.name==MegaFund",
+            "counterparty.name==MegaFund;tradeStatus.tradeStatus==NEW;tradeDate=ge=2025-01-01",
+            "(book.bookName==RATES-BOOK-1,book.bookName==FX-BOOK-1);tradeLegs.notional=gt=1000000;tradeLegs.currency.currency=in=(USD,EUR)"
+    })
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private CriteriaBuilder criteriaBuilder;
+    private RSQLParser parser;
+
+    @Setup
+    public void setUp() {
+        context = BackendContext.start("rsql-benchmark");
+        criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+        parser = new RSQLParser();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Node parse() {
+        return parser.parse(query);
+    }
+
+    @Benchmark
+    public CriteriaQuery<Trade> toCriteriaQuery() {
+        Specification<Trade> specification = RSQLJPASupport.toSpecification(query);
+        CriteriaQuery<Trade> criteriaQuery = criteriaBuilder.createQuery(Trade.class);
+        Root<Trade> root = criteriaQuery.from(Trade.class);
+        return criteriaQuery.where(specification.toPredicate(root, criteriaQuery, criteriaBuilder));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RsqlBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,249 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeLegDTO;
+import com.technicalchallenge.model.*;
+import com.technicalchallenge.service.CashflowScheduleEngine;
+import com.technicalchallenge.service.LegCashflowGenerator;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deterministic trade data for the suites: trade {@code i} is always the same swap, so runs
+ * against the same data set are comparable. Reference data matches the rows in the backend's
+ * {@code data.sql}: two books, two counterparties, two traders, USD/EUR/GBP legs, monthly or
+ * quarterly schedules.
+ */
+public final class TradeDataGenerator {
+
+    private static final String[] BOOKS = {"RATES-BOOK-1", "FX-BOOK-1"};
+    private static final String[] COUNTERPARTIES = {"MegaFund", "BigBank"};
+    private static final String[] TRADERS = {"Simon", "Joey"};
+    private static final String[] CURRENCIES = {"USD", "EUR", "GBP"};
+    private static final String[] SCHEDULES = {"Quarterly", "Monthly"};
+
+    private TradeDataGenerator() {
+    }
+
+    /**
+     * Booking payload for trade {@code i}: a fixed/floating interest rate swap referencing
+     * its reference data by name, starting two days after {@code tradeDate}.
+     */
+    public static TradeDTO tradeDto(int i, LocalDate tradeDate, int tenorMonths) {
+        TradeDTO dto = new TradeDTO();
+        dto.setBookName(BOOKS[i % BOOKS.length]);
+        dto.setCounterpartyName(COUNTERPARTIES[(i / 2) % COUNTERPARTIES.length]);
+        dto.setTraderUserName(TRADERS[(i / 4) % TRADERS.length]);
+        dto.setInputterUserName("Alice");
+        dto.setTradeType("Swap");
+        dto.setTradeSubType("IR Swap");
+        dto.setUtiCode("UTI-BENCH-" + i);
+        dto.setTradeDate(tradeDate);
+        dto.setTradeStartDate(tradeDate.plusDays(2));
+        dto.setTradeMaturityDate(tradeDate.plusDays(2).plusMonths(tenorMonths));
+        dto.setTradeExecutionDate(tradeDate);
+
+        BigDecimal notional = notional(i);
+        String currency = CURRENCIES[i % CURRENCIES.length];
+        String schedule = SCHEDULES[(i / 3) % SCHEDULES.length];
+        dto.setTradeLegs(List.of(
+                legDto(notional, rate(i), "Fixed", null, currency, schedule, "Pay"),
+                legDto(notional, 0.0, "Floating", "LIBOR", currency, schedule, "Receive")));
+        return dto;
+    }
+
+    /**
+     * Booking payloads for trades {@code [from, from + count)}.
+     */
+    public static List<TradeDTO> tradeDtos(int from, int count, LocalDate tradeDate, int tenorMonths) {
+        List<TradeDTO> dtos = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            dtos.add(tradeDto(i, tradeDate, tenorMonths));
+        }
+        return dtos;
+    }
+
+    /**
+     * Booked trade entities, as loaded from the database: IDs assigned, reference data attached,
+     * and each one year quarterly leg carrying its four stored cashflows.
+     */
+    public static Trade[] trades(int count) {
+        ReferenceData ref = new ReferenceData();
+        LegCashflowGenerator cashflowGenerator = new LegCashflowGenerator(new CashflowScheduleEngine(), false, 0);
+        LocalDate firstTradeDate = LocalDate.of(2025, 1, 2);
+        LocalDateTime createdDate = firstTradeDate.atTime(9, 0);
+
+        Trade[] trades = new Trade[count];
+        for (int i = 0; i < count; i++) {
+            LocalDate tradeDate = firstTradeDate.plusDays(i % 250);
+            Trade trade = new Trade();
+            trade.setId(10_000L + i);
+            trade.setTradeId(100_000L + i);
+            trade.setVersion(1);
+            trade.setBook(ref.books[i % ref.books.length]);
+            trade.setCounterparty(ref.counterparties[(i / 2) % ref.counterparties.length]);
+            trade.setTraderUser(ref.traders[(i / 4) % ref.traders.length]);
+            trade.setTradeInputterUser(ref.inputter);
+            trade.setTradeType(ref.swap);
+            trade.setTradeSubType(ref.irSwap);
+            trade.setTradeStatus(ref.live);
+            trade.setUtiCode("UTI-BENCH-" + i);
+            trade.setTradeDate(tradeDate);
+            trade.setTradeStartDate(tradeDate.plusDays(2));
+            trade.setTradeMaturityDate(tradeDate.plusDays(2).plusYears(1));
+            trade.setTradeExecutionDate(tradeDate);
+            trade.setLastTouchTimestamp(createdDate);
+            trade.setValidityStartDate(tradeDate);
+            trade.setActive(true);
+            trade.setCreatedDate(createdDate);
+
+            BigDecimal notional = notional(i);
+            Currency currency = ref.currencies[i % ref.currencies.length];
+            List<TradeLeg> legs = List.of(
+                    leg(2L * i, trade, notional, rate(i), ref.fixed, null, currency, ref.pay, ref),
+                    leg(2L * i + 1, trade, notional, 0.0, ref.floating, ref.libor, currency, ref.receive, ref));
+            for (Cashflow cashflow : cashflowGenerator.generate(legs)) {
+                cashflow.setCreatedDate(createdDate);
+                cashflow.getTradeLeg().getCashflows().add(cashflow);
+            }
+            trade.setTradeLegs(new ArrayList<>(legs));
+            trades[i] = trade;
+        }
+        return trades;
+    }
+
+    private static TradeLegDTO legDto(BigDecimal notional, Double rate, String legType, String index,
+                                      String currency, String schedule, String payRec) {
+        TradeLegDTO dto = new TradeLegDTO();
+        dto.setNotional(notional);
+        dto.setRate(rate);
+        dto.setLegType(legType);
+        dto.setIndexName(index);
+        dto.setCurrency(currency);
+        dto.setHolidayCalendar("NY");
+        dto.setCalculationPeriodSchedule(schedule);
+        dto.setPaymentBusinessDayConvention("Following");
+        dto.setFixingBusinessDayConvention("Following");
+        dto.setPayReceiveFlag(payRec);
+        return dto;
+    }
+
+    private static TradeLeg leg(long legId, Trade trade, BigDecimal notional, Double rate, LegType legType, Index index,
+                                Currency currency, PayRec payRec, ReferenceData ref) {
+        TradeLeg leg = new TradeLeg();
+        leg.setLegId(legId);
+        leg.setTrade(trade);
+        leg.setNotional(notional);
+        leg.setRate(rate);
+        leg.setLegRateType(legType);
+        leg.setIndex(index);
+        leg.setCurrency(currency);
+        leg.setHolidayCalendar(ref.newYork);
+        leg.setCalculationPeriodSchedule(ref.quarterly);
+        leg.setPaymentBusinessDayConvention(ref.following);
+        leg.setFixingBusinessDayConvention(ref.following);
+        leg.setPayReceiveFlag(payRec);
+        leg.setScheduleStartDate(trade.getTradeStartDate());
+        leg.setScheduleEndDate(trade.getTradeMaturityDate());
+        leg.setActive(true);
+        leg.setCreatedDate(trade.getCreatedDate());
+        leg.setCashflows(new ArrayList<>());
+        return leg;
+    }
+
+    private static BigDecimal notional(int i) {
+        return BigDecimal.valueOf(1_000_000L * (1 + i % 50));
+    }
+
+    private static double rate(int i) {
+        return 0.02 + (i % 300) / 10_000.0;
+    }
+
+    // One instance of each reference entity, shared by every generated trade as a persistence context would
+    private static final class ReferenceData {
+        final Book[] books = {book(1001L, "RATES-BOOK-1"), book(1000L, "FX-BOOK-1")};
+        final Counterparty[] counterparties = {counterparty(1001L, "MegaFund"), counterparty(1000L, "BigBank")};
+        final ApplicationUser[] traders = {user(1003L, "Simon", "King", "simon"), user(1005L, "Joey", "Tribbiani", "joey")};
+        final ApplicationUser inputter = user(1000L, "Alice", "Smith", "alice");
+        final TradeType swap = new TradeType();
+        final TradeSubType irSwap = new TradeSubType();
+        final TradeStatus live = new TradeStatus();
+        final Currency[] currencies = {currency(1000L, "USD"), currency(1001L, "EUR"), currency(1002L, "GBP")};
+        final LegType fixed = legType(1000L, "Fixed");
+        final LegType floating = legType(1001L, "Floating");
+        final Index libor = new Index();
+        final HolidayCalendar newYork = new HolidayCalendar();
+        final Schedule quarterly = new Schedule();
+        final BusinessDayConvention following = new BusinessDayConvention();
+        final PayRec pay = payRec(1000L, "Pay");
+        final PayRec receive = payRec(1001L, "Receive");
+
+        ReferenceData() {
+            swap.setId(1001L);
+            swap.setTradeType("Swap");
+            irSwap.setId(1003L);
+            irSwap.setTradeSubType("IR Swap");
+            live.setId(1004L);
+            live.setTradeStatus("LIVE");
+            libor.setId(1000L);
+            libor.setIndex("LIBOR");
+            newYork.setId(1000L);
+            newYork.setHolidayCalendar("NY");
+            quarterly.setId(1001L);
+            quarterly.setSchedule("Quarterly");
+            following.setId(1000L);
+            following.setBdc("Following");
+        }
+
+        private static Book book(Long id, String name) {
+            Book book = new Book();
+            book.setId(id);
+            book.setBookName(name);
+            book.setActive(true);
+            return book;
+        }
+
+        private static Counterparty counterparty(Long id, String name) {
+            Counterparty counterparty = new Counterparty();
+            counterparty.setId(id);
+            counterparty.setName(name);
+            counterparty.setActive(true);
+            return counterparty;
+        }
+
+        private static ApplicationUser user(Long id, String firstName, String lastName, String loginId) {
+            ApplicationUser user = new ApplicationUser();
+            user.setId(id);
+            user.setFirstName(firstName);
+            user.setLastName(lastName);
+            user.setLoginId(loginId);
+            user.setActive(true);
+            return user;
+        }
+
+        private static Currency currency(Long id, String code) {
+            Currency currency = new Currency();
+            currency.setId(id);
+            currency.setCurrency(code);
+            return currency;
+        }
+
+        private static LegType legType(Long id, String type) {
+            LegType legType = new LegType();
+            legType.setId(id);
+            legType.setType(type);
+            return legType;
+        }
+
+        private static PayRec payRec(Long id, String flag) {
+            PayRec payRec = new PayRec();
+            payRec.setId(id);
+            payRec.setPayRec(flag);
+            return payRec;
+        }
+    }
+}
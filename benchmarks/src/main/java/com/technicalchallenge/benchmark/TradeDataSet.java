@@ -0,0 +1,20 @@
+package com.technicalchallenge.benchmark;
+
+/**
+ * Trade book sizes the suites run against, selected with {@code -p dataSet=...}.
+ */
+public enum TradeDataSet {
+    SMALL(1_000),
+    MEDIUM(100_000),
+    LARGE(1_000_000);
+
+    private final int trades;
+
+    TradeDataSet(int trades) {
+        this.trades = trades;
+    }
+
+    public int trades() {
+        return trades;
+    }
+}
@@ -0,0 +1,105 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.dto.CounterpartyDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.UserDTO;
+import com.technicalchallenge.mapper.ApplicationUserMapper;
+import com.technicalchallenge.mapper.CounterpartyMapper;
+import com.technicalchallenge.mapper.TradeMapper;
+import com.technicalchallenge.model.Counterparty;
+import com.technicalchallenge.model.Trade;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping over a generated book held in memory: the hand-written {@link TradeMapper}
+ * (a full trade with two legs and eight cashflows to a DTO, and a header DTO back to an entity)
+ * and the generated reference data mappers. Each call maps the next trade of the book,
+ * so larger data sets also measure the cost of walking a book that does not fit in cache.
+ * Scores are nanoseconds per mapped object.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class TradeMapperBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public TradeDataSet dataSet;
+
+    private ConfigurableApplicationContext context;
+    private TradeMapper tradeMapper;
+    private CounterpartyMapper counterpartyMapper;
+    private ApplicationUserMapper applicationUserMapper;
+    private Trade[] trades;
+    private TradeDTO[] headers;
+    private CounterpartyDTO[] counterparties;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        context = BackendContext.start("trade-mapper-benchmark");
+        tradeMapper = context.getBean(TradeMapper.class);
+        counterpartyMapper = context.getBean(CounterpartyMapper.class);
+        applicationUserMapper = context.getBean(ApplicationUserMapper.class);
+
+        trades = TradeDataGenerator.trades(dataSet.trades());
+        headers = new TradeDTO[trades.length];
+        for (int i = 0; i < trades.length; i++) {
+            headers[i] = tradeMapper.toHeaderDto(trades[i]);
+        }
+        counterparties = new CounterpartyDTO[]{
+                counterpartyMapper.toDto(trades[0].getCounterparty()),
+                counterpartyMapper.toDto(trades[2].getCounterparty())
+        };
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private int nextIndex() {
+        int i = next;
+        next = i + 1 == trades.length ? 0 : i + 1;
+        return i;
+    }
+
+    @Benchmark
+    public TradeDTO tradeToDto() {
+        return tradeMapper.toDto(trades[nextIndex()]);
+    }
+
+    @Benchmark
+    public Trade tradeToEntity() {
+        return tradeMapper.toEntity(headers[nextIndex()]);
+    }
+
+    @Benchmark
+    public CounterpartyDTO counterpartyToDto() {
+        return counterpartyMapper.toDto(trades[nextIndex()].getCounterparty());
+    }
+
+    @Benchmark
+    public Counterparty counterpartyToEntity() {
+        return counterpartyMapper.toEntity(counterparties[nextIndex() & 1]);
+    }
+
+    @Benchmark
+    public UserDTO traderToDto() {
+        return applicationUserMapper.toDto(trades[nextIndex()].getTraderUser());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TradeMapperBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
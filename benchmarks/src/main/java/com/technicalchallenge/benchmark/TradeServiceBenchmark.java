@@ -0,0 +1,93 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.dto.TradeBatchResultDTO;
+import com.technicalchallenge.dto.TradeDTO;
+import com.technicalchallenge.dto.TradeFilterRequestDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.service.TradeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Booking and filtering through {@link TradeService} on an in-memory H2 database already
+ * holding the data set's trades. Each {@code createTrade} books a new five year swap (validation,
+ * reference data resolution, trade, legs and cashflows); {@code filterTrades} fetches the first
+ * page of a trade-and-leg filter. Scores are microseconds per call.
+ *
+ * <p>Seeded trades are three month swaps so the LARGE book stays at two cashflows per trade;
+ * seeding 1M trades takes a few minutes and needs the larger heap below.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class TradeServiceBenchmark {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public TradeDataSet dataSet;
+
+    private ConfigurableApplicationContext context;
+    private TradeService tradeService;
+    private LocalDate tradeDate;
+    private TradeFilterRequestDTO filter;
+    private int nextTrade;
+
+    @Setup
+    public void setUp() {
+        context = BackendContext.start("trade-service-benchmark");
+        tradeService = context.getBean(TradeService.class);
+        tradeDate = LocalDate.now();
+
+        for (int from = 0; from < dataSet.trades(); from += SEED_BATCH_SIZE) {
+            int count = Math.min(SEED_BATCH_SIZE, dataSet.trades() - from);
+            for (TradeBatchResultDTO result : tradeService.createTrades(TradeDataGenerator.tradeDtos(from, count, tradeDate, 3))) {
+                if (!result.isSuccess()) {
+                    throw new IllegalStateException("Seed trade " + (from + result.getIndex()) + " rejected: " + result.getMessage());
+                }
+            }
+        }
+        nextTrade = dataSet.trades();
+
+        filter = TradeFilterRequestDTO.builder()
+                .counterpartyName("MegaFund")
+                .tradeStatusName("NEW")
+                .currency("USD")
+                .minNotional(BigDecimal.valueOf(10_000_000))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Trade createTrade() {
+        TradeDTO trade = TradeDataGenerator.tradeDto(nextTrade++, tradeDate, 60);
+        return tradeService.createTrade(trade);
+    }
+
+    @Benchmark
+    public Page<TradeDTO> filterTrades() {
+        return tradeService.filterTrades(filter, null, PageRequest.of(0, 50));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TradeServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
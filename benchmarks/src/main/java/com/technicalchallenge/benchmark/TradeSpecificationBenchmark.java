@@ -0,0 +1,96 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.dto.TradeFilterRequestDTO;
+import com.technicalchallenge.model.Trade;
+import com.technicalchallenge.specification.TradeSpecification;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query building for the trader filter: {@link TradeSpecification#filterTrades} turned into a
+ * Hibernate criteria query, without executing it. {@code HEADER} filters on trade fields and
+ * reference names only, {@code LEGS} adds the trade leg join, {@code ALL} sets every criterion.
+ * Scores are microseconds per built query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TradeSpecificationBenchmark {
+
+    public enum Filter {
+        HEADER, LEGS, ALL
+    }
+
+    @Param({"HEADER", "LEGS", "ALL"})
+    public Filter filter;
+
+    private ConfigurableApplicationContext context;
+    private CriteriaBuilder criteriaBuilder;
+    private TradeFilterRequestDTO request;
+
+    @Setup
+    public void setUp() {
+        context = BackendContext.start("trade-specification-benchmark");
+        criteriaBuilder = context.getBean(EntityManagerFactory.class).getCriteriaBuilder();
+
+        TradeFilterRequestDTO.TradeFilterRequestDTOBuilder builder = TradeFilterRequestDTO.builder();
+        if (filter != Filter.LEGS) {
+            builder.bookName("RATES-BOOK-1")
+                    .counterpartyName("MegaFund")
+                    .tradeStatusName("NEW")
+                    .tradeDateFrom(LocalDate.of(2025, 1, 1))
+                    .tradeDate(LocalDate.of(2025, 12, 31));
+        }
+        if (filter != Filter.HEADER) {
+            builder.minNotional(BigDecimal.valueOf(1_000_000))
+                    .maxNotional(BigDecimal.valueOf(50_000_000))
+                    .currency("USD")
+                    .legRateTypeName("Fixed");
+        }
+        if (filter == Filter.ALL) {
+            builder.tradeTypeName("Swap")
+                    .tradeSubTypeName("IR Swap")
+                    .active(true)
+                    .maturityDate(LocalDate.of(2026, 1, 1))
+                    .rateFrom(0.01)
+                    .rateTo(0.05)
+                    .payReceiveFlag("Pay")
+                    .indexName("LIBOR");
+        }
+        request = builder.build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CriteriaQuery<Trade> filterTrades() {
+        Specification<Trade> specification = TradeSpecification.filterTrades(request, filter == Filter.ALL ? "simon" : null);
+        CriteriaQuery<Trade> query = criteriaBuilder.createQuery(Trade.class);
+        Root<Trade> root = query.from(Trade.class);
+        return query.where(specification.toPredicate(root, query, criteriaBuilder));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TradeSpecificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
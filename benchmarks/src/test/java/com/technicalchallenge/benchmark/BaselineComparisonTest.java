@@ -0,0 +1,134 @@
+package com.technicalchallenge.benchmark;
+
+import com.technicalchallenge.benchmark.BaselineComparison.Score;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselineComparisonTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRead_KeysByBenchmarkAndParams() throws Exception {
+        // Given
+        Path file = dir.resolve("result.json");
+        Files.writeString(file, """
+                [
+                  {
+                    "benchmark": "com.technicalchallenge.benchmark.TradeMapperBenchmark.tradeToDto",
+                    "mode": "avgt",
+                    "params": {"dataSet": "SMALL"},
+                    "primaryMetric": {"score": 512.5, "scoreError": 3.1, "scoreUnit": "ns/op"}
+                  },
+                  {
+                    "benchmark": "com.technicalchallenge.benchmark.CashflowScheduleEngineBenchmark.swapBook",
+                    "mode": "avgt",
+                    "primaryMetric": {"score": 8.8, "scoreError": 0.2, "scoreUnit": "us/op"}
+                  }
+                ]
+                """);
+
+        // When
+        Map<String, Score> scores = BaselineComparison.read(file);
+
+        // Then
+        assertEquals(new Score("avgt", 512.5, 3.1, "ns/op"),
+                scores.get("com.technicalchallenge.benchmark.TradeMapperBenchmark.tradeToDto {dataSet=SMALL}"));
+        assertEquals(new Score("avgt", 8.8, 0.2, "us/op"),
+                scores.get("com.technicalchallenge.benchmark.CashflowScheduleEngineBenchmark.swapBook"));
+    }
+
+    @Test
+    void testCompare_AverageTimeRegressesWhenSlower() {
+        Map<String, Score> baseline = Map.of(
+                "slower", new Score("avgt", 100.0, 0.0, "us/op"),
+                "noise", new Score("avgt", 100.0, 0.0, "us/op"),
+                "faster", new Score("avgt", 100.0, 0.0, "us/op"));
+        Map<String, Score> results = Map.of(
+                "slower", new Score("avgt", 115.0, 0.0, "us/op"),
+                "noise", new Score("avgt", 108.0, 0.0, "us/op"),
+                "faster", new Score("avgt", 50.0, 0.0, "us/op"));
+
+        List<String> regressions = BaselineComparison.compare(results, baseline, 10.0, line -> { });
+
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("slower:"));
+    }
+
+    @Test
+    void testCompare_ThroughputRegressesWhenLower() {
+        Map<String, Score> baseline = Map.of("bench", new Score("thrpt", 1000.0, 0.0, "ops/s"));
+
+        assertEquals(1, BaselineComparison.compare(
+                Map.of("bench", new Score("thrpt", 850.0, 0.0, "ops/s")), baseline, 10.0, line -> { }).size());
+        assertTrue(BaselineComparison.compare(
+                Map.of("bench", new Score("thrpt", 1500.0, 0.0, "ops/s")), baseline, 10.0, line -> { }).isEmpty());
+    }
+
+    @Test
+    void testCompare_OnlyIntervalsApartBeyondTheThresholdRegress() {
+        // Given - a noisy baseline: 127 ± 66 ns/op, upper bound 193
+        Map<String, Score> baseline = Map.of(
+                "within", new Score("avgt", 127.0, 66.0, "ns/op"),
+                "apart", new Score("avgt", 127.0, 66.0, "ns/op"));
+        Map<String, Score> results = Map.of(
+                "within", new Score("avgt", 180.0, 20.0, "ns/op"),
+                "apart", new Score("avgt", 250.0, 10.0, "ns/op"));
+
+        // When
+        List<String> regressions = BaselineComparison.compare(results, baseline, 10.0, line -> { });
+
+        // Then - +42% on the point score is noise, a lower bound of 240 > 193 * 1.1 is not
+        assertEquals(1, regressions.size());
+        assertTrue(regressions.get(0).startsWith("apart:"));
+    }
+
+    @Test
+    void testScore_MissingErrorCountsAsZero() {
+        Score score = new Score("ss", 5.0, Double.NaN, "s/op");
+
+        assertEquals(5.0, score.lower());
+        assertEquals(5.0, score.upper());
+    }
+
+    @Test
+    void testCompare_NewBenchmarkIsReportedNotFailed() {
+        List<String> report = new ArrayList<>();
+
+        List<String> regressions = BaselineComparison.compare(
+                Map.of("new", new Score("avgt", 1.0, 0.0, "us/op")), Map.of(), 10.0, report::add);
+
+        assertTrue(regressions.isEmpty());
+        assertEquals(1, report.size());
+        assertTrue(report.get(0).contains("no baseline"));
+    }
+
+    @Test
+    void testMain_MissingBaselineFails() throws Exception {
+        Path results = dir.resolve("result.json");
+        Files.writeString(results, "[]");
+
+        IllegalStateException failure = assertThrows(IllegalStateException.class, () -> BaselineComparison.main(
+                new String[]{results.toString(), dir.resolve("missing.json").toString()}));
+
+        assertTrue(failure.getMessage().contains("jmh.baseline.skip"));
+    }
+
+    @Test
+    void testCompare_UnitChangeFails() {
+        List<String> regressions = BaselineComparison.compare(
+                Map.of("bench", new Score("avgt", 1.0, 0.0, "ns/op")),
+                Map.of("bench", new Score("avgt", 1.0, 0.0, "us/op")), 10.0, line -> { });
+
+        assertEquals(1, regressions.size());
+    }
+}